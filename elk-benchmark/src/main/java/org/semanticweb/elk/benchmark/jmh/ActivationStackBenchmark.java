@@ -0,0 +1,132 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.ChunkedActivationQueue;
+import org.semanticweb.elk.util.concurrent.collections.ConcurrentLinkedActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.SynchronizedArrayListActivationStack;
+
+/**
+ * Compares the implementations of {@link ActivationStack} used for the queues
+ * of unprocessed inferences of contexts: first when one thread repeatedly
+ * fills the stack and empties it, as during the processing of a context by
+ * one worker, and then when several producers insert elements while one
+ * consumer takes them.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ActivationStackBenchmark {
+
+	public enum Implementation {
+		SYNCHRONIZED {
+			@Override
+			<E> ActivationStack<E> create() {
+				return new SynchronizedArrayListActivationStack<E>();
+			}
+		},
+		LINKED {
+			@Override
+			<E> ActivationStack<E> create() {
+				return new ConcurrentLinkedActivationStack<E>();
+			}
+		},
+		CHUNKED {
+			@Override
+			<E> ActivationStack<E> create() {
+				return new ChunkedActivationQueue<E>();
+			}
+		};
+
+		abstract <E> ActivationStack<E> create();
+	}
+
+	@Param({ "SYNCHRONIZED", "LINKED", "CHUNKED" })
+	Implementation implementation;
+
+	/**
+	 * how many elements are inserted before the stack is emptied in
+	 * {@link #activationCycle(Blackhole)}
+	 */
+	@Param({ "1", "4", "32" })
+	int batchSize;
+
+	ActivationStack<Object> stack;
+
+	final Object element = new Object();
+
+	@Setup
+	public void setup() {
+		stack = implementation.create();
+	}
+
+	@Benchmark
+	@Group("single")
+	public void activationCycle(Blackhole blackhole) {
+		for (int i = 0; i < batchSize; i++) {
+			blackhole.consume(stack.push(element));
+		}
+		for (;;) {
+			Object next = stack.pop();
+			if (next == null)
+				break;
+			blackhole.consume(next);
+		}
+	}
+
+	@Benchmark
+	@Group("contended")
+	@GroupThreads(3)
+	public boolean push() {
+		return stack.push(element);
+	}
+
+	@Benchmark
+	@Group("contended")
+	@GroupThreads(1)
+	public Object pop() {
+		return stack.pop();
+	}
+
+}
@@ -0,0 +1,257 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.collections.ArraySlicedSet;
+import org.semanticweb.elk.util.collections.entryset.Entry;
+import org.semanticweb.elk.util.collections.entryset.EntryCollection;
+
+/**
+ * Measures the basic operations of the hash-based collections used for
+ * storing conclusions and indexed objects: {@link ArrayHashSet} used for the
+ * subsumers of contexts, {@link ArraySlicedSet} used for backward links, and
+ * {@link EntryCollection} used for the structural lookup of indexed objects.
+ * Every benchmark operation processes {@code size} elements, half of which
+ * are present in the collection for the lookups.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionsBenchmark {
+
+	/**
+	 * the number of slices of {@link ArraySlicedSet} as for backward links
+	 */
+	private static final int SLICES_ = 3;
+
+	@Param({ "16", "1024", "65536" })
+	int size;
+
+	/**
+	 * the elements inserted to the collections
+	 */
+	Object[] elements;
+
+	/**
+	 * the elements to look up; the elements at even positions are in
+	 * {@link #elements}
+	 */
+	Object[] queries;
+
+	IntEntry[] entries;
+
+	IntEntry[] entryQueries;
+
+	ArrayHashSet<Object> filledHashSet;
+
+	ArraySlicedSet<Object> filledSlicedSet;
+
+	EntryCollection<IntEntry> filledEntryCollection;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		elements = new Object[size];
+		queries = new Object[size];
+		entries = new IntEntry[size];
+		entryQueries = new IntEntry[size];
+		for (int i = 0; i < size; i++) {
+			int value = random.nextInt();
+			elements[i] = new IntKey(value);
+			entries[i] = new IntEntry(value);
+			if (i % 2 == 0) {
+				queries[i] = elements[i];
+				entryQueries[i] = new IntEntry(value);
+			} else {
+				int absent = random.nextInt();
+				queries[i] = new IntKey(absent);
+				entryQueries[i] = new IntEntry(absent);
+			}
+		}
+		filledHashSet = new ArrayHashSet<Object>();
+		filledSlicedSet = new ArraySlicedSet<Object>(SLICES_);
+		for (int i = 0; i < size; i++) {
+			filledHashSet.add(elements[i]);
+			filledSlicedSet.add(i % SLICES_, elements[i]);
+		}
+		// the entries of the filled collection must not be reused elsewhere
+		filledEntryCollection = new EntryCollection<IntEntry>();
+		for (int i = 0; i < size; i++) {
+			filledEntryCollection.addStructural(new IntEntry(entries[i].value));
+		}
+	}
+
+	@Benchmark
+	public int arrayHashSetAdd() {
+		ArrayHashSet<Object> set = new ArrayHashSet<Object>();
+		for (int i = 0; i < size; i++) {
+			set.add(elements[i]);
+		}
+		return set.size();
+	}
+
+	@Benchmark
+	public int arrayHashSetContains() {
+		int result = 0;
+		for (int i = 0; i < size; i++) {
+			if (filledHashSet.contains(queries[i]))
+				result++;
+		}
+		return result;
+	}
+
+	@Benchmark
+	public boolean arrayHashSetAddRemove() {
+		ArrayHashSet<Object> set = new ArrayHashSet<Object>();
+		for (int i = 0; i < size; i++) {
+			set.add(elements[i]);
+		}
+		for (int i = 0; i < size; i++) {
+			set.remove(elements[i]);
+		}
+		return set.isEmpty();
+	}
+
+	@Benchmark
+	public int arraySlicedSetAdd() {
+		ArraySlicedSet<Object> set = new ArraySlicedSet<Object>(SLICES_);
+		for (int i = 0; i < size; i++) {
+			set.add(i % SLICES_, elements[i]);
+		}
+		return set.size(0);
+	}
+
+	@Benchmark
+	public int arraySlicedSetContains() {
+		int result = 0;
+		for (int i = 0; i < size; i++) {
+			if (filledSlicedSet.contains(i % SLICES_, queries[i]))
+				result++;
+		}
+		return result;
+	}
+
+	@Benchmark
+	public int entryCollectionAdd() {
+		EntryCollection<IntEntry> collection = new EntryCollection<IntEntry>();
+		for (int i = 0; i < size; i++) {
+			IntEntry entry = entries[i];
+			// only entries that are not linked can be added
+			entry.setNext(null);
+			collection.addStructural(entry);
+		}
+		return collection.size();
+	}
+
+	@Benchmark
+	public int entryCollectionFind() {
+		int result = 0;
+		for (int i = 0; i < size; i++) {
+			if (filledEntryCollection.findStructural(entryQueries[i]) != null)
+				result++;
+		}
+		return result;
+	}
+
+	/**
+	 * A key with a cheap hash code that is not cached, like indexed objects
+	 * and conclusions
+	 */
+	static final class IntKey {
+
+		final int value;
+
+		IntKey(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof IntKey && ((IntKey) o).value == value;
+		}
+
+	}
+
+	static final class IntEntry implements Entry<IntEntry, IntEntry> {
+
+		final int value;
+
+		private IntEntry next_;
+
+		IntEntry(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public void setNext(IntEntry next) {
+			this.next_ = next;
+		}
+
+		@Override
+		public IntEntry getNext() {
+			return next_;
+		}
+
+		@Override
+		public IntEntry structuralEquals(Object other) {
+			if (other instanceof IntEntry) {
+				IntEntry otherEntry = (IntEntry) other;
+				if (value == otherEntry.value)
+					return otherEntry;
+			}
+			// else
+			return null;
+		}
+
+		@Override
+		public int structuralHashCode() {
+			return value;
+		}
+
+	}
+
+}
@@ -0,0 +1,127 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.elk.owl.implementation.ElkObjectBaseFactory;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.indexing.classes.DirectIndex;
+import org.semanticweb.elk.reasoner.indexing.classes.ModifiableIndexedObjectBaseFactory;
+import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedClass;
+import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedObject;
+import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedObjectProperty;
+
+/**
+ * Measures the resolution of indexed objects in
+ * {@code ModifiableIndexedObjectCacheImpl}, which happens for every class
+ * expression occurring in loaded axioms and queries. The cache is used through
+ * {@link DirectIndex}, which extends it. The cache contains {@code size}
+ * classes and as many existential restrictions; the resolved objects are
+ * structurally equal copies of these objects and of objects that are not in
+ * the cache, in the same proportion.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IndexedObjectCacheBenchmark {
+
+	@Param({ "1024", "65536" })
+	int size;
+
+	DirectIndex cache;
+
+	/**
+	 * the objects to resolve; the objects at even positions are equal to
+	 * objects in {@link #cache}
+	 */
+	CachedIndexedObject<?>[] queries;
+
+	@Setup
+	public void setup() {
+		ElkObject.Factory elkFactory = new ElkObjectBaseFactory();
+		ModifiableIndexedObjectBaseFactory factory = new ModifiableIndexedObjectBaseFactory();
+		cache = new DirectIndex(elkFactory);
+		// the classes with even numbers are cached
+		CachedIndexedClass[] classes = new CachedIndexedClass[2 * size];
+		for (int i = 0; i < classes.length; i++) {
+			classes[i] = factory.getIndexedClass(elkFactory.getClass(
+					new ElkFullIri(SyntheticOntology.PREFIX + "C" + i)));
+			if (i % 2 == 0) {
+				cache.add(classes[i]);
+			}
+		}
+		int propertyCount = Math.max(1, size / 100);
+		CachedIndexedObjectProperty[] properties = new CachedIndexedObjectProperty[propertyCount];
+		for (int i = 0; i < propertyCount; i++) {
+			properties[i] = factory.getIndexedObjectProperty(
+					elkFactory.getObjectProperty(new ElkFullIri(
+							SyntheticOntology.PREFIX + "R" + i)));
+			cache.add(properties[i]);
+		}
+		Random random = new Random(42);
+		queries = new CachedIndexedObject<?>[2 * size];
+		for (int i = 0; i < size; i++) {
+			// a class, cached if i is even
+			queries[2 * i] = factory.getIndexedClass(classes[i].getElkEntity());
+			// an existential restriction, cached if i is even
+			CachedIndexedObjectProperty property = properties[random
+					.nextInt(propertyCount)];
+			CachedIndexedClass filler = classes[2 * i];
+			if (i % 2 == 0) {
+				cache.add(factory.getIndexedObjectSomeValuesFrom(property,
+						filler));
+			}
+			queries[2 * i + 1] = factory.getIndexedObjectSomeValuesFrom(
+					property, filler);
+		}
+	}
+
+	@Benchmark
+	public int resolve() {
+		int result = 0;
+		for (int i = 0; i < queries.length; i++) {
+			if (cache.resolve(queries[i]) != null)
+				result++;
+		}
+		return result;
+	}
+
+}
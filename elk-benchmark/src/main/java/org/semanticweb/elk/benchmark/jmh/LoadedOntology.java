@@ -0,0 +1,128 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.AxiomLoader;
+import org.semanticweb.elk.reasoner.DummyProgressMonitor;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.ReasonerFactory;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
+import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturation;
+import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturationFactory;
+import org.semanticweb.elk.reasoner.saturation.SaturationJob;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
+import org.semanticweb.elk.reasoner.stages.ReasonerStateAccessor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.DummyInterruptMonitor;
+
+/**
+ * A {@link SyntheticOntology} or another ontology loaded into the {@link OntologyIndex} of a
+ * {@link Reasoner} together with the saturation of its object properties, so
+ * that the saturation of classes can be performed by the benchmarks directly
+ * using the factories of the reasoner in the benchmark thread.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+class LoadedOntology {
+
+	private final Reasoner reasoner_;
+
+	private final OntologyIndex index_;
+
+	private final List<IndexedClass> classes_;
+
+	LoadedOntology(SyntheticOntology ontology, ReasonerConfiguration config)
+			throws ElkException {
+		this(ontology.getLoaderFactory(), config);
+	}
+
+	LoadedOntology(AxiomLoader.Factory loaderFactory,
+			ReasonerConfiguration config) throws ElkException {
+		this.reasoner_ = new ReasonerFactory().createReasoner(loaderFactory,
+				config);
+		ReasonerStateAccessor.completePropertySaturation(reasoner_);
+		this.index_ = ReasonerStateAccessor.getOntologyIndex(reasoner_);
+		this.classes_ = new ArrayList<IndexedClass>(index_.getClasses());
+	}
+
+	OntologyIndex getIndex() {
+		return index_;
+	}
+
+	List<IndexedClass> getClasses() {
+		return classes_;
+	}
+
+	/**
+	 * Computes the saturation of all classes in the given
+	 * {@link SaturationState} in the calling thread
+	 *
+	 * @param state
+	 * @throws InterruptedException
+	 */
+	void saturateClasses(SaturationState<?> state)
+			throws InterruptedException {
+		ClassExpressionSaturationFactory<SaturationJob<IndexedClass>> factory = new ClassExpressionSaturationFactory<SaturationJob<IndexedClass>>(
+				new RuleApplicationAdditionFactory<RuleApplicationInput>(
+						DummyInterruptMonitor.INSTANCE, state),
+				1);
+		ClassExpressionSaturationFactory<SaturationJob<IndexedClass>>.Engine engine = factory
+				.getEngine();
+		for (IndexedClass root : classes_) {
+			engine.submit(new SaturationJob<IndexedClass>(root));
+		}
+		engine.process();
+		engine.finish();
+		factory.finish();
+	}
+
+	/**
+	 * Computes the saturation of all classes in the given
+	 * {@link SaturationState} using the given number of workers of the given
+	 * {@link ConcurrentExecutor}
+	 *
+	 * @param state
+	 * @param executor
+	 * @param workers
+	 */
+	void saturateClasses(SaturationState<?> state, ConcurrentExecutor executor,
+			int workers) {
+		ClassExpressionSaturation<IndexedClass> saturation = new ClassExpressionSaturation<IndexedClass>(
+				classes_, executor, workers, new DummyProgressMonitor(),
+				new RuleApplicationAdditionFactory<RuleApplicationInput>(
+						DummyInterruptMonitor.INSTANCE, state));
+		saturation.process();
+	}
+
+	void dispose() throws InterruptedException {
+		reasoner_.shutdown();
+	}
+
+}
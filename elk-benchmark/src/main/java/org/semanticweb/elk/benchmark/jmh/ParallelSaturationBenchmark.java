@@ -0,0 +1,111 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.SaturationStateFactory;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutors;
+
+/**
+ * Measures how the saturation of all classes of a {@link SyntheticOntology}
+ * scales with the number of workers, when all workers take active contexts
+ * from one queue ({@code partitions = 0}) or when the contexts are divided into
+ * partitions processed by separate groups of workers, as specified by
+ * {@link ReasonerConfiguration#SATURATION_PARTITIONS}. The contexts of the
+ * {@link SaturationState} are reset before every invocation. To bind the
+ * workers to the processors of one socket, run the benchmark using, e.g.,
+ * {@code numactl}.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSaturationBenchmark {
+
+	@Param({ "100000" })
+	int classes;
+
+	@Param({ "1", "2", "4", "8", "16", "32", "64" })
+	int workers;
+
+	@Param({ "0", "2", "4" })
+	int partitions;
+
+	LoadedOntology ontology;
+
+	SaturationState<?> state;
+
+	ConcurrentExecutor executor;
+
+	@Setup(Level.Trial)
+	public void load() throws Exception {
+		ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.NUM_OF_WORKING_THREADS,
+				String.valueOf(workers));
+		config.setParameter(ReasonerConfiguration.SATURATION_PARTITIONS,
+				String.valueOf(partitions));
+		ontology = new LoadedOntology(new SyntheticOntology(classes,
+				Math.max(1, classes / 100), 4, 2, classes / 10, 42), config);
+		state = SaturationStateFactory
+				.createSaturationState(ontology.getIndex(), config);
+		executor = ConcurrentExecutors.create("elk-benchmark-saturation");
+	}
+
+	@Setup(Level.Invocation)
+	public void resetContexts() {
+		state.getContextModifyingWriter().resetContexts();
+	}
+
+	@Benchmark
+	public SaturationState<?> saturateClasses() {
+		ontology.saturateClasses(state, executor, workers);
+		return state;
+	}
+
+	@TearDown(Level.Trial)
+	public void dispose() throws InterruptedException {
+		ontology.dispose();
+	}
+
+}
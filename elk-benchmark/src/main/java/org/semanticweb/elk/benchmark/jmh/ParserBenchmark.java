@@ -0,0 +1,121 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.iris.ElkPrefix;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.parsing.Owl2ParserAxiomProcessor;
+import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+
+/**
+ * Measures the throughput of the parsers created by
+ * {@link Owl2FunctionalStyleParserFactory} on the text of a
+ * {@link SyntheticOntology}. The text is kept in memory, so the results do
+ * not depend on the file system. The number of parsed characters per second
+ * is reported as a secondary result using {@link Counters}.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParserBenchmark {
+
+	@Param({ "1000", "10000" })
+	int classes;
+
+	String text;
+
+	Owl2ParserFactory parserFactory;
+
+	@Setup
+	public void setup() {
+		text = new SyntheticOntology(classes).toString();
+		parserFactory = new Owl2FunctionalStyleParserFactory();
+	}
+
+	/**
+	 * Counts the characters parsed during an iteration; the public fields are
+	 * reported by JMH in addition to the score.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+
+		public long characters;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			characters = 0;
+		}
+
+	}
+
+	@Benchmark
+	public void parse(final Blackhole blackhole, final Counters counters)
+			throws Owl2ParseException {
+		counters.characters += text.length();
+		parserFactory.getParser(new StringReader(text))
+				.accept(new Owl2ParserAxiomProcessor() {
+
+					@Override
+					public void visit(ElkAxiom elkAxiom)
+							throws Owl2ParseException {
+						blackhole.consume(elkAxiom);
+					}
+
+					@Override
+					public void visit(ElkPrefix elkPrefix)
+							throws Owl2ParseException {
+						blackhole.consume(elkPrefix);
+					}
+
+					@Override
+					public void finish() throws Owl2ParseException {
+						// nothing to do
+					}
+				});
+	}
+
+}
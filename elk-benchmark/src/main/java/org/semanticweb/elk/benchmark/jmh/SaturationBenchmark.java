@@ -0,0 +1,105 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SubsumerSetRepresentation;
+import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturationFactory;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.SaturationStateFactory;
+
+/**
+ * Measures the rule application loop of
+ * {@link ClassExpressionSaturationFactory} by saturating all classes of a
+ * {@link SyntheticOntology} in one thread. The contexts of the
+ * {@link SaturationState} are reset before every invocation, as before the
+ * non-incremental classification. The loading and indexing of the ontology
+ * and the saturation of its object properties are not measured.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Thread)
+public class SaturationBenchmark {
+
+	@Param({ "1000", "10000" })
+	int classes;
+
+	@Param({ "2" })
+	int existentials;
+
+	@Param({ "HASH", "COMPACT" })
+	SubsumerSetRepresentation subsumers;
+
+	LoadedOntology ontology;
+
+	SaturationState<?> state;
+
+	@Setup(Level.Trial)
+	public void load() throws Exception {
+		ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.SUBSUMER_SET_REPRESENTATION,
+				subsumers.name());
+		ontology = new LoadedOntology(new SyntheticOntology(classes,
+				Math.max(1, classes / 100), 4, existentials, classes / 10, 42),
+				config);
+		state = SaturationStateFactory
+				.createSaturationState(ontology.getIndex(), config);
+	}
+
+	@Setup(Level.Invocation)
+	public void resetContexts() {
+		state.getContextModifyingWriter().resetContexts();
+	}
+
+	@Benchmark
+	public SaturationState<?> saturateClasses() throws InterruptedException {
+		ontology.saturateClasses(state);
+		return state;
+	}
+
+	@TearDown(Level.Trial)
+	public void dispose() throws InterruptedException {
+		ontology.dispose();
+	}
+
+}
@@ -0,0 +1,150 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Random;
+
+import org.semanticweb.elk.loading.AxiomLoader;
+import org.semanticweb.elk.loading.Owl2StreamLoader;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+
+/**
+ * Generates EL ontologies in the OWL 2 functional-style syntax with the given
+ * parameters so that benchmarks can be reproduced without external files. The
+ * same parameters always produce the same ontology.
+ * <p>
+ * The named classes {@code :Ci} form a tree in which every class has at most
+ * {@code branching} direct subclasses, and the object properties {@code :Ri}
+ * form a binary tree. Every named class has {@code existentials} random
+ * existential restrictions as superclasses, and {@code definitions} further
+ * classes {@code :Di} are defined as conjunctions of a named class and an
+ * existential restriction, which produces non-trivial subsumptions.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class SyntheticOntology {
+
+	public static final String PREFIX = "http://www.example.org/synthetic#";
+
+	private final int classes_, properties_, branching_, existentials_,
+			definitions_;
+
+	private final long seed_;
+
+	/**
+	 * @param classes
+	 *            the number of named classes in the hierarchy
+	 * @param properties
+	 *            the number of object properties
+	 * @param branching
+	 *            the maximal number of direct subclasses of a class
+	 * @param existentials
+	 *            the number of existential superclasses of every named class
+	 * @param definitions
+	 *            the number of defined classes
+	 * @param seed
+	 *            the seed for choosing the properties and fillers
+	 */
+	public SyntheticOntology(int classes, int properties, int branching,
+			int existentials, int definitions, long seed) {
+		if (classes < 1 || properties < 1 || branching < 1) {
+			throw new IllegalArgumentException(
+					"The numbers of classes and properties and the branching must be positive");
+		}
+		this.classes_ = classes;
+		this.properties_ = properties;
+		this.branching_ = branching;
+		this.existentials_ = existentials;
+		this.definitions_ = definitions;
+		this.seed_ = seed;
+	}
+
+	/**
+	 * Creates a {@link SyntheticOntology} with the given number of classes and
+	 * the default values of other parameters
+	 *
+	 * @param classes
+	 */
+	public SyntheticOntology(int classes) {
+		this(classes, Math.max(1, classes / 100), 4, 2, classes / 10, 42);
+	}
+
+	public void write(StringBuilder out) {
+		Random random = new Random(seed_);
+		out.append("Prefix(:=<").append(PREFIX).append(">)\n");
+		out.append("Ontology(<").append(PREFIX).append(">\n");
+		for (int i = 1; i < properties_; i++) {
+			out.append("SubObjectPropertyOf(");
+			property(out, i).append(' ');
+			property(out, (i - 1) / 2).append(")\n");
+		}
+		for (int i = 0; i < classes_; i++) {
+			if (i > 0) {
+				out.append("SubClassOf(");
+				namedClass(out, i).append(' ');
+				namedClass(out, (i - 1) / branching_).append(")\n");
+			}
+			for (int j = 0; j < existentials_; j++) {
+				out.append("SubClassOf(");
+				namedClass(out, i).append(' ');
+				existential(out, random).append(")\n");
+			}
+		}
+		for (int i = 0; i < definitions_; i++) {
+			out.append("EquivalentClasses(:D").append(i)
+					.append(" ObjectIntersectionOf(");
+			namedClass(out, random.nextInt(classes_)).append(' ');
+			existential(out, random).append("))\n");
+		}
+		out.append(")\n");
+	}
+
+	private static StringBuilder namedClass(StringBuilder out, int i) {
+		return out.append(":C").append(i);
+	}
+
+	private static StringBuilder property(StringBuilder out, int i) {
+		return out.append(":R").append(i);
+	}
+
+	private StringBuilder existential(StringBuilder out, Random random) {
+		out.append("ObjectSomeValuesFrom(");
+		property(out, random.nextInt(properties_)).append(' ');
+		return namedClass(out, random.nextInt(classes_)).append(')');
+	}
+
+	/**
+	 * @return the {@link AxiomLoader.Factory} for loading this ontology
+	 */
+	public AxiomLoader.Factory getLoaderFactory() {
+		return new Owl2StreamLoader.Factory(
+				new Owl2FunctionalStyleParserFactory(), toString());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		write(result);
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,113 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.elk.benchmark.jmh.TransitiveReductionBenchmark.Engine;
+import org.semanticweb.elk.loading.Owl2StreamLoader;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.reduction.SaturatedTransitiveReductionFactory;
+import org.semanticweb.elk.reasoner.reduction.TransitiveReductionFactory;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.SaturationStateFactory;
+
+/**
+ * Compares the computation of direct superclasses and equivalent classes by
+ * {@link TransitiveReductionFactory} and by
+ * {@link SaturatedTransitiveReductionFactory} for all classes of the
+ * classification test ontologies of the reasoner, which are loaded from the
+ * class path. The classes are saturated before the measurement, so only the
+ * transitive reduction is measured.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TestOntologyTransitiveReductionBenchmark {
+
+	@Param({ "test_input/classification/endocarditis.owl",
+			"test_input/classification/forest.owl",
+			"test_input/classification/kangaroo.owl",
+			"test_input/classification/ConjunctionsComplex.owl" })
+	String resource;
+
+	@Param({ "SATURATING", "SATURATED" })
+	Engine engine;
+
+	LoadedOntology ontology;
+
+	SaturationState<?> state;
+
+	@Setup(Level.Trial)
+	public void saturate() throws Exception {
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		InputStream input = getClass().getClassLoader()
+				.getResourceAsStream(resource);
+		if (input == null) {
+			throw new IllegalArgumentException(
+					"Resource not found: " + resource);
+		}
+		try {
+			ontology = new LoadedOntology(new Owl2StreamLoader.Factory(
+					new Owl2FunctionalStyleParserFactory(), input), config);
+		} finally {
+			input.close();
+		}
+		state = SaturationStateFactory
+				.createSaturationState(ontology.getIndex(), config);
+		ontology.saturateClasses(state);
+	}
+
+	@Benchmark
+	public void reduceClasses(Blackhole blackhole)
+			throws InterruptedException {
+		TransitiveReductionBenchmark.reduceClasses(ontology, state, engine,
+				blackhole);
+	}
+
+	@TearDown(Level.Trial)
+	public void dispose() throws InterruptedException {
+		ontology.dispose();
+	}
+
+}
@@ -0,0 +1,167 @@
+package org.semanticweb.elk.benchmark.jmh;
+/*
+ * #%L
+ * ELK Benchmarking Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.reduction.SaturatedTransitiveReductionFactory;
+import org.semanticweb.elk.reasoner.reduction.TransitiveReductionFactory;
+import org.semanticweb.elk.reasoner.reduction.TransitiveReductionJob;
+import org.semanticweb.elk.reasoner.reduction.TransitiveReductionListener;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.SaturationStateFactory;
+import org.semanticweb.elk.util.concurrent.computation.DummyInterruptMonitor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessorFactory;
+
+/**
+ * Measures the computation of direct superclasses and equivalent classes by
+ * {@link TransitiveReductionFactory} or by
+ * {@link SaturatedTransitiveReductionFactory} for all classes of a
+ * {@link SyntheticOntology} in one thread. The classes are saturated before
+ * the measurement, so only the transitive reduction is measured.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransitiveReductionBenchmark {
+
+	@Param({ "1000", "10000" })
+	int classes;
+
+	@Param({ "2", "4" })
+	int branching;
+
+	@Param({ "SATURATING", "SATURATED" })
+	Engine engine;
+
+	LoadedOntology ontology;
+
+	SaturationState<?> state;
+
+	@Setup(Level.Trial)
+	public void saturate() throws Exception {
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		ontology = new LoadedOntology(
+				new SyntheticOntology(classes, Math.max(1, classes / 100),
+						branching, 2, classes / 10, 42),
+				config);
+		state = SaturationStateFactory
+				.createSaturationState(ontology.getIndex(), config);
+		ontology.saturateClasses(state);
+	}
+
+	@Benchmark
+	public void reduceClasses(Blackhole blackhole)
+			throws InterruptedException {
+		reduceClasses(ontology, state, engine, blackhole);
+	}
+
+	@TearDown(Level.Trial)
+	public void dispose() throws InterruptedException {
+		ontology.dispose();
+	}
+
+	/**
+	 * The transitive reduction engines to compare
+	 */
+	enum Engine {
+		/**
+		 * {@link TransitiveReductionFactory}, which saturates the candidate
+		 * superclasses
+		 */
+		SATURATING,
+		/**
+		 * {@link SaturatedTransitiveReductionFactory}, which uses the
+		 * saturated contexts directly
+		 */
+		SATURATED;
+	}
+
+	/**
+	 * Computes the direct superclasses and equivalent classes of all classes
+	 * of the given {@link LoadedOntology} using the given {@link Engine} in
+	 * the calling thread
+	 *
+	 * @param ontology
+	 * @param state
+	 *            the {@link SaturationState} in which all classes are
+	 *            saturated
+	 * @param engine
+	 * @param blackhole
+	 *            consumes the outputs of the reduction
+	 * @throws InterruptedException
+	 */
+	static void reduceClasses(LoadedOntology ontology,
+			SaturationState<?> state, Engine engine, final Blackhole blackhole)
+			throws InterruptedException {
+		TransitiveReductionListener<TransitiveReductionJob<IndexedClass>> listener = new TransitiveReductionListener<TransitiveReductionJob<IndexedClass>>() {
+
+			@Override
+			public void notifyFinished(TransitiveReductionJob<IndexedClass> job)
+					throws InterruptedException {
+				blackhole.consume(job.getOutput());
+			}
+
+		};
+		TransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>> saturatingFactory = new TransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>>(
+				DummyInterruptMonitor.INSTANCE, state, 1, listener);
+		InputProcessorFactory<TransitiveReductionJob<IndexedClass>, ? extends InputProcessor<TransitiveReductionJob<IndexedClass>>> factory;
+		if (engine == Engine.SATURATED) {
+			factory = new SaturatedTransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>>(
+					saturatingFactory, state, listener);
+		} else {
+			factory = saturatingFactory;
+		}
+		InputProcessor<TransitiveReductionJob<IndexedClass>> reductionEngine = factory
+				.getEngine();
+		for (IndexedClass root : ontology.getClasses()) {
+			reductionEngine
+					.submit(new TransitiveReductionJob<IndexedClass>(root));
+		}
+		reductionEngine.process();
+		reductionEngine.finish();
+		factory.finish();
+	}
+
+}
@@ -35,7 +35,7 @@ import java.io.IOException;
 import org.apache.log4j.Level;
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.loading.AxiomLoader;
-import org.semanticweb.elk.loading.Owl2StreamLoader;
+import org.semanticweb.elk.loading.Owl2ParallelFileLoader;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
 import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
@@ -44,7 +44,7 @@ import org.semanticweb.elk.reasoner.ElkInconsistentOntologyException;
 import org.semanticweb.elk.reasoner.Reasoner;
 import org.semanticweb.elk.reasoner.ReasonerFactory;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
-import org.semanticweb.elk.reasoner.taxonomy.TaxonomyPrinter;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyStreamWriter;
 import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceTaxonomyHasher;
 import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
@@ -80,13 +80,24 @@ public class Main {
 
 		// input and output files
 		OptionSpec<File> inputFile = parser
-				.acceptsAll(asList("input", "i"), "input ontology file")
+				.acceptsAll(asList("input", "i"),
+						"input ontology file or directory of ontology files")
 				.withRequiredArg().ofType(File.class).describedAs("ontology");
 		OptionSpec<File> outputFile = parser
-				.acceptsAll(asList("output", "o"), "output taxonomy file")
+				.acceptsAll(asList("output", "o"),
+						"output taxonomy file; compressed if the name ends with .gz")
 				.withRequiredArg().ofType(File.class).describedAs("taxonomy");
 		OptionSpec<Void> printHash = parser.acceptsAll(asList("print-hash"),
 				"print taxonomy hash to log");
+		OptionSpec<Void> edgeList = parser.acceptsAll(asList("edge-list"),
+				"write the taxonomy in the binary edge list format");
+		OptionSpec<File> snapshotFile = parser
+				.acceptsAll(asList("snapshot"),
+						"restore the taxonomies from the snapshot file if it "
+								+ "was saved for the same ontology, otherwise "
+								+ "save them there; the ontology is still "
+								+ "loaded and indexed")
+				.withRequiredArg().ofType(File.class).describedAs("snapshot");
 
 		// reasoning tasks
 		OptionSpec<Void> classify = parser.acceptsAll(asList("classify", "c"),
@@ -169,16 +180,28 @@ public class Main {
 			configuration.setParameter(
 					ReasonerConfiguration.NUM_OF_WORKING_THREADS, options
 							.valueOf(nWorkers).toString());
+		if (options.has(snapshotFile))
+			configuration.setParameter(ReasonerConfiguration.SNAPSHOTS_ENABLED,
+					"true");
 
 		// create reasoner
 		ReasonerFactory reasoningFactory = new ReasonerFactory();
 		Owl2ParserFactory parserFactory = new Owl2FunctionalStyleParserFactory();
-		AxiomLoader.Factory loader = new Owl2StreamLoader.Factory(parserFactory,
-				options.valueOf(inputFile));
+		AxiomLoader.Factory loader = new Owl2ParallelFileLoader.Factory(
+				parserFactory, options.valueOf(inputFile),
+				configuration.getParameterAsInt(
+						ReasonerConfiguration.NUM_OF_WORKING_THREADS));
 		Reasoner reasoner = reasoningFactory.createReasoner(loader,
 				configuration);
 
 		try {
+			boolean restored = false;
+			if (options.has(snapshotFile)
+					&& options.valueOf(snapshotFile).exists()) {
+				restored = restoreSnapshot(reasoner,
+						options.valueOf(snapshotFile));
+			}
+
 			if (options.has(satisfiable)) {
 				boolean inconsistent = reasoner.isInconsistent();
 				if (options.hasArgument(outputFile)) {
@@ -188,13 +211,23 @@ public class Main {
 			}
 			
 			boolean addHash = options.has(printHash);
+			TaxonomyStreamWriter taxonomyWriter = null;
+			if (options.hasArgument(outputFile)) {
+				taxonomyWriter = new TaxonomyStreamWriter(
+						options.has(edgeList)
+								? TaxonomyStreamWriter.Format.EDGE_LIST
+								: TaxonomyStreamWriter.Format.FUNCTIONAL,
+						options.valueOf(outputFile).getName().endsWith(".gz"),
+						configuration.getParameterAsInt(
+								ReasonerConfiguration.NUM_OF_WORKING_THREADS));
+			}
 
 			if (options.has(classify)) {
 				Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomyQuietly();
 			
 				if (options.hasArgument(outputFile))
-					writeClassTaxonomyToFile(options.valueOf(outputFile),
-							taxonomy, addHash);
+					writeClassTaxonomyToFile(taxonomyWriter,
+							options.valueOf(outputFile), taxonomy, addHash);
 				if (addHash)
 					printTaxonomyHash(taxonomy);
 			}
@@ -203,17 +236,42 @@ public class Main {
 				InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = null;
 				taxonomy = reasoner.getInstanceTaxonomyQuietly();
 				if (options.hasArgument(outputFile))
-					writeInstanceTaxonomyToFile(options.valueOf(outputFile),
-							taxonomy, addHash);
+					writeInstanceTaxonomyToFile(taxonomyWriter,
+							options.valueOf(outputFile), taxonomy, addHash);
 				if (addHash)
 					printTaxonomyHash(taxonomy);
 			}
 
+			if (options.has(snapshotFile) && !restored) {
+				saveSnapshot(reasoner, options.valueOf(snapshotFile));
+			}
+
 		} finally {
 			reasoner.shutdown();
 		}
 	}
 
+	static boolean restoreSnapshot(Reasoner reasoner, File file)
+			throws ElkException {
+		Statistics.logOperationStart("Restoring snapshot", LOGGER_);
+		boolean restored = reasoner.restoreSnapshot(file);
+		Statistics.logOperationFinish("Restoring snapshot", LOGGER_);
+		if (!restored) {
+			LOGGER_.info("Snapshot {} is outdated", file);
+		}
+		return restored;
+	}
+
+	static void saveSnapshot(Reasoner reasoner, File file)
+			throws ElkException {
+		LOGGER_.info("Saving snapshot to {}", file);
+		try {
+			reasoner.saveSnapshot(file);
+		} catch (ElkInconsistentOntologyException e) {
+			LOGGER_.info("Snapshot not saved: the ontology is inconsistent");
+		}
+	}
+
 	static void writeConsistencyToFile(File file, Boolean consistent)
 			throws IOException, ElkException {
 		LOGGER_.info("Writing consistency to {}", file);
@@ -226,24 +284,25 @@ public class Main {
 		writer.close();
 	}
 
-	static void writeClassTaxonomyToFile(File file, Taxonomy<ElkClass> taxonomy, boolean printHash)
+	static void writeClassTaxonomyToFile(TaxonomyStreamWriter writer,
+			File file, Taxonomy<ElkClass> taxonomy, boolean printHash)
 			throws IOException, ElkInconsistentOntologyException, ElkException {
 		LOGGER_.info("Writing taxonomy to {}", file);
 
 		Statistics.logOperationStart("Writing taxonomy", LOGGER_);
-		TaxonomyPrinter.dumpTaxomomyToFile(taxonomy, file.getPath(), printHash);
+		writer.writeTaxonomyToFile(taxonomy, file, printHash);
 		Statistics.logOperationFinish("Writing taxonomy", LOGGER_);
 	}
 
-	static void writeInstanceTaxonomyToFile(File file,
-			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy, boolean printHash)
+	static void writeInstanceTaxonomyToFile(TaxonomyStreamWriter writer,
+			File file, InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy,
+			boolean printHash)
 			throws IOException, ElkInconsistentOntologyException, ElkException {
 		LOGGER_.info("Writing taxonomy with instances to {}", file);
 
 		Statistics
 				.logOperationStart("Writing taxonomy with instances", LOGGER_);
-		TaxonomyPrinter.dumpInstanceTaxomomyToFile(taxonomy, file.getPath(),
-				printHash);
+		writer.writeInstanceTaxonomyToFile(taxonomy, file, printHash);
 		Statistics.logOperationFinish("Writing taxonomy with instances",
 				LOGGER_);
 	}
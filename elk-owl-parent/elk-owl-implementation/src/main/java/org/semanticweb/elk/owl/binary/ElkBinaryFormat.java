@@ -0,0 +1,149 @@
+/*
+ * #%L
+ * ELK OWL Model Implementation
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.owl.binary;
+
+/**
+ * Constants of the binary format for {@link org.semanticweb.elk.owl.interfaces.ElkAxiom}s
+ * written by {@link ElkBinaryWriter} and read by {@link ElkBinaryReader}.
+ * <p>
+ * A file starts with the {@link #MAGIC} bytes followed by the
+ * {@link #VERSION}, and then contains a sequence of axioms. Every object is
+ * written as its opcode followed by its arguments in the order in which they
+ * appear in the OWL 2 functional-style syntax. Opcodes, cardinalities, the
+ * number of elements in lists and references are written as variable-length
+ * integers (7 bits per byte, least significant group first). Strings are
+ * written as the number of bytes followed by their UTF-8 encoding.
+ * <p>
+ * The IRIs are stored in a table that is built while writing: a reference
+ * {@code 0} is followed by a new IRI, which receives the next index of the
+ * table, and a reference {@code i > 0} denotes the IRI with index
+ * {@code i - 1}. A new IRI is split after the last {@code '#'} or {@code '/'}
+ * into a namespace and a local name. The namespace is written as a reference
+ * to a similar table of namespaces, and the local name as a string.
+ * 
+ * @author "Yevgeny Kazakov"
+ *
+ */
+final class ElkBinaryFormat {
+
+	private ElkBinaryFormat() {
+		// constants only
+	}
+
+	static final byte[] MAGIC = { 'E', 'L', 'K', 'B' };
+
+	static final int VERSION = 1;
+
+	/**
+	 * the opcode for an absent optional argument
+	 */
+	static final int NONE = 0;
+
+	// entities and other basic objects
+	static final int ANNOTATION_PROPERTY = 1;
+	static final int CLASS = 2;
+	static final int DATA_PROPERTY = 3;
+	static final int DATATYPE = 4;
+	static final int NAMED_INDIVIDUAL = 5;
+	static final int OBJECT_PROPERTY = 6;
+	static final int ANONYMOUS_INDIVIDUAL = 7;
+	static final int IRI = 8;
+	static final int LITERAL = 9;
+	static final int FACET_RESTRICTION = 10;
+	static final int ANNOTATION = 11;
+	static final int OBJECT_INVERSE_OF = 12;
+	static final int OBJECT_PROPERTY_CHAIN = 13;
+
+	// class expressions
+	static final int DATA_ALL_VALUES_FROM = 20;
+	static final int DATA_EXACT_CARDINALITY_QUALIFIED = 21;
+	static final int DATA_EXACT_CARDINALITY_UNQUALIFIED = 22;
+	static final int DATA_HAS_VALUE = 23;
+	static final int DATA_MAX_CARDINALITY_QUALIFIED = 24;
+	static final int DATA_MAX_CARDINALITY_UNQUALIFIED = 25;
+	static final int DATA_MIN_CARDINALITY_QUALIFIED = 26;
+	static final int DATA_MIN_CARDINALITY_UNQUALIFIED = 27;
+	static final int DATA_SOME_VALUES_FROM = 28;
+	static final int OBJECT_ALL_VALUES_FROM = 29;
+	static final int OBJECT_COMPLEMENT_OF = 30;
+	static final int OBJECT_EXACT_CARDINALITY_QUALIFIED = 31;
+	static final int OBJECT_EXACT_CARDINALITY_UNQUALIFIED = 32;
+	static final int OBJECT_HAS_SELF = 33;
+	static final int OBJECT_HAS_VALUE = 34;
+	static final int OBJECT_INTERSECTION_OF = 35;
+	static final int OBJECT_MAX_CARDINALITY_QUALIFIED = 36;
+	static final int OBJECT_MAX_CARDINALITY_UNQUALIFIED = 37;
+	static final int OBJECT_MIN_CARDINALITY_QUALIFIED = 38;
+	static final int OBJECT_MIN_CARDINALITY_UNQUALIFIED = 39;
+	static final int OBJECT_ONE_OF = 40;
+	static final int OBJECT_SOME_VALUES_FROM = 41;
+	static final int OBJECT_UNION_OF = 42;
+
+	// data ranges
+	static final int DATA_COMPLEMENT_OF = 50;
+	static final int DATA_INTERSECTION_OF = 51;
+	static final int DATA_ONE_OF = 52;
+	static final int DATA_UNION_OF = 53;
+	static final int DATATYPE_RESTRICTION = 54;
+
+	// axioms
+	static final int ANNOTATION_ASSERTION_AXIOM = 60;
+	static final int ANNOTATION_PROPERTY_DOMAIN_AXIOM = 61;
+	static final int ANNOTATION_PROPERTY_RANGE_AXIOM = 62;
+	static final int ASYMMETRIC_OBJECT_PROPERTY_AXIOM = 63;
+	static final int CLASS_ASSERTION_AXIOM = 64;
+	static final int DATA_PROPERTY_ASSERTION_AXIOM = 65;
+	static final int DATA_PROPERTY_DOMAIN_AXIOM = 66;
+	static final int DATA_PROPERTY_RANGE_AXIOM = 67;
+	static final int DATATYPE_DEFINITION_AXIOM = 68;
+	static final int DECLARATION_AXIOM = 69;
+	static final int DIFFERENT_INDIVIDUALS_AXIOM = 70;
+	static final int DISJOINT_CLASSES_AXIOM = 71;
+	static final int DISJOINT_DATA_PROPERTIES_AXIOM = 72;
+	static final int DISJOINT_OBJECT_PROPERTIES_AXIOM = 73;
+	static final int DISJOINT_UNION_AXIOM = 74;
+	static final int EQUIVALENT_CLASSES_AXIOM = 75;
+	static final int EQUIVALENT_DATA_PROPERTIES_AXIOM = 76;
+	static final int EQUIVALENT_OBJECT_PROPERTIES_AXIOM = 77;
+	static final int FUNCTIONAL_DATA_PROPERTY_AXIOM = 78;
+	static final int FUNCTIONAL_OBJECT_PROPERTY_AXIOM = 79;
+	static final int HAS_KEY_AXIOM = 80;
+	static final int INVERSE_FUNCTIONAL_OBJECT_PROPERTY_AXIOM = 81;
+	static final int INVERSE_OBJECT_PROPERTIES_AXIOM = 82;
+	static final int IRREFLEXIVE_OBJECT_PROPERTY_AXIOM = 83;
+	static final int NEGATIVE_DATA_PROPERTY_ASSERTION_AXIOM = 84;
+	static final int NEGATIVE_OBJECT_PROPERTY_ASSERTION_AXIOM = 85;
+	static final int OBJECT_PROPERTY_ASSERTION_AXIOM = 86;
+	static final int OBJECT_PROPERTY_DOMAIN_AXIOM = 87;
+	static final int OBJECT_PROPERTY_RANGE_AXIOM = 88;
+	static final int REFLEXIVE_OBJECT_PROPERTY_AXIOM = 89;
+	static final int SAME_INDIVIDUAL_AXIOM = 90;
+	static final int SUB_ANNOTATION_PROPERTY_OF_AXIOM = 91;
+	static final int SUB_CLASS_OF_AXIOM = 92;
+	static final int SUB_DATA_PROPERTY_OF_AXIOM = 93;
+	static final int SUB_OBJECT_PROPERTY_OF_AXIOM = 94;
+	static final int SYMMETRIC_OBJECT_PROPERTY_AXIOM = 95;
+	static final int TRANSITIVE_OBJECT_PROPERTY_AXIOM = 96;
+	static final int SWRL_RULE = 97;
+
+}
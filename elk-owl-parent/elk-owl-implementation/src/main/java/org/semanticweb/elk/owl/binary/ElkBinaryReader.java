@@ -0,0 +1,590 @@
+/*
+ * #%L
+ * ELK OWL Model Implementation
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.owl.binary;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.elk.owl.interfaces.ElkAnnotationProperty;
+import org.semanticweb.elk.owl.interfaces.ElkAnnotationSubject;
+import org.semanticweb.elk.owl.interfaces.ElkAnnotationValue;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
+import org.semanticweb.elk.owl.interfaces.ElkDataPropertyExpression;
+import org.semanticweb.elk.owl.interfaces.ElkDataRange;
+import org.semanticweb.elk.owl.interfaces.ElkDatatype;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.interfaces.ElkFacetRestriction;
+import org.semanticweb.elk.owl.interfaces.ElkIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkLiteral;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyExpression;
+import org.semanticweb.elk.owl.interfaces.ElkSubObjectPropertyExpression;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+
+/**
+ * Reads {@link ElkAxiom}s written by {@link ElkBinaryWriter} from a
+ * {@link ByteBuffer}, which is typically a memory-mapped file. The objects are
+ * created using the provided {@link ElkObject.Factory}. The axioms are read
+ * one at a time, so reading can be interrupted after every axiom and resumed
+ * later from the same {@link ElkBinaryReader}.
+ * 
+ * @see ElkBinaryFormat
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ */
+public class ElkBinaryReader {
+
+	private static final Charset UTF8_ = Charset.forName("UTF-8");
+
+	private final ElkObject.Factory factory_;
+
+	private final ByteBuffer buffer_;
+
+	/**
+	 * the IRIs read so far in the order of their indexes
+	 */
+	private final List<ElkIri> iris_ = new ArrayList<ElkIri>();
+
+	/**
+	 * the {@link ElkEntity}s created for the IRIs read so far; for every IRI
+	 * index there is an array with one entity for every entity opcode, which
+	 * are created when needed; the arrays are not typed, since storing into
+	 * arrays of interface types requires slow type checks
+	 */
+	private final List<Object[]> entities_ = new ArrayList<Object[]>();
+
+	/**
+	 * the namespaces of the IRIs read so far in the order of their indexes
+	 */
+	private final List<String> namespaces_ = new ArrayList<String>();
+
+	/**
+	 * Creates a new {@link ElkBinaryReader} and reads the header of the binary
+	 * format
+	 * 
+	 * @param factory
+	 *            the {@link ElkObject.Factory} used to create the axioms
+	 * @param buffer
+	 *            the {@link ByteBuffer} from which the axioms are read,
+	 *            starting from its current position
+	 * @throws Owl2ParseException
+	 *             if the buffer does not start with a supported header
+	 */
+	public ElkBinaryReader(ElkObject.Factory factory, ByteBuffer buffer)
+			throws Owl2ParseException {
+		this.factory_ = factory;
+		this.buffer_ = buffer;
+		try {
+			for (int i = 0; i < ElkBinaryFormat.MAGIC.length; i++) {
+				if (buffer_.get() != ElkBinaryFormat.MAGIC[i])
+					throw new Owl2ParseException(
+							"Not an ELK binary axiom file!");
+			}
+			int version = readVarInt();
+			if (version != ElkBinaryFormat.VERSION)
+				throw new Owl2ParseException(
+						"Unsupported version of the binary format: " + version);
+		} catch (BufferUnderflowException e) {
+			throw new Owl2ParseException("Not an ELK binary axiom file!", e);
+		}
+	}
+
+	/**
+	 * @return {@code true} if there are more axioms to read
+	 */
+	public boolean hasNext() {
+		return buffer_.hasRemaining();
+	}
+
+	/**
+	 * Reads the next {@link ElkAxiom}; should be called only if
+	 * {@link #hasNext()} returns {@code true}
+	 * 
+	 * @return the next {@link ElkAxiom}
+	 * @throws Owl2ParseException
+	 *             if the input is not in the binary format
+	 */
+	public ElkAxiom next() throws Owl2ParseException {
+		int start = buffer_.position();
+		try {
+			return read(ElkAxiom.class);
+		} catch (ClassCastException e) {
+			throw new Owl2ParseException(
+					"Unexpected object type in the axiom at position " + start,
+					e);
+		} catch (BufferUnderflowException e) {
+			throw new Owl2ParseException(
+					"Unexpected end of input in the axiom at position "
+							+ start,
+					e);
+		}
+	}
+
+	private ElkObject readObject() throws Owl2ParseException {
+		int opcode = readVarInt();
+		switch (opcode) {
+		case ElkBinaryFormat.NONE:
+			return null;
+		case ElkBinaryFormat.ANNOTATION_PROPERTY:
+		case ElkBinaryFormat.CLASS:
+		case ElkBinaryFormat.DATA_PROPERTY:
+		case ElkBinaryFormat.DATATYPE:
+		case ElkBinaryFormat.NAMED_INDIVIDUAL:
+		case ElkBinaryFormat.OBJECT_PROPERTY:
+			return readEntity(opcode);
+		case ElkBinaryFormat.ANONYMOUS_INDIVIDUAL:
+			return factory_.getAnonymousIndividual(readString());
+		case ElkBinaryFormat.IRI:
+			return readIri();
+		case ElkBinaryFormat.LITERAL:
+			return factory_.getLiteral(readString(),
+					readOptional(ElkDatatype.class));
+		case ElkBinaryFormat.FACET_RESTRICTION:
+			return factory_.getFacetRestriction(readIri(),
+					read(ElkLiteral.class));
+		case ElkBinaryFormat.ANNOTATION:
+			return factory_.getAnnotation(read(ElkAnnotationProperty.class),
+					read(ElkAnnotationValue.class));
+		case ElkBinaryFormat.OBJECT_INVERSE_OF:
+			return factory_.getObjectInverseOf(read(ElkObjectProperty.class));
+		case ElkBinaryFormat.OBJECT_PROPERTY_CHAIN:
+			return factory_.getObjectPropertyChain(
+					readList(ElkObjectPropertyExpression.class));
+		// class expressions
+		case ElkBinaryFormat.DATA_ALL_VALUES_FROM:
+			return factory_.getDataAllValuesFrom(
+					readList(ElkDataPropertyExpression.class),
+					read(ElkDataRange.class));
+		case ElkBinaryFormat.DATA_EXACT_CARDINALITY_QUALIFIED:
+			return factory_.getDataExactCardinalityQualified(
+					readCardinalityProperty(ElkDataPropertyExpression.class),
+					cardinality_, read(ElkDataRange.class));
+		case ElkBinaryFormat.DATA_EXACT_CARDINALITY_UNQUALIFIED:
+			return factory_.getDataExactCardinalityUnqualified(
+					readCardinalityProperty(ElkDataPropertyExpression.class),
+					cardinality_);
+		case ElkBinaryFormat.DATA_HAS_VALUE:
+			return factory_.getDataHasValue(
+					read(ElkDataPropertyExpression.class),
+					read(ElkLiteral.class));
+		case ElkBinaryFormat.DATA_MAX_CARDINALITY_QUALIFIED:
+			return factory_.getDataMaxCardinalityQualified(
+					readCardinalityProperty(ElkDataPropertyExpression.class),
+					cardinality_, read(ElkDataRange.class));
+		case ElkBinaryFormat.DATA_MAX_CARDINALITY_UNQUALIFIED:
+			return factory_.getDataMaxCardinalityUnqualified(
+					readCardinalityProperty(ElkDataPropertyExpression.class),
+					cardinality_);
+		case ElkBinaryFormat.DATA_MIN_CARDINALITY_QUALIFIED:
+			return factory_.getDataMinCardinalityQualified(
+					readCardinalityProperty(ElkDataPropertyExpression.class),
+					cardinality_, read(ElkDataRange.class));
+		case ElkBinaryFormat.DATA_MIN_CARDINALITY_UNQUALIFIED:
+			return factory_.getDataMinCardinalityUnqualified(
+					readCardinalityProperty(ElkDataPropertyExpression.class),
+					cardinality_);
+		case ElkBinaryFormat.DATA_SOME_VALUES_FROM:
+			return factory_.getDataSomeValuesFrom(
+					readList(ElkDataPropertyExpression.class),
+					read(ElkDataRange.class));
+		case ElkBinaryFormat.OBJECT_ALL_VALUES_FROM:
+			return factory_.getObjectAllValuesFrom(
+					read(ElkObjectPropertyExpression.class),
+					read(ElkClassExpression.class));
+		case ElkBinaryFormat.OBJECT_COMPLEMENT_OF:
+			return factory_
+					.getObjectComplementOf(read(ElkClassExpression.class));
+		case ElkBinaryFormat.OBJECT_EXACT_CARDINALITY_QUALIFIED:
+			return factory_.getObjectExactCardinalityQualified(
+					readCardinalityProperty(ElkObjectPropertyExpression.class),
+					cardinality_, read(ElkClassExpression.class));
+		case ElkBinaryFormat.OBJECT_EXACT_CARDINALITY_UNQUALIFIED:
+			return factory_.getObjectExactCardinalityUnqualified(
+					readCardinalityProperty(ElkObjectPropertyExpression.class),
+					cardinality_);
+		case ElkBinaryFormat.OBJECT_HAS_SELF:
+			return factory_
+					.getObjectHasSelf(read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.OBJECT_HAS_VALUE:
+			return factory_.getObjectHasValue(
+					read(ElkObjectPropertyExpression.class),
+					read(ElkIndividual.class));
+		case ElkBinaryFormat.OBJECT_INTERSECTION_OF:
+			return factory_.getObjectIntersectionOf(
+					readList(ElkClassExpression.class));
+		case ElkBinaryFormat.OBJECT_MAX_CARDINALITY_QUALIFIED:
+			return factory_.getObjectMaxCardinalityQualified(
+					readCardinalityProperty(ElkObjectPropertyExpression.class),
+					cardinality_, read(ElkClassExpression.class));
+		case ElkBinaryFormat.OBJECT_MAX_CARDINALITY_UNQUALIFIED:
+			return factory_.getObjectMaxCardinalityUnqualified(
+					readCardinalityProperty(ElkObjectPropertyExpression.class),
+					cardinality_);
+		case ElkBinaryFormat.OBJECT_MIN_CARDINALITY_QUALIFIED:
+			return factory_.getObjectMinCardinalityQualified(
+					readCardinalityProperty(ElkObjectPropertyExpression.class),
+					cardinality_, read(ElkClassExpression.class));
+		case ElkBinaryFormat.OBJECT_MIN_CARDINALITY_UNQUALIFIED:
+			return factory_.getObjectMinCardinalityUnqualified(
+					readCardinalityProperty(ElkObjectPropertyExpression.class),
+					cardinality_);
+		case ElkBinaryFormat.OBJECT_ONE_OF:
+			return factory_.getObjectOneOf(readList(ElkIndividual.class));
+		case ElkBinaryFormat.OBJECT_SOME_VALUES_FROM:
+			return factory_.getObjectSomeValuesFrom(
+					read(ElkObjectPropertyExpression.class),
+					read(ElkClassExpression.class));
+		case ElkBinaryFormat.OBJECT_UNION_OF:
+			return factory_
+					.getObjectUnionOf(readList(ElkClassExpression.class));
+		// data ranges
+		case ElkBinaryFormat.DATA_COMPLEMENT_OF:
+			return factory_.getDataComplementOf(read(ElkDataRange.class));
+		case ElkBinaryFormat.DATA_INTERSECTION_OF:
+			return factory_
+					.getDataIntersectionOf(readList(ElkDataRange.class));
+		case ElkBinaryFormat.DATA_ONE_OF:
+			return factory_.getDataOneOf(readList(ElkLiteral.class));
+		case ElkBinaryFormat.DATA_UNION_OF:
+			return factory_.getDataUnionOf(readList(ElkDataRange.class));
+		case ElkBinaryFormat.DATATYPE_RESTRICTION:
+			return factory_.getDatatypeRestriction(read(ElkDatatype.class),
+					readList(ElkFacetRestriction.class));
+		// axioms
+		case ElkBinaryFormat.ANNOTATION_ASSERTION_AXIOM:
+			return factory_.getAnnotationAssertionAxiom(
+					read(ElkAnnotationProperty.class),
+					read(ElkAnnotationSubject.class),
+					read(ElkAnnotationValue.class));
+		case ElkBinaryFormat.ANNOTATION_PROPERTY_DOMAIN_AXIOM:
+			return factory_.getAnnotationPropertyDomainAxiom(
+					read(ElkAnnotationProperty.class), read(ElkIri.class));
+		case ElkBinaryFormat.ANNOTATION_PROPERTY_RANGE_AXIOM:
+			return factory_.getAnnotationPropertyRangeAxiom(
+					read(ElkAnnotationProperty.class), read(ElkIri.class));
+		case ElkBinaryFormat.ASYMMETRIC_OBJECT_PROPERTY_AXIOM:
+			return factory_.getAsymmetricObjectPropertyAxiom(
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.CLASS_ASSERTION_AXIOM:
+			return factory_.getClassAssertionAxiom(
+					read(ElkClassExpression.class), read(ElkIndividual.class));
+		case ElkBinaryFormat.DATA_PROPERTY_ASSERTION_AXIOM:
+			return factory_.getDataPropertyAssertionAxiom(
+					read(ElkDataPropertyExpression.class),
+					read(ElkIndividual.class), read(ElkLiteral.class));
+		case ElkBinaryFormat.DATA_PROPERTY_DOMAIN_AXIOM:
+			return factory_.getDataPropertyDomainAxiom(
+					read(ElkDataPropertyExpression.class),
+					read(ElkClassExpression.class));
+		case ElkBinaryFormat.DATA_PROPERTY_RANGE_AXIOM:
+			return factory_.getDataPropertyRangeAxiom(
+					read(ElkDataPropertyExpression.class),
+					read(ElkDataRange.class));
+		case ElkBinaryFormat.DATATYPE_DEFINITION_AXIOM:
+			return factory_.getDatatypeDefinitionAxiom(
+					read(ElkDatatype.class), read(ElkDataRange.class));
+		case ElkBinaryFormat.DECLARATION_AXIOM:
+			return factory_.getDeclarationAxiom(read(ElkEntity.class));
+		case ElkBinaryFormat.DIFFERENT_INDIVIDUALS_AXIOM:
+			return factory_.getDifferentIndividualsAxiom(
+					readList(ElkIndividual.class));
+		case ElkBinaryFormat.DISJOINT_CLASSES_AXIOM:
+			return factory_.getDisjointClassesAxiom(
+					readList(ElkClassExpression.class));
+		case ElkBinaryFormat.DISJOINT_DATA_PROPERTIES_AXIOM:
+			return factory_.getDisjointDataPropertiesAxiom(
+					readList(ElkDataPropertyExpression.class));
+		case ElkBinaryFormat.DISJOINT_OBJECT_PROPERTIES_AXIOM:
+			return factory_.getDisjointObjectPropertiesAxiom(
+					readList(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.DISJOINT_UNION_AXIOM:
+			return factory_.getDisjointUnionAxiom(read(ElkClass.class),
+					readList(ElkClassExpression.class));
+		case ElkBinaryFormat.EQUIVALENT_CLASSES_AXIOM:
+			return factory_.getEquivalentClassesAxiom(
+					readList(ElkClassExpression.class));
+		case ElkBinaryFormat.EQUIVALENT_DATA_PROPERTIES_AXIOM:
+			return factory_.getEquivalentDataPropertiesAxiom(
+					readList(ElkDataPropertyExpression.class));
+		case ElkBinaryFormat.EQUIVALENT_OBJECT_PROPERTIES_AXIOM:
+			return factory_.getEquivalentObjectPropertiesAxiom(
+					readList(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.FUNCTIONAL_DATA_PROPERTY_AXIOM:
+			return factory_.getFunctionalDataPropertyAxiom(
+					read(ElkDataPropertyExpression.class));
+		case ElkBinaryFormat.FUNCTIONAL_OBJECT_PROPERTY_AXIOM:
+			return factory_.getFunctionalObjectPropertyAxiom(
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.HAS_KEY_AXIOM:
+			return factory_.getHasKeyAxiom(read(ElkClassExpression.class),
+					readList(ElkObjectPropertyExpression.class),
+					readList(ElkDataPropertyExpression.class));
+		case ElkBinaryFormat.INVERSE_FUNCTIONAL_OBJECT_PROPERTY_AXIOM:
+			return factory_.getInverseFunctionalObjectPropertyAxiom(
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.INVERSE_OBJECT_PROPERTIES_AXIOM:
+			return factory_.getInverseObjectPropertiesAxiom(
+					read(ElkObjectPropertyExpression.class),
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.IRREFLEXIVE_OBJECT_PROPERTY_AXIOM:
+			return factory_.getIrreflexiveObjectPropertyAxiom(
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.NEGATIVE_DATA_PROPERTY_ASSERTION_AXIOM:
+			return factory_.getNegativeDataPropertyAssertionAxiom(
+					read(ElkDataPropertyExpression.class),
+					read(ElkIndividual.class), read(ElkLiteral.class));
+		case ElkBinaryFormat.NEGATIVE_OBJECT_PROPERTY_ASSERTION_AXIOM:
+			return factory_.getNegativeObjectPropertyAssertionAxiom(
+					read(ElkObjectPropertyExpression.class),
+					read(ElkIndividual.class), read(ElkIndividual.class));
+		case ElkBinaryFormat.OBJECT_PROPERTY_ASSERTION_AXIOM:
+			return factory_.getObjectPropertyAssertionAxiom(
+					read(ElkObjectPropertyExpression.class),
+					read(ElkIndividual.class), read(ElkIndividual.class));
+		case ElkBinaryFormat.OBJECT_PROPERTY_DOMAIN_AXIOM:
+			return factory_.getObjectPropertyDomainAxiom(
+					read(ElkObjectPropertyExpression.class),
+					read(ElkClassExpression.class));
+		case ElkBinaryFormat.OBJECT_PROPERTY_RANGE_AXIOM:
+			return factory_.getObjectPropertyRangeAxiom(
+					read(ElkObjectPropertyExpression.class),
+					read(ElkClassExpression.class));
+		case ElkBinaryFormat.REFLEXIVE_OBJECT_PROPERTY_AXIOM:
+			return factory_.getReflexiveObjectPropertyAxiom(
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.SAME_INDIVIDUAL_AXIOM:
+			return factory_
+					.getSameIndividualAxiom(readList(ElkIndividual.class));
+		case ElkBinaryFormat.SUB_ANNOTATION_PROPERTY_OF_AXIOM:
+			return factory_.getSubAnnotationPropertyOfAxiom(
+					read(ElkAnnotationProperty.class),
+					read(ElkAnnotationProperty.class));
+		case ElkBinaryFormat.SUB_CLASS_OF_AXIOM:
+			return factory_.getSubClassOfAxiom(read(ElkClassExpression.class),
+					read(ElkClassExpression.class));
+		case ElkBinaryFormat.SUB_DATA_PROPERTY_OF_AXIOM:
+			return factory_.getSubDataPropertyOfAxiom(
+					read(ElkDataPropertyExpression.class),
+					read(ElkDataPropertyExpression.class));
+		case ElkBinaryFormat.SUB_OBJECT_PROPERTY_OF_AXIOM:
+			return factory_.getSubObjectPropertyOfAxiom(
+					read(ElkSubObjectPropertyExpression.class),
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.SYMMETRIC_OBJECT_PROPERTY_AXIOM:
+			return factory_.getSymmetricObjectPropertyAxiom(
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.TRANSITIVE_OBJECT_PROPERTY_AXIOM:
+			return factory_.getTransitiveObjectPropertyAxiom(
+					read(ElkObjectPropertyExpression.class));
+		case ElkBinaryFormat.SWRL_RULE:
+			return factory_.getSWRLRule();
+		default:
+			throw new Owl2ParseException("Unknown opcode " + opcode
+					+ " at position " + (buffer_.position() - 1));
+		}
+	}
+
+	/**
+	 * the cardinality read by the last call of
+	 * {@link #readCardinalityProperty(Class)}
+	 */
+	private int cardinality_;
+
+	/**
+	 * Reads the cardinality and the property of a cardinality restriction; the
+	 * cardinality is saved in {@link #cardinality_}
+	 */
+	private <P extends ElkObject> P readCardinalityProperty(Class<P> type)
+			throws Owl2ParseException {
+		int cardinality = readVarInt();
+		P property = read(type);
+		cardinality_ = cardinality;
+		return property;
+	}
+
+	/**
+	 * Reads the next object, which should be of the given type. The type is
+	 * not checked here but by the cast inserted by the compiler where the
+	 * result is used, since such casts are much faster than
+	 * {@link Class#isInstance(Object)}; the resulting
+	 * {@link ClassCastException} is reported by {@link #next()}.
+	 */
+	@SuppressWarnings("unchecked")
+	private <O extends ElkObject> O read(Class<O> type)
+			throws Owl2ParseException {
+		ElkObject result = readObject();
+		if (result == null)
+			throw new Owl2ParseException("Expected " + type.getSimpleName()
+					+ " at position " + buffer_.position());
+		return (O) result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <O extends ElkObject> O readOptional(Class<O> type)
+			throws Owl2ParseException {
+		return (O) readObject();
+	}
+
+	private <O extends ElkObject> List<O> readList(Class<O> type)
+			throws Owl2ParseException {
+		int size = readSize();
+		List<O> result = new ArrayList<O>(size);
+		for (int i = 0; i < size; i++) {
+			// the elements are not cast by the caller
+			result.add(type.cast(read(type)));
+		}
+		return result;
+	}
+
+	/**
+	 * Reads an {@link ElkEntity} with the given opcode; the {@link ElkEntity}s
+	 * with the same IRI are created by the factory only once
+	 */
+	private ElkEntity readEntity(int opcode) throws Owl2ParseException {
+		int index = readIriIndex();
+		Object[] entities = entities_.get(index);
+		if (entities == null) {
+			entities = new Object[ElkBinaryFormat.OBJECT_PROPERTY
+					- ElkBinaryFormat.ANNOTATION_PROPERTY + 1];
+			entities_.set(index, entities);
+		}
+		int pos = opcode - ElkBinaryFormat.ANNOTATION_PROPERTY;
+		ElkEntity result = (ElkEntity) entities[pos];
+		if (result != null)
+			return result;
+		// else
+		ElkIri iri = iris_.get(index);
+		switch (opcode) {
+		case ElkBinaryFormat.ANNOTATION_PROPERTY:
+			result = factory_.getAnnotationProperty(iri);
+			break;
+		case ElkBinaryFormat.CLASS:
+			result = factory_.getClass(iri);
+			break;
+		case ElkBinaryFormat.DATA_PROPERTY:
+			result = factory_.getDataProperty(iri);
+			break;
+		case ElkBinaryFormat.DATATYPE:
+			result = factory_.getDatatype(iri);
+			break;
+		case ElkBinaryFormat.NAMED_INDIVIDUAL:
+			result = factory_.getNamedIndividual(iri);
+			break;
+		default:
+			result = factory_.getObjectProperty(iri);
+		}
+		entities[pos] = result;
+		return result;
+	}
+
+	private ElkIri readIri() throws Owl2ParseException {
+		return iris_.get(readIriIndex());
+	}
+
+	/**
+	 * Reads a reference to an IRI, and the IRI itself if it is new
+	 * 
+	 * @return the index of the IRI in {@link #iris_}
+	 */
+	private int readIriIndex() throws Owl2ParseException {
+		int reference = readVarInt();
+		if (reference == 0) {
+			String namespace = readNamespace();
+			iris_.add(new ElkFullIri(namespace + readString()));
+			entities_.add(null);
+			return iris_.size() - 1;
+		}
+		// else
+		if (reference > iris_.size())
+			throw new Owl2ParseException("Undefined IRI reference " + reference
+					+ " at position " + buffer_.position());
+		return reference - 1;
+	}
+
+	private String readNamespace() throws Owl2ParseException {
+		int reference = readVarInt();
+		if (reference == 0) {
+			String namespace = readString();
+			namespaces_.add(namespace);
+			return namespace;
+		}
+		// else
+		if (reference > namespaces_.size())
+			throw new Owl2ParseException("Undefined namespace reference "
+					+ reference + " at position " + buffer_.position());
+		return namespaces_.get(reference - 1);
+	}
+
+	private String readString() throws Owl2ParseException {
+		int length = readSize();
+		String result;
+		if (buffer_.hasArray()) {
+			result = new String(buffer_.array(),
+					buffer_.arrayOffset() + buffer_.position(), length, UTF8_);
+			buffer_.position(buffer_.position() + length);
+		} else {
+			byte[] bytes = new byte[length];
+			buffer_.get(bytes);
+			result = new String(bytes, UTF8_);
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the number of the following items, such as list elements or
+	 * bytes of a string, each of which takes at least one byte
+	 * 
+	 * @return the number of items, which is not negative and not greater than
+	 *         the number of remaining bytes
+	 */
+	private int readSize() throws Owl2ParseException {
+		int start = buffer_.position();
+		int size = readVarInt();
+		if (size < 0 || size > buffer_.remaining())
+			throw new Owl2ParseException(
+					"Invalid size " + size + " at position " + start);
+		return size;
+	}
+
+	private int readVarInt() throws Owl2ParseException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte next = buffer_.get();
+			result |= (next & 0x7F) << shift;
+			if ((next & 0x80) == 0)
+				return result;
+		}
+		throw new Owl2ParseException(
+				"Malformed integer at position " + buffer_.position());
+	}
+
+}
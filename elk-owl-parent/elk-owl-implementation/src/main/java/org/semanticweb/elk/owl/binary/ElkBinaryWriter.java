@@ -0,0 +1,107 @@
+/*
+ * #%L
+ * ELK OWL Model Implementation
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.owl.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.printers.PrintingException;
+
+/**
+ * Writes {@link ElkAxiom}s in a compact binary format, which can be read back
+ * by {@link ElkBinaryReader} much faster than by parsing the OWL 2
+ * functional-style syntax. All axioms written by the same
+ * {@link ElkBinaryWriter} share the table of IRIs, so every IRI is stored only
+ * once.
+ * 
+ * @see ElkBinaryFormat
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ */
+public class ElkBinaryWriter implements Closeable {
+
+	private final OutputStream out_;
+
+	private final ElkBinaryWriterVisitor visitor_;
+
+	/**
+	 * Creates a new {@link ElkBinaryWriter} and writes the header of the
+	 * binary format
+	 * 
+	 * @param out
+	 *            the {@link OutputStream} to which the axioms are written
+	 * @throws IOException
+	 *             if an I/O Error occurs
+	 */
+	public ElkBinaryWriter(OutputStream out) throws IOException {
+		this.out_ = new BufferedOutputStream(out);
+		this.visitor_ = new ElkBinaryWriterVisitor(out_);
+		out_.write(ElkBinaryFormat.MAGIC);
+		visitor_.writeVarInt(ElkBinaryFormat.VERSION);
+	}
+
+	/**
+	 * Writes the given {@link ElkAxiom}
+	 * 
+	 * @param axiom
+	 *            the {@link ElkAxiom} to write
+	 * @throws IOException
+	 *             if an I/O Error occurs
+	 */
+	public void write(ElkAxiom axiom) throws IOException {
+		try {
+			axiom.accept(visitor_);
+		} catch (PrintingException e) {
+			throw new IOException(e.getMessage(), e.getCause());
+		}
+	}
+
+	/**
+	 * Writes all given {@link ElkAxiom}s
+	 * 
+	 * @param axioms
+	 *            the {@link ElkAxiom}s to write
+	 * @throws IOException
+	 *             if an I/O Error occurs
+	 */
+	public void writeAll(Iterable<? extends ElkAxiom> axioms)
+			throws IOException {
+		for (ElkAxiom axiom : axioms) {
+			write(axiom);
+		}
+	}
+
+	public void flush() throws IOException {
+		out_.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out_.close();
+	}
+
+}
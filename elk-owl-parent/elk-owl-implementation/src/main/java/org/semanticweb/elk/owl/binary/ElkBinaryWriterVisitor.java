@@ -0,0 +1,859 @@
+/*
+ * #%L
+ * ELK OWL Model Implementation
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.owl.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.elk.owl.interfaces.ElkAnnotation;
+import org.semanticweb.elk.owl.interfaces.ElkAnnotationAssertionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkAnnotationProperty;
+import org.semanticweb.elk.owl.interfaces.ElkAnnotationPropertyDomainAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkAnnotationPropertyRangeAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkAnonymousIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkAsymmetricObjectPropertyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkCardinalityRestriction;
+import org.semanticweb.elk.owl.interfaces.ElkCardinalityRestrictionQualified;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkClassAssertionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDataAllValuesFrom;
+import org.semanticweb.elk.owl.interfaces.ElkDataComplementOf;
+import org.semanticweb.elk.owl.interfaces.ElkDataExactCardinalityQualified;
+import org.semanticweb.elk.owl.interfaces.ElkDataExactCardinalityUnqualified;
+import org.semanticweb.elk.owl.interfaces.ElkDataHasValue;
+import org.semanticweb.elk.owl.interfaces.ElkDataIntersectionOf;
+import org.semanticweb.elk.owl.interfaces.ElkDataMaxCardinalityQualified;
+import org.semanticweb.elk.owl.interfaces.ElkDataMaxCardinalityUnqualified;
+import org.semanticweb.elk.owl.interfaces.ElkDataMinCardinalityQualified;
+import org.semanticweb.elk.owl.interfaces.ElkDataMinCardinalityUnqualified;
+import org.semanticweb.elk.owl.interfaces.ElkDataOneOf;
+import org.semanticweb.elk.owl.interfaces.ElkDataProperty;
+import org.semanticweb.elk.owl.interfaces.ElkDataPropertyAssertionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDataPropertyDomainAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDataPropertyRangeAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDataSomeValuesFrom;
+import org.semanticweb.elk.owl.interfaces.ElkDataUnionOf;
+import org.semanticweb.elk.owl.interfaces.ElkDatatype;
+import org.semanticweb.elk.owl.interfaces.ElkDatatypeDefinitionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDatatypeRestriction;
+import org.semanticweb.elk.owl.interfaces.ElkDeclarationAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDifferentIndividualsAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDisjointClassesAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDisjointDataPropertiesAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDisjointObjectPropertiesAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkDisjointUnionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkEquivalentClassesAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkEquivalentDataPropertiesAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkEquivalentObjectPropertiesAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkFacetRestriction;
+import org.semanticweb.elk.owl.interfaces.ElkFunctionalDataPropertyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkFunctionalObjectPropertyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkHasKeyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkInverseObjectPropertiesAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkIrreflexiveObjectPropertyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkLiteral;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkNegativeDataPropertyAssertionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectAllValuesFrom;
+import org.semanticweb.elk.owl.interfaces.ElkObjectComplementOf;
+import org.semanticweb.elk.owl.interfaces.ElkObjectExactCardinalityQualified;
+import org.semanticweb.elk.owl.interfaces.ElkObjectExactCardinalityUnqualified;
+import org.semanticweb.elk.owl.interfaces.ElkObjectHasSelf;
+import org.semanticweb.elk.owl.interfaces.ElkObjectHasValue;
+import org.semanticweb.elk.owl.interfaces.ElkObjectIntersectionOf;
+import org.semanticweb.elk.owl.interfaces.ElkObjectInverseOf;
+import org.semanticweb.elk.owl.interfaces.ElkObjectMaxCardinalityQualified;
+import org.semanticweb.elk.owl.interfaces.ElkObjectMaxCardinalityUnqualified;
+import org.semanticweb.elk.owl.interfaces.ElkObjectMinCardinalityQualified;
+import org.semanticweb.elk.owl.interfaces.ElkObjectMinCardinalityUnqualified;
+import org.semanticweb.elk.owl.interfaces.ElkObjectOneOf;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyAssertionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyChain;
+import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyDomainAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyRangeAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObjectSomeValuesFrom;
+import org.semanticweb.elk.owl.interfaces.ElkObjectUnionOf;
+import org.semanticweb.elk.owl.interfaces.ElkPropertyAssertionAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkPropertyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkPropertyDomainAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkPropertyRangeAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkPropertyRestriction;
+import org.semanticweb.elk.owl.interfaces.ElkPropertyRestrictionQualified;
+import org.semanticweb.elk.owl.interfaces.ElkReflexiveObjectPropertyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkSWRLRule;
+import org.semanticweb.elk.owl.interfaces.ElkSameIndividualAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkSubAnnotationPropertyOfAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkSubClassOfAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkSubDataPropertyOfAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkSubObjectPropertyOfAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkSymmetricObjectPropertyAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkTransitiveObjectPropertyAxiom;
+import org.semanticweb.elk.owl.iris.ElkAbbreviatedIri;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.printers.PrintingException;
+import org.semanticweb.elk.owl.visitors.ElkObjectVisitor;
+
+/**
+ * An ELK Object visitor that writes ELK Objects in the binary format described
+ * in {@link ElkBinaryFormat}. The objects are traversed in the same way as by
+ * the printer of the OWL 2 functional-style syntax, but instead of keywords
+ * and parentheses, every object is preceded by its opcode and every list by
+ * its length. The IRIs and their namespaces are written using tables that grow
+ * with every new IRI written by this visitor.
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ */
+class ElkBinaryWriterVisitor implements ElkObjectVisitor<Void> {
+
+	private static final Charset UTF8_ = Charset.forName("UTF-8");
+
+	private final OutputStream out_;
+
+	/**
+	 * the indexes of the IRIs written so far
+	 */
+	private final Map<String, Integer> iriIndex_ = new HashMap<String, Integer>();
+
+	/**
+	 * the indexes of the namespaces of the IRIs written so far
+	 */
+	private final Map<String, Integer> namespaceIndex_ = new HashMap<String, Integer>();
+
+	/**
+	 * Creates a visitor that writes into the given {@link OutputStream}
+	 * 
+	 * @param out
+	 *            the {@link OutputStream} to which the objects are written;
+	 *            {@link IOException}s are rethrown as
+	 *            {@link PrintingException}s
+	 */
+	ElkBinaryWriterVisitor(OutputStream out) {
+		this.out_ = out;
+	}
+
+	@Override
+	public Void visit(ElkAnnotationProperty elkAnnotationProperty) {
+		writeOpcode(ElkBinaryFormat.ANNOTATION_PROPERTY);
+		writeIri(elkAnnotationProperty.getIri());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkAnonymousIndividual elkAnonymousIndividual) {
+		writeOpcode(ElkBinaryFormat.ANONYMOUS_INDIVIDUAL);
+		writeString(elkAnonymousIndividual.getNodeId());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkAsymmetricObjectPropertyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.ASYMMETRIC_OBJECT_PROPERTY_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkClass elkClass) {
+		writeOpcode(ElkBinaryFormat.CLASS);
+		writeIri(elkClass.getIri());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkClassAssertionAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.CLASS_ASSERTION_AXIOM);
+		write(axiom.getClassExpression());
+		write(axiom.getIndividual());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataAllValuesFrom expression) {
+		writeOpcode(ElkBinaryFormat.DATA_ALL_VALUES_FROM);
+		write(expression.getDataPropertyExpressions());
+		write(expression.getDataRange());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataComplementOf range) {
+		writeOpcode(ElkBinaryFormat.DATA_COMPLEMENT_OF);
+		write(range.getDataRange());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataExactCardinalityQualified expression) {
+		writeOpcode(ElkBinaryFormat.DATA_EXACT_CARDINALITY_QUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataExactCardinalityUnqualified expression) {
+		writeOpcode(ElkBinaryFormat.DATA_EXACT_CARDINALITY_UNQUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataMaxCardinalityQualified expression) {
+		writeOpcode(ElkBinaryFormat.DATA_MAX_CARDINALITY_QUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataMaxCardinalityUnqualified expression) {
+		writeOpcode(ElkBinaryFormat.DATA_MAX_CARDINALITY_UNQUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataMinCardinalityQualified expression) {
+		writeOpcode(ElkBinaryFormat.DATA_MIN_CARDINALITY_QUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataMinCardinalityUnqualified expression) {
+		writeOpcode(ElkBinaryFormat.DATA_MIN_CARDINALITY_UNQUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataHasValue expression) {
+		writeOpcode(ElkBinaryFormat.DATA_HAS_VALUE);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataIntersectionOf range) {
+		writeOpcode(ElkBinaryFormat.DATA_INTERSECTION_OF);
+		write(range.getDataRanges());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataOneOf range) {
+		writeOpcode(ElkBinaryFormat.DATA_ONE_OF);
+		write(range.getLiterals());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataProperty elkDataProperty) {
+		writeOpcode(ElkBinaryFormat.DATA_PROPERTY);
+		writeIri(elkDataProperty.getIri());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataPropertyAssertionAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DATA_PROPERTY_ASSERTION_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataPropertyDomainAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DATA_PROPERTY_DOMAIN_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataPropertyRangeAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DATA_PROPERTY_RANGE_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataSomeValuesFrom expression) {
+		writeOpcode(ElkBinaryFormat.DATA_SOME_VALUES_FROM);
+		write(expression.getDataPropertyExpressions());
+		write(expression.getDataRange());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDatatype elkDatatype) {
+		writeOpcode(ElkBinaryFormat.DATATYPE);
+		writeIri(elkDatatype.getIri());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDatatypeRestriction range) {
+		writeOpcode(ElkBinaryFormat.DATATYPE_RESTRICTION);
+		write(range.getDatatype());
+		write(range.getFacetRestrictions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDataUnionOf range) {
+		writeOpcode(ElkBinaryFormat.DATA_UNION_OF);
+		write(range.getDataRanges());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDeclarationAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DECLARATION_AXIOM);
+		write(axiom.getEntity());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDifferentIndividualsAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DIFFERENT_INDIVIDUALS_AXIOM);
+		write(axiom.getIndividuals());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDisjointClassesAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DISJOINT_CLASSES_AXIOM);
+		write(axiom.getClassExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDisjointDataPropertiesAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DISJOINT_DATA_PROPERTIES_AXIOM);
+		write(axiom.getDataPropertyExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDisjointObjectPropertiesAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DISJOINT_OBJECT_PROPERTIES_AXIOM);
+		write(axiom.getObjectPropertyExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDisjointUnionAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DISJOINT_UNION_AXIOM);
+		write(axiom.getDefinedClass());
+		write(axiom.getClassExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkEquivalentClassesAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.EQUIVALENT_CLASSES_AXIOM);
+		write(axiom.getClassExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkEquivalentDataPropertiesAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.EQUIVALENT_DATA_PROPERTIES_AXIOM);
+		write(axiom.getDataPropertyExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkEquivalentObjectPropertiesAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.EQUIVALENT_OBJECT_PROPERTIES_AXIOM);
+		write(axiom.getObjectPropertyExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkFacetRestriction restriction) {
+		writeOpcode(ElkBinaryFormat.FACET_RESTRICTION);
+		writeIri(restriction.getConstrainingFacet());
+		write(restriction.getRestrictionValue());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkFunctionalDataPropertyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.FUNCTIONAL_DATA_PROPERTY_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkFunctionalObjectPropertyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.FUNCTIONAL_OBJECT_PROPERTY_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkInverseFunctionalObjectPropertyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.INVERSE_FUNCTIONAL_OBJECT_PROPERTY_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkInverseObjectPropertiesAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.INVERSE_OBJECT_PROPERTIES_AXIOM);
+		write(axiom.getFirstObjectPropertyExpression());
+		write(axiom.getSecondObjectPropertyExpression());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkIrreflexiveObjectPropertyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.IRREFLEXIVE_OBJECT_PROPERTY_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkLiteral elkLiteral) {
+		writeOpcode(ElkBinaryFormat.LITERAL);
+		writeString(elkLiteral.getLexicalForm());
+		writeOptional(elkLiteral.getDatatype());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkNamedIndividual elkNamedIndividual) {
+		writeOpcode(ElkBinaryFormat.NAMED_INDIVIDUAL);
+		writeIri(elkNamedIndividual.getIri());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkNegativeDataPropertyAssertionAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.NEGATIVE_DATA_PROPERTY_ASSERTION_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkNegativeObjectPropertyAssertionAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.NEGATIVE_OBJECT_PROPERTY_ASSERTION_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectAllValuesFrom expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_ALL_VALUES_FROM);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectComplementOf expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_COMPLEMENT_OF);
+		write(expression.getClassExpression());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectExactCardinalityQualified expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_EXACT_CARDINALITY_QUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectExactCardinalityUnqualified expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_EXACT_CARDINALITY_UNQUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectMaxCardinalityQualified expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_MAX_CARDINALITY_QUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectMaxCardinalityUnqualified expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_MAX_CARDINALITY_UNQUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectMinCardinalityQualified expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_MIN_CARDINALITY_QUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectMinCardinalityUnqualified expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_MIN_CARDINALITY_UNQUALIFIED);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectHasSelf expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_HAS_SELF);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectHasValue expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_HAS_VALUE);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectIntersectionOf expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_INTERSECTION_OF);
+		write(expression.getClassExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectInverseOf expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_INVERSE_OF);
+		write(expression.getObjectProperty());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectOneOf expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_ONE_OF);
+		write(expression.getIndividuals());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectProperty elkObjectProperty) {
+		writeOpcode(ElkBinaryFormat.OBJECT_PROPERTY);
+		writeIri(elkObjectProperty.getIri());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectPropertyAssertionAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.OBJECT_PROPERTY_ASSERTION_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectPropertyChain chain) {
+		writeOpcode(ElkBinaryFormat.OBJECT_PROPERTY_CHAIN);
+		write(chain.getObjectPropertyExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectPropertyDomainAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.OBJECT_PROPERTY_DOMAIN_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectPropertyRangeAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.OBJECT_PROPERTY_RANGE_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectSomeValuesFrom expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_SOME_VALUES_FROM);
+		write(expression);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkObjectUnionOf expression) {
+		writeOpcode(ElkBinaryFormat.OBJECT_UNION_OF);
+		write(expression.getClassExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkReflexiveObjectPropertyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.REFLEXIVE_OBJECT_PROPERTY_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkSameIndividualAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.SAME_INDIVIDUAL_AXIOM);
+		write(axiom.getIndividuals());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkSubClassOfAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.SUB_CLASS_OF_AXIOM);
+		write(axiom.getSubClassExpression());
+		write(axiom.getSuperClassExpression());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkSubDataPropertyOfAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.SUB_DATA_PROPERTY_OF_AXIOM);
+		write(axiom.getSubDataPropertyExpression());
+		write(axiom.getSuperDataPropertyExpression());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkSubObjectPropertyOfAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.SUB_OBJECT_PROPERTY_OF_AXIOM);
+		write(axiom.getSubObjectPropertyExpression());
+		write(axiom.getSuperObjectPropertyExpression());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkSymmetricObjectPropertyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.SYMMETRIC_OBJECT_PROPERTY_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkTransitiveObjectPropertyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.TRANSITIVE_OBJECT_PROPERTY_AXIOM);
+		write(axiom);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkHasKeyAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.HAS_KEY_AXIOM);
+		write(axiom.getClassExpression());
+		write(axiom.getObjectPropertyExpressions());
+		write(axiom.getDataPropertyExpressions());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkDatatypeDefinitionAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.DATATYPE_DEFINITION_AXIOM);
+		write(axiom.getDatatype());
+		write(axiom.getDataRange());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkAnnotationAssertionAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.ANNOTATION_ASSERTION_AXIOM);
+		write(axiom.getProperty());
+		write(axiom.getSubject());
+		write(axiom.getValue());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkFullIri iri) {
+		writeOpcode(ElkBinaryFormat.IRI);
+		writeIri(iri);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkAbbreviatedIri iri) {
+		writeOpcode(ElkBinaryFormat.IRI);
+		writeIri(iri);
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkSubAnnotationPropertyOfAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.SUB_ANNOTATION_PROPERTY_OF_AXIOM);
+		write(axiom.getSubAnnotationProperty());
+		write(axiom.getSuperAnnotationProperty());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkAnnotationPropertyDomainAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.ANNOTATION_PROPERTY_DOMAIN_AXIOM);
+		write(axiom.getProperty());
+		write(axiom.getDomain());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkAnnotationPropertyRangeAxiom axiom) {
+		writeOpcode(ElkBinaryFormat.ANNOTATION_PROPERTY_RANGE_AXIOM);
+		write(axiom.getProperty());
+		write(axiom.getRange());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkAnnotation elkAnnotation) {
+		writeOpcode(ElkBinaryFormat.ANNOTATION);
+		write(elkAnnotation.getProperty());
+		write(elkAnnotation.getValue());
+		return null;
+	}
+
+	@Override
+	public Void visit(ElkSWRLRule rule) {
+		// rules have no arguments in the model
+		writeOpcode(ElkBinaryFormat.SWRL_RULE);
+		return null;
+	}
+
+	private void write(ElkObject elkObject) {
+		elkObject.accept(this);
+	}
+
+	private void writeOptional(ElkObject elkObject) {
+		if (elkObject == null)
+			writeOpcode(ElkBinaryFormat.NONE);
+		else
+			write(elkObject);
+	}
+
+	private void write(List<? extends ElkObject> elkObjects) {
+		writeVarInt(elkObjects.size());
+		for (int i = 0; i < elkObjects.size(); i++) {
+			write(elkObjects.get(i));
+		}
+	}
+
+	private <P extends ElkObject> void write(
+			ElkPropertyRestriction<P> elkPropertyRestriction) {
+		write(elkPropertyRestriction.getProperty());
+	}
+
+	private <P extends ElkObject> void write(
+			ElkPropertyAxiom<P> elkPropertyAxiom) {
+		write(elkPropertyAxiom.getProperty());
+	}
+
+	private <P extends ElkObject, F extends ElkObject> void write(
+			ElkPropertyRestrictionQualified<P, F> elkQualifiedPropertyRestriction) {
+		write((ElkPropertyRestriction<P>) elkQualifiedPropertyRestriction);
+		write(elkQualifiedPropertyRestriction.getFiller());
+	}
+
+	private <P extends ElkObject> void write(
+			ElkCardinalityRestriction<P> elkCardinalityRestriction) {
+		writeVarInt(elkCardinalityRestriction.getCardinality());
+		write((ElkPropertyRestriction<P>) elkCardinalityRestriction);
+	}
+
+	private <P extends ElkObject, F extends ElkObject> void write(
+			ElkCardinalityRestrictionQualified<P, F> elkQualifiedCardinalityRestriction) {
+		write((ElkCardinalityRestriction<P>) elkQualifiedCardinalityRestriction);
+		write(elkQualifiedCardinalityRestriction.getFiller());
+	}
+
+	private <P extends ElkObject, O extends ElkObject, R extends ElkObject> void write(
+			ElkPropertyAssertionAxiom<P, O, R> elkPropertyAssertionAxiom) {
+		write((ElkPropertyAxiom<P>) elkPropertyAssertionAxiom);
+		write(elkPropertyAssertionAxiom.getSubject());
+		write(elkPropertyAssertionAxiom.getObject());
+	}
+
+	private <P extends ElkObject, D extends ElkObject> void write(
+			ElkPropertyDomainAxiom<P, D> elkPropertyDomainAxiom) {
+		write((ElkPropertyAxiom<P>) elkPropertyDomainAxiom);
+		write(elkPropertyDomainAxiom.getDomain());
+	}
+
+	private <P extends ElkObject, R extends ElkObject> void write(
+			ElkPropertyRangeAxiom<P, R> elkPropertyRangeAxiom) {
+		write((ElkPropertyAxiom<P>) elkPropertyRangeAxiom);
+		write(elkPropertyRangeAxiom.getRange());
+	}
+
+	private void writeIri(ElkIri iri) {
+		String value = iri.getFullIriAsString();
+		Integer index = iriIndex_.get(value);
+		if (index != null) {
+			writeVarInt(index + 1);
+			return;
+		}
+		// else
+		iriIndex_.put(value, iriIndex_.size());
+		writeVarInt(0);
+		int split = Math.max(value.lastIndexOf('#'), value.lastIndexOf('/'))
+				+ 1;
+		String namespace = value.substring(0, split);
+		index = namespaceIndex_.get(namespace);
+		if (index == null) {
+			namespaceIndex_.put(namespace, namespaceIndex_.size());
+			writeVarInt(0);
+			writeString(namespace);
+		} else {
+			writeVarInt(index + 1);
+		}
+		writeString(value.substring(split));
+	}
+
+	private void writeOpcode(int opcode) {
+		writeVarInt(opcode);
+	}
+
+	private void writeString(String string) {
+		byte[] bytes = string.getBytes(UTF8_);
+		writeVarInt(bytes.length);
+		try {
+			out_.write(bytes);
+		} catch (IOException e) {
+			throw new PrintingException(e.getMessage(), e);
+		}
+	}
+
+	void writeVarInt(int value) {
+		try {
+			while ((value & ~0x7F) != 0) {
+				out_.write((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out_.write(value);
+		} catch (IOException e) {
+			throw new PrintingException(e.getMessage(), e);
+		}
+	}
+
+}
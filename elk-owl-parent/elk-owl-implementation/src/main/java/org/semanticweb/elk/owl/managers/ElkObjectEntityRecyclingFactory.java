@@ -23,7 +23,8 @@ package org.semanticweb.elk.owl.managers;
  */
 
 import java.lang.ref.ReferenceQueue;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.semanticweb.elk.owl.implementation.ElkObjectBaseFactory;
 import org.semanticweb.elk.owl.interfaces.ElkAnnotationProperty;
@@ -43,6 +44,8 @@ import org.semanticweb.elk.owl.visitors.ElkEntityVisitor;
  * That is, any two structurally equivalent {@link ElkEntity}s (i.e., with the
  * same {@link ElkIri}s) entities will be the same object. For other types of
  * {@link ElkObject}s this is not the case: every time a new object is created.
+ * This factory can be used by several threads at the same time, e.g., by
+ * parsers of different parts of an ontology.
  * 
  * @author Frantisek Simancik
  * @author "Yevgeny Kazakov"
@@ -70,9 +73,9 @@ public class ElkObjectEntityRecyclingFactory
 			return candidate;
 	}
 
-	private HashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>> cache = new HashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>>();
+	private final ConcurrentMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>> cache = new ConcurrentHashMap<WeakWrapper<? extends ElkEntity>, WeakWrapper<? extends ElkEntity>>();
 
-	private ReferenceQueue<ElkEntity> referenceQueue = new ReferenceQueue<ElkEntity>();
+	private final ReferenceQueue<ElkEntity> referenceQueue = new ReferenceQueue<ElkEntity>();
 
 	private ElkEntityVisitor<WeakWrapper<? extends ElkEntity>> wrapper = new ElkEntityVisitor<WeakWrapper<? extends ElkEntity>>() {
 
@@ -123,16 +126,18 @@ public class ElkObjectEntityRecyclingFactory
 			return null;
 
 		WeakWrapper<? extends ElkEntity> key = entity.accept(wrapper);
-		WeakWrapper<? extends ElkEntity> value = cache.get(key);
 
-		if (value != null) {
+		for (;;) {
+			WeakWrapper<? extends ElkEntity> value = cache.putIfAbsent(key,
+					key);
+			if (value == null)
+				return entity;
 			ElkEntity result = value.get();
 			if (result != null)
 				return result;
+			// else the entity was collected after the value was found
+			cache.remove(value);
 		}
-
-		cache.put(key, key);
-		return entity;
 	}
 
 	private final void processQueue() {
@@ -0,0 +1,131 @@
+/*
+ * #%L
+ * ELK OWL JavaCC Parser
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.owl.parsing.javacc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.binary.ElkBinaryReader;
+import org.semanticweb.elk.owl.binary.ElkBinaryWriter;
+import org.semanticweb.elk.owl.implementation.ElkObjectBaseFactory;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.parsing.ElkTestAxiomProcessor;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+
+/**
+ * Checks that axioms written by {@link ElkBinaryWriter} are read back by
+ * {@link ElkBinaryReader} without changes, and that malformed input is
+ * reported by {@link Owl2ParseException}s
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ */
+public class JavaCCBasedElkBinaryFormatTest {
+
+	private static List<String> print(List<? extends ElkAxiom> axioms) {
+		List<String> result = new ArrayList<String>(axioms.size());
+		for (ElkAxiom axiom : axioms) {
+			result.add(OwlFunctionalStylePrinter.toString(axiom, true));
+		}
+		return result;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		InputStream input = getClass().getClassLoader()
+				.getResourceAsStream("owl2primer.owl");
+		assertNotNull(input);
+		ElkTestAxiomProcessor processor = new ElkTestAxiomProcessor();
+		new Owl2FunctionalStyleParserFactory()
+				.getParser(new InputStreamReader(input)).accept(processor);
+		List<ElkAxiom> original = processor.getAllAxioms();
+		assertFalse(original.isEmpty());
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ElkBinaryWriter writer = new ElkBinaryWriter(output);
+		writer.writeAll(original);
+		writer.close();
+
+		ElkBinaryReader reader = new ElkBinaryReader(
+				new ElkObjectBaseFactory(),
+				ByteBuffer.wrap(output.toByteArray()));
+		List<ElkAxiom> loaded = new ArrayList<ElkAxiom>();
+		while (reader.hasNext()) {
+			loaded.add(reader.next());
+		}
+		assertEquals(print(original), print(loaded));
+	}
+
+	/**
+	 * Checks that reading the axiom with the given bytes after the header
+	 * fails with an {@link Owl2ParseException}
+	 */
+	private static void testMalformed(int... axiom) throws Exception {
+		byte[] input = new byte[5 + axiom.length];
+		input[0] = 'E';
+		input[1] = 'L';
+		input[2] = 'K';
+		input[3] = 'B';
+		// version
+		input[4] = 1;
+		for (int i = 0; i < axiom.length; i++) {
+			input[5 + i] = (byte) axiom[i];
+		}
+		ElkBinaryReader reader = new ElkBinaryReader(
+				new ElkObjectBaseFactory(), ByteBuffer.wrap(input));
+		assertTrue(reader.hasNext());
+		try {
+			reader.next();
+			fail("Malformed input was read");
+		} catch (Owl2ParseException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testMalformedSize() throws Exception {
+		// DisjointClasses (opcode 71) with -1 class expressions
+		testMalformed(71, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+		// DisjointClasses with Integer.MAX_VALUE class expressions
+		testMalformed(71, 0xFF, 0xFF, 0xFF, 0xFF, 0x07, 2, 0);
+		// DisjointClasses with more class expressions than remaining bytes
+		testMalformed(71, 3, 2, 0);
+		// Class (opcode 2) with a new IRI in a new namespace of length -1
+		testMalformed(2, 0, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+		// Class with a new IRI in a new namespace longer than the input
+		testMalformed(2, 0, 0, 5, 'a');
+	}
+
+}
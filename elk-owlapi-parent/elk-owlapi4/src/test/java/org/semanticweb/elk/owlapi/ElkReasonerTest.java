@@ -40,6 +40,7 @@ import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
@@ -48,6 +49,7 @@ import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.PrefixManager;
 import org.semanticweb.owlapi.model.RemoveImport;
+import org.semanticweb.owlapi.reasoner.InferenceType;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
@@ -120,6 +122,62 @@ public class ElkReasonerTest {
 
 	}
 
+	/**
+	 * Testing that in the non-buffering mode the results of queries reflect
+	 * the changes made after the taxonomies were computed
+	 */
+	@Test
+	public void testNonBufferingChanges() throws Exception {
+
+		OWLOntologyManager man = TestOWLManager.createOWLOntologyManager();
+		OWLDataFactory dataFactory = man.getOWLDataFactory();
+
+		PrefixManager pm = new DefaultPrefixManager();
+		pm.setDefaultPrefix("http://www.example.com/main#");
+
+		OWLClass x = dataFactory.getOWLClass(":X", pm);
+		OWLClass y = dataFactory.getOWLClass(":Y", pm);
+		OWLClass z = dataFactory.getOWLClass(":Z", pm);
+		OWLNamedIndividual a = dataFactory.getOWLNamedIndividual(":a", pm);
+		OWLAxiom axXY = dataFactory.getOWLSubClassOfAxiom(x, y);
+		OWLAxiom axYZ = dataFactory.getOWLSubClassOfAxiom(y, z);
+		OWLAxiom axZY = dataFactory.getOWLSubClassOfAxiom(z, y);
+
+		OWLOntology ontology = man.createOntology();
+		man.addAxiom(ontology, axXY);
+		man.addAxiom(ontology, dataFactory.getOWLClassAssertionAxiom(x, a));
+		man.addAxiom(ontology, dataFactory.getOWLDeclarationAxiom(z));
+
+		OWLReasoner reasoner = new ElkReasonerFactory()
+				.createNonBufferingReasoner(ontology);
+
+		try {
+			// the taxonomies are computed
+			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY,
+					InferenceType.CLASS_ASSERTIONS);
+			assertFalse(reasoner.getSuperClasses(x, false).containsEntity(z));
+			assertFalse(reasoner.getEquivalentClasses(y).contains(z));
+			assertFalse(reasoner.getTypes(a, false).containsEntity(z));
+
+			// the changes are applied immediately
+			man.addAxiom(ontology, axYZ);
+			assertTrue(reasoner.getSuperClasses(x, false).containsEntity(z));
+			assertFalse(reasoner.getEquivalentClasses(y).contains(z));
+			assertTrue(reasoner.getTypes(a, false).containsEntity(z));
+
+			man.addAxiom(ontology, axZY);
+			assertTrue(reasoner.getEquivalentClasses(y).contains(z));
+
+			man.removeAxiom(ontology, axXY);
+			assertFalse(reasoner.getSuperClasses(x, false).containsEntity(z));
+			assertFalse(reasoner.getTypes(a, false).containsEntity(z));
+
+		} finally {
+			reasoner.dispose();
+		}
+
+	}
+
 	/**
 	 * Testing correctness of the reasoner with respect to ontology changes
 	 * 
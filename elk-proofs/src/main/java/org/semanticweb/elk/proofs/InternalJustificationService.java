@@ -0,0 +1,258 @@
+/*-
+ * #%L
+ * ELK Proofs Package
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.proofs;
+
+import java.util.Set;
+
+import org.liveontologies.puli.BaseProof;
+import org.liveontologies.puli.DynamicProof;
+import org.liveontologies.puli.Inference;
+import org.liveontologies.puli.InferenceJustifier;
+import org.liveontologies.puli.ModifiableProof;
+import org.liveontologies.puli.pinpointing.InterruptMonitor;
+import org.liveontologies.puli.pinpointing.MinimalSubsetEnumerator;
+import org.liveontologies.puli.pinpointing.PriorityComparator;
+import org.liveontologies.puli.pinpointing.PriorityComparators;
+import org.liveontologies.puli.pinpointing.ResolutionJustificationComputation;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * Enumerates justifications, i.e., minimal subsets of the ontology axioms
+ * from which entailments follow, using the proofs of the entailments
+ * generated by the {@link Reasoner}.
+ * <p>
+ * The inferences of the proofs are kept in one index shared by all queries,
+ * so the proofs of the conclusions used for several entailments are
+ * generated only once. Likewise, the intermediate results of the
+ * justification computation for such conclusions are reused. The index is
+ * discarded when the inferences provided by the {@link Reasoner} change,
+ * e.g., after changes in the ontology, and when the proof of some query
+ * cannot be generated, e.g., because of an exception. If the enumeration of
+ * justifications for some query is interrupted or fails, the intermediate
+ * results of the justification computation are discarded, but the index is
+ * kept.
+ * 
+ * @author Yevgeny Kazakov
+ */
+public class InternalJustificationService
+		implements DynamicProof.ChangeListener {
+
+	private final Reasoner reasoner_;
+
+	private final InferenceJustifier<Inference<?>, Set<? extends ElkAxiom>> justifier_ = new InternalJustifier();
+
+	/**
+	 * the inferences of the proofs generated so far
+	 */
+	private ModifiableProof<Inference<Object>> proof_;
+
+	/**
+	 * the conclusions whose inferences have been added to {@link #proof_}
+	 */
+	private Set<Object> done_;
+
+	/**
+	 * computes the justifications from {@link #proof_} keeping intermediate
+	 * results between the queries; {@code null} if it should be created
+	 */
+	private MinimalSubsetEnumerator.Factory<Object, ElkAxiom> computation_ = null;
+
+	/**
+	 * checks the budget of the current query
+	 */
+	private final BudgetMonitor monitor_ = new BudgetMonitor();
+
+	/**
+	 * {@code true} if the inferences provided by the reasoner may have changed
+	 * since {@link #proof_} was created
+	 */
+	private volatile boolean inferencesChanged_ = false;
+
+	public InternalJustificationService(final Reasoner reasoner) {
+		this.reasoner_ = reasoner;
+		reset();
+		reasoner.addProofChangeListener(this);
+	}
+
+	/**
+	 * Enumerates the justifications of the given goal and notifies the given
+	 * listener about each of them as soon as it is computed. The
+	 * justifications are enumerated in the order of their cardinalities, i.e.,
+	 * the smallest justifications first.
+	 * 
+	 * @param goal
+	 *            the entailment whose justifications are enumerated
+	 * @param budget
+	 *            the enumeration stops when this {@link InterruptMonitor} is
+	 *            interrupted, e.g., after a given time or a given number of
+	 *            justifications
+	 * @param listener
+	 *            notified about each justification exactly once
+	 * @return {@code true} if all justifications have been enumerated and
+	 *         {@code false} if the enumeration was interrupted
+	 * @throws ElkException
+	 *             if the proof of the goal cannot be generated
+	 */
+	public boolean enumerateJustifications(final ElkAxiom goal,
+			final InterruptMonitor budget,
+			final MinimalSubsetEnumerator.Listener<ElkAxiom> listener)
+			throws ElkException {
+		return enumerateJustifications(goal,
+				PriorityComparators.<ElkAxiom> cardinality(), budget,
+				listener);
+	}
+
+	/**
+	 * Enumerates the justifications of the given goal in the order defined by
+	 * the given {@link PriorityComparator} and notifies the given listener
+	 * about each of them as soon as it is computed.
+	 * 
+	 * @param goal
+	 *            the entailment whose justifications are enumerated
+	 * @param priorityComparator
+	 *            defines the order of the justifications; it must be
+	 *            compatible with the subset ordering, see
+	 *            {@link MinimalSubsetEnumerator#enumerate(MinimalSubsetEnumerator.Listener, PriorityComparator)}
+	 * @param budget
+	 *            the enumeration stops when this {@link InterruptMonitor} is
+	 *            interrupted
+	 * @param listener
+	 *            notified about each justification exactly once
+	 * @return {@code true} if all justifications have been enumerated and
+	 *         {@code false} if the enumeration was interrupted
+	 * @throws ElkException
+	 *             if the proof of the goal cannot be generated
+	 */
+	public synchronized boolean enumerateJustifications(final ElkAxiom goal,
+			final PriorityComparator<? super Set<ElkAxiom>, ?> priorityComparator,
+			final InterruptMonitor budget,
+			final MinimalSubsetEnumerator.Listener<ElkAxiom> listener)
+			throws ElkException {
+		/*
+		 * add the missing inferences to the index; the changes in the
+		 * ontology are applied when the proof is generated, so if the
+		 * inferences have changed, the index is created again
+		 */
+		do {
+			if (inferencesChanged_) {
+				reset();
+			}
+			boolean generated = false;
+			try {
+				new InternalProof(reasoner_, goal, proof_, done_);
+				generated = true;
+			} finally {
+				if (!generated) {
+					/*
+					 * the conclusions are added to done_ before their
+					 * inferences, so some of them may miss inferences
+					 */
+					reset();
+				}
+			}
+		} while (inferencesChanged_);
+		if (computation_ == null) {
+			computation_ = ResolutionJustificationComputation
+					.<Object, Inference<Object>, ElkAxiom> getFactory()
+					.create(proof_, justifier_, monitor_);
+		}
+		monitor_.start(budget);
+		boolean enumerated = false;
+		try {
+			computation_.newEnumerator(goal).enumerate(listener,
+					priorityComparator);
+			enumerated = true;
+		} finally {
+			monitor_.stop();
+			if (!enumerated) {
+				// the intermediate results of the computation may be broken
+				computation_ = null;
+			}
+		}
+		if (monitor_.wasInterrupted()) {
+			// the intermediate results of the computation are incomplete
+			computation_ = null;
+			return false;
+		}
+		// else
+		return true;
+	}
+
+	/**
+	 * Stops monitoring the changes of the inferences of the reasoner. This
+	 * service should not be used after calling this method.
+	 */
+	public void dispose() {
+		reasoner_.removeProofChangeListener(this);
+	}
+
+	@Override
+	public void inferencesChanged() {
+		inferencesChanged_ = true;
+	}
+
+	private void reset() {
+		inferencesChanged_ = false;
+		proof_ = new BaseProof<Inference<Object>>();
+		done_ = new ArrayHashSet<Object>();
+		computation_ = null;
+	}
+
+	/**
+	 * An {@link InterruptMonitor} delegating to the budget of the current
+	 * query and remembering whether it was interrupted
+	 * 
+	 * @author Yevgeny Kazakov
+	 */
+	private static class BudgetMonitor implements InterruptMonitor {
+
+		private InterruptMonitor budget_ = InterruptMonitor.DUMMY;
+
+		private boolean interrupted_ = false;
+
+		void start(final InterruptMonitor budget) {
+			budget_ = budget;
+			interrupted_ = false;
+		}
+
+		void stop() {
+			budget_ = InterruptMonitor.DUMMY;
+		}
+
+		boolean wasInterrupted() {
+			return interrupted_;
+		}
+
+		@Override
+		public boolean isInterrupted() {
+			if (budget_.isInterrupted()) {
+				interrupted_ = true;
+			}
+			return interrupted_;
+		}
+
+	}
+
+}
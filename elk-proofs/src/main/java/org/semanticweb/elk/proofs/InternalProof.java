@@ -63,12 +63,44 @@ public class InternalProof implements Proof<Inference<Object>>,
 	private final Reasoner reasoner_;
 	private final ElkAxiom goal_;
 
-	private final ModifiableProof<Inference<Object>> proof_ = new BaseProof<Inference<Object>>();
+	private final ModifiableProof<Inference<Object>> proof_;
+
+	/**
+	 * the {@link Entailment}s and {@link Conclusion}s whose inferences have
+	 * been added to {@link #proof_}
+	 */
+	private final Set<Object> done_;
 
 	public InternalProof(final Reasoner reasoner, final ElkAxiom goal)
 			throws ElkException {
+		this(reasoner, goal, new BaseProof<Inference<Object>>(),
+				new ArrayHashSet<Object>());
+	}
+
+	/**
+	 * Adds the inferences of the proof of the given goal to the given
+	 * {@link ModifiableProof} skipping the inferences of the conclusions that
+	 * are already done. This way, the same {@link ModifiableProof} can be
+	 * shared by proofs of several goals.
+	 * 
+	 * @param reasoner
+	 * @param goal
+	 * @param proof
+	 *            the {@link ModifiableProof} to which the inferences are
+	 *            added
+	 * @param done
+	 *            the conclusions whose inferences have been already added to
+	 *            the proof; the conclusions whose inferences are added are
+	 *            added to this set
+	 * @throws ElkException
+	 */
+	InternalProof(final Reasoner reasoner, final ElkAxiom goal,
+			final ModifiableProof<Inference<Object>> proof,
+			final Set<Object> done) throws ElkException {
 		this.reasoner_ = reasoner;
 		this.goal_ = goal;
+		this.proof_ = proof;
+		this.done_ = done;
 
 		reasoner.isEntailed(goal).accept(this);
 	}
@@ -78,8 +110,10 @@ public class InternalProof implements Proof<Inference<Object>>,
 			throws ElkException {
 		try {
 			final Entailment entailment = properResult.getEntailment();
-			proof_.produce(Inferences.create("Goal inference", goal_,
-					Arrays.asList(entailment)));
+			if (done_.add(goal_)) {
+				proof_.produce(Inferences.create("Goal inference", goal_,
+						Arrays.asList(entailment)));
+			}
 			processEntailment(entailment, properResult.getEvidence(false));
 			return null;
 		} finally {
@@ -109,12 +143,10 @@ public class InternalProof implements Proof<Inference<Object>>,
 	private void processEntailment(final Entailment goal,
 			final Proof<EntailmentInference> evidence) throws ElkException {
 
-		final Set<Entailment> entailmentDone = new ArrayHashSet<Entailment>();
 		final Queue<Entailment> entailmentToDo = new LinkedList<Entailment>();
-		final Set<Conclusion> tracingDone = new ArrayHashSet<Conclusion>();
 		final Queue<Conclusion> tracingToDo = new LinkedList<Conclusion>();
 
-		if (entailmentDone.add(goal)) {
+		if (done_.add(goal)) {
 			entailmentToDo.add(goal);
 		}
 
@@ -131,7 +163,7 @@ public class InternalProof implements Proof<Inference<Object>>,
 				newPremises.addAll(premises);
 
 				if (reason != null) {
-					if (tracingDone.add(reason)) {
+					if (done_.add(reason)) {
 						tracingToDo.add(reason);
 					}
 					newPremises.add(reason);
@@ -141,7 +173,7 @@ public class InternalProof implements Proof<Inference<Object>>,
 						inf.getConclusion(), newPremises));
 
 				for (final Entailment premise : inf.getPremises()) {
-					if (entailmentDone.add(premise)) {
+					if (done_.add(premise)) {
 						entailmentToDo.add(premise);
 					}
 				}
@@ -159,7 +191,7 @@ public class InternalProof implements Proof<Inference<Object>>,
 				proof_.produce(new TracingInferenceWrap(inf));
 
 				for (final Conclusion premise : inf.getPremises()) {
-					if (tracingDone.add(premise)) {
+					if (done_.add(premise)) {
 						tracingToDo.add(premise);
 					}
 				}
@@ -0,0 +1,212 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.proofs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.liveontologies.puli.pinpointing.InterruptMonitor;
+import org.liveontologies.puli.pinpointing.MinimalSubsetEnumerator;
+import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.FailingReasonerInterrupter;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.stages.PostProcessingStageExecutor;
+import org.semanticweb.elk.reasoner.tracing.TracingInference;
+
+/**
+ * Tests that {@link InternalJustificationService} reuses the index of the
+ * inferences between the queries, and discards it when the ontology changes
+ * or when the proof of a query fails to be generated.
+ * 
+ * @author Yevgeny Kazakov
+ */
+public class InternalJustificationServiceIndexTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass a_ = getClass("A"), b_ = getClass("B"),
+			c_ = getClass("C"), d_ = getClass("D");
+
+	// A <= B <= C, A <= D <= C
+	private final ElkAxiom ab_ = objectFactory.getSubClassOfAxiom(a_, b_),
+			bc_ = objectFactory.getSubClassOfAxiom(b_, c_),
+			ad_ = objectFactory.getSubClassOfAxiom(a_, d_),
+			dc_ = objectFactory.getSubClassOfAxiom(d_, c_);
+
+	private final ElkAxiom goal_ = objectFactory.getSubClassOfAxiom(a_, c_);
+
+	private TestChangesLoader loader_;
+
+	private CountingReasoner reasoner_;
+
+	private InternalJustificationService service_;
+
+	private ElkClass getClass(final String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	@Before
+	public void setUp() {
+		loader_ = new TestChangesLoader();
+		loader_.add(ab_).add(bc_).add(ad_).add(dc_);
+		reasoner_ = new CountingReasoner();
+		reasoner_.registerAxiomLoader(new TestAxiomLoaderFactory(loader_));
+		reasoner_.setAllowIncrementalMode(true);
+		service_ = new InternalJustificationService(reasoner_);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		service_.dispose();
+		assertTrue(reasoner_.shutdown());
+	}
+
+	private Set<Set<ElkAxiom>> getJustifications() throws Exception {
+		final Set<Set<ElkAxiom>> result = new HashSet<Set<ElkAxiom>>();
+		assertTrue(service_.enumerateJustifications(goal_,
+				InterruptMonitor.DUMMY,
+				new MinimalSubsetEnumerator.Listener<ElkAxiom>() {
+
+					@Override
+					public void newMinimalSubset(final Set<ElkAxiom> set) {
+						result.add(set);
+					}
+
+				}));
+		return result;
+	}
+
+	private static Set<ElkAxiom> axioms(final ElkAxiom... axioms) {
+		return new HashSet<ElkAxiom>(Arrays.asList(axioms));
+	}
+
+	/**
+	 * @param withDc
+	 *            whether D <= C is in the ontology
+	 * @return the justifications of the goal
+	 */
+	private Set<Set<ElkAxiom>> getExpectedJustifications(
+			final boolean withDc) {
+		final Set<Set<ElkAxiom>> result = new HashSet<Set<ElkAxiom>>();
+		result.add(axioms(ab_, bc_));
+		if (withDc) {
+			result.add(axioms(ad_, dc_));
+		}
+		return result;
+	}
+
+	@Test
+	public void testIndexDiscardedAfterChange() throws Exception {
+		final Set<Set<ElkAxiom>> expected = getExpectedJustifications(true);
+		assertEquals(expected, getJustifications());
+		assertTrue(reasoner_.inferenceRequests_ > 0);
+		// the index is reused
+		reasoner_.inferenceRequests_ = 0;
+		assertEquals(expected, getJustifications());
+		assertEquals(0, reasoner_.inferenceRequests_);
+		// the index is created again after the change
+		loader_.remove(dc_);
+		reasoner_.registerAxiomLoader(new TestAxiomLoaderFactory(loader_));
+		assertEquals(getExpectedJustifications(false), getJustifications());
+		assertTrue(reasoner_.inferenceRequests_ > 0);
+	}
+
+	@Test
+	public void testIndexDiscardedAfterFailure() throws Exception {
+		final Set<Set<ElkAxiom>> expected = getExpectedJustifications(true);
+		// the reasoner traces the conclusions only once
+		assertEquals(expected, getJustifications());
+		// fail at every request for inferences for a new index
+		for (int failure = 1;; failure++) {
+			service_.dispose();
+			service_ = new InternalJustificationService(reasoner_);
+			reasoner_.inferenceRequests_ = 0;
+			reasoner_.failingRequest_ = failure;
+			try {
+				getJustifications();
+			} catch (final ElkRuntimeException e) {
+				assertEquals(failure, reasoner_.inferenceRequests_);
+				// the results after the failure must be correct
+				reasoner_.failingRequest_ = 0;
+				assertEquals(expected, getJustifications());
+				continue;
+			}
+			// else all inferences were requested before the failure
+			assertTrue(failure > 1);
+			return;
+		}
+	}
+
+	/**
+	 * A {@link Reasoner} that counts the requests of the inferences of its
+	 * {@link Reasoner#getProof()} and fails at the given request
+	 * 
+	 * @author Yevgeny Kazakov
+	 */
+	private static class CountingReasoner extends Reasoner {
+
+		/**
+		 * the number of requests of the inferences so far
+		 */
+		int inferenceRequests_ = 0;
+
+		/**
+		 * the number of the request that fails, or 0 if no request fails
+		 */
+		int failingRequest_ = 0;
+
+		CountingReasoner() {
+			super(new ElkObjectEntityRecyclingFactory(),
+					FailingReasonerInterrupter.INSTANCE,
+					new PostProcessingStageExecutor(),
+					ReasonerConfiguration.getConfiguration());
+		}
+
+		@Override
+		public Collection<? extends TracingInference> getInferences(
+				final Object conclusion) {
+			if (++inferenceRequests_ == failingRequest_) {
+				throw new ElkRuntimeException("Failing request");
+			}
+			// else
+			return super.getInferences(conclusion);
+		}
+
+	}
+
+}
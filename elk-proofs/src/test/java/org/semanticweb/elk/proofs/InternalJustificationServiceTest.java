@@ -0,0 +1,203 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.proofs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.liveontologies.puli.Inference;
+import org.liveontologies.puli.pinpointing.InterruptMonitor;
+import org.liveontologies.puli.pinpointing.MinimalSubsetEnumerator;
+import org.liveontologies.puli.pinpointing.MinimalSubsetEnumerators;
+import org.liveontologies.puli.pinpointing.ResolutionJustificationComputation;
+import org.semanticweb.elk.ElkTestUtils;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.SimpleManifestCreator;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.tracing.ComprehensiveSubsumptionTracingTests;
+import org.semanticweb.elk.reasoner.tracing.TracingTestVisitor;
+import org.semanticweb.elk.testing.ConfigurationUtils;
+import org.semanticweb.elk.testing.PolySuite;
+import org.semanticweb.elk.testing.PolySuite.Config;
+import org.semanticweb.elk.testing.PolySuite.Configuration;
+import org.semanticweb.elk.testing.TestManifest;
+import org.semanticweb.elk.testing.UrlTestInput;
+
+/**
+ * Tests that {@link InternalJustificationService} enumerates the same
+ * justifications for the subsumptions in our standard test ontologies as the
+ * justification computation over the proofs of the single subsumptions, also
+ * when the enumeration is interrupted and after changes in the ontology.
+ * 
+ * @author Yevgeny Kazakov
+ */
+@RunWith(PolySuite.class)
+public class InternalJustificationServiceTest {
+
+	protected final TestManifest<UrlTestInput> manifest;
+
+	public InternalJustificationServiceTest(
+			final TestManifest<UrlTestInput> testManifest) {
+		manifest = testManifest;
+	}
+
+	private static List<ElkAxiom> getGoals(final Reasoner reasoner)
+			throws Exception {
+		final ElkObject.Factory factory = reasoner.getElkFactory();
+		final List<ElkAxiom> result = new ArrayList<ElkAxiom>();
+		new ComprehensiveSubsumptionTracingTests(reasoner)
+				.accept(new TracingTestVisitor() {
+
+					@Override
+					public void testSubsumption(final ElkClass subsumee,
+							final ElkClass subsumer) {
+						result.add(factory.getSubClassOfAxiom(subsumee,
+								subsumer));
+					}
+
+					@Override
+					public void testEquivalence(
+							final List<? extends ElkClass> equivalent) {
+						result.add(factory.getEquivalentClassesAxiom(equivalent));
+					}
+
+				});
+		return result;
+	}
+
+	private static Set<Set<ElkAxiom>> getExpectedJustifications(
+			final Reasoner reasoner, final ElkAxiom goal) throws Exception {
+		final Collector collector = new Collector();
+		MinimalSubsetEnumerators.enumerate(goal,
+				new InternalProof(reasoner, goal), new InternalJustifier(),
+				ResolutionJustificationComputation
+						.<Object, Inference<Object>, ElkAxiom> getFactory(),
+				InterruptMonitor.DUMMY, collector);
+		return new HashSet<Set<ElkAxiom>>(collector.justifications_);
+	}
+
+	private static void checkJustifications(final Reasoner reasoner,
+			final InternalJustificationService service,
+			final List<ElkAxiom> goals) throws Exception {
+		for (final ElkAxiom goal : goals) {
+			final Collector collector = new Collector();
+			assertTrue(service.enumerateJustifications(goal,
+					InterruptMonitor.DUMMY, collector));
+			assertEquals(goal.toString(),
+					getExpectedJustifications(reasoner, goal),
+					new HashSet<Set<ElkAxiom>>(collector.justifications_));
+			// the smallest justifications first
+			int size = 0;
+			for (final Set<ElkAxiom> justification : collector.justifications_) {
+				assertTrue(size <= justification.size());
+				size = justification.size();
+			}
+		}
+	}
+
+	@Test
+	public void justificationTest() throws Exception {
+		final TestChangesLoader loader = new TestChangesLoader();
+		final List<ElkAxiom> ontology = new ArrayList<ElkAxiom>(
+				TestReasonerUtils.loadAxioms(
+						manifest.getInput().getUrl().openStream()));
+		for (final ElkAxiom axiom : ontology) {
+			loader.add(axiom);
+		}
+		final Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader);
+		reasoner.setAllowIncrementalMode(true);
+		final InternalJustificationService service = new InternalJustificationService(
+				reasoner);
+		try {
+			final List<ElkAxiom> goals = getGoals(reasoner);
+			checkJustifications(reasoner, service, goals);
+
+			// interrupt after the first justification
+			for (final ElkAxiom goal : goals) {
+				final Collector collector = new Collector();
+				final boolean complete = service.enumerateJustifications(goal,
+						collector, collector);
+				if (complete) {
+					assertTrue(collector.justifications_.size() <= 1);
+				} else {
+					assertEquals(1, collector.justifications_.size());
+				}
+			}
+			checkJustifications(reasoner, service, goals);
+
+			if (ontology.isEmpty()) {
+				return;
+			}
+			// the results must be updated after changes
+			loader.remove(ontology.get(0));
+			reasoner.registerAxiomLoader(new TestAxiomLoaderFactory(loader));
+			checkJustifications(reasoner, service, goals);
+		} finally {
+			service.dispose();
+			assertTrue(reasoner.shutdown());
+		}
+	}
+
+	/**
+	 * Collects the enumerated justifications; interrupted after the first
+	 * justification is found
+	 */
+	private static class Collector implements
+			MinimalSubsetEnumerator.Listener<ElkAxiom>, InterruptMonitor {
+
+		private final List<Set<ElkAxiom>> justifications_ = new ArrayList<Set<ElkAxiom>>();
+
+		@Override
+		public void newMinimalSubset(final Set<ElkAxiom> set) {
+			justifications_.add(set);
+		}
+
+		@Override
+		public boolean isInterrupted() {
+			return !justifications_.isEmpty();
+		}
+
+	}
+
+	@Config
+	public static Configuration getConfig()
+			throws URISyntaxException, IOException {
+		return ConfigurationUtils.loadFileBasedTestConfiguration(
+				ElkTestUtils.TEST_INPUT_LOCATION, SimpleManifestCreator.class,
+				SimpleManifestCreator.INSTANCE, "owl");
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.loading;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.semanticweb.elk.owl.binary.ElkBinaryReader;
+import org.semanticweb.elk.owl.binary.ElkBinaryWriter;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
+
+/**
+ * An {@link AxiomLoader} that loads axioms from a file written by
+ * {@link ElkBinaryWriter}. The file is memory-mapped and the axioms are decoded
+ * directly from the mapped buffer in the calling thread, so no parser thread
+ * is needed. If loading is interrupted, it continues from the next axiom when
+ * {@link #load(ElkAxiomProcessor, ElkAxiomProcessor)} is called again. Since a
+ * single buffer is used, the file can have at most {@link Integer#MAX_VALUE}
+ * bytes.
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+public class ElkBinaryFileLoader extends AbstractAxiomLoader
+		implements AxiomLoader {
+
+	private final ElkObject.Factory objectFactory_;
+
+	private final File file_;
+
+	/**
+	 * the reader for the mapped file; created on the first call of
+	 * {@link #load(ElkAxiomProcessor, ElkAxiomProcessor)}
+	 */
+	private ElkBinaryReader reader_;
+
+	private boolean finished_ = false;
+
+	public ElkBinaryFileLoader(final InterruptMonitor interrupter,
+			ElkObject.Factory objectFactory, File file) {
+		super(interrupter);
+		this.objectFactory_ = objectFactory;
+		this.file_ = file;
+	}
+
+	@Override
+	public synchronized void load(ElkAxiomProcessor axiomInserter,
+			ElkAxiomProcessor axiomDeleter) throws ElkLoadingException {
+		if (finished_)
+			return;
+		try {
+			if (reader_ == null) {
+				reader_ = new ElkBinaryReader(objectFactory_, map(file_));
+			}
+			while (reader_.hasNext()) {
+				if (isInterrupted())
+					return;
+				axiomInserter.visit(reader_.next());
+			}
+		} catch (Owl2ParseException e) {
+			finished_ = true;
+			throw new ElkLoadingException("Cannot load the ontology!", e);
+		}
+		finished_ = true;
+		reader_ = null;
+	}
+
+	@Override
+	public boolean isLoadingFinished() {
+		return finished_;
+	}
+
+	@Override
+	public synchronized void dispose() {
+		// the mapping is released when the buffer is garbage collected
+		reader_ = null;
+	}
+
+	private static MappedByteBuffer map(File file)
+			throws ElkLoadingException {
+		try {
+			RandomAccessFile input = new RandomAccessFile(file, "r");
+			try {
+				FileChannel channel = input.getChannel();
+				if (channel.size() > Integer.MAX_VALUE)
+					throw new ElkLoadingException(
+							"The file is too large to be mapped: " + file);
+				// the mapping remains valid after the channel is closed
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0,
+						channel.size());
+			} finally {
+				input.close();
+			}
+		} catch (IOException e) {
+			throw new ElkLoadingException("Cannot read " + file, e);
+		}
+	}
+
+	public static class Factory implements AxiomLoader.Factory {
+
+		private final ElkObject.Factory objectFactory_;
+		private final File file_;
+
+		/**
+		 * @param objectFactory
+		 *            the factory used to create the loaded axioms
+		 * @param file
+		 *            the file written by {@link ElkBinaryWriter}
+		 */
+		public Factory(final ElkObject.Factory objectFactory,
+				final File file) {
+			this.objectFactory_ = objectFactory;
+			this.file_ = file;
+		}
+
+		@Override
+		public ElkBinaryFileLoader getAxiomLoader(
+				final InterruptMonitor interrupter) {
+			return new ElkBinaryFileLoader(interrupter, objectFactory_, file_);
+		}
+
+	}
+
+}
@@ -0,0 +1,245 @@
+package org.semanticweb.elk.loading;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits an ontology document in the OWL 2 functional-style syntax into
+ * documents that can be parsed independently of each other and contain the
+ * axioms of the original document. Every such document consists of the prefix
+ * declarations of the original document followed by an ontology with
+ * consecutive axioms of the original ontology, whose total length is not
+ * smaller than the given chunk length, unless the axioms of the original
+ * ontology are finished. The first document also contains the ontology IRI,
+ * the imports, and the ontology annotations.
+ * <p>
+ * The document is split between the top-level parenthesized expressions
+ * within the ontology, taking into account IRIs, quoted strings, and comments,
+ * in which parentheses have no special meaning. If the start of the ontology
+ * cannot be recognized, the whole document is returned as one chunk, so the
+ * parser reports the errors in it as usual.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class Owl2FunctionalStyleChunkReader {
+
+	private static final String ONTOLOGY_KEYWORD_ = "Ontology";
+
+	/**
+	 * the lexical states in which the characters are read
+	 */
+	private static final int DEFAULT_ = 0, FULL_IRI_ = 1, QUOTED_STRING_ = 2,
+			QUOTED_STRING_ESCAPE_ = 3, COMMENT_ = 4;
+
+	private final Reader reader_;
+
+	/**
+	 * the minimal number of characters of axioms in chunks
+	 */
+	private final int chunkLength_;
+
+	private final char[] buffer_ = new char[1 << 16];
+
+	/**
+	 * the position of the next character in {@link #buffer_} and the number
+	 * of characters read into it
+	 */
+	private int pos_ = 0, limit_ = 0;
+
+	/**
+	 * the lexical state after the last read character
+	 */
+	private int state_ = DEFAULT_;
+
+	/**
+	 * the number of open parentheses outside of IRIs, strings and comments
+	 */
+	private int depth_ = 0;
+
+	/**
+	 * the text before the ontology, or {@code null} if it is not read yet
+	 */
+	private String prelude_ = null;
+
+	/**
+	 * {@code true} if all characters are read
+	 */
+	private boolean finished_ = false;
+
+	/**
+	 * @param reader
+	 *            the {@link Reader} from which the document is read
+	 * @param chunkLength
+	 *            the minimal number of characters of axioms in every chunk
+	 *            except for the last one
+	 */
+	public Owl2FunctionalStyleChunkReader(Reader reader, int chunkLength) {
+		this.reader_ = reader;
+		this.chunkLength_ = chunkLength;
+	}
+
+	/**
+	 * @return the next document obtained from the input or {@code null} if
+	 *         the input is finished
+	 * @throws IOException
+	 *             if the input cannot be read
+	 */
+	public String nextChunk() throws IOException {
+		if (finished_) {
+			return null;
+		}
+		if (prelude_ == null) {
+			StringBuilder prelude = new StringBuilder();
+			if (!readPrelude(prelude)) {
+				finished_ = true;
+				return prelude.length() == 0 ? null : prelude.toString();
+			}
+			// else
+			prelude_ = prelude.toString();
+		}
+		StringBuilder chunk = new StringBuilder(prelude_.length()
+				+ Math.min(chunkLength_, buffer_.length));
+		chunk.append(prelude_).append(ONTOLOGY_KEYWORD_).append('(');
+		int axiomsStart = chunk.length();
+		for (;;) {
+			int c = read();
+			if (c < 0) {
+				finished_ = true;
+				return chunk.toString();
+			}
+			chunk.append((char) c);
+			if (state_ != DEFAULT_ || c != ')') {
+				continue;
+			}
+			// else
+			if (depth_ == 1 && chunk.length() - axiomsStart >= chunkLength_) {
+				// closing the ontology after a complete top-level expression
+				return chunk.append(')').toString();
+			}
+		}
+	}
+
+	/**
+	 * Reads the text until the beginning of the ontology
+	 *
+	 * @param prelude
+	 *            where the text before the ontology is appended
+	 * @return {@code true} if the beginning of the ontology is found, in
+	 *         which case the text starting from the ontology keyword is
+	 *         removed from the given {@link StringBuilder}, and {@code false}
+	 *         if the input is finished before that
+	 * @throws IOException
+	 */
+	private boolean readPrelude(StringBuilder prelude) throws IOException {
+		for (;;) {
+			int c = read();
+			if (c < 0) {
+				return false;
+			}
+			prelude.append((char) c);
+			if (state_ == DEFAULT_ && c == '(' && depth_ == 1) {
+				int end = prelude.length() - 1;
+				while (end > 0 && Character.isWhitespace(prelude.charAt(end - 1)))
+					end--;
+				int start = end - ONTOLOGY_KEYWORD_.length();
+				if (start >= 0
+						&& prelude.substring(start, end)
+								.equals(ONTOLOGY_KEYWORD_)
+						&& (start == 0 || !isNameChar(prelude.charAt(start - 1)))) {
+					prelude.setLength(start);
+					return true;
+				}
+			}
+		}
+	}
+
+	private static boolean isNameChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '-'
+				|| c == '.' || c == ':';
+	}
+
+	/**
+	 * Reads the next character and updates the lexical state and the depth of
+	 * parentheses
+	 *
+	 * @return the read character or {@code -1} if the input is finished
+	 * @throws IOException
+	 */
+	private int read() throws IOException {
+		if (pos_ == limit_) {
+			limit_ = reader_.read(buffer_);
+			pos_ = 0;
+			if (limit_ <= 0) {
+				limit_ = 0;
+				return -1;
+			}
+		}
+		char c = buffer_[pos_++];
+		switch (state_) {
+		case DEFAULT_:
+			switch (c) {
+			case '(':
+				depth_++;
+				break;
+			case ')':
+				depth_--;
+				break;
+			case '<':
+				state_ = FULL_IRI_;
+				break;
+			case '"':
+				state_ = QUOTED_STRING_;
+				break;
+			case '#':
+				state_ = COMMENT_;
+				break;
+			default:
+				break;
+			}
+			break;
+		case FULL_IRI_:
+			if (c == '>')
+				state_ = DEFAULT_;
+			break;
+		case QUOTED_STRING_:
+			if (c == '"')
+				state_ = DEFAULT_;
+			else if (c == '\\')
+				state_ = QUOTED_STRING_ESCAPE_;
+			break;
+		case QUOTED_STRING_ESCAPE_:
+			state_ = QUOTED_STRING_;
+			break;
+		case COMMENT_:
+			if (c == '\n' || c == '\r')
+				state_ = DEFAULT_;
+			break;
+		default:
+			throw new IllegalStateException("Unknown state: " + state_);
+		}
+		return c;
+	}
+
+}
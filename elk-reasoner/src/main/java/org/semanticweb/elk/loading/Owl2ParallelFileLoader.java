@@ -0,0 +1,478 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.loading;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.iris.ElkPrefix;
+import org.semanticweb.elk.owl.parsing.Owl2ParseException;
+import org.semanticweb.elk.owl.parsing.Owl2Parser;
+import org.semanticweb.elk.owl.parsing.Owl2ParserAxiomProcessor;
+import org.semanticweb.elk.owl.parsing.Owl2ParserFactory;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
+
+/**
+ * An {@link AxiomLoader} that loads ontologies in the OWL 2 functional-style
+ * syntax from a file or from all files of a directory using several
+ * {@link Owl2Parser}s running in parallel. The files are split into documents
+ * using {@link Owl2FunctionalStyleChunkReader}, each of which contains the
+ * prefix declarations of the file, so that the documents can be parsed
+ * independently. The parsed axioms are processed in the thread calling
+ * {@link #load(ElkAxiomProcessor, ElkAxiomProcessor)}, so the provided
+ * {@link ElkAxiomProcessor}s do not need to be thread safe. However, the
+ * {@link Owl2ParserFactory} should create parsers that can be used
+ * concurrently, e.g., sharing a thread-safe factory for ELK objects.
+ * <p>
+ * Since the chunks are parsed in parallel, the axioms may be loaded in a
+ * different order than they appear in the files.
+ *
+ * @author "Yevgeny Kazakov"
+ *
+ */
+public class Owl2ParallelFileLoader extends AbstractAxiomLoader implements
+		AxiomLoader {
+
+	/**
+	 * the default minimal number of characters of axioms in the parsed
+	 * chunks
+	 */
+	public static final int DEFAULT_CHUNK_LENGTH = 1 << 20;
+
+	private static final Charset UTF8_ = Charset.forName("UTF-8");
+
+	/**
+	 * a special chunk to detect that all chunks are parsed
+	 */
+	private static final String POISON_CHUNK_ = new String();
+
+	/**
+	 * a special batch to detect that all axioms are loaded
+	 */
+	private static final ArrayList<ElkAxiom> POISON_BATCH_ = new ArrayList<ElkAxiom>(
+			1);
+
+	private final Owl2ParserFactory parserFactory_;
+	/**
+	 * the files from which the axioms are loaded
+	 */
+	private final List<File> files_;
+	/**
+	 * the minimal number of characters of axioms in the parsed chunks
+	 */
+	private final int chunkLength_;
+	/**
+	 * the maximum number of axioms in the exchange batch
+	 */
+	private final int batchLength_;
+	/**
+	 * a bounded queue through which the chunks are passed from the splitter to
+	 * the parsers
+	 */
+	private final BlockingQueue<String> chunkExchanger_;
+	/**
+	 * a bounded queue through which batches of axioms are exchanged between the
+	 * parsers and the axiom loader
+	 */
+	private final BlockingQueue<ArrayList<ElkAxiom>> axiomExchanger_;
+	/**
+	 * the thread splitting the files into chunks followed by the parser
+	 * threads
+	 */
+	private final Thread[] threads_;
+	/**
+	 * the number of parser threads that are not yet finished
+	 */
+	private final AtomicInteger activeParsers_;
+	/**
+	 * {@code true} if the threads have started
+	 */
+	private boolean started_;
+	/**
+	 * {@code true} if all axioms are loaded
+	 */
+	private volatile boolean finished_;
+	/**
+	 * the first exception created if something goes wrong
+	 */
+	private volatile ElkLoadingException exception_;
+
+	/**
+	 * Creating an {@link Owl2ParallelFileLoader}, which loads axioms from the
+	 * given files using the given number of parsers
+	 *
+	 * @param interrupter
+	 *            the {@link InterruptMonitor} that is checked for interruptions
+	 * @param parserFactory
+	 *            the factory for parsers of chunks
+	 * @param files
+	 *            the files to be loaded
+	 * @param parserCount
+	 *            the number of parsers running in parallel
+	 * @param chunkLength
+	 *            the minimal number of characters of axioms in the parsed
+	 *            chunks
+	 * @param batchLength
+	 *            the size of the batch for exchanging axioms
+	 */
+	public Owl2ParallelFileLoader(final InterruptMonitor interrupter,
+			Owl2ParserFactory parserFactory, List<File> files,
+			int parserCount, int chunkLength, int batchLength) {
+		super(interrupter);
+		if (parserCount < 1) {
+			throw new IllegalArgumentException(
+					"The number of parsers must be positive: " + parserCount);
+		}
+		this.parserFactory_ = parserFactory;
+		this.files_ = files;
+		this.chunkLength_ = chunkLength;
+		this.batchLength_ = batchLength;
+		this.chunkExchanger_ = new ArrayBlockingQueue<String>(2 * parserCount);
+		this.axiomExchanger_ = new ArrayBlockingQueue<ArrayList<ElkAxiom>>(
+				4 * parserCount);
+		this.threads_ = new Thread[parserCount + 1];
+		threads_[0] = new Thread(new Splitter(), "elk-splitter-thread");
+		for (int i = 1; i <= parserCount; i++) {
+			threads_[i] = new Thread(new Parser(), "elk-parser-thread-" + i);
+		}
+		for (Thread thread : threads_) {
+			thread.setDaemon(true);
+		}
+		this.activeParsers_ = new AtomicInteger(parserCount);
+		this.started_ = false;
+		this.finished_ = false;
+		this.exception_ = null;
+	}
+
+	public Owl2ParallelFileLoader(final InterruptMonitor interrupter,
+			Owl2ParserFactory parserFactory, List<File> files,
+			int parserCount) {
+		this(interrupter, parserFactory, files, parserCount,
+				DEFAULT_CHUNK_LENGTH, 128);
+	}
+
+	@Override
+	public synchronized void load(ElkAxiomProcessor axiomInserter,
+			ElkAxiomProcessor axiomDeleter) throws ElkLoadingException {
+		if (finished_)
+			return;
+
+		if (!started_) {
+			for (Thread thread : threads_) {
+				thread.start();
+			}
+			started_ = true;
+		}
+
+		ArrayList<ElkAxiom> nextBatch;
+
+		for (;;) {
+			if (isInterrupted())
+				break;
+			try {
+				nextBatch = axiomExchanger_.take();
+			} catch (InterruptedException e) {
+				/*
+				 * we don't know for sure why the thread was interrupted, so we
+				 * need to obey; if interrupt was not relevant, the process will
+				 * restart; we need to restore the interrupt status so that the
+				 * called methods know that there was an interrupt
+				 */
+				Thread.currentThread().interrupt();
+				break;
+			}
+			if (nextBatch == POISON_BATCH_) {
+				finished_ = true;
+				break;
+			}
+			for (int i = 0; i < nextBatch.size(); i++) {
+				ElkAxiom axiom = nextBatch.get(i);
+				axiomInserter.visit(axiom);
+			}
+		}
+		if (exception_ != null) {
+			throw exception_;
+		}
+	}
+
+	@Override
+	public boolean isLoadingFinished() {
+		return finished_;
+	}
+
+	@Override
+	public synchronized void dispose() {
+		for (Thread thread : threads_) {
+			thread.interrupt();
+		}
+		chunkExchanger_.clear();
+		axiomExchanger_.clear();
+	}
+
+	/**
+	 * Records the exception if no exception was recorded before
+	 *
+	 * @param e
+	 */
+	private void fail(Throwable e) {
+		// not synchronized on this object, which is locked during loading
+		synchronized (activeParsers_) {
+			if (exception_ == null) {
+				exception_ = new ElkLoadingException(
+						"Cannot load the ontology!", e);
+			}
+		}
+	}
+
+	/**
+	 * The worker that splits the files into chunks
+	 *
+	 * @author "Yevgeny Kazakov"
+	 *
+	 */
+	private class Splitter implements Runnable {
+		@Override
+		public void run() {
+			try {
+				for (File file : files_) {
+					Reader reader = new InputStreamReader(
+							new FileInputStream(file), UTF8_);
+					try {
+						Owl2FunctionalStyleChunkReader chunkReader = new Owl2FunctionalStyleChunkReader(
+								reader, chunkLength_);
+						String chunk;
+						while (exception_ == null
+								&& (chunk = chunkReader.nextChunk()) != null) {
+							chunkExchanger_.put(chunk);
+						}
+					} finally {
+						reader.close();
+					}
+				}
+			} catch (InterruptedException e) {
+				// the loader is disposed
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Throwable e) {
+				fail(e);
+			}
+			try {
+				for (int i = 1; i < threads_.length; i++) {
+					chunkExchanger_.put(POISON_CHUNK_);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * The worker that parses the chunks
+	 *
+	 * @author "Yevgeny Kazakov"
+	 *
+	 */
+	private class Parser implements Runnable {
+		@Override
+		public void run() {
+			try {
+				AxiomInserter inserter = new AxiomInserter(axiomExchanger_,
+						batchLength_);
+				for (;;) {
+					String chunk = chunkExchanger_.take();
+					if (chunk == POISON_CHUNK_) {
+						break;
+					}
+					if (exception_ != null) {
+						// skip the remaining chunks
+						continue;
+					}
+					try {
+						parserFactory_.getParser(new StringReader(chunk))
+								.accept(inserter);
+					} catch (Throwable e) {
+						fail(e);
+					}
+				}
+				if (activeParsers_.decrementAndGet() == 0) {
+					axiomExchanger_.put(POISON_BATCH_);
+				}
+			} catch (InterruptedException e) {
+				/*
+				 * we don't know what is causing this but we need to obey;
+				 * consistency of the computation for such interrupt is not
+				 * guaranteed; restore the interrupt status and exit
+				 */
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * A simple {@link ElkAxiomProcessor} that insert the parsed axioms into the
+	 * given queue
+	 *
+	 * @author "Yevgeny Kazakov"
+	 *
+	 */
+	private static class AxiomInserter implements Owl2ParserAxiomProcessor {
+
+		final private BlockingQueue<ArrayList<ElkAxiom>> axiomBuffer_;
+		private final int batchLength_;
+
+		/**
+		 * the next batch of axioms that should be filled
+		 */
+		private ArrayList<ElkAxiom> nextBatch_;
+
+		AxiomInserter(BlockingQueue<ArrayList<ElkAxiom>> axiomBuffer,
+				int batchLength) {
+			this.axiomBuffer_ = axiomBuffer;
+			this.batchLength_ = batchLength;
+			nextBatch_ = new ArrayList<ElkAxiom>(batchLength_);
+		}
+
+		@Override
+		public void visit(ElkAxiom elkAxiom) throws Owl2ParseException {
+			nextBatch_.add(elkAxiom);
+			if (nextBatch_.size() == batchLength_) {
+				submitBatch();
+			}
+		}
+
+		@Override
+		public void visit(ElkPrefix elkPrefix) throws Owl2ParseException {
+			// No additional prefixes can be registered
+		}
+
+		@Override
+		public void finish() throws Owl2ParseException {
+			// submit the last partially filled batch
+			if (!nextBatch_.isEmpty()) {
+				submitBatch();
+			}
+		}
+
+		private void submitBatch() throws Owl2ParseException {
+			try {
+				axiomBuffer_.put(nextBatch_);
+			} catch (InterruptedException e) {
+				throw new Owl2ParseException("ELK Parser was interrupted", e);
+			}
+			nextBatch_ = new ArrayList<ElkAxiom>(batchLength_);
+		}
+	}
+
+	/**
+	 * @param file
+	 *            a file or a directory
+	 * @return the given file if it is not a directory, or the (non-hidden)
+	 *         files of the given directory sorted by name
+	 * @throws FileNotFoundException
+	 *             if the file does not exist
+	 */
+	static List<File> getOntologyFiles(File file) throws FileNotFoundException {
+		if (!file.exists()) {
+			throw new FileNotFoundException(file.getPath());
+		}
+		if (!file.isDirectory()) {
+			return Arrays.asList(file);
+		}
+		// else
+		File[] members = file.listFiles();
+		if (members == null) {
+			throw new FileNotFoundException(file.getPath());
+		}
+		Arrays.sort(members);
+		List<File> result = new ArrayList<File>(members.length);
+		for (File member : members) {
+			if (member.isFile() && !member.isHidden()) {
+				result.add(member);
+			}
+		}
+		return result;
+	}
+
+	public static class Factory implements AxiomLoader.Factory {
+
+		private final Owl2ParserFactory parserFactory_;
+		private final List<File> files_;
+		private final int parserCount_;
+		private final int chunkLength_;
+
+		/**
+		 * @param parserFactory
+		 *            the factory for parsers of chunks
+		 * @param file
+		 *            the file from which the ontology is loaded or a directory
+		 *            with such files
+		 * @param parserCount
+		 *            the number of parsers running in parallel
+		 * @param chunkLength
+		 *            the minimal number of characters of axioms in the parsed
+		 *            chunks
+		 * @throws FileNotFoundException
+		 *             if the file does not exist
+		 */
+		public Factory(final Owl2ParserFactory parserFactory, final File file,
+				final int parserCount, final int chunkLength)
+				throws FileNotFoundException {
+			this.parserFactory_ = parserFactory;
+			this.files_ = getOntologyFiles(file);
+			this.parserCount_ = parserCount;
+			this.chunkLength_ = chunkLength;
+		}
+
+		public Factory(final Owl2ParserFactory parserFactory, final File file,
+				final int parserCount) throws FileNotFoundException {
+			this(parserFactory, file, parserCount, DEFAULT_CHUNK_LENGTH);
+		}
+
+		public Factory(final Owl2ParserFactory parserFactory, final File file)
+				throws FileNotFoundException {
+			this(parserFactory, file, Runtime.getRuntime()
+					.availableProcessors());
+		}
+
+		@Override
+		public Owl2ParallelFileLoader getAxiomLoader(
+				final InterruptMonitor interrupter) {
+			return new Owl2ParallelFileLoader(interrupter, parserFactory_,
+					files_, parserCount_, chunkLength_, 128);
+		}
+
+	}
+
+}
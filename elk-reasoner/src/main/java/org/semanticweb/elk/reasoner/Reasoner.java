@@ -22,6 +22,11 @@
  */
 package org.semanticweb.elk.reasoner;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -34,6 +39,7 @@ import org.semanticweb.elk.owl.interfaces.ElkObject;
 import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
+import org.semanticweb.elk.reasoner.query.QueryNode;
 import org.semanticweb.elk.reasoner.stages.AbstractReasonerState;
 import org.semanticweb.elk.reasoner.stages.ReasonerStageExecutor;
 import org.semanticweb.elk.reasoner.taxonomy.FreshInstanceNode;
@@ -46,6 +52,8 @@ import org.semanticweb.elk.reasoner.taxonomy.model.Node;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
 import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutors;
@@ -97,7 +105,7 @@ public class Reasoner extends AbstractReasonerState {
 	 * setting). If false, a {@link ElkFreshEntitiesException} will be thrown
 	 * when encountering entities that did not occur in the ontology.
 	 */
-	protected boolean allowFreshEntities;
+	protected volatile boolean allowFreshEntities;
 
 	/**
 	 * Constructor. In most cases, Reasoners should be created by the
@@ -244,7 +252,24 @@ public class Reasoner extends AbstractReasonerState {
 	 */
 	protected TaxonomyNode<ElkClass> getTaxonomyNode(ElkClass elkClass)
 			throws ElkException {
-		final Taxonomy<ElkClass> taxonomy = getTaxonomy();
+		return getTaxonomyNode(getTaxonomy(), elkClass);
+	}
+
+	/**
+	 * Helper method to get a {@link TaxonomyNode} from the given taxonomy.
+	 * 
+	 * @param taxonomy
+	 *            the {@link Taxonomy} in which to find the {@link TaxonomyNode}
+	 * @param elkClass
+	 *            an {@link ElkClass} for which to find a {@link TaxonomyNode}
+	 * @return the {@link TaxonomyNode} for the given {@link ElkClass}
+	 * @throws ElkFreshEntitiesException
+	 *             if the given {@link ElkClass} does not occur in the taxonomy
+	 *             and fresh entities are not allowed
+	 */
+	private TaxonomyNode<ElkClass> getTaxonomyNode(
+			final Taxonomy<ElkClass> taxonomy, final ElkClass elkClass)
+			throws ElkFreshEntitiesException {
 		final TaxonomyNode<ElkClass> node = taxonomy.getNode(elkClass);
 		if (node != null)
 			return node;
@@ -265,7 +290,25 @@ public class Reasoner extends AbstractReasonerState {
 	 */
 	protected InstanceNode<ElkClass, ElkNamedIndividual> getInstanceNode(
 			ElkNamedIndividual elkNamedIndividual) throws ElkException {
-		final InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomy = getInstanceTaxonomy();
+		return getInstanceNode(getInstanceTaxonomy(), elkNamedIndividual);
+	}
+
+	/**
+	 * Helper method to get an {@link InstanceNode} from the given taxonomy.
+	 * 
+	 * @param instanceTaxonomy
+	 *            the {@link InstanceTaxonomy} in which to find the
+	 *            {@link InstanceNode}
+	 * @param elkNamedIndividual
+	 * @return the {@link InstanceNode} for the given {@link ElkNamedIndividual}
+	 * @throws ElkFreshEntitiesException
+	 *             if the given {@link ElkNamedIndividual} does not occur in the
+	 *             taxonomy and fresh entities are not allowed
+	 */
+	private InstanceNode<ElkClass, ElkNamedIndividual> getInstanceNode(
+			final InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomy,
+			final ElkNamedIndividual elkNamedIndividual)
+			throws ElkFreshEntitiesException {
 		final InstanceNode<ElkClass, ElkNamedIndividual> node = instanceTaxonomy
 				.getInstanceNode(elkNamedIndividual);
 		if (node != null)
@@ -288,7 +331,24 @@ public class Reasoner extends AbstractReasonerState {
 	 */
 	protected TypeNode<ElkClass, ElkNamedIndividual> getTypeNode(
 			ElkClass elkClass) throws ElkException {
-		final InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomy = getInstanceTaxonomy();
+		return getTypeNode(getInstanceTaxonomy(), elkClass);
+	}
+
+	/**
+	 * Helper method to get a {@link TypeNode} from the given taxonomy.
+	 * 
+	 * @param instanceTaxonomy
+	 *            the {@link InstanceTaxonomy} in which to find the
+	 *            {@link TypeNode}
+	 * @param elkClass
+	 * @return the {@link TypeNode} for the given {@link ElkClass}
+	 * @throws ElkFreshEntitiesException
+	 *             if the given {@link ElkClass} does not occur in the taxonomy
+	 *             and fresh entities are not allowed
+	 */
+	private TypeNode<ElkClass, ElkNamedIndividual> getTypeNode(
+			final InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomy,
+			final ElkClass elkClass) throws ElkFreshEntitiesException {
 		final TypeNode<ElkClass, ElkNamedIndividual> node = instanceTaxonomy
 				.getNode(elkClass);
 		if (node != null)
@@ -361,15 +421,80 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Node<ElkClass> getEquivalentClasses(
+	public Node<ElkClass> getEquivalentClasses(
 			ElkClassExpression classExpression)
 			throws ElkInconsistentOntologyException, ElkException {
-		if (classExpression instanceof ElkClass) {
-			return getTaxonomyNode((ElkClass) classExpression);
+		if (classExpression instanceof ElkClass
+				&& getPublishedTaxonomy() != null) {
+			lockPublishedTaxonomies();
+			try {
+				final Taxonomy<ElkClass> taxonomy = getPublishedTaxonomy();
+				if (taxonomy != null) {
+					return getTaxonomyNode(taxonomy, (ElkClass) classExpression);
+				}
+			} finally {
+				unlockPublishedTaxonomies();
+			}
 		}
-		// else
+		// else the taxonomy may need to be computed
+		synchronized (this) {
+			if (classExpression instanceof ElkClass) {
+				final Node<ElkClass> node = getClassNodeGoalDirected(
+						(ElkClass) classExpression);
+				if (node != null) {
+					return node;
+				}
+				// else
+				return getTaxonomyNode((ElkClass) classExpression);
+			}
+			// else
 
-		return queryEquivalentClasses(classExpression);
+			return queryEquivalentClasses(classExpression);
+		}
+	}
+
+	/**
+	 * Return the {@code Node}s containing equivalent classes of each of the
+	 * given {@link ElkClassExpression}s. The results for all complex
+	 * {@link ElkClassExpression}s are computed together, which is faster than
+	 * computing them by separate calls of
+	 * {@link #getEquivalentClasses(ElkClassExpression)}. Calling of this
+	 * method may trigger the computation of the taxonomy, if it has not been
+	 * done yet.
+	 * 
+	 * @param classExpressions
+	 *            the {@link ElkClassExpression}s for which to return the
+	 *            {@link Node}s
+	 * @return the map from each given {@link ElkClassExpression} to the
+	 *         {@link Node} whose members are {@link ElkClass}es equivalent to
+	 *         it
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	public synchronized Map<ElkClassExpression, Node<ElkClass>> getEquivalentClasses(
+			final Collection<? extends ElkClassExpression> classExpressions)
+			throws ElkInconsistentOntologyException, ElkException {
+		final Map<ElkClassExpression, Node<ElkClass>> result = new ArrayHashMap<ElkClassExpression, Node<ElkClass>>(
+				classExpressions.size());
+		final List<ElkClassExpression> complex = new ArrayList<ElkClassExpression>();
+		final Map<ElkClass, ? extends Node<ElkClass>> classNodes = getClassNodesGoalDirected(
+				classExpressions);
+		for (final ElkClassExpression classExpression : classExpressions) {
+			if (classNodes.containsKey(classExpression)) {
+				result.put(classExpression, classNodes.get(classExpression));
+			} else if (classExpression instanceof ElkClass) {
+				result.put(classExpression,
+						getTaxonomyNode((ElkClass) classExpression));
+			} else {
+				complex.add(classExpression);
+			}
+		}
+		if (!complex.isEmpty()) {
+			result.putAll(queryEquivalentClasses(complex));
+		}
+		return result;
 	}
 
 	/**
@@ -385,7 +510,7 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Node<ElkClass> getEquivalentClassesQuietly(
+	public Node<ElkClass> getEquivalentClassesQuietly(
 			ElkClassExpression classExpression) throws ElkException {
 		try {
 			return getEquivalentClasses(classExpression);
@@ -415,9 +540,33 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Set<? extends Node<ElkClass>> getSubClasses(
+	public Set<? extends Node<ElkClass>> getSubClasses(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkInconsistentOntologyException, ElkException {
+		if (classExpression instanceof ElkClass
+				&& getPublishedTaxonomy() != null) {
+			lockPublishedTaxonomies();
+			try {
+				final Taxonomy<ElkClass> taxonomy = getPublishedTaxonomy();
+				if (taxonomy != null) {
+					final TaxonomyNode<ElkClass> queryNode = getTaxonomyNode(
+							taxonomy, (ElkClass) classExpression);
+					return direct ? queryNode.getDirectSubNodes()
+							: queryNode.getAllSubNodes();
+				}
+			} finally {
+				unlockPublishedTaxonomies();
+			}
+		}
+		// else the taxonomy may need to be computed
+		synchronized (this) {
+			return getSubClassesSynchronized(classExpression, direct);
+		}
+	}
+
+	private Set<? extends Node<ElkClass>> getSubClassesSynchronized(
+			final ElkClassExpression classExpression, final boolean direct)
+			throws ElkInconsistentOntologyException, ElkException {
 		if (classExpression instanceof ElkClass) {
 			final TaxonomyNode<ElkClass> queryNode = getTaxonomyNode(
 					(ElkClass) classExpression);
@@ -475,7 +624,7 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Set<? extends Node<ElkClass>> getSubClassesQuietly(
+	public Set<? extends Node<ElkClass>> getSubClassesQuietly(
 			final ElkClassExpression classExpression, final boolean direct)
 			throws ElkException {
 		try {
@@ -508,10 +657,42 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Set<? extends Node<ElkClass>> getSuperClasses(
+	public Set<? extends Node<ElkClass>> getSuperClasses(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkInconsistentOntologyException, ElkException {
+		if (classExpression instanceof ElkClass
+				&& getPublishedTaxonomy() != null) {
+			lockPublishedTaxonomies();
+			try {
+				final Taxonomy<ElkClass> taxonomy = getPublishedTaxonomy();
+				if (taxonomy != null) {
+					final TaxonomyNode<ElkClass> queryNode = getTaxonomyNode(
+							taxonomy, (ElkClass) classExpression);
+					return direct ? queryNode.getDirectSuperNodes()
+							: queryNode.getAllSuperNodes();
+				}
+			} finally {
+				unlockPublishedTaxonomies();
+			}
+		}
+		// else the taxonomy may need to be computed
+		synchronized (this) {
+			return getSuperClassesSynchronized(classExpression, direct);
+		}
+	}
+
+	private Set<? extends Node<ElkClass>> getSuperClassesSynchronized(
+			final ElkClassExpression classExpression, final boolean direct)
+			throws ElkInconsistentOntologyException, ElkException {
 		if (classExpression instanceof ElkClass) {
+			final QueryNode<ElkClass> classNode = getClassNodeGoalDirected(
+					(ElkClass) classExpression);
+			if (classNode != null) {
+				return direct ? classNode.getDirectSuperNodes()
+						: getAllSuperNodesGoalDirected(
+								classNode.getDirectSuperNodes());
+			}
+			// else
 			final TaxonomyNode<ElkClass> queryNode = getTaxonomyNode(
 					(ElkClass) classExpression);
 			return direct ? queryNode.getDirectSuperNodes()
@@ -520,34 +701,193 @@ public class Reasoner extends AbstractReasonerState {
 
 			final Set<? extends Node<ElkClass>> superNodes = queryDirectSuperClasses(
 					classExpression);
-			if (direct) {
-				return superNodes;
+			return direct ? superNodes : getAllSuperNodes(superNodes);
+		}
+
+	}
+
+	/**
+	 * @param elkClass
+	 * @return the {@link QueryNode} of the given {@link ElkClass} computed
+	 *         without the class taxonomy, or {@code null} if it should be
+	 *         taken from the class taxonomy
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * 
+	 * @see ReasonerConfiguration#GOAL_DIRECTED_CLASS_QUERIES
+	 */
+	private QueryNode<ElkClass> getClassNodeGoalDirected(
+			final ElkClass elkClass) throws ElkException {
+		if (!isClassQueryGoalDirected()) {
+			return null;
+		}
+		// else
+		return queryClassNodes(Collections.singleton(elkClass)).get(elkClass);
+	}
+
+	/**
+	 * @param classExpressions
+	 * @return the map from the {@link ElkClass}es among the given
+	 *         {@link ElkClassExpression}s to their {@link QueryNode}s computed
+	 *         without the class taxonomy; the {@link ElkClass}es whose
+	 *         {@link Node}s should be taken from the class taxonomy are not in
+	 *         the map
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * 
+	 * @see ReasonerConfiguration#GOAL_DIRECTED_CLASS_QUERIES
+	 */
+	private Map<ElkClass, QueryNode<ElkClass>> getClassNodesGoalDirected(
+			final Collection<? extends ElkClassExpression> classExpressions)
+			throws ElkException {
+		if (!isClassQueryGoalDirected()) {
+			return Collections.emptyMap();
+		}
+		// else
+		final List<ElkClass> classes = new ArrayList<ElkClass>();
+		for (final ElkClassExpression classExpression : classExpressions) {
+			if (classExpression instanceof ElkClass) {
+				classes.add((ElkClass) classExpression);
 			}
-			// else all nodes
+		}
+		return queryClassNodes(classes);
+	}
 
-			final Taxonomy<ElkClass> taxonomy = restoreTaxonomy();
+	/**
+	 * Computes all superclasses from the given direct superclasses by
+	 * querying the direct superclasses of the superclasses found so far,
+	 * without computing the class taxonomy.
+	 * 
+	 * @param directSuperNodes
+	 *            the {@link Node}s of the direct superclasses of some
+	 *            {@link ElkClassExpression}
+	 * @return the {@link Node}s of all superclasses of this
+	 *         {@link ElkClassExpression}
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	private Set<? extends Node<ElkClass>> getAllSuperNodesGoalDirected(
+			final Set<? extends Node<ElkClass>> directSuperNodes)
+			throws ElkException {
+		// the nodes by their canonical members
+		final Map<ElkClass, Node<ElkClass>> result = new ArrayHashMap<ElkClass, Node<ElkClass>>();
+		Collection<? extends Node<ElkClass>> todo = directSuperNodes;
+		while (!todo.isEmpty()) {
+			final List<ElkClass> next = new ArrayList<ElkClass>();
+			for (final Node<ElkClass> node : todo) {
+				final ElkClass canonical = node.getCanonicalMember();
+				if (result.put(canonical, node) == null) {
+					next.add(canonical);
+				}
+			}
+			final Map<ElkClass, QueryNode<ElkClass>> nextNodes = queryClassNodes(
+					next);
+			final List<Node<ElkClass>> nextTodo = new ArrayList<Node<ElkClass>>();
+			for (final ElkClass canonical : next) {
+				final QueryNode<ElkClass> node = nextNodes.get(canonical);
+				if (node == null) {
+					// should not happen for superclasses of satisfiable classes
+					return getAllSuperNodes(directSuperNodes);
+				}
+				// else
+				nextTodo.addAll(node.getDirectSuperNodes());
+			}
+			todo = nextTodo;
+		}
+		final Set<Node<ElkClass>> nodes = new ArrayHashSet<Node<ElkClass>>(
+				result.size());
+		nodes.addAll(result.values());
+		return Collections.unmodifiableSet(nodes);
+	}
 
-			return TaxonomyNodeUtils.getAllReachable(Operations.map(superNodes,
-					new Operations.Transformation<Node<ElkClass>, TaxonomyNode<ElkClass>>() {
+	/**
+	 * @param directSuperNodes
+	 *            the {@link Node}s of the direct superclasses of some
+	 *            {@link ElkClassExpression}
+	 * @return the {@link Node}s of all superclasses of this
+	 *         {@link ElkClassExpression}
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	private Set<? extends Node<ElkClass>> getAllSuperNodes(
+			final Set<? extends Node<ElkClass>> directSuperNodes)
+			throws ElkException {
+		final Taxonomy<ElkClass> taxonomy = restoreTaxonomy();
 
-						@Override
-						public TaxonomyNode<ElkClass> transform(
-								final Node<ElkClass> node) {
-							return taxonomy.getNode(node.getCanonicalMember());
-						}
+		return TaxonomyNodeUtils.getAllReachable(Operations.map(
+				directSuperNodes,
+				new Operations.Transformation<Node<ElkClass>, TaxonomyNode<ElkClass>>() {
 
-					}),
-					new Operations.Functor<TaxonomyNode<ElkClass>, Set<? extends TaxonomyNode<ElkClass>>>() {
+					@Override
+					public TaxonomyNode<ElkClass> transform(
+							final Node<ElkClass> node) {
+						return taxonomy.getNode(node.getCanonicalMember());
+					}
 
-						@Override
-						public Set<? extends TaxonomyNode<ElkClass>> apply(
-								final TaxonomyNode<ElkClass> node) {
-							return node.getDirectSuperNodes();
-						}
+				}),
+				new Operations.Functor<TaxonomyNode<ElkClass>, Set<? extends TaxonomyNode<ElkClass>>>() {
 
-					});
-		}
+					@Override
+					public Set<? extends TaxonomyNode<ElkClass>> apply(
+							final TaxonomyNode<ElkClass> node) {
+						return node.getDirectSuperNodes();
+					}
 
+				});
+	}
+
+	/**
+	 * Return the (direct or indirect) superclasses of each of the given
+	 * {@link ElkClassExpression}s as specified by the parameter. The results
+	 * for all complex {@link ElkClassExpression}s are computed together, which
+	 * is faster than computing them by separate calls of
+	 * {@link #getSuperClasses(ElkClassExpression, boolean)}. Calling of this
+	 * method may trigger the computation of the taxonomy, if it has not been
+	 * done yet.
+	 * 
+	 * @param classExpressions
+	 *            the {@link ElkClassExpression}s for which to return the
+	 *            superclass {@link Node}s
+	 * @param direct
+	 *            if {@code true}, only direct superclasses are returned
+	 * @return the map from each given {@link ElkClassExpression} to the set of
+	 *         {@link Node}s for its direct or indirect superclasses according
+	 *         to the specified parameter
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	public synchronized Map<ElkClassExpression, Set<? extends Node<ElkClass>>> getSuperClasses(
+			final Collection<? extends ElkClassExpression> classExpressions,
+			final boolean direct)
+			throws ElkInconsistentOntologyException, ElkException {
+		final Map<ElkClassExpression, Set<? extends Node<ElkClass>>> result = new ArrayHashMap<ElkClassExpression, Set<? extends Node<ElkClass>>>(
+				classExpressions.size());
+		final List<ElkClassExpression> complex = new ArrayList<ElkClassExpression>();
+		// compute the results for the named classes together
+		getClassNodesGoalDirected(classExpressions);
+		for (final ElkClassExpression classExpression : classExpressions) {
+			if (classExpression instanceof ElkClass) {
+				result.put(classExpression,
+						getSuperClassesSynchronized(classExpression, direct));
+			} else {
+				complex.add(classExpression);
+			}
+		}
+		if (complex.isEmpty()) {
+			return result;
+		}
+		// else
+		final Map<ElkClassExpression, Set<? extends Node<ElkClass>>> superNodes = queryDirectSuperClasses(
+				complex);
+		for (final ElkClassExpression classExpression : complex) {
+			final Set<? extends Node<ElkClass>> directSuperNodes = superNodes
+					.get(classExpression);
+			result.put(classExpression, direct ? directSuperNodes
+					: getAllSuperNodes(directSuperNodes));
+		}
+		return result;
 	}
 
 	/**
@@ -568,7 +908,7 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Set<? extends Node<ElkClass>> getSuperClassesQuietly(
+	public Set<? extends Node<ElkClass>> getSuperClassesQuietly(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkException {
 		try {
@@ -660,9 +1000,33 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Set<? extends Node<ElkNamedIndividual>> getInstances(
+	public Set<? extends Node<ElkNamedIndividual>> getInstances(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkInconsistentOntologyException, ElkException {
+		if (classExpression instanceof ElkClass
+				&& getPublishedInstanceTaxonomy() != null) {
+			lockPublishedTaxonomies();
+			try {
+				final InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = getPublishedInstanceTaxonomy();
+				if (taxonomy != null) {
+					final TypeNode<ElkClass, ElkNamedIndividual> queryNode = getTypeNode(
+							taxonomy, (ElkClass) classExpression);
+					return direct ? queryNode.getDirectInstanceNodes()
+							: queryNode.getAllInstanceNodes();
+				}
+			} finally {
+				unlockPublishedTaxonomies();
+			}
+		}
+		// else the taxonomy may need to be computed
+		synchronized (this) {
+			return getInstancesSynchronized(classExpression, direct);
+		}
+	}
+
+	private Set<? extends Node<ElkNamedIndividual>> getInstancesSynchronized(
+			final ElkClassExpression classExpression, final boolean direct)
+			throws ElkInconsistentOntologyException, ElkException {
 
 		if (classExpression instanceof ElkClass) {
 			final TypeNode<ElkClass, ElkNamedIndividual> queryNode = getTypeNode(
@@ -741,7 +1105,7 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Set<? extends Node<ElkNamedIndividual>> getInstancesQuietly(
+	public Set<? extends Node<ElkNamedIndividual>> getInstancesQuietly(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkException {
 		try {
@@ -760,7 +1124,8 @@ public class Reasoner extends AbstractReasonerState {
 	 * {@link ElkNamedIndividual}. The method returns a set of {@link Node}s,
 	 * each of which representing an equivalent class of types. Calling of this
 	 * method may trigger the computation of the realization, if it has not been
-	 * done yet.
+	 * done yet. If {@link ReasonerConfiguration#LAZY_REALIZATION} is set, only
+	 * the types of the given individual are computed instead.
 	 * 
 	 * @param elkNamedIndividual
 	 *            the {@link ElkNamedIndividual} for which to return the types
@@ -773,12 +1138,62 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized Set<? extends Node<ElkClass>> getTypes(
+	public Set<? extends Node<ElkClass>> getTypes(
 			ElkNamedIndividual elkNamedIndividual, boolean direct)
 			throws ElkException {
-		InstanceNode<ElkClass, ElkNamedIndividual> node = getInstanceNode(
+		if (getPublishedInstanceTaxonomy() != null) {
+			lockPublishedTaxonomies();
+			try {
+				final InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = getPublishedInstanceTaxonomy();
+				if (taxonomy != null) {
+					final InstanceNode<ElkClass, ElkNamedIndividual> node = getInstanceNode(
+							taxonomy, elkNamedIndividual);
+					return direct ? node.getDirectTypeNodes()
+							: node.getAllTypeNodes();
+				}
+			} finally {
+				unlockPublishedTaxonomies();
+			}
+		}
+		// else the taxonomy may need to be computed
+		synchronized (this) {
+			if (isRealizationLazy()) {
+				return getTypesLazily(elkNamedIndividual, direct);
+			}
+			// else
+			InstanceNode<ElkClass, ElkNamedIndividual> node = getInstanceNode(
+					elkNamedIndividual);
+			return direct ? node.getDirectTypeNodes() : node.getAllTypeNodes();
+		}
+	}
+
+	/**
+	 * Computes the types of the given {@link ElkNamedIndividual} without
+	 * computing the instance taxonomy.
+	 * 
+	 * @param elkNamedIndividual
+	 * @param direct
+	 * @return the set of {@link Node}s for the direct or indirect types of the
+	 *         given {@link ElkNamedIndividual}
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 * 
+	 * @see ReasonerConfiguration#LAZY_REALIZATION
+	 */
+	private Set<? extends Node<ElkClass>> getTypesLazily(
+			final ElkNamedIndividual elkNamedIndividual, final boolean direct)
+			throws ElkException {
+		Set<? extends Node<ElkClass>> directTypes = queryDirectTypes(
 				elkNamedIndividual);
-		return direct ? node.getDirectTypeNodes() : node.getAllTypeNodes();
+		if (directTypes == null) {
+			if (!allowFreshEntities) {
+				throw new ElkFreshEntitiesException(elkNamedIndividual);
+			}
+			// else
+			directTypes = Collections
+					.singleton(restoreTaxonomy().getTopNode());
+		}
+		return direct ? directTypes : getAllSuperNodes(directTypes);
 	}
 
 	/**
@@ -796,16 +1211,72 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized boolean isSatisfiable(
-			ElkClassExpression classExpression) throws ElkException {
+	public boolean isSatisfiable(ElkClassExpression classExpression)
+			throws ElkException {
+		if (classExpression instanceof ElkClass
+				&& getPublishedTaxonomy() != null) {
+			lockPublishedTaxonomies();
+			try {
+				final Taxonomy<ElkClass> taxonomy = getPublishedTaxonomy();
+				if (taxonomy != null) {
+					final TaxonomyNode<ElkClass> queryNode = getTaxonomyNode(
+							taxonomy, (ElkClass) classExpression);
+					return !queryNode
+							.contains(getElkFactory().getOwlNothing());
+				}
+			} finally {
+				unlockPublishedTaxonomies();
+			}
+		}
+		// else the taxonomy may need to be computed
+		synchronized (this) {
+			if (classExpression instanceof ElkClass) {
+				final TaxonomyNode<ElkClass> queryNode = getTaxonomyNode(
+						(ElkClass) classExpression);
+				return !queryNode.contains(getElkFactory().getOwlNothing());
+			}
 
-		if (classExpression instanceof ElkClass) {
-			final TaxonomyNode<ElkClass> queryNode = getTaxonomyNode(
-					(ElkClass) classExpression);
-			return !queryNode.contains(getElkFactory().getOwlNothing());
+			return querySatisfiability(classExpression);
 		}
+	}
 
-		return querySatisfiability(classExpression);
+	/**
+	 * Check which of the given {@link ElkClassExpression}s are satisfiable.
+	 * The results for all complex {@link ElkClassExpression}s are computed
+	 * together, which is faster than computing them by separate calls of
+	 * {@link #isSatisfiable(ElkClassExpression)}. Calling of this method may
+	 * trigger the computation of the taxonomy, if it has not been done yet.
+	 * 
+	 * @param classExpressions
+	 *            the {@link ElkClassExpression}s for which to check
+	 *            satisfiability
+	 * @return the map from each given {@link ElkClassExpression} to
+	 *         {@code true} if it is satisfiable and {@code false} otherwise
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	public synchronized Map<ElkClassExpression, Boolean> isSatisfiable(
+			final Collection<? extends ElkClassExpression> classExpressions)
+			throws ElkInconsistentOntologyException, ElkException {
+		final Map<ElkClassExpression, Boolean> result = new ArrayHashMap<ElkClassExpression, Boolean>(
+				classExpressions.size());
+		final List<ElkClassExpression> complex = new ArrayList<ElkClassExpression>();
+		for (final ElkClassExpression classExpression : classExpressions) {
+			if (classExpression instanceof ElkClass) {
+				final TaxonomyNode<ElkClass> queryNode = getTaxonomyNode(
+						(ElkClass) classExpression);
+				result.put(classExpression, !queryNode
+						.contains(getElkFactory().getOwlNothing()));
+			} else {
+				complex.add(classExpression);
+			}
+		}
+		if (!complex.isEmpty()) {
+			result.putAll(querySatisfiability(complex));
+		}
+		return result;
 	}
 
 	/**
@@ -823,7 +1294,7 @@ public class Reasoner extends AbstractReasonerState {
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized boolean isSatisfiableQuietly(
+	public boolean isSatisfiableQuietly(
 			final ElkClassExpression classExpression) throws ElkException {
 		try {
 			return isSatisfiable(classExpression);
@@ -29,8 +29,10 @@ import org.semanticweb.elk.loading.AxiomLoader;
 import org.semanticweb.elk.owl.interfaces.ElkObject;
 import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.stages.ListeningStageExecutor;
 import org.semanticweb.elk.reasoner.stages.LoggingStageExecutor;
 import org.semanticweb.elk.reasoner.stages.ReasonerStageExecutor;
+import org.semanticweb.elk.reasoner.stages.ReasonerStageListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +66,27 @@ public class ReasonerFactory {
 				DEFAULT_STAGE_EXECUTOR, config);
 	}
 
+	/**
+	 * Creates a reasoner that notifies the given {@link ReasonerStageListener}
+	 * about every executed reasoner stage
+	 * 
+	 * @param axiomLoaderFactory
+	 *            the factory for loading the ontology
+	 * @param stageListener
+	 *            the listener to be notified about the reasoner stages
+	 * @param config
+	 *            the configuration of the reasoner
+	 * @return the created reasoner
+	 */
+	public Reasoner createReasoner(AxiomLoader.Factory axiomLoaderFactory,
+			ReasonerStageListener stageListener,
+			ReasonerConfiguration config) {
+		return createReasoner(axiomLoaderFactory, DEFAULT_INTERRUPTER,
+				new ListeningStageExecutor(new LoggingStageExecutor(),
+						stageListener),
+				config);
+	}
+
 	Reasoner createReasoner(AxiomLoader.Factory axiomLoaderFactory,
 			final ReasonerInterrupter interrupter,
 			ReasonerStageExecutor stageExecutor, ReasonerConfiguration config) {
@@ -30,6 +30,7 @@ import org.semanticweb.elk.util.collections.CountingEvictor;
 import org.semanticweb.elk.util.collections.Evictor;
 import org.semanticweb.elk.util.collections.NQEvictor;
 import org.semanticweb.elk.util.collections.RecencyEvictor;
+import org.semanticweb.elk.util.collections.TinyLfuEvictor;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -44,6 +45,7 @@ public class EvictorBuilder {
 		put(builder, CapacityBalancingEvictor.class);
 		put(builder, CountingEvictor.class);
 		put(builder, NQEvictor.class);
+		put(builder, TinyLfuEvictor.class);
 		EVICTOR_CLASS_SHORTCUT = builder.build();
 	}
 
@@ -49,15 +49,42 @@ public class ReasonerConfiguration extends BaseConfiguration {
 	@Parameter(type = "java.lang.Boolean", value = "true")
 	public static final String INCREMENTAL_MODE_ALLOWED = "elk.reasoner.incremental.allowed";
 
-	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(16896,0.75)")
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "TinyLfuEvictor(16777216,0.75,0.01)")
 	public static final String TRACING_EVICTOR = "elk.reasoner.tracing.evictor";
 
-	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(512,0.75)")
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "TinyLfuEvictor(33554432,0.75,0.01)")
 	public static final String CLASS_EXPRESSION_QUERY_EVICTOR = "elk.reasoner.classexpressionquery.evictor";
 
-	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(512,0.75)")
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "TinyLfuEvictor(33554432,0.75,0.01)")
 	public static final String ENTAILMENT_QUERY_EVICTOR = "elk.reasoner.entailmentquery.evictor";
 
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.SubsumerSetRepresentation", value = "HASH")
+	public static final String SUBSUMER_SET_REPRESENTATION = "elk.reasoner.saturation.subsumer_set_representation";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String SATURATION_WORK_STEALING = "elk.reasoner.saturation.work_stealing";
+
+	@Parameter(type = "java.lang.Integer", value = "0")
+	public static final String SATURATION_PARTITIONS = "elk.reasoner.saturation.partitions";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String SATURATED_TRANSITIVE_REDUCTION = "elk.reasoner.taxonomy.saturated_reduction";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String CONCURRENT_INDEXING = "elk.reasoner.indexing.concurrent";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String REALIZATION_SUMMARIZATION = "elk.reasoner.realization.summarization";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String LAZY_REALIZATION = "elk.reasoner.realization.lazy";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String GOAL_DIRECTED_CLASS_QUERIES = "elk.reasoner.query.goal_directed";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String SNAPSHOTS_ENABLED = "elk.reasoner.snapshots.enabled";
+
 	public final static String REASONER_CONFIG_PREFIX = "elk.reasoner";
 
 	public static ReasonerConfiguration getConfiguration() {
@@ -0,0 +1,41 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.config;
+
+/**
+ * The data structures used for storing the subsumers derived in contexts
+ * 
+ * @author Yevgeny Kazakov
+ */
+public enum SubsumerSetRepresentation {
+	/**
+	 * hash sets of references to the subsumers; fast, but use at least one
+	 * reference per subsumer
+	 */
+	HASH,
+	/**
+	 * compressed sets of the numbers of the subsumers; use about two bytes
+	 * per subsumer when the numbers are close to each other
+	 */
+	COMPACT
+}
@@ -0,0 +1,147 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Set;
+
+import org.semanticweb.elk.reasoner.indexing.classes.DifferentialIndex;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedComplexPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.properties.SaturatedPropertyChain;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * The {@link IndexedPropertyChain}s for which the derived information in
+ * {@link SaturatedPropertyChain} may change after the told property inclusions
+ * recorded by a {@link DifferentialIndex} are added or removed. The conclusions
+ * that mention only other {@link IndexedPropertyChain}s are derived in the same
+ * way before and after the changes.
+ * <p>
+ * The {@link IndexedPropertyChain}s are computed as the sub-chains of the
+ * changed inclusions, closed under the sub-chains that were derived before the
+ * changes or are told after the changes, and under the components of
+ * {@link IndexedComplexPropertyChain}s, since their links are composed using
+ * the told information. For changed inclusions of
+ * {@link IndexedComplexPropertyChain}s, the super-properties are included as
+ * well. This must be computed before the
+ * {@link SaturatedPropertyChain}s are cleared.
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+public class AffectedPropertyChains {
+
+	private final Set<IndexedPropertyChain> chains_;
+
+	public AffectedPropertyChains(DifferentialIndex index) {
+		this.chains_ = new ArrayHashSet<IndexedPropertyChain>();
+		Queue<IndexedPropertyChain> todo = new LinkedList<IndexedPropertyChain>();
+		for (IndexedPropertyChain changed : index
+				.getChangedSubPropertyChains()) {
+			add(changed, todo);
+		}
+		for (IndexedObjectProperty changed : index
+				.getChangedCompositionSuperProperties()) {
+			add(changed, todo);
+		}
+		for (;;) {
+			IndexedPropertyChain next = todo.poll();
+			if (next == null)
+				break;
+			// components, which may be indexed or removed with the chain
+			if (next instanceof IndexedComplexPropertyChain) {
+				IndexedComplexPropertyChain composition = (IndexedComplexPropertyChain) next;
+				add(composition.getFirstProperty(), todo);
+				add(composition.getSuffixChain(), todo);
+			}
+			// sub-chains before the changes
+			for (IndexedPropertyChain sub : next.getSaturated()
+					.getSubPropertyChains()) {
+				add(sub, todo);
+			}
+			// sub-chains after the changes
+			if (next instanceof IndexedObjectProperty) {
+				for (IndexedPropertyChain sub : ((IndexedObjectProperty) next)
+						.getToldSubChains()) {
+					add(sub, todo);
+				}
+			}
+		}
+	}
+
+	private void add(IndexedPropertyChain chain,
+			Queue<IndexedPropertyChain> todo) {
+		if (chains_.add(chain))
+			todo.add(chain);
+	}
+
+	/**
+	 * @return the affected {@link IndexedPropertyChain}s
+	 */
+	public Set<IndexedPropertyChain> getChains() {
+		return chains_;
+	}
+
+	/**
+	 * @param chain
+	 * @return {@code true} if the given {@link IndexedPropertyChain} is
+	 *         affected by the changes
+	 */
+	public boolean contains(IndexedPropertyChain chain) {
+		return chains_.contains(chain);
+	}
+
+	/**
+	 * @return {@code true} if some affected {@link IndexedObjectProperty} has
+	 *         ranges before or after the changes; the contexts of the
+	 *         existentials over such properties depend on the ranges, so the
+	 *         changes cannot be processed incrementally
+	 */
+	public boolean hasRanges() {
+		Set<IndexedObjectProperty> visited = new ArrayHashSet<IndexedObjectProperty>();
+		Queue<IndexedObjectProperty> todo = new LinkedList<IndexedObjectProperty>();
+		for (IndexedPropertyChain chain : chains_) {
+			if (!chain.getSaturated().getRanges().isEmpty())
+				return true;
+			// else
+			if (chain instanceof IndexedObjectProperty
+					&& visited.add((IndexedObjectProperty) chain))
+				todo.add((IndexedObjectProperty) chain);
+		}
+		// check the ranges of told super-properties after the changes
+		for (;;) {
+			IndexedObjectProperty next = todo.poll();
+			if (next == null)
+				return false;
+			if (!next.getToldRanges().isEmpty())
+				return true;
+			for (IndexedObjectProperty sup : next.getToldSuperProperties()) {
+				if (visited.add(sup))
+					todo.add(sup);
+			}
+		}
+	}
+
+}
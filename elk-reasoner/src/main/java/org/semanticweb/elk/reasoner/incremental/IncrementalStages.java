@@ -67,6 +67,15 @@ public enum IncrementalStages {
 		
 	},	
 	
+	PROPERTY_DELETION {
+
+		@Override
+		public String toString() {
+			return "Incremental Property Hierarchy Deletion";
+		}
+		
+	},
+	
 	DELETION {
 
 		@Override
@@ -66,6 +66,12 @@ abstract class CachedIndexedClassExpressionImpl<T extends CachedIndexedClassExpr
 	 */
 	private volatile ExtendedContext context_ = null;
 
+	/**
+	 * the number assigned when this {@link IndexedContextRoot} is added to
+	 * the index
+	 */
+	private int id_ = -1;
+
 	CachedIndexedClassExpressionImpl(int structuralHash) {
 		super(structuralHash);
 	}
@@ -110,6 +116,16 @@ abstract class CachedIndexedClassExpressionImpl<T extends CachedIndexedClassExpr
 		context_ = null;
 	}
 
+	@Override
+	public final int getId() {
+		return id_;
+	}
+
+	@Override
+	public final void setId(int id) {
+		this.id_ = id;
+	}
+
 	@Override
 	public final <O> O accept(IndexedContextRoot.Visitor<O> visitor) {
 		return accept((IndexedClassExpression.Visitor<O>) visitor);
@@ -0,0 +1,489 @@
+package org.semanticweb.elk.reasoner.indexing.classes;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.liveontologies.puli.Producer;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClassFactory;
+import org.semanticweb.elk.owl.visitors.DummyElkObjectVisitor;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.DummyProgressMonitor;
+import org.semanticweb.elk.reasoner.ReasonerComputationWithInputs;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkIndexingException;
+import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedSubObject;
+import org.semanticweb.elk.reasoner.indexing.model.IndexingListener;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObject;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableOntologyIndex;
+import org.semanticweb.elk.reasoner.indexing.model.Occurrence;
+import org.semanticweb.elk.reasoner.indexing.model.OccurrenceIncrement;
+import org.semanticweb.elk.util.collections.entryset.Entry;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessorFactory;
+
+/**
+ * Indexes added and removed {@link ElkAxiom}s using several workers. The
+ * {@link ElkAxiom}s submitted to the processors returned by
+ * {@link #getInsertionProcessor(ElkAxiomProcessor)} and
+ * {@link #getDeletionProcessor(ElkAxiomProcessor)} are collected in batches.
+ * Every batch is processed in two phases:
+ * <ol>
+ * <li>The {@link ElkAxiom}s of the batch are converted concurrently without
+ * modifying the {@link ModifiableOntologyIndex}. Each sub-expression is
+ * resolved in the index, or, if it is not there, in a concurrent cache of
+ * the new objects of the batch, so that structurally equal expressions are
+ * represented by the same object. The constructed objects are recorded
+ * together with the increments of their occurrences.
+ * <li>The recorded changes are applied in the order of the submitted
+ * {@link ElkAxiom}s by the calling thread. For this, every {@link ElkAxiom}
+ * is passed to the processor given when creating the respective
+ * {@link ElkAxiomProcessor}, which should use the {@link ElkAxiomConverter}
+ * returned by {@link #getConverter()}.
+ * </ol>
+ * Therefore, rules are added to and removed from the rule chains of the
+ * index, such as {@link ModifiableOntologyIndex#getContextInitRuleHead()}, in
+ * the same order as when the {@link ElkAxiom}s are indexed sequentially by
+ * {@link ElkAxiomConverterImpl}. The pending changes are applied when the
+ * batch is full or when {@link #flush()} is called.
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+public class ConcurrentChangeIndexer {
+
+	/**
+	 * the maximal number of {@link ElkAxiom}s in a batch
+	 */
+	private static final int BATCH_SIZE_ = 4096;
+
+	/**
+	 * the number of {@link ElkAxiom}s of a batch converted by a worker at
+	 * once
+	 */
+	private static final int CHUNK_SIZE_ = 64;
+
+	private final PredefinedElkClassFactory elkFactory_;
+
+	private final ModifiableOntologyIndex index_;
+
+	private final ConcurrentExecutor executor_;
+
+	private final int maxWorkers_;
+
+	/**
+	 * the factories used to apply the recorded changes for the neutral,
+	 * positive, negative, and dual occurrences of added and removed
+	 * {@link ElkAxiom}s
+	 */
+	private final UpdatingCachedIndexedObjectFactory[] insertionUpdaters_,
+			deletionUpdaters_;
+
+	/**
+	 * the objects constructed in the current batch that are not in the
+	 * index, keyed by their structure
+	 */
+	private final ConcurrentMap<StructuralKey, StructuralKey> newObjects_ = new ConcurrentHashMap<StructuralKey, StructuralKey>();
+
+	/**
+	 * the changes for the {@link ElkAxiom}s submitted since the last
+	 * {@link #flush()}
+	 */
+	private final List<Change> batch_ = new ArrayList<Change>(BATCH_SIZE_);
+
+	private final EngineFactory engineFactory_ = new EngineFactory();
+
+	private final ElkAxiomConverter converter_ = new ReplayingConverter();
+
+	/**
+	 * the change that is currently applied by {@link #converter_}
+	 */
+	private Change replayed_ = null;
+
+	public ConcurrentChangeIndexer(PredefinedElkClassFactory elkFactory,
+			ModifiableOntologyIndex index, ConcurrentExecutor executor,
+			int maxWorkers) {
+		this.elkFactory_ = elkFactory;
+		this.index_ = index;
+		this.executor_ = executor;
+		this.maxWorkers_ = maxWorkers;
+		this.insertionUpdaters_ = getUpdaters(index, 1);
+		this.deletionUpdaters_ = getUpdaters(index, -1);
+	}
+
+	private static UpdatingCachedIndexedObjectFactory[] getUpdaters(
+			ModifiableOntologyIndex index, int increment) {
+		ModifiableIndexedObjectBaseFactory baseFactory = new ModifiableIndexedObjectBaseFactory();
+		return new UpdatingCachedIndexedObjectFactory[] {
+				new UpdatingCachedIndexedObjectFactory(baseFactory, index,
+						OccurrenceIncrement.getNeutralIncrement(increment)),
+				new UpdatingCachedIndexedObjectFactory(baseFactory, index,
+						OccurrenceIncrement.getPositiveIncrement(increment)),
+				new UpdatingCachedIndexedObjectFactory(baseFactory, index,
+						OccurrenceIncrement.getNegativeIncrement(increment)),
+				new UpdatingCachedIndexedObjectFactory(baseFactory, index,
+						OccurrenceIncrement.getDualIncrement(increment)) };
+	}
+
+	/**
+	 * @return the {@link ElkAxiomConverter} that applies the changes recorded
+	 *         for the {@link ElkAxiom}s it visits; it should be used only in
+	 *         the processors passed to
+	 *         {@link #getInsertionProcessor(ElkAxiomProcessor)} and
+	 *         {@link #getDeletionProcessor(ElkAxiomProcessor)}
+	 */
+	public ElkAxiomConverter getConverter() {
+		return converter_;
+	}
+
+	/**
+	 * @param processor
+	 *            the {@link ElkAxiomProcessor} that is called in the order
+	 *            of submission for every added {@link ElkAxiom} after it is
+	 *            converted
+	 * @return the {@link ElkAxiomProcessor} to which the added
+	 *         {@link ElkAxiom}s should be submitted
+	 */
+	public ElkAxiomProcessor getInsertionProcessor(
+			ElkAxiomProcessor processor) {
+		return new BatchingProcessor(processor, true);
+	}
+
+	/**
+	 * @param processor
+	 *            the {@link ElkAxiomProcessor} that is called in the order
+	 *            of submission for every removed {@link ElkAxiom} after it is
+	 *            converted
+	 * @return the {@link ElkAxiomProcessor} to which the removed
+	 *         {@link ElkAxiom}s should be submitted
+	 */
+	public ElkAxiomProcessor getDeletionProcessor(ElkAxiomProcessor processor) {
+		return new BatchingProcessor(processor, false);
+	}
+
+	/**
+	 * Converts all {@link ElkAxiom}s submitted since the last call of this
+	 * method and applies the changes to the {@link ModifiableOntologyIndex}
+	 */
+	public void flush() {
+		if (batch_.isEmpty()) {
+			return;
+		}
+		// else
+		try {
+			List<List<Change>> chunks = new ArrayList<List<Change>>();
+			for (int i = 0; i < batch_.size(); i += CHUNK_SIZE_) {
+				chunks.add(batch_.subList(i,
+						Math.min(i + CHUNK_SIZE_, batch_.size())));
+			}
+			new ReasonerComputationWithInputs<List<Change>, EngineFactory>(
+					chunks, engineFactory_, executor_, maxWorkers_,
+					new DummyProgressMonitor()).process();
+			for (int i = 0; i < batch_.size(); i++) {
+				Change change = batch_.get(i);
+				replayed_ = change;
+				change.processor.visit(change.axiom);
+			}
+		} finally {
+			replayed_ = null;
+			batch_.clear();
+			newObjects_.clear();
+		}
+	}
+
+	void apply(Change change) {
+		List<Object> operations = change.operations;
+		for (int i = 0; i < operations.size(); i += 2) {
+			UpdatingCachedIndexedObjectFactory updater = (UpdatingCachedIndexedObjectFactory) operations
+					.get(i);
+			Object object = operations.get(i + 1);
+			if (updater == null) {
+				index_.onIndexing((Occurrence) object);
+			} else if (object instanceof ModifiableIndexedAxiom) {
+				updater.update((ModifiableIndexedAxiom) object);
+			} else {
+				updater.apply((CachedIndexedSubObject<?>) object);
+			}
+		}
+		if (change.failure != null) {
+			throw change.failure;
+		}
+	}
+
+	/**
+	 * The changes of the {@link ModifiableOntologyIndex} recorded for an
+	 * {@link ElkAxiom}
+	 * 
+	 * @author "Yevgeny Kazakov"
+	 */
+	static class Change {
+
+		final ElkAxiom axiom;
+
+		/**
+		 * whether the {@link #axiom} is added or removed
+		 */
+		final boolean insertion;
+
+		/**
+		 * the {@link ElkAxiomProcessor} using which the change is applied
+		 */
+		final ElkAxiomProcessor processor;
+
+		/**
+		 * pairs of an {@link UpdatingCachedIndexedObjectFactory} and a
+		 * {@link ModifiableIndexedObject} whose occurrences it should update,
+		 * or of {@code null} and an {@link Occurrence} that should be
+		 * reported to the index
+		 */
+		final List<Object> operations = new ArrayList<Object>();
+
+		/**
+		 * the exception thrown during the conversion, if any
+		 */
+		RuntimeException failure = null;
+
+		Change(ElkAxiom axiom, boolean insertion, ElkAxiomProcessor processor) {
+			this.axiom = axiom;
+			this.insertion = insertion;
+			this.processor = processor;
+		}
+
+	}
+
+	/**
+	 * Resolves the objects constructed by a worker and records them in the
+	 * current {@link Change}
+	 * 
+	 * @author "Yevgeny Kazakov"
+	 */
+	class Recorder implements IndexingListener {
+
+		private Change change_;
+
+		@SuppressWarnings("unchecked")
+		<T extends CachedIndexedSubObject<T>> T resolve(T input) {
+			T result = index_.resolve(input);
+			if (result != null) {
+				return result;
+			}
+			// else
+			StructuralKey key = new StructuralKey((Entry<?, ?>) input);
+			StructuralKey previous = newObjects_.putIfAbsent(key, key);
+			return previous == null ? input : (T) previous.entry;
+		}
+
+		void record(UpdatingCachedIndexedObjectFactory updater,
+				ModifiableIndexedObject object) {
+			change_.operations.add(updater);
+			change_.operations.add(object);
+		}
+
+		@Override
+		public void onIndexing(Occurrence occurrence) {
+			change_.operations.add(null);
+			change_.operations.add(occurrence);
+		}
+
+	}
+
+	/**
+	 * Compares {@link Entry}s by {@link Entry#structuralEquals(Object)}
+	 * 
+	 * @author "Yevgeny Kazakov"
+	 */
+	private static class StructuralKey {
+
+		final Entry<?, ?> entry;
+
+		StructuralKey(Entry<?, ?> entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public int hashCode() {
+			return entry.structuralHashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o instanceof StructuralKey) {
+				return entry.structuralEquals(((StructuralKey) o).entry) != null;
+			}
+			// else
+			return false;
+		}
+
+	}
+
+	/**
+	 * Converts the {@link ElkAxiom}s of the submitted chunks of
+	 * {@link Change}s and records the resulting changes
+	 * 
+	 * @author "Yevgeny Kazakov"
+	 */
+	private class Engine implements InputProcessor<List<Change>> {
+
+		private final Recorder recorder_ = new Recorder();
+
+		private final ElkAxiomConverter inserter_, deleter_;
+
+		private final Queue<List<Change>> todo_ = new ArrayDeque<List<Change>>();
+
+		Engine() {
+			ModifiableIndexedObjectBaseFactory baseFactory = new ModifiableIndexedObjectBaseFactory();
+			this.inserter_ = getConverter(baseFactory, insertionUpdaters_);
+			this.deleter_ = getConverter(baseFactory, deletionUpdaters_);
+		}
+
+		private ElkAxiomConverter getConverter(
+				ModifiableIndexedObjectBaseFactory baseFactory,
+				UpdatingCachedIndexedObjectFactory[] updaters) {
+			return new ElkAxiomConverterImpl(elkFactory_,
+					new RecordingModifiableIndexedObjectFactory(baseFactory,
+							recorder_, updaters[0]),
+					new RecordingModifiableIndexedObjectFactory(baseFactory,
+							recorder_, updaters[1]),
+					new RecordingModifiableIndexedObjectFactory(baseFactory,
+							recorder_, updaters[2]),
+					new RecordingModifiableIndexedObjectFactory(baseFactory,
+							recorder_, updaters[3]),
+					recorder_, Producer.Dummy.get());
+		}
+
+		@Override
+		public void submit(List<Change> job) {
+			todo_.add(job);
+		}
+
+		@Override
+		public void process() {
+			for (;;) {
+				List<Change> next = todo_.poll();
+				if (next == null) {
+					return;
+				}
+				// else
+				for (int i = 0; i < next.size(); i++) {
+					convert(next.get(i));
+				}
+			}
+		}
+
+		private void convert(Change change) {
+			recorder_.change_ = change;
+			try {
+				change.axiom.accept(change.insertion ? inserter_ : deleter_);
+			} catch (RuntimeException e) {
+				// will be re-thrown when the change is applied
+				change.failure = e;
+			}
+		}
+
+		@Override
+		public void finish() {
+			// nothing to do
+		}
+
+	}
+
+	private class EngineFactory
+			implements InputProcessorFactory<List<Change>, Engine> {
+
+		@Override
+		public Engine getEngine() {
+			return new Engine();
+		}
+
+		@Override
+		public boolean isInterrupted() {
+			// every batch must be converted completely
+			return false;
+		}
+
+		@Override
+		public void finish() {
+			// nothing to do
+		}
+
+	}
+
+	/**
+	 * Applies the recorded {@link Change} for the {@link ElkAxiom} it visits
+	 * 
+	 * @author "Yevgeny Kazakov"
+	 */
+	private class ReplayingConverter extends DummyElkObjectVisitor<Void>
+			implements ElkAxiomConverter {
+
+		@Override
+		protected Void defaultVisit(ElkObject obj) {
+			Change change = replayed_;
+			if (change == null || change.axiom != obj) {
+				throw new ElkIndexingException(
+						obj + ": no recorded changes to apply!");
+			}
+			// else
+			replayed_ = null;
+			apply(change);
+			return null;
+		}
+
+	}
+
+	/**
+	 * Collects the submitted {@link ElkAxiom}s into the current batch
+	 * 
+	 * @author "Yevgeny Kazakov"
+	 */
+	private class BatchingProcessor implements ElkAxiomProcessor {
+
+		private final ElkAxiomProcessor processor_;
+
+		private final boolean insertion_;
+
+		BatchingProcessor(ElkAxiomProcessor processor, boolean insertion) {
+			this.processor_ = processor;
+			this.insertion_ = insertion;
+		}
+
+		@Override
+		public void visit(ElkAxiom elkAxiom) {
+			batch_.add(new Change(elkAxiom, insertion_, processor_));
+			if (batch_.size() >= BATCH_SIZE_) {
+				flush();
+			}
+		}
+
+	}
+
+}
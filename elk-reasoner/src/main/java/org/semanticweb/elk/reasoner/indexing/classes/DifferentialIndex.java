@@ -35,11 +35,15 @@ import org.semanticweb.elk.reasoner.indexing.conversion.ElkUnexpectedIndexingExc
 import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedObject;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedComplexPropertyChain;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedEntity;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedIndividual;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedPropertyChain;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClass;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedPropertyChain;
 import org.semanticweb.elk.reasoner.saturation.rules.Rule;
 import org.semanticweb.elk.reasoner.saturation.rules.contextinit.ChainableContextInitRule;
 import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ChainableSubsumerRule;
@@ -117,6 +121,19 @@ public class DifferentialIndex extends DirectIndex {
 	private Map<ModifiableIndexedClass, ElkAxiom> addedDefinitionReasons_,
 			removedDefinitionReasons_;
 
+	/**
+	 * the sub-chains of the told property inclusions added or removed since
+	 * the last call of {@link #initPropertyHierarchyChanges()}
+	 */
+	private Set<IndexedPropertyChain> changedSubPropertyChains_;
+
+	/**
+	 * the super-properties of the told property inclusions with
+	 * {@link IndexedComplexPropertyChain} sub-chains added or removed since
+	 * the last call of {@link #initPropertyHierarchyChanges()}
+	 */
+	private Set<IndexedObjectProperty> changedCompositionSuperProperties_;
+
 	public DifferentialIndex(final PredefinedElkEntityFactory elkFactory) {
 		super(elkFactory);
 		init();
@@ -131,6 +148,7 @@ public class DifferentialIndex extends DirectIndex {
 		initObjectPropertyChanges();
 		initAdditions();
 		initDeletions();
+		initPropertyHierarchyChanges();
 	}
 
 	public void initClassChanges() {
@@ -148,6 +166,13 @@ public class DifferentialIndex extends DirectIndex {
 		this.removedObjectProperties_ = new ArrayHashSet<ElkObjectProperty>(32);
 	}
 
+	public void initPropertyHierarchyChanges() {
+		this.changedSubPropertyChains_ = new ArrayHashSet<IndexedPropertyChain>(
+				8);
+		this.changedCompositionSuperProperties_ = new ArrayHashSet<IndexedObjectProperty>(
+				8);
+	}
+
 	public void initAdditions() {
 		this.addedContextInitRules_ = null;
 		this.addedContextRuleHeadByClassExpressions_ = new ArrayHashMap<ModifiableIndexedClassExpression, ChainableSubsumerRule>(
@@ -349,6 +374,35 @@ public class DifferentialIndex extends DirectIndex {
 		return true;
 	}
 
+	@Override
+	public boolean addToldSubPropertyChain(
+			ModifiableIndexedPropertyChain subChain,
+			ModifiableIndexedObjectProperty superProperty, ElkAxiom reason) {
+		if (!super.addToldSubPropertyChain(subChain, superProperty, reason))
+			return false;
+		registerPropertyHierarchyChange(subChain, superProperty);
+		return true;
+	}
+
+	@Override
+	public boolean removeToldSubPropertyChain(
+			ModifiableIndexedPropertyChain subChain,
+			ModifiableIndexedObjectProperty superProperty, ElkAxiom reason) {
+		if (!super.removeToldSubPropertyChain(subChain, superProperty, reason))
+			return false;
+		registerPropertyHierarchyChange(subChain, superProperty);
+		return true;
+	}
+
+	private void registerPropertyHierarchyChange(IndexedPropertyChain subChain,
+			IndexedObjectProperty superProperty) {
+		LOGGER_.trace("{} -> {}: property inclusion changed", subChain,
+				superProperty);
+		changedSubPropertyChains_.add(subChain);
+		if (subChain instanceof IndexedComplexPropertyChain)
+			changedCompositionSuperProperties_.add(superProperty);
+	}
+
 	@Override
 	public boolean addContextInitRule(ChainableContextInitRule newRule) {
 		if (!incrementalMode) {
@@ -469,6 +523,34 @@ public class DifferentialIndex extends DirectIndex {
 		return Operations.filter(todoDeletions_, IndexedClassExpression.class);
 	}
 
+	/**
+	 * @return the sub-chains of the told property inclusions that were added or
+	 *         removed since the last call of
+	 *         {@link #initPropertyHierarchyChanges()}
+	 */
+	public Collection<? extends IndexedPropertyChain> getChangedSubPropertyChains() {
+		return changedSubPropertyChains_;
+	}
+
+	/**
+	 * @return the super-properties of the told property inclusions with
+	 *         {@link IndexedComplexPropertyChain} sub-chains that were added or
+	 *         removed since the last call of
+	 *         {@link #initPropertyHierarchyChanges()}
+	 */
+	public Collection<? extends IndexedObjectProperty> getChangedCompositionSuperProperties() {
+		return changedCompositionSuperProperties_;
+	}
+
+	/**
+	 * @return {@code true} if some told property inclusions were added or
+	 *         removed since the last call of
+	 *         {@link #initPropertyHierarchyChanges()}
+	 */
+	public boolean hasPropertyHierarchyChanges() {
+		return !changedSubPropertyChains_.isEmpty();
+	}
+
 	/**
 	 * Removes the deleted rules from this {@link DifferentialIndex}; these
 	 * rules should be already applied in the main index during their
@@ -557,6 +639,7 @@ public class DifferentialIndex extends DirectIndex {
 			commitAddedRules();
 			initClassChanges();
 			initIndividualChanges();
+			initPropertyHierarchyChanges();
 		}
 	}
 
@@ -27,11 +27,14 @@ import java.util.List;
 
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
 import org.semanticweb.elk.owl.predefined.PredefinedElkEntityFactory;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkUnexpectedIndexingException;
 import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedOwlNothing;
 import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedOwlThing;
 import org.semanticweb.elk.reasoner.indexing.model.IndexingListener;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClass;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedPropertyChain;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableOntologyIndex;
 import org.semanticweb.elk.reasoner.indexing.model.Occurrence;
 import org.semanticweb.elk.reasoner.indexing.model.OccurrenceIncrement;
@@ -168,6 +171,38 @@ public class DirectIndex extends ModifiableIndexedObjectCacheImpl
 		return true;
 	}
 
+	@Override
+	public boolean addToldSubPropertyChain(
+			ModifiableIndexedPropertyChain subChain,
+			ModifiableIndexedObjectProperty superProperty, ElkAxiom reason) {
+		if (!subChain.addToldSuperObjectProperty(superProperty, reason))
+			return false;
+		if (!superProperty.addToldSubPropertyChain(subChain, reason)) {
+			// revert the changes
+			if (!subChain.removeToldSuperObjectProperty(superProperty, reason))
+				throw new ElkUnexpectedIndexingException(subChain);
+			return false;
+		}
+		// success
+		return true;
+	}
+
+	@Override
+	public boolean removeToldSubPropertyChain(
+			ModifiableIndexedPropertyChain subChain,
+			ModifiableIndexedObjectProperty superProperty, ElkAxiom reason) {
+		if (!subChain.removeToldSuperObjectProperty(superProperty, reason))
+			return false;
+		if (!superProperty.removeToldSubPropertyChain(subChain, reason)) {
+			// revert the changes
+			if (!subChain.addToldSuperObjectProperty(superProperty, reason))
+				throw new ElkUnexpectedIndexingException(subChain);
+			return false;
+		}
+		// success
+		return true;
+	}
+
 	/* class-specific methods */
 
 	/**
@@ -21,10 +21,16 @@
  */
 package org.semanticweb.elk.reasoner.indexing.classes;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.semanticweb.elk.owl.predefined.PredefinedElkEntityFactory;
 import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedClass;
@@ -46,11 +52,14 @@ import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedOwlThing;
 import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedOwlTopObjectProperty;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedIndividual;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectCache;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.collections.entryset.EntryCollection;
 import org.slf4j.Logger;
@@ -91,6 +100,54 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 
 	private final List<IndexedObjectCache.ChangeListener> listeners_;
 
+	/**
+	 * the number to be assigned to the next added
+	 * {@link ModifiableIndexedContextRoot} if there are no released numbers
+	 */
+	private int nextContextRootId_ = 0;
+
+	/**
+	 * the numbers of the released {@link ModifiableIndexedContextRoot}s that
+	 * were garbage collected, which are assigned again before new numbers so
+	 * that the numbers stay dense; the first {@link #freeContextRootIdCount_}
+	 * elements are used
+	 */
+	private int[] freeContextRootIds_ = new int[16];
+
+	/**
+	 * the number of released numbers in {@link #freeContextRootIds_}
+	 */
+	private int freeContextRootIdCount_ = 0;
+
+	/**
+	 * the {@link ModifiableIndexedContextRoot}s at the positions of their
+	 * numbers; the objects are kept after they are removed from the cache
+	 * until {@link #releaseRemovedContextRoots()} since they can still be
+	 * referenced by their numbers
+	 */
+	private volatile ModifiableIndexedContextRoot[] contextRoots_ = new ModifiableIndexedContextRoot[16];
+
+	/**
+	 * the {@link ModifiableIndexedContextRoot}s removed from this cache that
+	 * are still kept in {@link #contextRoots_}
+	 */
+	private final Set<ModifiableIndexedContextRoot> removedContextRoots_ = new ArrayHashSet<ModifiableIndexedContextRoot>();
+
+	/**
+	 * the weak references to the released
+	 * {@link ModifiableIndexedContextRoot}s by their numbers; the released
+	 * objects can still be referenced from other objects, e.g., from the
+	 * conclusions in the contexts of removed objects, so their numbers can be
+	 * reused only after they are garbage collected
+	 */
+	private final Map<Integer, ContextRootReference> releasedContextRoots_ = new HashMap<Integer, ContextRootReference>();
+
+	/**
+	 * the references from {@link #releasedContextRoots_} whose objects were
+	 * garbage collected
+	 */
+	private final ReferenceQueue<ModifiableIndexedContextRoot> collectedContextRoots_ = new ReferenceQueue<ModifiableIndexedContextRoot>();
+
 	public ModifiableIndexedObjectCacheImpl(
 			final PredefinedElkEntityFactory elkFactory, int initialSize) {
 		this.cachedComplexClassExpressions_ = new EntryCollection<CachedIndexedComplexClassExpression<?>>(
@@ -184,6 +241,27 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 		return owlBottomObjectProperty_;
 	}
 
+	@Override
+	public final IndexedContextRoot getContextRoot(int id) {
+		ModifiableIndexedContextRoot[] contextRoots = contextRoots_;
+		if (id < 0 || id >= contextRoots.length) {
+			return null;
+		}
+		// else
+		IndexedContextRoot result = contextRoots[id];
+		if (result != null) {
+			return result;
+		}
+		// else
+		ContextRootReference released = releasedContextRoots_.get(id);
+		return released == null ? null : released.get();
+	}
+
+	@Override
+	public final int getContextRootIdBound() {
+		return nextContextRootId_;
+	}
+
 	@Override
 	public <T extends CachedIndexedObject<T>> T resolve(
 			CachedIndexedObject<T> input) {
@@ -202,6 +280,25 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 		input.accept(deleter_);
 	}
 
+	@Override
+	public void releaseRemovedContextRoots() {
+		if (removedContextRoots_.isEmpty()) {
+			return;
+		}
+		// else
+		ModifiableIndexedContextRoot[] contextRoots = contextRoots_;
+		for (ModifiableIndexedContextRoot root : removedContextRoots_) {
+			int id = root.getId();
+			releasedContextRoots_.put(id, new ContextRootReference(root, id,
+					collectedContextRoots_));
+			contextRoots[id] = null;
+		}
+		LOGGER_.trace("{} context roots released", removedContextRoots_.size());
+		removedContextRoots_.clear();
+		// publish the new values
+		contextRoots_ = contextRoots;
+	}
+
 	@Override
 	public final boolean addListener(IndexedObjectCache.ChangeListener listener) {
 		return listeners_.add(listener);
@@ -212,6 +309,87 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 		return listeners_.remove(listener);
 	}
 
+	/**
+	 * Makes the numbers of the released {@link ModifiableIndexedContextRoot}s
+	 * that were garbage collected available for new objects
+	 */
+	private void collectContextRootIds() {
+		for (;;) {
+			ContextRootReference collected = (ContextRootReference) collectedContextRoots_
+					.poll();
+			if (collected == null) {
+				return;
+			}
+			// else
+			releasedContextRoots_.remove(collected.id);
+			if (freeContextRootIdCount_ == freeContextRootIds_.length) {
+				freeContextRootIds_ = Arrays.copyOf(freeContextRootIds_,
+						freeContextRootIdCount_ << 1);
+			}
+			freeContextRootIds_[freeContextRootIdCount_++] = collected.id;
+		}
+	}
+
+	/**
+	 * Assigns a new number to the given {@link ModifiableIndexedContextRoot}
+	 * unless it already has one, e.g., if it was removed and added again. The
+	 * numbers of the released objects that were garbage collected are
+	 * assigned first.
+	 * 
+	 * @param root
+	 */
+	private void assignId(ModifiableIndexedContextRoot root) {
+		int id = root.getId();
+		if (id >= 0) {
+			if (removedContextRoots_.remove(root)) {
+				// the root is still kept
+				return;
+			}
+			// else the root could be released
+			ContextRootReference released = releasedContextRoots_.remove(id);
+			if (released != null) {
+				// the root cannot be collected while it is added, and now it
+				// is kept again
+				released.clear();
+				ModifiableIndexedContextRoot[] contextRoots = contextRoots_;
+				contextRoots[id] = root;
+				// publish the new value
+				contextRoots_ = contextRoots;
+			}
+			return;
+		}
+		// else
+		collectContextRootIds();
+		id = freeContextRootIdCount_ > 0
+				? freeContextRootIds_[--freeContextRootIdCount_]
+				: nextContextRootId_++;
+		ModifiableIndexedContextRoot[] contextRoots = contextRoots_;
+		if (id == contextRoots.length) {
+			contextRoots = Arrays.copyOf(contextRoots, id << 1);
+		}
+		contextRoots[id] = root;
+		root.setId(id);
+		// publish the new value
+		contextRoots_ = contextRoots;
+	}
+
+	/**
+	 * A weak reference to a released {@link ModifiableIndexedContextRoot} that
+	 * remembers its number
+	 */
+	private static class ContextRootReference
+			extends WeakReference<ModifiableIndexedContextRoot> {
+
+		final int id;
+
+		ContextRootReference(ModifiableIndexedContextRoot root, int id,
+				ReferenceQueue<ModifiableIndexedContextRoot> queue) {
+			super(root, queue);
+			this.id = id;
+		}
+
+	}
+
 	private class Resolver_ implements CachedIndexedObject.Filter {
 
 		@Override
@@ -285,6 +463,7 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 		@Override
 		public CachedIndexedClass filter(CachedIndexedClass element) {
 			cachedClasses_.addStructural(element);
+			assignId(element);
 			for (int i = 0; i < listeners_.size(); i++) {
 				IndexedObjectCache.ChangeListener listener = listeners_.get(i);
 				listener.classAddition(element);
@@ -296,6 +475,7 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 		@Override
 		public CachedIndexedIndividual filter(CachedIndexedIndividual element) {
 			cachedIndividuals_.addStructural(element);
+			assignId(element);
 			for (int i = 0; i < listeners_.size(); i++) {
 				IndexedObjectCache.ChangeListener listener = listeners_.get(i);
 				listener.individualAddition(element);
@@ -307,6 +487,7 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 		private <T extends CachedIndexedComplexClassExpression<T>> T defaultFilter(
 				T element) {
 			cachedComplexClassExpressions_.addStructural(element);
+			assignId(element);
 			for (int i = 0; i < listeners_.size(); i++) {
 				listeners_.get(i).classExpressionAddition(element);
 			}
@@ -328,6 +509,8 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 		@Override
 		public CachedIndexedObjectSomeValuesFrom filter(
 				CachedIndexedObjectSomeValuesFrom element) {
+			// the filler can be used as a root of contexts too
+			assignId(element.getRangeFiller());
 			return defaultFilter(element);
 		}
 
@@ -387,6 +570,7 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 			CachedIndexedClass result = cachedClasses_
 					.removeStructural(element);
 			if (result != null) {
+				removedContextRoots_.add(result);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_.get(i);
 					listener.classRemoval(result);
@@ -401,6 +585,7 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 			CachedIndexedIndividual result = cachedIndividuals_
 					.removeStructural(element);
 			if (result != null) {
+				removedContextRoots_.add(result);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_.get(i);
 					listener.individualRemoval(result);
@@ -414,6 +599,7 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 				T element) {
 			T result = cachedComplexClassExpressions_.removeStructural(element);
 			if (result != null) {
+				removedContextRoots_.add(result);
 				for (int i = 0; i < listeners_.size(); i++) {
 					listeners_.get(i).classExpressionRemoval(element);
 				}
@@ -436,7 +622,11 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 		@Override
 		public CachedIndexedObjectSomeValuesFrom filter(
 				CachedIndexedObjectSomeValuesFrom element) {
-			return defaultFilter(element);
+			CachedIndexedObjectSomeValuesFrom result = defaultFilter(element);
+			if (result != null) {
+				removedContextRoots_.add(result.getRangeFiller());
+			}
+			return result;
 		}
 
 		@Override
@@ -43,6 +43,12 @@ class ModifiableIndexedRangeFillerImpl extends IndexedObjectImpl
 
 	private volatile ExtendedContext context_ = null;
 
+	/**
+	 * the number assigned when this {@link IndexedContextRoot} is added to
+	 * the index
+	 */
+	private int id_ = -1;
+
 	ModifiableIndexedRangeFillerImpl(ModifiableIndexedObjectProperty property,
 			ModifiableIndexedClassExpression fillerConcept) {
 		this.property_ = property;
@@ -79,6 +85,16 @@ class ModifiableIndexedRangeFillerImpl extends IndexedObjectImpl
 		context_ = null;
 	}
 
+	@Override
+	public final int getId() {
+		return id_;
+	}
+
+	@Override
+	public final void setId(int id) {
+		this.id_ = id;
+	}
+
 	@Override
 	public final <O> O accept(IndexedContextRoot.Visitor<O> visitor) {
 		return visitor.visit(this);
@@ -23,7 +23,6 @@ package org.semanticweb.elk.reasoner.indexing.classes;
  */
 
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
-import org.semanticweb.elk.reasoner.indexing.conversion.ElkUnexpectedIndexingException;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedAxiom;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectProperty;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedPropertyChain;
@@ -50,40 +49,14 @@ class ModifiableIndexedSubObjectPropertyOfAxiomImpl<A extends ElkAxiom> extends
 
 	@Override
 	public boolean addOccurrence(ModifiableOntologyIndex index) {
-		ElkAxiom reason = getOriginalAxiom();
-		ModifiableIndexedPropertyChain subPropertyChain = getSubPropertyChain();
-		ModifiableIndexedObjectProperty superProperty = getSuperProperty();
-		if (!subPropertyChain.addToldSuperObjectProperty(superProperty, reason))
-			return false;
-		if (!superProperty.addToldSubPropertyChain(subPropertyChain, reason)) {
-			// revert the changes
-			if (!subPropertyChain.removeToldSuperObjectProperty(superProperty,
-					reason))
-				throw new ElkUnexpectedIndexingException(this);
-			return false;
-		}
-		// success
-		return true;
+		return index.addToldSubPropertyChain(getSubPropertyChain(),
+				getSuperProperty(), getOriginalAxiom());
 	}
 
 	@Override
 	public boolean removeOccurrence(ModifiableOntologyIndex index) {
-		ElkAxiom reason = getOriginalAxiom();
-		ModifiableIndexedPropertyChain subPropertyChain = getSubPropertyChain();
-		ModifiableIndexedObjectProperty superProperty = getSuperProperty();
-		if (!subPropertyChain.removeToldSuperObjectProperty(superProperty,
-				reason))
-			return false;
-		if (!superProperty.removeToldSubPropertyChain(subPropertyChain,
-				reason)) {
-			// revert the changes
-			if (!subPropertyChain.addToldSuperObjectProperty(superProperty,
-					reason))
-				throw new ElkUnexpectedIndexingException(this);
-			return false;
-		}
-		// success
-		return true;
+		return index.removeToldSubPropertyChain(getSubPropertyChain(),
+				getSuperProperty(), getOriginalAxiom());
 	}
 
 	@Override
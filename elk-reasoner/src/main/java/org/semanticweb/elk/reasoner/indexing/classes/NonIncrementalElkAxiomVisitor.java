@@ -26,11 +26,8 @@ package org.semanticweb.elk.reasoner.indexing.classes;
  */
 
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
-import org.semanticweb.elk.owl.interfaces.ElkEquivalentObjectPropertiesAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkObjectPropertyRangeAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkReflexiveObjectPropertyAxiom;
-import org.semanticweb.elk.owl.interfaces.ElkSubObjectPropertyOfAxiom;
-import org.semanticweb.elk.owl.interfaces.ElkTransitiveObjectPropertyAxiom;
 import org.semanticweb.elk.reasoner.incremental.AxiomLoadingListener;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
 
@@ -54,30 +51,12 @@ public class NonIncrementalElkAxiomVisitor extends DelegatingElkAxiomVisitor<Voi
 		listener_ = listener;
 	}
 
-	@Override
-	public Void visit(ElkEquivalentObjectPropertiesAxiom axiom) {
-		listener_.notify(axiom);
-		return super.visit(axiom);
-	}
-
 	@Override
 	public Void visit(ElkReflexiveObjectPropertyAxiom axiom) {
 		listener_.notify(axiom);
 		return super.visit(axiom);
 	}
 
-	@Override
-	public Void visit(ElkSubObjectPropertyOfAxiom axiom) {
-		listener_.notify(axiom);
-		return super.visit(axiom);
-	}
-
-	@Override
-	public Void visit(ElkTransitiveObjectPropertyAxiom axiom) {
-		listener_.notify(axiom);
-		return super.visit(axiom);
-	}
-
 	@Override
 	public Void visit(ElkObjectPropertyRangeAxiom axiom) {
 		listener_.notify(axiom);
@@ -0,0 +1,136 @@
+package org.semanticweb.elk.reasoner.indexing.classes;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedObject;
+import org.semanticweb.elk.reasoner.indexing.model.CachedIndexedSubObject;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpressionList;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedDeclarationAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedDisjointClassesAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedEntity;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedEquivalentClassesAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObject;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectPropertyRangeAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedSubClassOfAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedSubObjectPropertyOfAxiom;
+
+/**
+ * A {@link ModifiableIndexedObject.Factory} that constructs objects using
+ * another {@link ModifiableIndexedObject.Factory} without modifying the index.
+ * The constructed sub-objects are resolved using the
+ * {@link ConcurrentChangeIndexer.Recorder}, which also records all constructed
+ * objects so that their occurrences can be later updated by the provided
+ * {@link UpdatingCachedIndexedObjectFactory}. This factory can be used
+ * concurrently with other {@link RecordingModifiableIndexedObjectFactory}s
+ * that use different {@link ConcurrentChangeIndexer.Recorder}s.
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ * @see UpdatingModifiableIndexedObjectFactory
+ */
+class RecordingModifiableIndexedObjectFactory
+		extends DelegatingCachedIndexedObjectFactory
+		implements ModifiableIndexedObject.Factory {
+
+	private final ModifiableIndexedObject.Factory baseFactory_;
+
+	private final ConcurrentChangeIndexer.Recorder recorder_;
+
+	private final UpdatingCachedIndexedObjectFactory updater_;
+
+	<F extends CachedIndexedObject.Factory & ModifiableIndexedObject.Factory> RecordingModifiableIndexedObjectFactory(
+			F baseFactory, ConcurrentChangeIndexer.Recorder recorder,
+			UpdatingCachedIndexedObjectFactory updater) {
+		super(baseFactory);
+		this.baseFactory_ = baseFactory;
+		this.recorder_ = recorder;
+		this.updater_ = updater;
+	}
+
+	@Override
+	<T extends CachedIndexedSubObject<T>> T filter(T input) {
+		T result = recorder_.resolve(input);
+		recorder_.record(updater_, result);
+		return result;
+	}
+
+	<T extends ModifiableIndexedAxiom> T record(T input) {
+		recorder_.record(updater_, input);
+		return input;
+	}
+
+	@Override
+	public ModifiableIndexedDeclarationAxiom getIndexedDeclarationAxiom(
+			ElkAxiom originalAxiom, ModifiableIndexedEntity entity) {
+		return record(
+				baseFactory_.getIndexedDeclarationAxiom(originalAxiom, entity));
+	}
+
+	@Override
+	public ModifiableIndexedDisjointClassesAxiom getIndexedDisjointClassesAxiom(
+			ElkAxiom originalAxiom,
+			ModifiableIndexedClassExpressionList members) {
+		return record(baseFactory_.getIndexedDisjointClassesAxiom(originalAxiom,
+				members));
+	}
+
+	@Override
+	public ModifiableIndexedEquivalentClassesAxiom getIndexedEquivalentClassesAxiom(
+			ElkAxiom originalAxiom,
+			ModifiableIndexedClassExpression firstMember,
+			ModifiableIndexedClassExpression secondMember) {
+		return record(baseFactory_.getIndexedEquivalentClassesAxiom(
+				originalAxiom, firstMember, secondMember));
+	}
+
+	@Override
+	public ModifiableIndexedObjectPropertyRangeAxiom getIndexedObjectPropertyRangeAxiom(
+			ElkAxiom originalAxiom, ModifiableIndexedObjectProperty property,
+			ModifiableIndexedClassExpression range) {
+		return record(baseFactory_.getIndexedObjectPropertyRangeAxiom(
+				originalAxiom, property, range));
+	}
+
+	@Override
+	public ModifiableIndexedSubClassOfAxiom getIndexedSubClassOfAxiom(
+			ElkAxiom originalAxiom, ModifiableIndexedClassExpression subClass,
+			ModifiableIndexedClassExpression superClass) {
+		return record(baseFactory_.getIndexedSubClassOfAxiom(originalAxiom,
+				subClass, superClass));
+	}
+
+	@Override
+	public ModifiableIndexedSubObjectPropertyOfAxiom getIndexedSubObjectPropertyOfAxiom(
+			ElkAxiom originalAxiom,
+			ModifiableIndexedPropertyChain subPropertyChain,
+			ModifiableIndexedObjectProperty superProperty) {
+		return record(baseFactory_.getIndexedSubObjectPropertyOfAxiom(
+				originalAxiom, subPropertyChain, superProperty));
+	}
+
+}
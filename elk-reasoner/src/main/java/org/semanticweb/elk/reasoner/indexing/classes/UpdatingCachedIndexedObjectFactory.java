@@ -57,23 +57,29 @@ class UpdatingCachedIndexedObjectFactory extends
 
 	@Override
 	<T extends CachedIndexedSubObject<T>> T filter(T input) {
-		T result = resolve(input);
-		update(result);
-		if (!result.occurs()) {
-			index_.remove(result);
+		T result = index_.resolve(input);
+		if (result == null) {
+			result = input;
 		}
+		apply(result);
 		return result;
 	}
 
-	<T extends CachedIndexedObject<T>> T resolve(T input) {
-		T result = index_.resolve(input);
-		if (result == null) {
-			result = input;
+	/**
+	 * Updates the occurrence counts of the given object that is already
+	 * resolved in the index; the object is added to the index if it did not
+	 * occur before the update and removed if it does not occur after
+	 * 
+	 * @param resolved
+	 */
+	void apply(CachedIndexedSubObject<?> resolved) {
+		if (!resolved.occurs()) {
+			index_.add(resolved);
 		}
-		if (!result.occurs()) {
-			index_.add(result);
+		update(resolved);
+		if (!resolved.occurs()) {
+			index_.remove(resolved);
 		}
-		return result;
 	}
 
 	<T extends ModifiableIndexedSubObject> T update(T input) {
@@ -59,6 +59,17 @@ public interface IndexedContextRoot extends IndexedObject {
 	 */
 	ExtendedContext setContextIfAbsent(ExtendedContext context);
 
+	/**
+	 * @return the number assigned to this {@link IndexedContextRoot} when it
+	 *         was added to the index or a negative value if no number was
+	 *         assigned; different {@link IndexedContextRoot}s of the same index
+	 *         have different numbers, which are allocated starting from
+	 *         {@code 0}, reusing the numbers of the removed
+	 *         {@link IndexedContextRoot}s that were garbage collected, so they
+	 *         can be used as positions in arrays
+	 */
+	int getId();
+
 	/**
 	 * The visitor pattern for instances
 	 * 
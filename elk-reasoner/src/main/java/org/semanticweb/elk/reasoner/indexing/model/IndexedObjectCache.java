@@ -101,6 +101,23 @@ public interface IndexedObjectCache {
 	 */
 	public IndexedObjectProperty getOwlBottomObjectProperty();
 
+	/**
+	 * @param id
+	 * @return the {@link IndexedContextRoot} which was assigned the given
+	 *         number when it was added to this {@link IndexedObjectCache} or
+	 *         {@code null} if no such object was added or it was removed,
+	 *         released, and garbage collected
+	 * @see IndexedContextRoot#getId()
+	 */
+	public IndexedContextRoot getContextRoot(int id);
+
+	/**
+	 * @return a number that is greater than the numbers of all
+	 *         {@link IndexedContextRoot}s that can be returned by
+	 *         {@link #getContextRoot(int)}
+	 */
+	public int getContextRootIdBound();
+
 	/**
 	 * Registers a given {@link ChangeListener} with this {@link IndexedObjectCache}
 	 * 
@@ -33,7 +33,8 @@ import org.semanticweb.elk.util.collections.chains.Chain;
  *
  */
 public interface ModifiableIndexedClassExpression extends
-		ModifiableIndexedSubObject, IndexedClassExpression {
+		ModifiableIndexedSubObject, ModifiableIndexedContextRoot,
+		IndexedClassExpression {
 
 	/**
 	 * @return the {@link Chain} view of all composition rules assigned to this
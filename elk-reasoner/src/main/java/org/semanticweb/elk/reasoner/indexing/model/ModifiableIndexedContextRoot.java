@@ -0,0 +1,44 @@
+package org.semanticweb.elk.reasoner.indexing.model;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * An {@link IndexedContextRoot} that can be modified as a result of updating
+ * the {@link ModifiableOntologyIndex} where this object is stored.
+ * 
+ * @author "Yevgeny Kazakov"
+ *
+ */
+public interface ModifiableIndexedContextRoot extends IndexedContextRoot {
+
+	/**
+	 * Assigns the number returned by {@link #getId()}; this should be done
+	 * only once, when this {@link ModifiableIndexedContextRoot} is added to
+	 * the index
+	 * 
+	 * @param id
+	 *            the non-negative number to be assigned
+	 */
+	void setId(int id);
+
+}
@@ -61,4 +61,17 @@ public interface ModifiableIndexedObjectCache extends IndexedObjectCache {
 	 */
 	void remove(CachedIndexedObject<?> input);
 
+	/**
+	 * Releases the {@link IndexedContextRoot}s removed from this
+	 * {@link IndexedObjectCache}, so that they can be garbage collected
+	 * together with their contexts when they are not referenced from other
+	 * objects; until then they are still returned by
+	 * {@link #getContextRoot(int)}. This should be done only when no
+	 * conclusions of the saturation refer to the removed objects by their
+	 * numbers, e.g., after the contexts are reset or after the saturation is
+	 * restored following the removal. The numbers of the collected objects
+	 * are assigned to the {@link IndexedContextRoot}s added later.
+	 */
+	void releaseRemovedContextRoots();
+
 }
@@ -29,7 +29,8 @@ package org.semanticweb.elk.reasoner.indexing.model;
  * @author "Yevgeny Kazakov"
  *
  */
-public interface ModifiableIndexedRangeFiller extends IndexedRangeFiller {
+public interface ModifiableIndexedRangeFiller
+		extends IndexedRangeFiller, ModifiableIndexedContextRoot {
 
 	@Override
 	ModifiableIndexedObjectProperty getProperty();
@@ -133,6 +133,44 @@ public interface ModifiableOntologyIndex
 	boolean tryRemoveDefinition(ModifiableIndexedClass target,
 			ModifiableIndexedClassExpression definition, ElkAxiom reason);
 
+	/**
+	 * Registers the given {@link ModifiableIndexedPropertyChain} as a told
+	 * sub-chain of the given {@link ModifiableIndexedObjectProperty}, and the
+	 * latter as a told super-property of the former.
+	 *
+	 * @param subChain
+	 *            the {@link ModifiableIndexedPropertyChain} for which to add a
+	 *            told super-property
+	 * @param superProperty
+	 *            the {@link ModifiableIndexedObjectProperty} for which to add
+	 *            a told sub-chain
+	 * @param reason
+	 *            the {@link ElkAxiom} from which the inclusion originates
+	 * @return {@code true} if the operation is successful and {@code false} if
+	 *         not; if {@code false} is return, the index remains unchanged
+	 */
+	boolean addToldSubPropertyChain(ModifiableIndexedPropertyChain subChain,
+			ModifiableIndexedObjectProperty superProperty, ElkAxiom reason);
+
+	/**
+	 * Reverts the changes made by
+	 * {@link #addToldSubPropertyChain(ModifiableIndexedPropertyChain, ModifiableIndexedObjectProperty, ElkAxiom)}
+	 * for the same arguments.
+	 *
+	 * @param subChain
+	 *            the {@link ModifiableIndexedPropertyChain} for which to
+	 *            remove a told super-property
+	 * @param superProperty
+	 *            the {@link ModifiableIndexedObjectProperty} for which to
+	 *            remove a told sub-chain
+	 * @param reason
+	 *            the {@link ElkAxiom} from which the inclusion originates
+	 * @return {@code true} if the operation is successful and {@code false} if
+	 *         not; if {@code false} is return, the index remains unchanged
+	 */
+	boolean removeToldSubPropertyChain(ModifiableIndexedPropertyChain subChain,
+			ModifiableIndexedObjectProperty superProperty, ElkAxiom reason);
+
 	/**
 	 * Registers the given {@link IndexingListener} with this
 	 * {@link ModifiableOntologyIndex}. Calls to methods of this
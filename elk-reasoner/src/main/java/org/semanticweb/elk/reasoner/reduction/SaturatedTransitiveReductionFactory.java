@@ -0,0 +1,396 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.reduction;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.SaturationConclusionBaseFactory;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassInconsistency;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessorFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The factory for engines that concurrently perform the transitive reduction of
+ * the derived subsumption hierarchy between classes, like
+ * {@link TransitiveReductionFactory}, but by looking only at the contexts of
+ * the root and its subsumers that are already saturated. The direct subsumers
+ * of the root are found by processing its named subsumers in the topological
+ * order, i.e., in the descending order of the numbers of their subsumers, and
+ * by collecting the subsumers of the found direct subsumers in a
+ * {@link BitSet} indexed by {@link IndexedClass#getId()}: a subsumer is direct
+ * if it is not in this set when it is processed. Equivalent classes are found
+ * by checking the subsumers with the same number of subsumers, so no further
+ * saturation jobs are needed. The jobs do not depend on each other, so they
+ * are processed in parallel when several workers use this factory.
+ * <p>
+ * The jobs for which the context of the root or of some of its named
+ * subsumers is not yet saturated are submitted to the given
+ * {@link TransitiveReductionFactory}, which computes the missing saturations.
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ * @param <R>
+ *            the type of the input class expressions for which to compute the
+ *            result
+ * @param <J>
+ *            the type of the jobs that can be processed by this transitive
+ *            reduction engine
+ * 
+ * @see TransitiveReductionFactory
+ */
+public class SaturatedTransitiveReductionFactory<R extends IndexedClassExpression, J extends TransitiveReductionJob<R>>
+		implements
+			InputProcessorFactory<J, SaturatedTransitiveReductionFactory<R, J>.Engine> {
+
+	// logger for this class
+	private static final Logger LOGGER_ = LoggerFactory
+			.getLogger(SaturatedTransitiveReductionFactory.class);
+
+	/**
+	 * Orders {@link IndexedClass}es with saturated contexts in the descending
+	 * order of the number of their subsumers; if one class is a strict
+	 * subsumer of another, it has fewer subsumers and therefore comes later in
+	 * this order
+	 */
+	private static final Comparator<SubsumerInfo> TOPOLOGICAL_ORDER_ = new Comparator<SubsumerInfo>() {
+
+		@Override
+		public int compare(final SubsumerInfo first, final SubsumerInfo second) {
+			return second.subsumers.size() - first.subsumers.size();
+		}
+
+	};
+
+	/**
+	 * The listener object implementing callback functions for this engine
+	 */
+	private final TransitiveReductionListener<J> listener_;
+
+	/**
+	 * The factory used for jobs for which not all required contexts are
+	 * saturated
+	 */
+	private final TransitiveReductionFactory<R, J> saturatingFactory_;
+
+	/**
+	 * The submitted jobs that are not yet processed
+	 */
+	private final Queue<J> jobs_ = new ConcurrentLinkedQueue<J>();
+
+	/**
+	 * The {@link SaturationState} keeping the information about saturation
+	 */
+	private final SaturationState<?> saturationState_;
+
+	private final IndexedClass owlThing_;
+
+	/**
+	 * The default equivalence classes for owl:Thing to be used when there are
+	 * no (direct) subsumers
+	 */
+	private final List<ElkClass> defaultTopOutput_;
+
+	/**
+	 * A factory for creating contradiction conclusions; used for checking
+	 * unsatisfiable contexts
+	 */
+	private final ClassInconsistency.Factory factory_ = new SaturationConclusionBaseFactory();
+
+	/**
+	 * Creates a new transitive reduction engine factory that uses the
+	 * saturated contexts of the given {@link SaturationState}.
+	 * 
+	 * @param saturatingFactory
+	 *            the {@link TransitiveReductionFactory} used for the jobs for
+	 *            which not all required contexts are saturated; it must use
+	 *            the same {@link SaturationState} and
+	 *            {@link TransitiveReductionListener}
+	 * @param saturationState
+	 *            the saturation state of the reasoner
+	 * @param listener
+	 *            the listener object implementing callback functions for this
+	 *            engine
+	 */
+	public SaturatedTransitiveReductionFactory(
+			TransitiveReductionFactory<R, J> saturatingFactory,
+			SaturationState<?> saturationState,
+			TransitiveReductionListener<J> listener) {
+		this.saturatingFactory_ = saturatingFactory;
+		this.saturationState_ = saturationState;
+		this.listener_ = listener;
+		this.owlThing_ = saturationState.getOntologyIndex().getOwlThing();
+		this.defaultTopOutput_ = new ArrayList<ElkClass>(1);
+		defaultTopOutput_.add(owlThing_.getElkEntity());
+	}
+
+	@Override
+	public Engine getEngine() {
+		return new Engine();
+	}
+
+	@Override
+	public void finish() {
+		saturatingFactory_.finish();
+	}
+
+	@Override
+	public boolean isInterrupted() {
+		return saturatingFactory_.isInterrupted();
+	}
+
+	/**
+	 * @param expression
+	 * @return the subsumers of the given {@link IndexedClassExpression} if its
+	 *         context is saturated or {@code null} otherwise
+	 */
+	private Set<IndexedClassExpression> getSaturatedSubsumers(
+			IndexedClassExpression expression) {
+		Context context = saturationState_.getContext(expression);
+		if (context == null || !context.isInitialized()
+				|| !context.isSaturated()) {
+			return null;
+		}
+		// else
+		return context.getComposedSubsumers();
+	}
+
+	/**
+	 * An {@link IndexedClass} together with the subsumers from its saturated
+	 * context
+	 * 
+	 * @author "Yevgeny Kazakov"
+	 */
+	private static class SubsumerInfo {
+
+		final IndexedClass subsumer;
+
+		final Set<IndexedClassExpression> subsumers;
+
+		SubsumerInfo(IndexedClass subsumer,
+				Set<IndexedClassExpression> subsumers) {
+			this.subsumer = subsumer;
+			this.subsumers = subsumers;
+		}
+
+	}
+
+	public class Engine implements InputProcessor<J> {
+
+		/**
+		 * The engine for the jobs for which not all required contexts are
+		 * saturated
+		 */
+		private final TransitiveReductionFactory<R, J>.Engine saturatingEngine_ = saturatingFactory_
+				.getEngine();
+
+		/**
+		 * The subsumers of the direct subsumers found so far for the currently
+		 * processed root; it is cleared after every job
+		 */
+		private final BitSet covered_ = new BitSet();
+
+		/**
+		 * The {@link IndexedClass}es whose bits are set in {@link #covered_};
+		 * only these bits are cleared after every job since clearing the whole
+		 * {@link BitSet} would take time proportional to the number of classes
+		 */
+		private final List<IndexedClass> coveredClasses_ = new ArrayList<IndexedClass>();
+
+		/**
+		 * The named strict subsumers of the currently processed root
+		 */
+		private final List<SubsumerInfo> candidates_ = new ArrayList<SubsumerInfo>();
+
+		// don't allow creating of engines directly; only through the factory
+		private Engine() {
+		}
+
+		@Override
+		public final void submit(J job) {
+			LOGGER_.trace("{}: transitive reduction started", job.getInput());
+
+			jobs_.add(job);
+		}
+
+		@Override
+		public final void process() throws InterruptedException {
+			for (;;) {
+				if (isInterrupted()) {
+					return;
+				}
+				J job = jobs_.poll();
+				if (job == null) {
+					break;
+				}
+				R root = job.getInput();
+				TransitiveReductionOutput<R> output = reduce(root);
+				if (output == null) {
+					LOGGER_.trace("{}: not saturated", root);
+					saturatingEngine_.submit(job);
+					continue;
+				}
+				// else
+				job.setOutput(output);
+				listener_.notifyFinished(job);
+			}
+			saturatingEngine_.process();
+		}
+
+		/**
+		 * Computes the transitive reduction output for the given root using
+		 * the saturated contexts.
+		 * 
+		 * @param root
+		 * @return the output of the transitive reduction or {@code null} if
+		 *         the context of the root or of some of its named subsumers is
+		 *         not saturated
+		 */
+		private TransitiveReductionOutput<R> reduce(R root) {
+			Set<IndexedClassExpression> rootSubsumers = getSaturatedSubsumers(
+					root);
+			if (rootSubsumers == null) {
+				return null;
+			}
+			// else
+			if (saturationState_.getContext(root)
+					.containsConclusion(factory_.getContradiction(root))) {
+				LOGGER_.trace("{}: transitive reduction finished: inconsistent",
+						root);
+				return new TransitiveReductionOutputUnsatisfiable<R>(root);
+			}
+			// else
+			try {
+				List<ElkClass> rootEquivalent = new ArrayList<ElkClass>(1);
+				for (IndexedClassExpression next : rootSubsumers) {
+					if (!(next instanceof IndexedClass)) {
+						continue;
+					}
+					IndexedClass candidate = (IndexedClass) next;
+					Set<IndexedClassExpression> candidateSubsumers = getSaturatedSubsumers(
+							candidate);
+					if (candidateSubsumers == null) {
+						return null;
+					}
+					// else
+					if (candidateSubsumers.size() == rootSubsumers.size()
+							&& candidateSubsumers.contains(root)) {
+						rootEquivalent.add(candidate.getElkEntity());
+						continue;
+					}
+					// else
+					if (candidate == owlThing_
+							&& candidateSubsumers.size() == 1) {
+						/*
+						 * top without other subsumers can be ignored; it is
+						 * introduced if no direct subsumers are found
+						 */
+						continue;
+					}
+					// else
+					candidates_.add(new SubsumerInfo(candidate,
+							candidateSubsumers));
+				}
+				return computeOutput(root, rootEquivalent);
+			} finally {
+				candidates_.clear();
+				for (IndexedClass covered : coveredClasses_) {
+					covered_.clear(covered.getId());
+				}
+				coveredClasses_.clear();
+			}
+		}
+
+		private TransitiveReductionOutputEquivalentDirect<R> computeOutput(
+				R root, List<ElkClass> rootEquivalent) {
+			TransitiveReductionOutputEquivalentDirect<R> output = new TransitiveReductionOutputEquivalentDirect<R>(
+					root, rootEquivalent);
+			Collections.sort(candidates_, TOPOLOGICAL_ORDER_);
+			for (SubsumerInfo candidate : candidates_) {
+				if (covered_.get(candidate.subsumer.getId())) {
+					// subsumed by a previously found direct subsumer
+					continue;
+				}
+				// else the candidate is a direct subsumer
+				List<ElkClass> candidateEquivalent = new ArrayList<ElkClass>(1);
+				int candidateSubsumersSize = candidate.subsumers.size();
+				for (IndexedClassExpression next : candidate.subsumers) {
+					if (!(next instanceof IndexedClass)) {
+						continue;
+					}
+					IndexedClass subsumer = (IndexedClass) next;
+					if (!covered_.get(subsumer.getId())) {
+						covered_.set(subsumer.getId());
+						coveredClasses_.add(subsumer);
+					}
+					if (subsumer == candidate.subsumer) {
+						candidateEquivalent.add(subsumer.getElkEntity());
+						continue;
+					}
+					// else
+					Set<IndexedClassExpression> subsumerSubsumers = saturationState_
+							.getContext(subsumer).getComposedSubsumers();
+					if (subsumerSubsumers.size() == candidateSubsumersSize
+							&& subsumerSubsumers.contains(candidate.subsumer)) {
+						candidateEquivalent.add(subsumer.getElkEntity());
+					}
+				}
+				output.directSubsumers.put(candidate.subsumer,
+						candidateEquivalent);
+				LOGGER_.trace("{}: new direct subsumer {} [{}]", root,
+						candidate.subsumer, candidateEquivalent);
+			}
+			/*
+			 * if there are no direct subsumers found, then use the default
+			 * direct subsumer for owl:Thing unless it is the output for
+			 * owl:Thing itself
+			 */
+			if (output.directSubsumers.isEmpty() && !output.getEquivalent()
+					.contains(owlThing_.getElkEntity())) {
+				output.directSubsumers.put(owlThing_, defaultTopOutput_);
+			}
+			LOGGER_.trace("{}: transitive reduction finished", root);
+			return output;
+		}
+
+		@Override
+		public void finish() {
+			saturatingEngine_.finish();
+		}
+
+	}
+
+}
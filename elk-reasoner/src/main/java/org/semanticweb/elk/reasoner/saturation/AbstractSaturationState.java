@@ -26,15 +26,18 @@ import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextStatistics;
 import org.semanticweb.elk.reasoner.saturation.inferences.ClassInference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +57,12 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 	private static final Logger LOGGER_ = LoggerFactory
 			.getLogger(AbstractSaturationState.class);
 
+	/**
+	 * the maximal number of contexts moved at once from the mailbox of a
+	 * partition to the queue of a worker
+	 */
+	private static final int MAILBOX_BATCH_SIZE_ = 64;
+
 	final OntologyIndex ontologyIndex;
 
 	/**
@@ -62,6 +71,40 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 	 */
 	private final Queue<Context> activeContexts_ = new ConcurrentLinkedQueue<Context>();
 
+	/**
+	 * If not {@code null}, the queues of activated contexts used for work
+	 * stealing. Every {@link SaturationStateWriter} is assigned to one of
+	 * these queues, to which it adds the contexts it activates and from which
+	 * it takes active contexts first, so that the contexts stay with the
+	 * worker that produced inferences for them. When its queue is empty, the
+	 * writer takes (steals) the oldest contexts from the other queues. Each
+	 * activated context occurs in exactly one of these queues or in
+	 * {@link #activeContexts_}.
+	 */
+	private final Deque<Context>[] workerActiveContexts_;
+
+	/**
+	 * If not {@code null}, the {@link IndexedContextRoot}s are divided into
+	 * partitions, one for every queue in {@link #workerActiveContexts_}, and
+	 * this array contains the mailboxes of the partitions. A context activated
+	 * by a {@link SaturationStateWriter} assigned to a different partition is
+	 * added to the mailbox of the partition of the context, from which the
+	 * owning writers move the contexts in batches to their queue. This way,
+	 * the contexts of a partition are normally processed only by the group of
+	 * workers assigned to this partition, which reduces sharing of the
+	 * contexts between processors. The worker threads themselves are not bound
+	 * to processors; this can be done externally, e.g., using {@code numactl}.
+	 * Each activated context occurs in exactly one of the queues, one of the
+	 * mailboxes, or {@link #activeContexts_}.
+	 */
+	private final Queue<Context>[] partitionMailboxes_;
+
+	/**
+	 * used to assign the queues in {@link #workerActiveContexts_} to
+	 * {@link SaturationStateWriter}s in a round-robin fashion
+	 */
+	private final AtomicInteger nextWorkerQueue_ = new AtomicInteger(0);
+
 	/**
 	 * The queue containing all {@link Context}s of this {@link SaturationState}
 	 * that are not saturated, i.e., for which {@link Context#isSaturated()}
@@ -91,10 +134,70 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 
 	private final List<SaturationState.ChangeListener<EC>> listeners_ = new ArrayList<SaturationState.ChangeListener<EC>>();
 
+	/**
+	 * Creates a {@link SaturationState} in which all workers take active
+	 * contexts from one queue
+	 * 
+	 * @param index
+	 * @param factory
+	 */
 	public AbstractSaturationState(OntologyIndex index,
 			ContextFactory<EC> factory) {
+		this(index, factory, 0);
+	}
+
+	/**
+	 * Creates a {@link SaturationState} with the given number of queues for
+	 * active contexts used for work stealing
+	 * 
+	 * @param index
+	 * @param factory
+	 * @param workerQueueCount
+	 *            the number of queues, usually the number of workers; if
+	 *            {@code 0}, work stealing is not used
+	 */
+	public AbstractSaturationState(OntologyIndex index,
+			ContextFactory<EC> factory, int workerQueueCount) {
+		this(index, factory, workerQueueCount, false);
+	}
+
+	/**
+	 * Creates a {@link SaturationState} with the given number of queues for
+	 * active contexts used for work stealing, which are optionally bound to
+	 * partitions of {@link IndexedContextRoot}s
+	 * 
+	 * @param index
+	 * @param factory
+	 * @param workerQueueCount
+	 *            the number of queues; if {@code 0}, work stealing is not used
+	 * @param partitioned
+	 *            if {@code true}, the {@link IndexedContextRoot}s are divided
+	 *            into partitions, one for each queue, and every queue
+	 *            contains only the contexts of its partition
+	 * @see #getPartition(IndexedContextRoot)
+	 */
+	@SuppressWarnings("unchecked")
+	public AbstractSaturationState(OntologyIndex index,
+			ContextFactory<EC> factory, int workerQueueCount,
+			boolean partitioned) {
 		this.ontologyIndex = index;
 		this.contextFactory = factory;
+		if (workerQueueCount > 0) {
+			this.workerActiveContexts_ = (Deque<Context>[]) new Deque<?>[workerQueueCount];
+			for (int i = 0; i < workerQueueCount; i++) {
+				workerActiveContexts_[i] = new ConcurrentLinkedDeque<Context>();
+			}
+		} else {
+			this.workerActiveContexts_ = null;
+		}
+		if (workerQueueCount > 0 && partitioned) {
+			this.partitionMailboxes_ = (Queue<Context>[]) new Queue<?>[workerQueueCount];
+			for (int i = 0; i < workerQueueCount; i++) {
+				partitionMailboxes_[i] = new ConcurrentLinkedQueue<Context>();
+			}
+		} else {
+			this.partitionMailboxes_ = null;
+		}
 	}
 
 	@Override
@@ -102,6 +205,11 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 		return ontologyIndex;
 	}
 
+	@Override
+	public boolean isWorkStealing() {
+		return workerActiveContexts_ != null;
+	}
+
 	@Override
 	public Collection<EC> getNotSaturatedContexts() {
 		return Collections.unmodifiableCollection(new AbstractCollection<EC>() {
@@ -161,10 +269,19 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 		}
 	}
 
+	@Override
+	public SaturationStateWriter<EC> getContextModifyingWriter(
+			ContextModificationListener contextModificationListener,
+			ContextStatistics contextStatistics) {
+		return new ContextModifyingWriter(contextModificationListener,
+				contextStatistics);
+	}
+
 	@Override
 	public SaturationStateWriter<EC> getContextModifyingWriter(
 			ContextModificationListener contextModificationListener) {
-		return new ContextModifyingWriter(contextModificationListener);
+		return getContextModifyingWriter(contextModificationListener,
+				new ContextStatistics());
 	}
 
 	@Override
@@ -175,9 +292,18 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 	@Override
 	public ContextCreatingSaturationStateWriter<EC> getContextCreatingWriter(
 			ContextCreationListener contextCreationListener,
-			ContextModificationListener contextModificationListener) {
+			ContextModificationListener contextModificationListener,
+			ContextStatistics contextStatistics) {
 		return new ContextCreatingWriter(contextCreationListener,
-				contextModificationListener);
+				contextModificationListener, contextStatistics);
+	}
+
+	@Override
+	public ContextCreatingSaturationStateWriter<EC> getContextCreatingWriter(
+			ContextCreationListener contextCreationListener,
+			ContextModificationListener contextModificationListener) {
+		return getContextCreatingWriter(contextCreationListener,
+				contextModificationListener, new ContextStatistics());
 	}
 
 	@Override
@@ -203,6 +329,30 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 		return listeners_.size();
 	}
 
+	/**
+	 * @return the number of partitions of {@link IndexedContextRoot}s, or
+	 *         {@code 0} if the contexts are not partitioned
+	 */
+	public int getPartitionCount() {
+		return partitionMailboxes_ == null ? 0 : partitionMailboxes_.length;
+	}
+
+	/**
+	 * @param root
+	 * @return the partition of the given {@link IndexedContextRoot}, i.e., a
+	 *         number between {@code 0} (inclusive) and
+	 *         {@link #getPartitionCount()} (exclusive), provided the contexts
+	 *         are partitioned
+	 */
+	int getPartition(IndexedContextRoot root) {
+		int id = root.getId();
+		if (id < 0) {
+			// no number assigned
+			id = root.hashCode() & Integer.MAX_VALUE;
+		}
+		return id % partitionMailboxes_.length;
+	}
+
 	SaturationState.ChangeListener<EC> getChangeListener(int index) {
 		return listeners_.get(index);
 	}
@@ -212,6 +362,16 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 	private void reset() {
 		resetContexts();
 		activeContexts_.clear();
+		if (workerActiveContexts_ != null) {
+			for (int i = 0; i < workerActiveContexts_.length; i++) {
+				workerActiveContexts_[i].clear();
+			}
+		}
+		if (partitionMailboxes_ != null) {
+			for (int i = 0; i < partitionMailboxes_.length; i++) {
+				partitionMailboxes_[i].clear();
+			}
+		}
 		notSaturatedContexts_.clear();
 		contextMarkNonSaturatedLower_.set(0);
 		contextSetSaturatedUpper_.set(0);
@@ -241,14 +401,97 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 
 		private final ContextModificationListener contextModificationListener_;
 
+		/**
+		 * records how active contexts are obtained when work stealing is used
+		 */
+		private final ContextStatistics contextStatistics_;
+
+		/**
+		 * the position of the queue in {@link #workerActiveContexts_}
+		 * assigned to this writer, which is also the partition of the writer
+		 * if the contexts are partitioned; not used if work stealing is not
+		 * used
+		 */
+		private final int workerQueue_;
+
 		private ContextModifyingWriter(
-				ContextModificationListener contextSaturationListener) {
+				ContextModificationListener contextSaturationListener,
+				ContextStatistics contextStatistics) {
 			this.contextModificationListener_ = contextSaturationListener;
+			this.contextStatistics_ = contextStatistics;
+			this.workerQueue_ = workerActiveContexts_ == null ? 0
+					: (nextWorkerQueue_.getAndIncrement() & Integer.MAX_VALUE)
+							% workerActiveContexts_.length;
 		}
 
 		@Override
 		public Context pollForActiveContext() {
-			return activeContexts_.poll();
+			if (workerActiveContexts_ == null) {
+				return activeContexts_.poll();
+			}
+			// else first try the own queue, most recent contexts first
+			Context result = workerActiveContexts_[workerQueue_].pollFirst();
+			if (result != null) {
+				contextStatistics_.countLocalActiveContexts++;
+				return result;
+			}
+			// else
+			if (partitionMailboxes_ != null) {
+				result = takeMailbox(workerQueue_);
+				if (result != null) {
+					contextStatistics_.countLocalActiveContexts++;
+					return result;
+				}
+			}
+			// else
+			result = activeContexts_.poll();
+			if (result != null) {
+				return result;
+			}
+			// else steal the oldest contexts from other queues
+			for (int i = 1; i < workerActiveContexts_.length; i++) {
+				int other = (workerQueue_ + i) % workerActiveContexts_.length;
+				result = workerActiveContexts_[other].pollLast();
+				if (result == null && partitionMailboxes_ != null) {
+					/*
+					 * the partition may have no writer assigned at the moment,
+					 * so its mailbox is taken in batches too
+					 */
+					result = takeMailbox(other);
+				}
+				if (result != null) {
+					contextStatistics_.countStolenActiveContexts++;
+					return result;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Moves up to {@link #MAILBOX_BATCH_SIZE_} contexts from the mailbox of
+		 * the given partition to the queue of this writer
+		 * 
+		 * @param partition
+		 * @return the first moved context or {@code null} if the mailbox is
+		 *         empty
+		 */
+		private Context takeMailbox(int partition) {
+			Queue<Context> mailbox = partitionMailboxes_[partition];
+			Context result = mailbox.poll();
+			if (result == null) {
+				return null;
+			}
+			// else
+			Deque<Context> queue = workerActiveContexts_[workerQueue_];
+			for (int i = 1; i < MAILBOX_BATCH_SIZE_; i++) {
+				Context next = mailbox.poll();
+				if (next == null) {
+					break;
+				}
+				// else
+				queue.addLast(next);
+			}
+			return result;
 		}
 
 		void produce(Context context, ClassInference inference) {
@@ -256,7 +499,19 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 			if (context.addToDo(inference)) {
 				LOGGER_.trace("{}: activated", context);
 				// context was activated
-				activeContexts_.add(context);
+				if (workerActiveContexts_ == null) {
+					activeContexts_.add(context);
+				} else if (partitionMailboxes_ == null) {
+					workerActiveContexts_[workerQueue_].addFirst(context);
+				} else {
+					int partition = getPartition(context.getRoot());
+					if (partition == workerQueue_) {
+						workerActiveContexts_[workerQueue_].addFirst(context);
+					} else {
+						partitionMailboxes_[partition].add(context);
+						contextStatistics_.countRemoteActivatedContexts++;
+					}
+				}
 			}
 		}
 
@@ -316,15 +571,16 @@ public abstract class AbstractSaturationState<EC extends ExtendedContext>
 
 		protected ContextCreatingWriter(
 				ContextCreationListener contextCreationListener,
-				ContextModificationListener contextModificationListener) {
-			super(contextModificationListener);
+				ContextModificationListener contextModificationListener,
+				ContextStatistics contextStatistics) {
+			super(contextModificationListener, contextStatistics);
 
 			this.contextCreationListener_ = contextCreationListener;
 		}
 
 		protected ContextCreatingWriter() {
-			super(ContextModificationListener.DUMMY);
-			this.contextCreationListener_ = ContextCreationListener.DUMMY;
+			this(ContextCreationListener.DUMMY,
+					ContextModificationListener.DUMMY, new ContextStatistics());
 		}
 
 		@Override
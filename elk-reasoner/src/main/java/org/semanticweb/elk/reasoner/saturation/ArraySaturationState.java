@@ -0,0 +1,239 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
+
+/**
+ * A {@link SaturationState} backed by an array in which the
+ * {@link ExtendedContext} for every {@link IndexedContextRoot} is stored at the
+ * position {@link IndexedContextRoot#getId()}. Retrieving of
+ * {@link ExtendedContext}s therefore does not require any hashing. The array
+ * grows when {@link ExtendedContext}s for {@link IndexedContextRoot}s with
+ * larger numbers are added.
+ *
+ * @author "Yevgeny Kazakov"
+ *
+ * @param <EC>
+ *            the type of contexts maintained by this
+ *            {@link ArraySaturationState}
+ */
+public class ArraySaturationState<EC extends ExtendedContext>
+		extends AbstractSaturationState<EC> {
+
+	/**
+	 * the minimal length of {@link #contexts_}
+	 */
+	private static final int MIN_CAPACITY_ = 16;
+
+	/**
+	 * the {@link ExtendedContext}s of this {@link SaturationState} at the
+	 * positions of their roots
+	 */
+	private volatile AtomicReferenceArray<EC> contexts_;
+
+	/**
+	 * the number of {@link ExtendedContext}s in {@link #contexts_}
+	 */
+	private final AtomicInteger contextCount_ = new AtomicInteger(0);
+
+	/**
+	 * {@link ExtendedContext}s are added under the read lock, which can be
+	 * held by several workers at the same time; the array is replaced by a
+	 * larger one under the write lock
+	 */
+	private final ReadWriteLock resizeLock_ = new ReentrantReadWriteLock();
+
+	public ArraySaturationState(OntologyIndex index,
+			ContextFactory<EC> factory, int expectedSize) {
+		super(index, factory);
+		this.contexts_ = new AtomicReferenceArray<EC>(
+				Math.max(expectedSize, MIN_CAPACITY_));
+	}
+
+	public ArraySaturationState(OntologyIndex index,
+			ContextFactory<EC> factory) {
+		// the numbers of all roots are smaller than the bound
+		this(index, factory, index.getContextRootIdBound());
+	}
+
+	@Override
+	public Collection<EC> getContexts() {
+		return new AbstractCollection<EC>() {
+
+			@Override
+			public Iterator<EC> iterator() {
+				return new Iterator<EC>() {
+
+					final AtomicReferenceArray<EC> contexts = contexts_;
+
+					int nextPos = 0;
+
+					EC next;
+
+					{
+						seekNext();
+					}
+
+					void seekNext() {
+						while (nextPos < contexts.length()) {
+							next = contexts.get(nextPos++);
+							if (next != null) {
+								return;
+							}
+						}
+					}
+
+					@Override
+					public boolean hasNext() {
+						return next != null;
+					}
+
+					@Override
+					public EC next() {
+						if (next == null) {
+							throw new NoSuchElementException("No next context");
+						}
+						EC result = next;
+						next = null;
+						seekNext();
+						return result;
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException(
+								"Removal not supported");
+					}
+
+				};
+			}
+
+			@Override
+			public int size() {
+				return contextCount_.get();
+			}
+
+		};
+	}
+
+	@Override
+	public EC getContext(IndexedContextRoot root) {
+		int id = root.getId();
+		AtomicReferenceArray<EC> contexts = contexts_;
+		if (id < 0 || id >= contexts.length()) {
+			return null;
+		}
+		// else
+		return contexts.get(id);
+	}
+
+	@Override
+	void resetContexts() {
+		if (contextCount_.get() == 0) {
+			// everything is already done
+			return;
+		}
+		// else
+		resizeLock_.writeLock().lock();
+		try {
+			// the old array is discarded at once
+			contexts_ = new AtomicReferenceArray<EC>(contexts_.length());
+			contextCount_.set(0);
+		} finally {
+			resizeLock_.writeLock().unlock();
+		}
+		for (int i = 0; i < getChangeListenerCount(); i++) {
+			getChangeListener(i).contextsClear();
+		}
+	}
+
+	@Override
+	EC setIfAbsent(EC context) {
+		IndexedContextRoot root = context.getRoot();
+		int id = root.getId();
+		if (id < 0) {
+			throw new ElkRuntimeException(
+					root + ": cannot create a context for an object without id");
+		}
+		// else
+		if (id >= contexts_.length()) {
+			grow(id + 1);
+		}
+		resizeLock_.readLock().lock();
+		try {
+			AtomicReferenceArray<EC> contexts = contexts_;
+			if (!contexts.compareAndSet(id, null, context)) {
+				// contexts are never removed from the array
+				return contexts.get(id);
+			}
+		} finally {
+			resizeLock_.readLock().unlock();
+		}
+		contextCount_.incrementAndGet();
+		for (int i = 0; i < getChangeListenerCount(); i++) {
+			getChangeListener(i).contextAddition(context);
+		}
+		return null;
+	}
+
+	/**
+	 * Ensures that {@link #contexts_} has at least the given length
+	 *
+	 * @param minCapacity
+	 */
+	private void grow(int minCapacity) {
+		resizeLock_.writeLock().lock();
+		try {
+			AtomicReferenceArray<EC> oldContexts = contexts_;
+			int oldCapacity = oldContexts.length();
+			if (oldCapacity >= minCapacity) {
+				// resized by another worker
+				return;
+			}
+			// else
+			int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1),
+					minCapacity);
+			AtomicReferenceArray<EC> newContexts = new AtomicReferenceArray<EC>(
+					newCapacity);
+			for (int i = 0; i < oldCapacity; i++) {
+				newContexts.set(i, oldContexts.get(i));
+			}
+			contexts_ = newContexts;
+		} finally {
+			resizeLock_.writeLock().unlock();
+		}
+	}
+
+}
@@ -22,8 +22,12 @@
  */
 package org.semanticweb.elk.reasoner.saturation;
 
+import java.util.Deque;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -94,6 +98,15 @@ public class ClassExpressionSaturationFactory<J extends SaturationJob<? extends
 	 * of jobs has not been started yet.
 	 */
 	private final Queue<J> jobsToDo_;
+	/**
+	 * If the {@link SaturationState} uses work stealing, the local buffers of
+	 * jobs of the current {@link Engine}s; an {@link Engine} takes jobs from
+	 * its own buffer first, then from {@link #jobsToDo_}, and then the oldest
+	 * jobs from the buffers of other {@link Engine}s
+	 * 
+	 * @see SaturationState#isWorkStealing()
+	 */
+	private final List<Deque<J>> engineJobsToDo_ = new CopyOnWriteArrayList<Deque<J>>();
 	/**
 	 * The buffer for jobs in progress, i.e., those for which processing has
 	 * started but the method
@@ -232,6 +245,10 @@ public class ClassExpressionSaturationFactory<J extends SaturationJob<? extends
 						aggregatedStats_.jobsSubmittedNo,
 						aggregatedStats_.jobsAlreadyDoneNo,
 						aggregatedStats_.jobsProcessedNo);
+			if (aggregatedStats_.jobsStolenNo > 0)
+				LOGGER_.debug("Saturation Jobs Local/Stolen: {}/{}",
+						aggregatedStats_.jobsLocalNo,
+						aggregatedStats_.jobsStolenNo);
 			LOGGER_.debug("Locks: " + aggregatedStats_.locks);
 		}
 	}
@@ -429,16 +446,62 @@ public class ClassExpressionSaturationFactory<J extends SaturationJob<? extends
 
 		private final ThisStatistics stats_ = new ThisStatistics();
 
+		/**
+		 * the jobs submitted to this {@link Engine} if work stealing is used,
+		 * otherwise {@code null}
+		 */
+		private final Deque<J> localJobsToDo_;
+
 		// don't allow creating of engines directly; only through the factory
 		private Engine() {
+			if (saturationState_.isWorkStealing()) {
+				localJobsToDo_ = new ConcurrentLinkedDeque<J>();
+				engineJobsToDo_.add(localJobsToDo_);
+			} else {
+				localJobsToDo_ = null;
+			}
 		}
 
 		@Override
 		public void submit(J job) {
-			jobsToDo_.add(job);
+			if (localJobsToDo_ == null) {
+				jobsToDo_.add(job);
+			} else {
+				localJobsToDo_.add(job);
+			}
 			stats_.jobsSubmittedNo++;
 		}
 
+		/**
+		 * @return the next job to be processed by this {@link Engine} or
+		 *         {@code null} if all submitted jobs are taken
+		 */
+		private J pollJob() {
+			if (localJobsToDo_ == null) {
+				return jobsToDo_.poll();
+			}
+			// else
+			J result = localJobsToDo_.poll();
+			if (result != null) {
+				stats_.jobsLocalNo++;
+				return result;
+			}
+			// else
+			result = jobsToDo_.poll();
+			if (result != null) {
+				return result;
+			}
+			// else steal the oldest job of another engine
+			for (Deque<J> otherJobsToDo : engineJobsToDo_) {
+				result = otherJobsToDo.pollLast();
+				if (result != null) {
+					stats_.jobsStolenNo++;
+					return result;
+				}
+			}
+			return null;
+		}
+
 		@Override
 		public void process() throws InterruptedException {
 			/*
@@ -507,7 +570,7 @@ public class ClassExpressionSaturationFactory<J extends SaturationJob<? extends
 						stopWorkersLock_.unlock();
 					}
 				}
-				J nextJob = jobsToDo_.poll();
+				J nextJob = pollJob();
 				if (nextJob == null)
 					return;
 				IndexedContextRoot root = nextJob.getInput();
@@ -543,6 +606,17 @@ public class ClassExpressionSaturationFactory<J extends SaturationJob<? extends
 
 		@Override
 		public void finish() {
+			if (localJobsToDo_ != null) {
+				engineJobsToDo_.remove(localJobsToDo_);
+				// jobs left after interruption are taken by other engines
+				for (;;) {
+					J job = localJobsToDo_.poll();
+					if (job == null) {
+						break;
+					}
+					jobsToDo_.add(job);
+				}
+			}
 			ruleApplicationEngine_.finish();
 			aggregatedStats_.merge(stats_);
 		}
@@ -569,6 +643,16 @@ public class ClassExpressionSaturationFactory<J extends SaturationJob<? extends
 		 * submitted jobs that were finished by this engine
 		 */
 		int jobsProcessedNo;
+		/**
+		 * submitted jobs taken by engines from their own buffers when work
+		 * stealing is used
+		 */
+		int jobsLocalNo;
+		/**
+		 * submitted jobs taken by engines from the buffers of other engines
+		 * when work stealing is used
+		 */
+		int jobsStolenNo;
 		/**
 		 * counts how many times workers have been waiting
 		 */
@@ -578,6 +662,8 @@ public class ClassExpressionSaturationFactory<J extends SaturationJob<? extends
 			this.jobsSubmittedNo += statistics.jobsSubmittedNo;
 			this.jobsProcessedNo += statistics.jobsProcessedNo;
 			this.jobsAlreadyDoneNo += statistics.jobsAlreadyDoneNo;
+			this.jobsLocalNo += statistics.jobsLocalNo;
+			this.jobsStolenNo += statistics.jobsStolenNo;
 			this.locks += statistics.locks;
 		}
 	}
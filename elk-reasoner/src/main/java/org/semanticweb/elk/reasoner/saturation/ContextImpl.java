@@ -57,7 +57,7 @@ import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.collections.chains.AbstractChain;
 import org.semanticweb.elk.util.collections.chains.Chain;
 import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
-import org.semanticweb.elk.util.concurrent.collections.SynchronizedArrayListActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.ChunkedActivationQueue;
 
 /**
  * Context implementation that is used for EL reasoning. It provides data
@@ -152,10 +152,26 @@ public class ContextImpl implements ExtendedContext {
 	 * @param root
 	 */
 	public ContextImpl(IndexedContextRoot root) {
+		this(root, new ArrayHashSet<IndexedClassExpression>(16),
+				new ArrayHashSet<IndexedClassExpression>(8));
+	}
+
+	/**
+	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}
+	 * that uses the given (empty) sets for storing the subsumers of the root.
+	 * Initially, the context is not active.
+	 * 
+	 * @param root
+	 * @param composedSubsumers
+	 * @param decomposedSubsumers
+	 */
+	public ContextImpl(IndexedContextRoot root,
+			Set<IndexedClassExpression> composedSubsumers,
+			Set<IndexedClassExpression> decomposedSubsumers) {
 		this.root_ = root;
-		this.toDo_ = new SynchronizedArrayListActivationStack<ClassInference>();
-		this.composedSubsumers_ = new ArrayHashSet<IndexedClassExpression>(16);
-		this.decomposedSubsumers_ = new ArrayHashSet<IndexedClassExpression>(8);
+		this.toDo_ = new ChunkedActivationQueue<ClassInference>();
+		this.composedSubsumers_ = composedSubsumers;
+		this.decomposedSubsumers_ = decomposedSubsumers;
 	}
 
 	@Override
@@ -3,7 +3,11 @@
  */
 package org.semanticweb.elk.reasoner.saturation;
 
+import org.semanticweb.elk.reasoner.config.SubsumerSetRepresentation;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
+import org.semanticweb.elk.reasoner.saturation.context.CompactSubsumerSet;
 
 /*
  * #%L
@@ -36,9 +40,51 @@ import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
  */
 public class MainContextFactory implements ContextFactory<ExtendedContext> {
 
+	/**
+	 * the data structures for storing the subsumers in the created contexts
+	 */
+	private final SubsumerSetRepresentation subsumerSetRepresentation_;
+
+	/**
+	 * the cache in which the subsumers are numbered; used only for
+	 * {@link SubsumerSetRepresentation#COMPACT}
+	 */
+	private final IndexedObjectCache cache_;
+
+	/**
+	 * Creates a factory of {@link ContextImpl}s that store the subsumers in
+	 * hash sets
+	 */
+	public MainContextFactory() {
+		this(SubsumerSetRepresentation.HASH, null);
+	}
+
+	/**
+	 * Creates a factory of {@link ContextImpl}s that store the subsumers in
+	 * the given representation
+	 * 
+	 * @param subsumerSetRepresentation
+	 * @param cache
+	 *            the {@link IndexedObjectCache} containing all
+	 *            {@link IndexedClassExpression}s that can be derived as
+	 *            subsumers
+	 */
+	public MainContextFactory(
+			SubsumerSetRepresentation subsumerSetRepresentation,
+			IndexedObjectCache cache) {
+		this.subsumerSetRepresentation_ = subsumerSetRepresentation;
+		this.cache_ = cache;
+	}
+
 	@Override
 	public ExtendedContext createContext(IndexedContextRoot root) {
-		return new ContextImpl(root);
+		switch (subsumerSetRepresentation_) {
+		case COMPACT:
+			return new ContextImpl(root, new CompactSubsumerSet(cache_),
+					new CompactSubsumerSet(cache_));
+		default:
+			return new ContextImpl(root);
+		}
 	}
 
 }
@@ -59,7 +59,54 @@ class ReferenceSaturationState
 	 * @param index
 	 */
 	public ReferenceSaturationState(OntologyIndex index) {
-		super(index, new MainContextFactory());
+		this(index, new MainContextFactory());
+	}
+
+	/**
+	 * 
+	 * @param index
+	 * @param factory
+	 *            used to create new {@link ExtendedContext}s
+	 */
+	public ReferenceSaturationState(OntologyIndex index,
+			ContextFactory<ExtendedContext> factory) {
+		super(index, factory);
+	}
+
+	/**
+	 * 
+	 * @param index
+	 * @param factory
+	 *            used to create new {@link ExtendedContext}s
+	 * @param workerQueueCount
+	 *            the number of queues of active {@link Context}s between which
+	 *            the {@link SaturationStateWriter}s are distributed; if
+	 *            positive, the writers use work stealing
+	 * @see #isWorkStealing()
+	 */
+	public ReferenceSaturationState(OntologyIndex index,
+			ContextFactory<ExtendedContext> factory, int workerQueueCount) {
+		super(index, factory, workerQueueCount);
+	}
+
+	/**
+	 * 
+	 * @param index
+	 * @param factory
+	 *            used to create new {@link ExtendedContext}s
+	 * @param workerQueueCount
+	 *            the number of queues of active {@link Context}s between which
+	 *            the {@link SaturationStateWriter}s are distributed; if
+	 *            positive, the writers use work stealing
+	 * @param partitioned
+	 *            if {@code true}, every queue is bound to a partition of the
+	 *            {@link IndexedContextRoot}s
+	 * @see #getPartitionCount()
+	 */
+	public ReferenceSaturationState(OntologyIndex index,
+			ContextFactory<ExtendedContext> factory, int workerQueueCount,
+			boolean partitioned) {
+		super(index, factory, workerQueueCount, partitioned);
 	}
 
 	@Override
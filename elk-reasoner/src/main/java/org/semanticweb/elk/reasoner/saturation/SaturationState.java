@@ -30,6 +30,7 @@ import java.util.Collection;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextStatistics;
 
 /**
  * Represents the state of saturation containing information about
@@ -70,6 +71,14 @@ public interface SaturationState<C extends Context> {
 	 */
 	public OntologyIndex getOntologyIndex();
 
+	/**
+	 * @return {@code true} if every {@link SaturationStateWriter} of this
+	 *         {@link SaturationState} first processes the {@link Context}s it
+	 *         activated itself and takes active {@link Context}s of other
+	 *         {@link SaturationStateWriter}s only when it has none left
+	 */
+	public boolean isWorkStealing();
+
 	/**
 	 * @return the unmodifiable {@link Collection} of {@link Context}s in this
 	 *         {@link SaturationState} that are not saturated, i.e., for which
@@ -133,6 +142,20 @@ public interface SaturationState<C extends Context> {
 	public SaturationStateWriter<C> getContextModifyingWriter(
 			ContextModificationListener contextModificationListener);
 
+	/**
+	 * @param contextModificationListener
+	 * @param contextStatistics
+	 *            the {@link ContextStatistics} in which the returned
+	 *            {@link SaturationStateWriter} records how it obtains active
+	 *            {@link Context}s
+	 * @return a new {@link SaturationStateWriter} like
+	 *         {@link #getContextModifyingWriter(ContextModificationListener)}
+	 *         that updates the given {@link ContextStatistics}
+	 */
+	public SaturationStateWriter<C> getContextModifyingWriter(
+			ContextModificationListener contextModificationListener,
+			ContextStatistics contextStatistics);
+
 	/**
 	 * @return a new {@link SaturationStateWriter} for this
 	 *         {@link SaturationState} that can modify but cannot create new
@@ -168,6 +191,22 @@ public interface SaturationState<C extends Context> {
 			ContextCreationListener contextCreationListener,
 			ContextModificationListener contextModificationListener);
 
+	/**
+	 * @param contextCreationListener
+	 * @param contextModificationListener
+	 * @param contextStatistics
+	 *            the {@link ContextStatistics} in which the returned
+	 *            {@link SaturationStateWriter} records how it obtains active
+	 *            {@link Context}s
+	 * @return a new {@link SaturationStateWriter} like
+	 *         {@link #getContextCreatingWriter(ContextCreationListener, ContextModificationListener)}
+	 *         that updates the given {@link ContextStatistics}
+	 */
+	public ContextCreatingSaturationStateWriter<C> getContextCreatingWriter(
+			ContextCreationListener contextCreationListener,
+			ContextModificationListener contextModificationListener,
+			ContextStatistics contextStatistics);
+
 	/**
 	 * @return a new {@link SaturationStateWriter} for this
 	 *         {@link SaturationState} that can modify and create new
@@ -25,6 +25,8 @@ package org.semanticweb.elk.reasoner.saturation;
  * #L%
  */
 
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SubsumerSetRepresentation;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 
@@ -48,4 +50,43 @@ public class SaturationStateFactory {
 		return new ReferenceSaturationState(ontologyIndex);
 		//return new MapSaturationState<ExtendedContext>(ontologyIndex, new MainContextFactory(), ontologyIndex.getIndexedClassExpressions().size());
 	}
+
+	/**
+	 * Creates a new {@link SaturationState} whose {@link Context}s store
+	 * subsumers as specified by
+	 * {@link ReasonerConfiguration#SUBSUMER_SET_REPRESENTATION} and whose
+	 * active {@link Context}s are scheduled with work stealing if
+	 * {@link ReasonerConfiguration#SATURATION_WORK_STEALING} is set. If
+	 * {@link ReasonerConfiguration#SATURATION_PARTITIONS} is positive, the
+	 * contexts are divided into the given number of partitions, each
+	 * processed by its own group of workers; the number of partitions is at
+	 * most {@link ReasonerConfiguration#NUM_OF_WORKING_THREADS} so that every
+	 * partition has at least one worker.
+	 * 
+	 * @param ontologyIndex
+	 * @param config
+	 * @return the new state
+	 */
+	public static SaturationState<? extends Context> createSaturationState(
+			OntologyIndex ontologyIndex, ReasonerConfiguration config) {
+		SubsumerSetRepresentation representation = (SubsumerSetRepresentation) config
+				.getParameter(
+						ReasonerConfiguration.SUBSUMER_SET_REPRESENTATION);
+		int workerCount = config
+				.getParameterAsInt(ReasonerConfiguration.NUM_OF_WORKING_THREADS);
+		int partitionCount = Math.min(workerCount, config
+				.getParameterAsInt(ReasonerConfiguration.SATURATION_PARTITIONS));
+		if (partitionCount > 0) {
+			return new ReferenceSaturationState(ontologyIndex,
+					new MainContextFactory(representation, ontologyIndex),
+					partitionCount, true);
+		}
+		// else
+		int workerQueueCount = config.getParameterAsBoolean(
+				ReasonerConfiguration.SATURATION_WORK_STEALING) ? workerCount
+						: 0;
+		return new ReferenceSaturationState(ontologyIndex,
+				new MainContextFactory(representation, ontologyIndex),
+				workerQueueCount);
+	}
 }
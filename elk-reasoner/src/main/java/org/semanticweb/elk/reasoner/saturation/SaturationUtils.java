@@ -41,6 +41,7 @@ import org.semanticweb.elk.reasoner.saturation.rules.BasicRuleVisitor;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleStatistics;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleVisitor;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleVisitors;
+import org.semanticweb.elk.reasoner.stages.ReasonerStageListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,11 +65,21 @@ public class SaturationUtils {
 	 * ----------------------------------------------------------------
 	 */
 
-	public static final boolean COLLECT_CONCLUSION_COUNTS = LOGGER_
-			.isDebugEnabled();
+	/**
+	 * the system property which, if set to {@code true}, enables collection
+	 * of rule and conclusion counts also when debug logging is disabled, e.g.,
+	 * to report them using a {@link ReasonerStageListener}; the counts are not
+	 * collected otherwise, so they do not slow down the saturation
+	 */
+	public static final String COLLECT_COUNTS_PROPERTY = "elk.saturation.counts";
+
+	private static final boolean COLLECT_COUNTS_ = LOGGER_.isDebugEnabled()
+			|| Boolean.getBoolean(COLLECT_COUNTS_PROPERTY);
+
+	public static final boolean COLLECT_CONCLUSION_COUNTS = COLLECT_COUNTS_;
 	public static final boolean COLLECT_CONCLUSION_TIMES = LOGGER_
 			.isDebugEnabled();
-	public static final boolean COLLECT_RULE_COUNTS = LOGGER_.isDebugEnabled();
+	public static final boolean COLLECT_RULE_COUNTS = COLLECT_COUNTS_;
 	public static final boolean COLLECT_RULE_TIMES = LOGGER_.isDebugEnabled();
 	public static final boolean COLLECT_PROCESSING_TIMES = LOGGER_
 			.isDebugEnabled();
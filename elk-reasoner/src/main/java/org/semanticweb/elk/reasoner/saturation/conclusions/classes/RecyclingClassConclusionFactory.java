@@ -0,0 +1,192 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation.conclusions.classes;
+
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassConclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SaturationConclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusionComposed;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusionDecomposed;
+import org.semanticweb.elk.reasoner.saturation.inferences.ClassInferenceConclusionVisitor;
+import org.semanticweb.elk.reasoner.tracing.Conclusion;
+import org.semanticweb.elk.reasoner.tracing.ConclusionEquality;
+import org.semanticweb.elk.reasoner.tracing.ConclusionHash;
+import org.semanticweb.elk.reasoner.tracing.ConclusionPrinter;
+
+/**
+ * A {@link SaturationConclusion.Factory} that, instead of creating new
+ * {@link SubClassInclusionComposed} and {@link SubClassInclusionDecomposed}
+ * conclusions, returns the same mutable object of each type, modified to
+ * represent the requested conclusion. These two types of conclusions are by
+ * far the most frequent ones produced during saturation, so this avoids most
+ * of the allocations of conclusions of inferences processed by the
+ * {@link ClassInferenceConclusionVisitor}.
+ * <p>
+ * The returned {@link SubClassInclusion}s are valid only until the next call
+ * of the corresponding method. Therefore, this factory can be used only by one
+ * thread, and only if the conclusions are not retained after they are
+ * processed, e.g., they are not stored in contexts (only their subsumers are)
+ * and not recorded for tracing.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class RecyclingClassConclusionFactory
+		extends
+			SaturationConclusionBaseFactory {
+
+	private final RecycledSubClassInclusionComposed composed_ = new RecycledSubClassInclusionComposed();
+
+	private final RecycledSubClassInclusionDecomposed decomposed_ = new RecycledSubClassInclusionDecomposed();
+
+	@Override
+	public SubClassInclusionComposed getSubClassInclusionComposed(
+			IndexedContextRoot subExpression,
+			IndexedClassExpression superExpression) {
+		composed_.set(subExpression, superExpression);
+		return composed_;
+	}
+
+	@Override
+	public SubClassInclusionDecomposed getSubClassInclusionDecomposed(
+			IndexedContextRoot subExpression,
+			IndexedClassExpression superExpression) {
+		decomposed_.set(subExpression, superExpression);
+		return decomposed_;
+	}
+
+	/**
+	 * A mutable {@link SubClassInclusion}; unlike
+	 * {@link AbstractSubClassInclusion}, the hash code is not cached since the
+	 * object can change
+	 *
+	 * @author "Yevgeny Kazakov"
+	 */
+	static abstract class RecycledSubClassInclusion
+			implements
+				SubClassInclusion {
+
+		private IndexedContextRoot destination_;
+
+		private IndexedClassExpression subsumer_;
+
+		void set(IndexedContextRoot destination,
+				IndexedClassExpression subsumer) {
+			if (subsumer == null)
+				throw new NullPointerException("Subsumer cannot be null!");
+			this.destination_ = destination;
+			this.subsumer_ = subsumer;
+		}
+
+		@Override
+		public IndexedContextRoot getDestination() {
+			return destination_;
+		}
+
+		@Override
+		public IndexedContextRoot getTraceRoot() {
+			return destination_;
+		}
+
+		@Override
+		public IndexedClassExpression getSubsumer() {
+			return subsumer_;
+		}
+
+		@Override
+		public final <O> O accept(Conclusion.Visitor<O> visitor) {
+			return accept((SubClassInclusion.Visitor<O>) visitor);
+		}
+
+		@Override
+		public final <O> O accept(SaturationConclusion.Visitor<O> visitor) {
+			return accept((SubClassInclusion.Visitor<O>) visitor);
+		}
+
+		@Override
+		public final <O> O accept(ClassConclusion.Visitor<O> visitor) {
+			return accept((SubClassInclusion.Visitor<O>) visitor);
+		}
+
+		@Override
+		public int hashCode() {
+			return ConclusionHash.hashCode(this);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			// else
+			if (o instanceof Conclusion) {
+				return ConclusionEquality.equals(this, (Conclusion) o);
+			}
+			// else
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return ConclusionPrinter.toString(this);
+		}
+
+	}
+
+	static class RecycledSubClassInclusionComposed
+			extends
+				RecycledSubClassInclusion
+			implements
+				SubClassInclusionComposed {
+
+		@Override
+		public <O> O accept(SubClassInclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(SubClassInclusionComposed.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	static class RecycledSubClassInclusionDecomposed
+			extends
+				RecycledSubClassInclusion
+			implements
+				SubClassInclusionDecomposed {
+
+		@Override
+		public <O> O accept(SubClassInclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(SubClassInclusionDecomposed.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,161 @@
+package org.semanticweb.elk.reasoner.saturation.context;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
+import org.semanticweb.elk.util.collections.CompactIntSet;
+
+/**
+ * A set of {@link IndexedClassExpression}s that stores only their numbers
+ * {@link IndexedContextRoot#getId()} in a {@link CompactIntSet}. The
+ * {@link IndexedClassExpression}s are recovered from the
+ * {@link IndexedObjectCache} in which they were numbered. Only
+ * {@link IndexedClassExpression}s that have been added to this
+ * {@link IndexedObjectCache} can be added to this set.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class CompactSubsumerSet extends AbstractSet<IndexedClassExpression> {
+
+	/**
+	 * estimated sizes in bytes of the object header and fields
+	 */
+	private static final int OBJECT_SIZE_ = 24, ARRAY_HEADER_ = 16,
+			REFERENCE_ = 4;
+
+	/**
+	 * used to recover the elements from their numbers
+	 */
+	private final IndexedObjectCache cache_;
+
+	/**
+	 * the numbers of the elements
+	 */
+	private final CompactIntSet ids_ = new CompactIntSet();
+
+	public CompactSubsumerSet(IndexedObjectCache cache) {
+		this.cache_ = cache;
+	}
+
+	@Override
+	public int size() {
+		return ids_.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return ids_.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o instanceof IndexedClassExpression) {
+			return ids_.contains(((IndexedClassExpression) o).getId());
+		}
+		// else
+		return false;
+	}
+
+	@Override
+	public boolean add(IndexedClassExpression e) {
+		int id = e.getId();
+		if (id < 0) {
+			throw new ElkRuntimeException(
+					e + ": cannot store an expression without a number");
+		}
+		// else
+		return ids_.add(id);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof IndexedClassExpression) {
+			return ids_.remove(((IndexedClassExpression) o).getId());
+		}
+		// else
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		ids_.clear();
+	}
+
+	@Override
+	public Iterator<IndexedClassExpression> iterator() {
+		return new Iterator<IndexedClassExpression>() {
+
+			final CompactIntSet.IntIterator ids = ids_.iterator();
+
+			@Override
+			public boolean hasNext() {
+				return ids.hasNext();
+			}
+
+			@Override
+			public IndexedClassExpression next() {
+				// only class expressions are added
+				return (IndexedClassExpression) cache_
+						.getContextRoot(ids.next());
+			}
+
+			@Override
+			public void remove() {
+				ids.remove();
+			}
+
+		};
+	}
+
+	/**
+	 * @return an estimate of the number of bytes occupied by this set in
+	 *         memory
+	 */
+	public long getEstimatedMemory() {
+		return OBJECT_SIZE_ + ids_.getEstimatedMemory();
+	}
+
+	/**
+	 * @return an estimate of the number of bytes that a hash set would occupy
+	 *         in memory for storing the elements of this set
+	 *
+	 * @see org.semanticweb.elk.util.collections.ArrayHashSet
+	 */
+	public long getEstimatedHashSetMemory() {
+		// the tables of hash sets have at least 8 slots and are filled
+		// completely when small and up to 75% otherwise
+		int size = size();
+		long capacity = 8;
+		while (capacity <= 64 ? size >= capacity : size >= capacity * 3 / 4) {
+			capacity <<= 1;
+		}
+		return OBJECT_SIZE_ + ((ARRAY_HEADER_ + REFERENCE_ * capacity + 7) & ~7L);
+	}
+
+}
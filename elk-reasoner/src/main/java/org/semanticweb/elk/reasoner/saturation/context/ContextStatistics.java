@@ -24,6 +24,8 @@ package org.semanticweb.elk.reasoner.saturation.context;
  * #L%
  */
 
+import java.util.Set;
+
 import org.semanticweb.elk.util.logging.LogLevel;
 import org.semanticweb.elk.util.logging.LoggerWrap;
 import org.slf4j.Logger;
@@ -53,6 +55,40 @@ public class ContextStatistics {
 	 * the time spent on processing
 	 */
 	public long timeContextProcess;
+
+	/**
+	 * the number of active contexts taken by workers from their own queues
+	 * when work stealing is used
+	 */
+	public long countLocalActiveContexts;
+
+	/**
+	 * the number of active contexts taken by workers from the queues of other
+	 * workers when work stealing is used
+	 */
+	public long countStolenActiveContexts;
+
+	/**
+	 * the number of contexts activated by workers for the partitions of other
+	 * workers when the contexts are partitioned
+	 */
+	public long countRemoteActivatedContexts;
+
+	/**
+	 * the number of subsumers stored in {@link CompactSubsumerSet}s
+	 */
+	public long countCompactSubsumers;
+
+	/**
+	 * the estimated memory in bytes used by {@link CompactSubsumerSet}s
+	 */
+	public long memoryCompactSubsumerSets;
+
+	/**
+	 * the estimated memory in bytes that hash sets would use for storing the
+	 * same subsumers as the {@link CompactSubsumerSet}s
+	 */
+	public long memoryHashSubsumerSets;
 	
 	private int addCounter_ = 0;
 
@@ -65,6 +101,12 @@ public class ContextStatistics {
 		countProcessedContexts = 0;
 		countModifiedContexts = 0;
 		timeContextProcess = 0;
+		countLocalActiveContexts = 0;
+		countStolenActiveContexts = 0;
+		countRemoteActivatedContexts = 0;
+		countCompactSubsumers = 0;
+		memoryCompactSubsumerSets = 0;
+		memoryHashSubsumerSets = 0;
 	}
 
 	public synchronized void add(ContextStatistics stats) {
@@ -73,6 +115,34 @@ public class ContextStatistics {
 		countProcessedContexts += stats.countProcessedContexts;
 		countModifiedContexts += stats.countModifiedContexts;
 		timeContextProcess += stats.timeContextProcess;
+		countLocalActiveContexts += stats.countLocalActiveContexts;
+		countStolenActiveContexts += stats.countStolenActiveContexts;
+		countRemoteActivatedContexts += stats.countRemoteActivatedContexts;
+		countCompactSubsumers += stats.countCompactSubsumers;
+		memoryCompactSubsumerSets += stats.memoryCompactSubsumerSets;
+		memoryHashSubsumerSets += stats.memoryHashSubsumerSets;
+	}
+
+	/**
+	 * Counts the memory used by the subsumers of the given {@link Context} if
+	 * they are stored in {@link CompactSubsumerSet}s
+	 * 
+	 * @param context
+	 */
+	public void countSubsumerMemory(Context context) {
+		countSubsumerMemory(context.getComposedSubsumers());
+		countSubsumerMemory(context.getDecomposedSubsumers());
+	}
+
+	private void countSubsumerMemory(Set<?> subsumers) {
+		if (subsumers instanceof CompactSubsumerSet) {
+			CompactSubsumerSet compactSubsumers = (CompactSubsumerSet) subsumers;
+			countCompactSubsumers += compactSubsumers.size();
+			memoryCompactSubsumerSets += compactSubsumers
+					.getEstimatedMemory();
+			memoryHashSubsumerSets += compactSubsumers
+					.getEstimatedHashSetMemory();
+		}
 	}
 
 	public void print(Logger logger, LogLevel level) {
@@ -91,6 +161,28 @@ public class ContextStatistics {
 		if (countModifiedContexts > 0) {
 			LoggerWrap.log(logger, level, "Contexts modified: " + countModifiedContexts);
 		}
+
+		long countActiveContexts = countLocalActiveContexts
+				+ countStolenActiveContexts;
+		if (countActiveContexts > 0) {
+			LoggerWrap.log(logger, level, "Active contexts local/stolen: "
+					+ countLocalActiveContexts + "/" + countStolenActiveContexts
+					+ " (" + (100 * countStolenActiveContexts / countActiveContexts)
+					+ "% stolen)");
+		}
+
+		if (countRemoteActivatedContexts > 0) {
+			LoggerWrap.log(logger, level, "Contexts activated for other partitions: "
+					+ countRemoteActivatedContexts);
+		}
+
+		if (countCompactSubsumers > 0) {
+			LoggerWrap.log(logger, level, "Compact subsumer sets: "
+					+ countCompactSubsumers + " subsumers, "
+					+ (memoryCompactSubsumerSets >> 10) + " KB ("
+					+ ((memoryHashSubsumerSets - memoryCompactSubsumerSets) >> 10)
+					+ " KB saved compared to hash sets)");
+		}
 	}
 	
 	public void check(Logger logger) {
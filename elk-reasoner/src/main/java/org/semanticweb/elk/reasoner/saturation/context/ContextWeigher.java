@@ -0,0 +1,83 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation.context;
+
+import org.semanticweb.elk.util.collections.Weigher;
+
+/**
+ * A {@link Weigher} that estimates the memory in bytes occupied by a
+ * {@link ContextPremises} from the number of its subsumers, sub-contexts, and
+ * roots linked from the sub-contexts. Since the estimation only counts
+ * elements of collections, it is fast enough to be used by evictors of cached
+ * query results.
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+public class ContextWeigher implements Weigher<ContextPremises> {
+
+	/**
+	 * the estimated size of a context without any conclusions
+	 */
+	public static final int CONTEXT_OVERHEAD = 128;
+
+	/**
+	 * the estimated size of a sub-context without any linked roots
+	 */
+	public static final int SUB_CONTEXT_OVERHEAD = 64;
+
+	/**
+	 * the estimated size of an element in a hash set, i.e., a reference and
+	 * the unused space of the table
+	 */
+	public static final int ELEMENT_SIZE = 8;
+
+	public static final ContextWeigher INSTANCE = new ContextWeigher();
+
+	private ContextWeigher() {
+		// use INSTANCE
+	}
+
+	/**
+	 * @param context
+	 * @return the estimated size of the given context in bytes; if it is
+	 *         {@code null}, e.g., because the context has not been created
+	 *         yet, the size of an empty context
+	 */
+	@Override
+	public int weigh(final ContextPremises context) {
+		if (context == null) {
+			return CONTEXT_OVERHEAD;
+		}
+		// else
+		long size = CONTEXT_OVERHEAD
+				+ (long) ELEMENT_SIZE * (context.getComposedSubsumers().size()
+						+ context.getDecomposedSubsumers().size());
+		for (final SubContextPremises subContext : context
+				.getSubContextPremisesByObjectProperty().values()) {
+			size += SUB_CONTEXT_OVERHEAD
+					+ ELEMENT_SIZE * subContext.getLinkedRoots().size();
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+}
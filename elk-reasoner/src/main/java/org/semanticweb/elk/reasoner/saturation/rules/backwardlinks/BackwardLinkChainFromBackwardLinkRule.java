@@ -36,6 +36,7 @@ import org.semanticweb.elk.reasoner.saturation.rules.ClassInferenceProducer;
 import org.semanticweb.elk.util.collections.HashSetMultimap;
 import org.semanticweb.elk.util.collections.LazySetIntersection;
 import org.semanticweb.elk.util.collections.Multimap;
+import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.collections.chains.Matcher;
 import org.semanticweb.elk.util.collections.chains.ReferenceFactory;
 import org.semanticweb.elk.util.collections.chains.SimpleTypeBasedMatcher;
@@ -124,6 +125,20 @@ public class BackwardLinkChainFromBackwardLinkRule
 				.contains(link.getChain(), link.getTarget());
 	}
 
+	/**
+	 * @param context
+	 * @return the targets of the {@link ForwardLink}s stored in the given
+	 *         {@link Context} indexed by their chains
+	 */
+	public static Multimap<IndexedPropertyChain, IndexedContextRoot> getForwardLinksFor(
+			Context context) {
+		BackwardLinkChainFromBackwardLinkRule rule = context
+				.getBackwardLinkRuleChain().find(MATCHER_);
+		return rule == null ? Operations
+				.<IndexedPropertyChain, IndexedContextRoot> emptyMultimap()
+				: rule.forwardLinksByObjectProperty_;
+	}
+
 	@Deprecated
 	public Multimap<IndexedPropertyChain, IndexedContextRoot> getForwardLinksByObjectProperty() {
 		return forwardLinksByObjectProperty_;
@@ -33,6 +33,7 @@ import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextStatistics;
 import org.semanticweb.elk.reasoner.saturation.inferences.ClassInference;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleStatistics;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleVisitor;
@@ -107,15 +108,18 @@ public abstract class AbstractRuleApplicationFactory<C extends Context, I extend
 	 * 
 	 * @param creationListener
 	 * @param modificationListener
+	 * @param contextStatistics
+	 *            the local {@link ContextStatistics} of the engine
 	 * @return a new writer for the main {@link SaturationState} to be used by
 	 *         engine.
 	 */
 	SaturationStateWriter<? extends C> getBaseWriter(
 			ContextCreationListener creationListener,
-			ContextModificationListener modificationListener) {
+			ContextModificationListener modificationListener,
+			ContextStatistics contextStatistics) {
 		// by default the writer can create new contexts
 		return saturationState_.getContextCreatingWriter(creationListener,
-				modificationListener);
+				modificationListener, contextStatistics);
 	}
 
 	/**
@@ -170,7 +174,8 @@ public abstract class AbstractRuleApplicationFactory<C extends Context, I extend
 				.addStatsToContextModificationListener(modificationListener,
 						localStatistics.getContextStatistics());
 		SaturationStateWriter<? extends C> writer = getBaseWriter(
-				creationListener, modificationListener);
+				creationListener, modificationListener,
+				localStatistics.getContextStatistics());
 		WorkerLocalTodo localTodo = new WorkerLocalTodoImpl();
 		writer = new WorkerLocalizedSaturationStateWriter<C>(writer, localTodo);
 		writer = getFinalWriter(writer);
@@ -29,6 +29,7 @@ import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionTracingContextNotSaturatedCheckingVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ContextInitializingClassConclusionInsertionVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RecyclingClassConclusionFactory;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RuleApplicationClassConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassConclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
@@ -68,6 +69,8 @@ public class RuleApplicationAdditionFactory<I extends RuleApplicationInput>
 			SaturationStateWriter<? extends Context> writer,
 			SaturationStatistics localStatistics) {
 		return new ClassInferenceConclusionVisitor<Boolean>(
+				// conclusions are not retained, so they can be recycled
+				new RecyclingClassConclusionFactory(),
 				// measuring time, if necessary
 				SaturationUtils.getTimedConclusionVisitor(
 						SaturationUtils.compose(
@@ -22,9 +22,9 @@
 package org.semanticweb.elk.reasoner.saturation.rules.factories;
 
 import org.semanticweb.elk.Reference;
+import org.semanticweb.elk.reasoner.saturation.ArraySaturationState;
 import org.semanticweb.elk.reasoner.saturation.ExtendedContext;
 import org.semanticweb.elk.reasoner.saturation.MainContextFactory;
-import org.semanticweb.elk.reasoner.saturation.MapSaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
@@ -73,7 +73,7 @@ public class RuleApplicationAdditionPruningFactory
 		 * {@link SaturationState} to keep track of {@link Context}s to which
 		 * the rules are already applied.
 		 */
-		super(interrupter, new MapSaturationState<ExtendedContext>(
+		super(interrupter, new ArraySaturationState<ExtendedContext>(
 				mainSaturationState.getOntologyIndex(),
 				new MainContextFactory()));
 		this.mainSaturationState_ = mainSaturationState;
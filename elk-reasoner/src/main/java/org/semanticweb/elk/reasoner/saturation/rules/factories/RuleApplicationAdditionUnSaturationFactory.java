@@ -29,6 +29,7 @@ import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionTracingContextUnsaturationVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ContextInitializingClassConclusionInsertionVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RecyclingClassConclusionFactory;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RuleApplicationClassConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassConclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
@@ -63,6 +64,8 @@ public class RuleApplicationAdditionUnSaturationFactory
 			SaturationStatistics localStatistics) {
 		// the visitor used for inserting conclusion
 		return new ClassInferenceConclusionVisitor<Boolean>(
+				// conclusions are not retained, so they can be recycled
+				new RecyclingClassConclusionFactory(),
 				// measuring time, if necessary
 				SaturationUtils.getTimedConclusionVisitor(
 						SaturationUtils.compose(SaturationUtils.compose(
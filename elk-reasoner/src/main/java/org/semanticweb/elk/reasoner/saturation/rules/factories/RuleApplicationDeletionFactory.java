@@ -32,9 +32,11 @@ import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionDeletionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionOccurrenceCheckingVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionTracingContextUnsaturationVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RecyclingClassConclusionFactory;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RuleApplicationClassConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassConclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextStatistics;
 import org.semanticweb.elk.reasoner.saturation.inferences.ClassInference.Visitor;
 import org.semanticweb.elk.reasoner.saturation.inferences.ClassInferenceConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.rules.RuleVisitor;
@@ -66,10 +68,11 @@ public class RuleApplicationDeletionFactory
 	@Override
 	protected SaturationStateWriter<? extends Context> getBaseWriter(
 			ContextCreationListener creationListener,
-			ContextModificationListener modificationListener) {
+			ContextModificationListener modificationListener,
+			ContextStatistics contextStatistics) {
 		// writer cannot create new contexts
-		return getSaturationState()
-				.getContextModifyingWriter(modificationListener);
+		return getSaturationState().getContextModifyingWriter(
+				modificationListener, contextStatistics);
 	}
 
 	@Override
@@ -87,6 +90,8 @@ public class RuleApplicationDeletionFactory
 			SaturationStateWriter<? extends Context> writer,
 			SaturationStatistics localStatistics) {
 		return new ClassInferenceConclusionVisitor<Boolean>(
+				// conclusions are not retained, so they can be recycled
+				new RecyclingClassConclusionFactory(),
 				// measuring time, if necessary
 				SaturationUtils
 						.getTimedConclusionVisitor(SaturationUtils.compose(
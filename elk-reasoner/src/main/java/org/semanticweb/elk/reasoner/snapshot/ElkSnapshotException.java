@@ -0,0 +1,45 @@
+package org.semanticweb.elk.reasoner.snapshot;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.exceptions.ElkException;
+
+/**
+ * Thrown when a {@link ReasonerSnapshot} cannot be saved or restored, e.g.,
+ * because the file cannot be accessed or is not in the expected format.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class ElkSnapshotException extends ElkException {
+
+	private static final long serialVersionUID = 4383186375931404271L;
+
+	public ElkSnapshotException(String message) {
+		super(message);
+	}
+
+	public ElkSnapshotException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
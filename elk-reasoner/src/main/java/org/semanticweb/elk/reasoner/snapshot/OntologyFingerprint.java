@@ -0,0 +1,178 @@
+package org.semanticweb.elk.reasoner.snapshot;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+
+/**
+ * Keeps track of the loaded axioms using a hash value that does not depend on
+ * the order in which the axioms are inserted or deleted. Unlike the hash codes
+ * of objects, the value is the same for the same axioms in different runs of
+ * the program, so it can be used to check whether a {@link ReasonerSnapshot}
+ * was saved for the currently loaded ontology. The axioms are hashed by their
+ * representation in the OWL 2 functional-style syntax.
+ * <p>
+ * This object is not thread safe; the processors returned by
+ * {@link #getInsertionProcessor(ElkAxiomProcessor)} and
+ * {@link #getDeletionProcessor(ElkAxiomProcessor)} should be used from one
+ * thread at a time.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class OntologyFingerprint {
+
+	/**
+	 * the parameters of the 64-bit FNV-1a hash function
+	 */
+	private static final long FNV_OFFSET_ = 0xcbf29ce484222325L,
+			FNV_PRIME_ = 0x100000001b3L;
+
+	/**
+	 * the sum of the hash values of the loaded axioms
+	 */
+	private long hash_ = 0;
+
+	/**
+	 * the number of insertions minus the number of deletions of axioms
+	 */
+	private long axiomCount_ = 0;
+
+	public OntologyFingerprint() {
+		// the fingerprint of the empty ontology
+	}
+
+	public OntologyFingerprint(long hash, long axiomCount) {
+		this.hash_ = hash;
+		this.axiomCount_ = axiomCount;
+	}
+
+	/**
+	 * @return the combined hash value of the loaded axioms
+	 */
+	public long getHash() {
+		return hash_;
+	}
+
+	/**
+	 * @return the number of loaded axioms
+	 */
+	public long getAxiomCount() {
+		return axiomCount_;
+	}
+
+	/**
+	 * Registers the insertion of the given {@link ElkAxiom}
+	 *
+	 * @param axiom
+	 */
+	public void insert(ElkAxiom axiom) {
+		hash_ += hash(axiom);
+		axiomCount_++;
+	}
+
+	/**
+	 * Registers the deletion of the given {@link ElkAxiom}
+	 *
+	 * @param axiom
+	 */
+	public void delete(ElkAxiom axiom) {
+		hash_ -= hash(axiom);
+		axiomCount_--;
+	}
+
+	/**
+	 * @param processor
+	 * @return the {@link ElkAxiomProcessor} that inserts axioms using the
+	 *         given {@link ElkAxiomProcessor} and registers their insertion
+	 *         in this {@link OntologyFingerprint} if it was successful
+	 */
+	public ElkAxiomProcessor getInsertionProcessor(
+			final ElkAxiomProcessor processor) {
+		return new ElkAxiomProcessor() {
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				processor.visit(elkAxiom);
+				insert(elkAxiom);
+			}
+		};
+	}
+
+	/**
+	 * @param processor
+	 * @return the {@link ElkAxiomProcessor} that deletes axioms using the
+	 *         given {@link ElkAxiomProcessor} and registers their deletion in
+	 *         this {@link OntologyFingerprint} if it was successful
+	 */
+	public ElkAxiomProcessor getDeletionProcessor(
+			final ElkAxiomProcessor processor) {
+		return new ElkAxiomProcessor() {
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				processor.visit(elkAxiom);
+				delete(elkAxiom);
+			}
+		};
+	}
+
+	static long hash(ElkAxiom axiom) {
+		String text = OwlFunctionalStylePrinter.toString(axiom);
+		long hash = FNV_OFFSET_;
+		for (int i = 0; i < text.length(); i++) {
+			hash ^= text.charAt(i);
+			hash *= FNV_PRIME_;
+		}
+		// mixing the bits so that the sums of the values do not collide
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o instanceof OntologyFingerprint) {
+			OntologyFingerprint other = (OntologyFingerprint) o;
+			return hash_ == other.hash_ && axiomCount_ == other.axiomCount_;
+		}
+		// else
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (hash_ ^ (hash_ >>> 32)) * 31 + (int) axiomCount_;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%016x/%d", hash_, axiomCount_);
+	}
+
+}
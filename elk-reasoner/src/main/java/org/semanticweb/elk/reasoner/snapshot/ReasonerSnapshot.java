@@ -0,0 +1,427 @@
+package org.semanticweb.elk.reasoner.snapshot;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.taxonomy.ConcurrentClassTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.ConcurrentInstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.ElkClassKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.ElkIndividualKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.ElkObjectPropertyKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.ReverseObjectPropertyTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.ReverseTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.NonBottomTaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomy;
+
+/**
+ * The results of reasoning with an ontology that can be saved in a file and
+ * restored when the same ontology is loaded again, which is faster than
+ * computing them. A snapshot consists of the {@link OntologyFingerprint} of
+ * the ontology, the class taxonomy, the instance taxonomy, and the object
+ * property taxonomy, and nothing else.
+ * <p>
+ * In particular, the index of the ontology and the saturated contexts from
+ * which the taxonomies were computed are not saved. Therefore, the ontology
+ * is still loaded and indexed before a snapshot can be restored, which is
+ * also needed to compute its fingerprint; only the saturation and the
+ * computation of the taxonomies are saved. Likewise, the saturation is
+ * computed from scratch when it is needed after the snapshot is restored,
+ * e.g., when the ontology is changed: the changes are not processed
+ * incrementally from the snapshot.
+ * <p>
+ * The file is written in a binary format consisting of a header with the
+ * format version and the fingerprint, followed by the sections for the
+ * taxonomies. In every section, the entities are stored by their full IRIs
+ * and the nodes are referred to by their positions in the section. The file
+ * is read through a memory-mapped buffer, so it cannot be larger than 2GB.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class ReasonerSnapshot {
+
+	/**
+	 * the value at the beginning and at the end of every snapshot file
+	 */
+	private static final int MAGIC_ = 0x454c4b53; // "ELKS"
+
+	/**
+	 * the version of the format in which snapshot files are written; files
+	 * with other versions are not read
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	private static final Charset UTF8_ = Charset.forName("UTF-8");
+
+	private final OntologyFingerprint fingerprint_;
+
+	private final UpdateableTaxonomy<ElkClass> classTaxonomy_;
+
+	private final InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomy_;
+
+	private final Taxonomy<ElkObjectProperty> objectPropertyTaxonomy_;
+
+	ReasonerSnapshot(OntologyFingerprint fingerprint,
+			UpdateableTaxonomy<ElkClass> classTaxonomy,
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomy,
+			Taxonomy<ElkObjectProperty> objectPropertyTaxonomy) {
+		this.fingerprint_ = fingerprint;
+		this.classTaxonomy_ = classTaxonomy;
+		this.instanceTaxonomy_ = instanceTaxonomy;
+		this.objectPropertyTaxonomy_ = objectPropertyTaxonomy;
+	}
+
+	/**
+	 * @return the {@link OntologyFingerprint} of the ontology for which this
+	 *         {@link ReasonerSnapshot} was saved
+	 */
+	public OntologyFingerprint getFingerprint() {
+		return fingerprint_;
+	}
+
+	public UpdateableTaxonomy<ElkClass> getClassTaxonomy() {
+		return classTaxonomy_;
+	}
+
+	public InstanceTaxonomy<ElkClass, ElkNamedIndividual> getInstanceTaxonomy() {
+		return instanceTaxonomy_;
+	}
+
+	public Taxonomy<ElkObjectProperty> getObjectPropertyTaxonomy() {
+		return objectPropertyTaxonomy_;
+	}
+
+	/**
+	 * Writes the given results of reasoning to a file from which they can be
+	 * restored using {@link #load(File, ElkObject.Factory)}
+	 *
+	 * @param file
+	 *            the file to write; it is overwritten if it exists
+	 * @param fingerprint
+	 *            the {@link OntologyFingerprint} of the ontology for which the
+	 *            results are computed
+	 * @param instanceTaxonomy
+	 *            the class taxonomy with the instances of classes
+	 * @param objectPropertyTaxonomy
+	 *            the object property taxonomy
+	 * @throws ElkSnapshotException
+	 *             if the file cannot be written
+	 */
+	public static void save(File file, OntologyFingerprint fingerprint,
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomy,
+			Taxonomy<ElkObjectProperty> objectPropertyTaxonomy)
+			throws ElkSnapshotException {
+		try {
+			DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(file)));
+			try {
+				out.writeInt(MAGIC_);
+				out.writeInt(FORMAT_VERSION);
+				out.writeLong(fingerprint.getHash());
+				out.writeLong(fingerprint.getAxiomCount());
+				Map<ElkClass, Integer> typeIndex = writeTaxonomy(out,
+						instanceTaxonomy);
+				writeInstances(out, instanceTaxonomy, typeIndex);
+				// the object property taxonomy is restored upside down
+				writeTaxonomy(out, new ReverseTaxonomy<ElkObjectProperty>(
+						objectPropertyTaxonomy));
+				out.writeInt(MAGIC_);
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			throw new ElkSnapshotException(
+					"Cannot write the snapshot to " + file, e);
+		}
+	}
+
+	/**
+	 * Reads the results of reasoning from a file written by
+	 * {@link #save(File, OntologyFingerprint, InstanceTaxonomy, Taxonomy)}
+	 *
+	 * @param file
+	 *            the file to read
+	 * @param elkFactory
+	 *            the factory used to create the entities in the taxonomies
+	 * @return the {@link ReasonerSnapshot} stored in the given file
+	 * @throws ElkSnapshotException
+	 *             if the file cannot be read or is not a snapshot of the
+	 *             supported version
+	 */
+	public static ReasonerSnapshot load(File file,
+			final ElkObject.Factory elkFactory) throws ElkSnapshotException {
+		ByteBuffer in;
+		try {
+			FileChannel channel = FileChannel.open(file.toPath(),
+					StandardOpenOption.READ);
+			try {
+				long size = channel.size();
+				if (size > Integer.MAX_VALUE) {
+					throw new ElkSnapshotException(
+							file + ": the snapshot is too large");
+				}
+				in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} finally {
+				channel.close();
+			}
+		} catch (IOException e) {
+			throw new ElkSnapshotException(
+					"Cannot read the snapshot from " + file, e);
+		}
+		try {
+			if (in.getInt() != MAGIC_) {
+				throw new ElkSnapshotException(file + ": not a snapshot");
+			}
+			int version = in.getInt();
+			if (version != FORMAT_VERSION) {
+				throw new ElkSnapshotException(
+						file + ": unsupported snapshot version " + version);
+			}
+			OntologyFingerprint fingerprint = new OntologyFingerprint(
+					in.getLong(), in.getLong());
+			ConcurrentClassTaxonomy classTaxonomy = new ConcurrentClassTaxonomy(
+					elkFactory, ElkClassKeyProvider.INSTANCE);
+			ConcurrentInstanceTaxonomy instanceTaxonomy = new ConcurrentInstanceTaxonomy(
+					classTaxonomy, ElkIndividualKeyProvider.INSTANCE);
+			List<List<ElkClass>> types = readTaxonomy(in, classTaxonomy,
+					new EntityFactory<ElkClass>() {
+						@Override
+						public ElkClass getEntity(String iri) {
+							return elkFactory.getClass(new ElkFullIri(iri));
+						}
+					});
+			readInstances(in, instanceTaxonomy, types,
+					new EntityFactory<ElkNamedIndividual>() {
+						@Override
+						public ElkNamedIndividual getEntity(String iri) {
+							return elkFactory
+									.getNamedIndividual(new ElkFullIri(iri));
+						}
+					});
+			ReverseObjectPropertyTaxonomy reverseObjectPropertyTaxonomy = new ReverseObjectPropertyTaxonomy(
+					elkFactory, ElkObjectPropertyKeyProvider.INSTANCE);
+			readTaxonomy(in, reverseObjectPropertyTaxonomy,
+					new EntityFactory<ElkObjectProperty>() {
+						@Override
+						public ElkObjectProperty getEntity(String iri) {
+							return elkFactory
+									.getObjectProperty(new ElkFullIri(iri));
+						}
+					});
+			if (in.getInt() != MAGIC_) {
+				throw new ElkSnapshotException(
+						file + ": the snapshot is corrupted");
+			}
+			return new ReasonerSnapshot(fingerprint, classTaxonomy,
+					instanceTaxonomy, new ReverseTaxonomy<ElkObjectProperty>(
+							reverseObjectPropertyTaxonomy));
+		} catch (BufferUnderflowException e) {
+			throw new ElkSnapshotException(
+					file + ": the snapshot is incomplete", e);
+		}
+	}
+
+	/**
+	 * Writes the non-bottom nodes of the given {@link Taxonomy} with their
+	 * direct super-nodes and then the members of the bottom node
+	 *
+	 * @return the positions of the written nodes by their canonical members
+	 */
+	private static <T extends ElkEntity> Map<T, Integer> writeTaxonomy(
+			DataOutputStream out, Taxonomy<T> taxonomy) throws IOException {
+		T bottom = taxonomy.getBottomNode().getCanonicalMember();
+		List<TaxonomyNode<T>> nodes = new ArrayList<TaxonomyNode<T>>();
+		Map<T, Integer> index = new HashMap<T, Integer>();
+		for (TaxonomyNode<T> node : taxonomy.getNodes()) {
+			if (node.contains(bottom)) {
+				continue;
+			}
+			// else
+			index.put(node.getCanonicalMember(), nodes.size());
+			nodes.add(node);
+		}
+		out.writeInt(nodes.size());
+		for (TaxonomyNode<T> node : nodes) {
+			writeMembers(out, node);
+		}
+		for (TaxonomyNode<T> node : nodes) {
+			Collection<? extends TaxonomyNode<T>> superNodes = node
+					.getDirectSuperNodes();
+			out.writeInt(superNodes.size());
+			for (TaxonomyNode<T> superNode : superNodes) {
+				out.writeInt(index.get(superNode.getCanonicalMember()));
+			}
+		}
+		writeMembers(out, taxonomy.getBottomNode());
+		return index;
+	}
+
+	private static void writeInstances(DataOutputStream out,
+			InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy,
+			Map<ElkClass, Integer> typeIndex) throws IOException {
+		Collection<? extends InstanceNode<ElkClass, ElkNamedIndividual>> nodes = taxonomy
+				.getInstanceNodes();
+		out.writeInt(nodes.size());
+		for (InstanceNode<ElkClass, ElkNamedIndividual> node : nodes) {
+			writeMembers(out, node);
+			Collection<? extends TypeNode<ElkClass, ElkNamedIndividual>> types = node
+					.getDirectTypeNodes();
+			out.writeInt(types.size());
+			for (TypeNode<ElkClass, ElkNamedIndividual> type : types) {
+				out.writeInt(typeIndex.get(type.getCanonicalMember()));
+			}
+		}
+	}
+
+	private static void writeMembers(DataOutputStream out,
+			Node<? extends ElkEntity> node) throws IOException {
+		out.writeInt(node.size());
+		for (ElkEntity member : node) {
+			byte[] iri = member.getIri().getFullIriAsString().getBytes(UTF8_);
+			out.writeInt(iri.length);
+			out.write(iri);
+		}
+	}
+
+	/**
+	 * Creates the nodes written by
+	 * {@link #writeTaxonomy(DataOutputStream, Taxonomy)} in the given
+	 * {@link UpdateableTaxonomy}
+	 *
+	 * @return the members of the created nodes in the order of their positions
+	 */
+	private static <T extends ElkEntity> List<List<T>> readTaxonomy(
+			ByteBuffer in, UpdateableTaxonomy<T> taxonomy,
+			EntityFactory<T> entities) throws ElkSnapshotException {
+		int nodeCount = in.getInt();
+		List<List<T>> members = new ArrayList<List<T>>(nodeCount);
+		List<NonBottomTaxonomyNode<T>> nodes = new ArrayList<NonBottomTaxonomyNode<T>>(
+				nodeCount);
+		for (int i = 0; i < nodeCount; i++) {
+			List<T> nodeMembers = readMembers(in, entities);
+			members.add(nodeMembers);
+			nodes.add(taxonomy.getCreateNode(nodeMembers));
+		}
+		for (NonBottomTaxonomyNode<T> node : nodes) {
+			int superNodeCount = in.getInt();
+			List<List<T>> superMembers = new ArrayList<List<T>>(
+					superNodeCount);
+			for (int i = 0; i < superNodeCount; i++) {
+				superMembers.add(members.get(readPosition(in, nodeCount)));
+			}
+			taxonomy.setCreateDirectSupernodes(node, superMembers);
+		}
+		for (T member : readMembers(in, entities)) {
+			taxonomy.addToBottomNode(member);
+		}
+		return members;
+	}
+
+	private static void readInstances(ByteBuffer in,
+			ConcurrentInstanceTaxonomy taxonomy, List<List<ElkClass>> types,
+			EntityFactory<ElkNamedIndividual> entities)
+			throws ElkSnapshotException {
+		int nodeCount = in.getInt();
+		for (int i = 0; i < nodeCount; i++) {
+			InstanceNode<ElkClass, ElkNamedIndividual> node = taxonomy
+					.getCreateInstanceNode(readMembers(in, entities));
+			int typeCount = in.getInt();
+			List<List<ElkClass>> typeMembers = new ArrayList<List<ElkClass>>(
+					typeCount);
+			for (int j = 0; j < typeCount; j++) {
+				typeMembers.add(types.get(readPosition(in, types.size())));
+			}
+			taxonomy.setCreateDirectTypes(node, typeMembers);
+		}
+	}
+
+	private static <T> List<T> readMembers(ByteBuffer in,
+			EntityFactory<T> entities) throws ElkSnapshotException {
+		int size = in.getInt();
+		if (size < 0) {
+			throw new ElkSnapshotException(
+					"Invalid number of members: " + size);
+		}
+		List<T> result = new ArrayList<T>(size);
+		for (int i = 0; i < size; i++) {
+			int length = in.getInt();
+			if (length < 0 || length > in.remaining()) {
+				throw new ElkSnapshotException(
+						"Invalid length of an IRI: " + length);
+			}
+			byte[] iri = new byte[length];
+			in.get(iri);
+			result.add(entities.getEntity(new String(iri, UTF8_)));
+		}
+		return result;
+	}
+
+	private static int readPosition(ByteBuffer in, int limit)
+			throws ElkSnapshotException {
+		int position = in.getInt();
+		if (position < 0 || position >= limit) {
+			throw new ElkSnapshotException(
+					"Invalid position of a node: " + position);
+		}
+		return position;
+	}
+
+	/**
+	 * Creates entities from their IRIs
+	 *
+	 * @param <T>
+	 *            the type of the created entities
+	 */
+	private interface EntityFactory<T> {
+
+		T getEntity(String iri);
+
+	}
+
+}
@@ -213,7 +213,8 @@ abstract class AbstractReasonerStage implements ReasonerStage {
 		reasoner.saturationState.setContextsSaturated(Integer.MAX_VALUE);
 	}
 
-	protected SaturationStatistics getRuleAndConclusionStatistics() {
+	@Override
+	public SaturationStatistics getRuleAndConclusionStatistics() {
 		return reasoner.ruleAndConclusionStats;
 	}
 
@@ -22,13 +22,20 @@
  */
 package org.semanticweb.elk.reasoner.stages;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.liveontologies.puli.DynamicProof;
 import org.liveontologies.puli.statistics.NestedStats;
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
@@ -49,6 +56,7 @@ import org.semanticweb.elk.reasoner.ProgressMonitor;
 import org.semanticweb.elk.reasoner.ReasonerInterrupter;
 import org.semanticweb.elk.reasoner.completeness.IncompletenessManager;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SubsumerSetRepresentation;
 import org.semanticweb.elk.reasoner.consistency.ConsistencyCheckingState;
 import org.semanticweb.elk.reasoner.indexing.classes.DifferentialIndex;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
@@ -70,6 +78,9 @@ import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.SaturationConclusionBaseFactory;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.SaturationConclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.snapshot.ElkSnapshotException;
+import org.semanticweb.elk.reasoner.snapshot.OntologyFingerprint;
+import org.semanticweb.elk.reasoner.snapshot.ReasonerSnapshot;
 import org.semanticweb.elk.reasoner.taxonomy.ElkClassKeyProvider;
 import org.semanticweb.elk.reasoner.taxonomy.ElkIndividualKeyProvider;
 import org.semanticweb.elk.reasoner.taxonomy.ElkObjectPropertyKeyProvider;
@@ -78,14 +89,18 @@ import org.semanticweb.elk.reasoner.taxonomy.OrphanTaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.OrphanTypeNode;
 import org.semanticweb.elk.reasoner.taxonomy.SingletoneInstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.SingletoneTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyChangeCollector;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyChanges;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNodeFactory;
+import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomy;
 import org.semanticweb.elk.reasoner.tracing.Conclusion;
 import org.semanticweb.elk.reasoner.tracing.TraceState;
 import org.semanticweb.elk.reasoner.tracing.TracingInference;
 import org.semanticweb.elk.reasoner.tracing.TracingProof;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
 import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
 import org.slf4j.Logger;
@@ -130,9 +145,11 @@ public abstract class AbstractReasonerState implements TracingProof {
 	 */
 	final OccurrencesInStatedAxiomsStore occurrencesInStatedAxiomsStore = new OccurrencesInStatedAxiomsStore();
 	/**
-	 * The source where axioms and changes in ontology can be loaded
+	 * The source where axioms and changes in ontology can be loaded; it is
+	 * also read without synchronization by the queries over the published
+	 * taxonomies
 	 */
-	private AxiomLoader axiomLoader_ = null;
+	private volatile AxiomLoader axiomLoader_ = null;
 	/**
 	 * Manages information about property hierarchy computation.
 	 */
@@ -190,6 +207,90 @@ public abstract class AbstractReasonerState implements TracingProof {
 	 */
 	private final SaturationConclusion.Factory factory_ = new SaturationConclusionBaseFactory();
 
+	/**
+	 * Guards the published taxonomies: reasoner stages, which may modify the
+	 * taxonomies, are executed under the write lock, while read-only queries
+	 * over the published taxonomies are answered under the read lock
+	 */
+	private final ReadWriteLock publishedTaxonomiesLock_ = new ReentrantReadWriteLock();
+
+	/**
+	 * the class taxonomy that is up to date with the loaded ontology or
+	 * {@code null} if it might need to be (re)computed
+	 */
+	private volatile Taxonomy<ElkClass> publishedTaxonomy_ = null;
+
+	/**
+	 * the instance taxonomy that is up to date with the loaded ontology or
+	 * {@code null} if it might need to be (re)computed
+	 */
+	private volatile InstanceTaxonomy<ElkClass, ElkNamedIndividual> publishedInstanceTaxonomy_ = null;
+
+	/**
+	 * keeps track of the loaded axioms if snapshots are enabled by
+	 * {@link ReasonerConfiguration#SNAPSHOTS_ENABLED}, otherwise {@code null}
+	 */
+	final OntologyFingerprint ontologyFingerprint;
+
+	/**
+	 * whether the class taxonomy is computed by first saturating the classes
+	 * and then computing their direct super-classes from the saturated
+	 * contexts, as set by
+	 * {@link ReasonerConfiguration#SATURATED_TRANSITIVE_REDUCTION}
+	 */
+	final boolean saturatedTransitiveReduction;
+
+	/**
+	 * whether the loaded axioms are indexed using several workers, as set by
+	 * {@link ReasonerConfiguration#CONCURRENT_INDEXING}
+	 */
+	final boolean concurrentIndexing;
+
+	/**
+	 * whether the subsumers of contexts are stored using
+	 * {@link SubsumerSetRepresentation#COMPACT}, as set by
+	 * {@link ReasonerConfiguration#SUBSUMER_SET_REPRESENTATION}
+	 */
+	final boolean compactSubsumerSets;
+
+	/**
+	 * whether individuals with the same told types are realized using one
+	 * representative, as set by
+	 * {@link ReasonerConfiguration#REALIZATION_SUMMARIZATION}
+	 */
+	final boolean realizationSummarization;
+
+	/**
+	 * whether the types of individuals are computed on demand when the
+	 * instance taxonomy is not computed, as set by
+	 * {@link ReasonerConfiguration#LAZY_REALIZATION}
+	 */
+	private final boolean lazyRealization_;
+
+	/**
+	 * whether queries about named classes are answered without computing the
+	 * class taxonomy, as set by
+	 * {@link ReasonerConfiguration#GOAL_DIRECTED_CLASS_QUERIES}
+	 */
+	private final boolean goalDirectedClassQueries_;
+
+	/**
+	 * the results of reasoning restored by {@link #restoreSnapshot(File)} if
+	 * no axioms were loaded since then, otherwise {@code null}
+	 */
+	private ReasonerSnapshot snapshot_ = null;
+
+	/**
+	 * collects the changes of the class and instance taxonomies while
+	 * {@link #taxonomyChangeListeners_} is not empty
+	 */
+	private final TaxonomyChangeCollector<ElkClass, ElkNamedIndividual> taxonomyChangeCollector_ = new TaxonomyChangeCollector<ElkClass, ElkNamedIndividual>();
+
+	/**
+	 * notified about the changes of the class and instance taxonomies
+	 */
+	private final List<TaxonomyChanges.Listener<ElkClass, ElkNamedIndividual>> taxonomyChangeListeners_ = new ArrayList<TaxonomyChanges.Listener<ElkClass, ElkNamedIndividual>>();
+
 	private final ElkPolarityExpressionConverter expressionConverter_;
 
 	private final ElkSubObjectPropertyExpressionVisitor<ModifiableIndexedPropertyChain> subPropertyConverter_;
@@ -200,7 +301,7 @@ public abstract class AbstractReasonerState implements TracingProof {
 		this.ontologyIndex = new DifferentialIndex(elkFactory);
 		this.propertyHierarchyCompositionState_ = new PropertyHierarchyCompositionState();
 		this.saturationState = SaturationStateFactory
-				.createSaturationState(ontologyIndex);
+				.createSaturationState(ontologyIndex, config);
 		this.consistencyCheckingState = ConsistencyCheckingState
 				.create(saturationState, propertyHierarchyCompositionState_);
 		this.instanceTaxonomyState = new InstanceTaxonomyState(saturationState,
@@ -208,6 +309,20 @@ public abstract class AbstractReasonerState implements TracingProof {
 		this.classTaxonomyState = new ClassTaxonomyState(saturationState,
 				ontologyIndex, elkFactory, Arrays.asList(
 						instanceTaxonomyState.getClassTaxonomyStateListener()));
+		this.classTaxonomyState.addListener(new ClassTaxonomyState.Listener() {
+
+			@Override
+			public void taxonomyReset(
+					final UpdateableTaxonomy<ElkClass> oldTaxonomy,
+					final UpdateableTaxonomy<ElkClass> newTaxonomy) {
+				if (!taxonomyChangeListeners_.isEmpty()) {
+					// the instance taxonomy is already reset
+					taxonomyChangeCollector_
+							.setTaxonomy(instanceTaxonomyState.getTaxonomy());
+				}
+			}
+
+		});
 		this.objectPropertyTaxonomyState = new ObjectPropertyTaxonomyState(
 				elkFactory);
 		this.ruleAndConclusionStats = new SaturationStatistics();
@@ -223,6 +338,22 @@ public abstract class AbstractReasonerState implements TracingProof {
 		this.entailmentQueryState_ = new EntailmentQueryState(config,
 				saturationState, consistencyCheckingState, factory_,
 				incompleteness_);
+		this.saturatedTransitiveReduction = config.getParameterAsBoolean(
+				ReasonerConfiguration.SATURATED_TRANSITIVE_REDUCTION);
+		this.concurrentIndexing = config.getParameterAsBoolean(
+				ReasonerConfiguration.CONCURRENT_INDEXING);
+		this.compactSubsumerSets = config.getParameter(
+				ReasonerConfiguration.SUBSUMER_SET_REPRESENTATION) == SubsumerSetRepresentation.COMPACT;
+		this.realizationSummarization = config.getParameterAsBoolean(
+				ReasonerConfiguration.REALIZATION_SUMMARIZATION);
+		this.lazyRealization_ = config.getParameterAsBoolean(
+				ReasonerConfiguration.LAZY_REALIZATION);
+		this.goalDirectedClassQueries_ = config.getParameterAsBoolean(
+				ReasonerConfiguration.GOAL_DIRECTED_CLASS_QUERIES);
+		this.ontologyFingerprint = config
+				.getParameterAsBoolean(ReasonerConfiguration.SNAPSHOTS_ENABLED)
+						? new OntologyFingerprint()
+						: null;
 	}
 
 	public ElkObject.Factory getElkFactory() {
@@ -230,7 +361,87 @@ public abstract class AbstractReasonerState implements TracingProof {
 	}
 
 	protected void complete(ReasonerStage stage) throws ElkException {
-		getStageExecutor().complete(stage);
+		if (stage.isCompleted()) {
+			return;
+		}
+		// else the stage may modify the taxonomies
+		final Lock lock = publishedTaxonomiesLock_.writeLock();
+		lock.lock();
+		try {
+			unpublishTaxonomies();
+			getStageExecutor().complete(stage);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Acquires the lock for reading the published taxonomies. Every call of
+	 * this method must be followed by
+	 * {@link #unlockPublishedTaxonomies()}. While the lock is held, no
+	 * reasoner stage is executed, so the taxonomies returned by
+	 * {@link #getPublishedTaxonomy()} and
+	 * {@link #getPublishedInstanceTaxonomy()} are not modified. The lock can be
+	 * held by several threads at the same time, but the thread holding it must
+	 * not call methods synchronized on this object.
+	 */
+	protected void lockPublishedTaxonomies() {
+		publishedTaxonomiesLock_.readLock().lock();
+	}
+
+	/**
+	 * Releases the lock acquired by {@link #lockPublishedTaxonomies()}.
+	 */
+	protected void unlockPublishedTaxonomies() {
+		publishedTaxonomiesLock_.readLock().unlock();
+	}
+
+	/**
+	 * @return the class taxonomy of the loaded ontology if it has been computed
+	 *         and there were no changes since then, or {@code null} otherwise;
+	 *         the result can be safely accessed only while holding the lock
+	 *         acquired by {@link #lockPublishedTaxonomies()}
+	 */
+	protected Taxonomy<ElkClass> getPublishedTaxonomy() {
+		if (isAxiomLoadingPending()) {
+			return null;
+		}
+		// else
+		return publishedTaxonomy_;
+	}
+
+	/**
+	 * @return the instance taxonomy of the loaded ontology if it has been
+	 *         computed and there were no changes since then, or {@code null}
+	 *         otherwise; the result can be safely accessed only while holding
+	 *         the lock acquired by {@link #lockPublishedTaxonomies()}
+	 */
+	protected InstanceTaxonomy<ElkClass, ElkNamedIndividual> getPublishedInstanceTaxonomy() {
+		if (isAxiomLoadingPending()) {
+			return null;
+		}
+		// else
+		return publishedInstanceTaxonomy_;
+	}
+
+	/**
+	 * Checks, without synchronization, whether the registered
+	 * {@link AxiomLoader} has changes that are not loaded yet. The changes can
+	 * be added to the {@link AxiomLoader} after it has been registered, e.g.,
+	 * by the OWL API in the non-buffering mode, so this cannot be tracked by
+	 * {@link #registerAxiomLoader(AxiomLoader.Factory)}.
+	 * 
+	 * @return {@code true} if the published taxonomies may not reflect some
+	 *         changes
+	 */
+	private boolean isAxiomLoadingPending() {
+		final AxiomLoader loader = axiomLoader_;
+		return loader != null && !loader.isLoadingFinished();
+	}
+
+	private void unpublishTaxonomies() {
+		publishedTaxonomy_ = null;
+		publishedInstanceTaxonomy_ = null;
 	}
 
 	/**
@@ -299,6 +510,8 @@ public abstract class AbstractReasonerState implements TracingProof {
 			final AxiomLoader.Factory axiomLoaderFactory) {
 		LOGGER_.trace("Registering new axiom loader");
 
+		invalidatePublishedResults();
+
 		final AxiomLoader newAxiomLoader = axiomLoaderFactory
 				.getAxiomLoader(getInterrupter());
 
@@ -310,6 +523,32 @@ public abstract class AbstractReasonerState implements TracingProof {
 		}
 	}
 
+	/**
+	 * @return the results of reasoning restored by
+	 *         {@link #restoreSnapshot(File)} if they are up to date with the
+	 *         changes registered for loading, otherwise {@code null}
+	 */
+	private ReasonerSnapshot getSnapshot() {
+		if (isAxiomLoadingPending()) {
+			// the changes could be added after the loader was registered
+			invalidatePublishedResults();
+		}
+		return snapshot_;
+	}
+
+	/**
+	 * Called when new axioms may be loaded; the published taxonomies and the
+	 * restored snapshot may not reflect them.
+	 */
+	private void invalidatePublishedResults() {
+		unpublishTaxonomies();
+		if (snapshot_ != null) {
+			// the taxonomies will be computed without the snapshot
+			taxonomyChangeCollector_.reset();
+			snapshot_ = null;
+		}
+	}
+
 	/**
 	 * @return the {@link AxiomLoader} currently registered for loading of
 	 *         axioms or {@code null} if no loader is registered
@@ -357,6 +596,10 @@ public abstract class AbstractReasonerState implements TracingProof {
 	 */
 	public synchronized void ensureLoading() throws ElkException {
 
+		if (isAxiomLoadingPending()) {
+			// the changes could be added after the loader was registered
+			invalidatePublishedResults();
+		}
 		if (!isLoadingFinished()) {
 			if (isIncrementalMode()) {
 				if (!stageManager.incrementalAdditionStage.isCompleted()) {
@@ -485,6 +728,11 @@ public abstract class AbstractReasonerState implements TracingProof {
 	 */
 	public synchronized boolean isInconsistent() throws ElkException {
 
+		if (getSnapshot() != null) {
+			// only snapshots of consistent ontologies are saved
+			return false;
+		}
+
 		restoreConsistencyCheck();
 
 		if (!consistencyCheckingState.isInconsistent()) {
@@ -507,6 +755,11 @@ public abstract class AbstractReasonerState implements TracingProof {
 	protected Taxonomy<ElkClass> restoreTaxonomy()
 			throws ElkInconsistentOntologyException, ElkException {
 
+		if (getSnapshot() != null) {
+			publishedTaxonomy_ = snapshot_.getClassTaxonomy();
+			return publishedTaxonomy_;
+		}
+
 		ruleAndConclusionStats.reset();
 
 		// also restores saturation and cleans the taxonomy if necessary
@@ -517,7 +770,9 @@ public abstract class AbstractReasonerState implements TracingProof {
 
 		complete(stageManager.classTaxonomyComputationStage);
 
-		return classTaxonomyState.getTaxonomy();
+		publishedTaxonomy_ = classTaxonomyState.getTaxonomy();
+		fireTaxonomyChanges();
+		return publishedTaxonomy_;
 	}
 
 	/**
@@ -533,11 +788,11 @@ public abstract class AbstractReasonerState implements TracingProof {
 	public synchronized Taxonomy<ElkClass> getTaxonomy()
 			throws ElkInconsistentOntologyException, ElkException {
 
-		restoreTaxonomy();
+		Taxonomy<ElkClass> result = restoreTaxonomy();
 
 		incompleteness_.log(
 				incompleteness_.getIncompletenessMonitorForClassification());
-		return classTaxonomyState.getTaxonomy();
+		return result;
 	}
 
 	/**
@@ -607,6 +862,12 @@ public abstract class AbstractReasonerState implements TracingProof {
 	protected InstanceTaxonomy<ElkClass, ElkNamedIndividual> restoreInstanceTaxonomy()
 			throws ElkInconsistentOntologyException, ElkException {
 
+		if (getSnapshot() != null) {
+			publishedTaxonomy_ = snapshot_.getClassTaxonomy();
+			publishedInstanceTaxonomy_ = snapshot_.getInstanceTaxonomy();
+			return publishedInstanceTaxonomy_;
+		}
+
 		ruleAndConclusionStats.reset();
 
 		// also restores saturation and cleans the taxonomy if necessary
@@ -617,7 +878,10 @@ public abstract class AbstractReasonerState implements TracingProof {
 
 		complete(stageManager.instanceTaxonomyComputationStage);
 
-		return instanceTaxonomyState.getTaxonomy();
+		publishedTaxonomy_ = classTaxonomyState.getTaxonomy();
+		publishedInstanceTaxonomy_ = instanceTaxonomyState.getTaxonomy();
+		fireTaxonomyChanges();
+		return publishedInstanceTaxonomy_;
 	}
 
 	/**
@@ -633,11 +897,11 @@ public abstract class AbstractReasonerState implements TracingProof {
 	public synchronized InstanceTaxonomy<ElkClass, ElkNamedIndividual> getInstanceTaxonomy()
 			throws ElkInconsistentOntologyException, ElkException {
 
-		restoreInstanceTaxonomy();
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> result = restoreInstanceTaxonomy();
 
 		incompleteness_.log(
 				incompleteness_.getIncompletenessMonitorForClassification());
-		return instanceTaxonomyState.getTaxonomy();
+		return result;
 	}
 
 	/**
@@ -702,6 +966,10 @@ public abstract class AbstractReasonerState implements TracingProof {
 	public synchronized Taxonomy<ElkObjectProperty> getObjectPropertyTaxonomy()
 			throws ElkInconsistentOntologyException, ElkException {
 
+		if (getSnapshot() != null) {
+			return snapshot_.getObjectPropertyTaxonomy();
+		}
+
 		ruleAndConclusionStats.reset();
 
 		restoreConsistencyCheck();
@@ -754,6 +1022,140 @@ public abstract class AbstractReasonerState implements TracingProof {
 		return result;
 	}
 
+	/**
+	 * Registers the given {@link TaxonomyChanges.Listener}, which is notified
+	 * about the changes of the class and instance taxonomies every time they
+	 * are modified by a reasoning task, e.g., by {@link #getTaxonomy()} or
+	 * {@link #getInstanceTaxonomy()} after the ontology has changed. The
+	 * changes are reported relative to the taxonomies at the time of the
+	 * previous notification or, for the first notification, of the
+	 * registration of the first listener.
+	 * 
+	 * @param listener
+	 */
+	public synchronized void addTaxonomyChangeListener(
+			final TaxonomyChanges.Listener<ElkClass, ElkNamedIndividual> listener) {
+		if (taxonomyChangeListeners_.isEmpty()) {
+			taxonomyChangeCollector_
+					.setTaxonomy(instanceTaxonomyState.getTaxonomy());
+			// the changes are collected from now on
+			taxonomyChangeCollector_.poll();
+		}
+		taxonomyChangeListeners_.add(listener);
+	}
+
+	/**
+	 * Removes the given {@link TaxonomyChanges.Listener} registered by
+	 * {@link #addTaxonomyChangeListener(TaxonomyChanges.Listener)}
+	 * 
+	 * @param listener
+	 */
+	public synchronized void removeTaxonomyChangeListener(
+			final TaxonomyChanges.Listener<ElkClass, ElkNamedIndividual> listener) {
+		if (taxonomyChangeListeners_.remove(listener)
+				&& taxonomyChangeListeners_.isEmpty()) {
+			taxonomyChangeCollector_.setTaxonomy(null);
+		}
+	}
+
+	private void fireTaxonomyChanges() {
+		if (taxonomyChangeListeners_.isEmpty()) {
+			return;
+		}
+		// else
+		final TaxonomyChanges<ElkClass, ElkNamedIndividual> changes = taxonomyChangeCollector_
+				.poll();
+		if (changes.isEmpty()) {
+			return;
+		}
+		// else
+		LOGGER_.trace("Taxonomy changes: {}", changes);
+		for (final TaxonomyChanges.Listener<ElkClass, ElkNamedIndividual> listener : taxonomyChangeListeners_) {
+			listener.taxonomyChanged(changes);
+		}
+	}
+
+	/**
+	 * Computes the class, instance, and object property taxonomies of the
+	 * loaded ontology, if this has not been done yet, and saves them in the
+	 * given file together with the fingerprint of the ontology, so that they
+	 * can be restored using {@link #restoreSnapshot(File)} after the same
+	 * ontology is loaded again. Snapshots must be enabled by
+	 * {@link ReasonerConfiguration#SNAPSHOTS_ENABLED}.
+	 * 
+	 * @param file
+	 *            the file in which to save the snapshot
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully or
+	 *             the snapshot cannot be saved
+	 */
+	public synchronized void saveSnapshot(File file)
+			throws ElkInconsistentOntologyException, ElkException {
+		checkSnapshotsEnabled();
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> instanceTaxonomy = restoreInstanceTaxonomy();
+		Taxonomy<ElkObjectProperty> objectPropertyTaxonomy = getObjectPropertyTaxonomy();
+		LOGGER_.debug("Saving snapshot to {}", file);
+		ReasonerSnapshot.save(file, ontologyFingerprint, instanceTaxonomy,
+				objectPropertyTaxonomy);
+	}
+
+	/**
+	 * Loads the pending axioms and, if they are the same as the axioms for
+	 * which the snapshot in the given file was saved by
+	 * {@link #saveSnapshot(File)}, takes the class, instance, and object
+	 * property taxonomies from this snapshot instead of computing them. The
+	 * restored taxonomies are used until new axioms are loaded. Snapshots must
+	 * be enabled by {@link ReasonerConfiguration#SNAPSHOTS_ENABLED}.
+	 * <p>
+	 * Only the taxonomies are restored, see {@link ReasonerSnapshot}: the
+	 * axioms are loaded and indexed as usual, and the saturated contexts from
+	 * which the taxonomies were computed are not saved in snapshots.
+	 * Therefore, the first changes after the snapshot is restored are not
+	 * processed incrementally, but the ontology is saturated and the
+	 * taxonomies are computed from scratch, as when it is loaded for the first
+	 * time. Likewise, the queries that need saturation, such as queries for
+	 * complex class expressions, entailment queries, and proofs, saturate the
+	 * ontology the first time they are answered.
+	 * 
+	 * @param file
+	 *            the file with the snapshot
+	 * @return {@code true} if the snapshot was restored and {@code false} if
+	 *         it was saved for a different ontology
+	 * @throws ElkException
+	 *             if the axioms cannot be loaded or the snapshot cannot be
+	 *             read
+	 */
+	public synchronized boolean restoreSnapshot(File file)
+			throws ElkException {
+		checkSnapshotsEnabled();
+		// the fingerprint is computed when the axioms are indexed; the index
+		// is not saved in snapshots
+		ensureLoading();
+		ReasonerSnapshot snapshot = ReasonerSnapshot.load(file, elkFactory_);
+		if (!ontologyFingerprint.equals(snapshot.getFingerprint())) {
+			LOGGER_.debug("{}: snapshot of another ontology: {} != {}", file,
+					snapshot.getFingerprint(), ontologyFingerprint);
+			return false;
+		}
+		// else
+		LOGGER_.debug("Restored snapshot from {}", file);
+		snapshot_ = snapshot;
+		publishedTaxonomy_ = snapshot.getClassTaxonomy();
+		publishedInstanceTaxonomy_ = snapshot.getInstanceTaxonomy();
+		taxonomyChangeCollector_.reset();
+		fireTaxonomyChanges();
+		return true;
+	}
+
+	private void checkSnapshotsEnabled() throws ElkSnapshotException {
+		if (ontologyFingerprint == null) {
+			throw new ElkSnapshotException("Snapshots are not enabled; set "
+					+ ReasonerConfiguration.SNAPSHOTS_ENABLED);
+		}
+	}
+
 	/**
 	 * If the query results are not cached yet, indexes the supplied class
 	 * expression and, if successful, computes the query so that the results for
@@ -775,6 +1177,41 @@ public abstract class AbstractReasonerState implements TracingProof {
 
 		// Load the query
 		classExpressionQueryState_.registerQuery(classExpression);
+		computeRegisteredQueries(Collections.singleton(classExpression),
+				computeInstanceTaxonomy);
+
+		return classExpressionQueryState_.isIndexed(classExpression);
+	}
+
+	/**
+	 * Indexes the supplied class expressions and computes the queries for
+	 * those that could be indexed and whose results are not cached yet, all
+	 * of them together using one execution of the
+	 * {@link ClassExpressionQueryStage}. The results for the indexed
+	 * expressions are then ready in {@link #classExpressionQueryState_}.
+	 * 
+	 * @param classExpressions
+	 * @param computeInstanceTaxonomy
+	 *            if {@code false}, only class taxonomy is computed, if
+	 *            {@code true}, also instance taxonomy is computed.
+	 * @throws ElkInconsistentOntologyException
+	 * @throws ElkException
+	 */
+	private void computeQueries(
+			final Collection<? extends ElkClassExpression> classExpressions,
+			final boolean computeInstanceTaxonomy)
+			throws ElkInconsistentOntologyException, ElkException {
+
+		// Load the queries
+		classExpressionQueryState_.registerQueries(classExpressions);
+		computeRegisteredQueries(classExpressions, computeInstanceTaxonomy);
+	}
+
+	private void computeRegisteredQueries(
+			final Iterable<? extends ElkClassExpression> classExpressions,
+			final boolean computeInstanceTaxonomy)
+			throws ElkInconsistentOntologyException, ElkException {
+
 		ensureLoading();
 
 		// Complete all stages
@@ -784,38 +1221,63 @@ public abstract class AbstractReasonerState implements TracingProof {
 			restoreTaxonomy();
 		}
 
-		if (!classExpressionQueryState_.isIndexed(classExpression)) {
-			return false;
-		}
-
 		/*
 		 * If query result is cashed, but there were some changes to the
 		 * ontology, it may not be up to date. Whether it is is checked during
 		 * stages that clean contexts. These are run, if necessary, by the call
 		 * above.
 		 */
-		if (classExpressionQueryState_.isComputed(classExpression)) {
-			return true;
+		completeQueries(classExpressions);
+	}
+
+	/**
+	 * Runs {@link ClassExpressionQueryStage} if the results for some of the
+	 * supplied registered class expressions are not computed.
+	 * 
+	 * @param classExpressions
+	 * @throws ElkException
+	 */
+	private void completeQueries(
+			final Iterable<? extends ElkClassExpression> classExpressions)
+			throws ElkException {
+		if (areQueriesComputed(classExpressions)) {
+			return;
 		}
 		stageManager.classExpressionQueryStage.invalidateRecursive();
 		try {
 			complete(stageManager.classExpressionQueryStage);
 		} catch (final ElkInterruptedException e) {
-			if (classExpressionQueryState_.isComputed(classExpression)) {
+			if (areQueriesComputed(classExpressions)) {
 				/*
-				 * If the stage was interrupted, but the query is already
+				 * If the stage was interrupted, but the queries are already
 				 * computed, completing the stage will not be attempted during
 				 * the next call. We need to call postExecute() manually, so
 				 * that the stage wouldn't stay initialized with computation
 				 * that already processed all its inputs (or at least the
-				 * queried class).
+				 * queried classes).
 				 */
 				stageManager.classExpressionQueryStage.postExecute();
 			} else {
 				throw e;
 			}
 		}
+	}
 
+	/**
+	 * @param classExpressions
+	 * @return {@code true} if the results of the queries for all supplied
+	 *         class expressions that could be indexed are computed
+	 */
+	private boolean areQueriesComputed(
+			final Iterable<? extends ElkClassExpression> classExpressions) {
+		for (final ElkClassExpression classExpression : classExpressions) {
+			if (classExpressionQueryState_.isIndexed(classExpression)
+					&& !classExpressionQueryState_
+							.isComputed(classExpression)) {
+				return false;
+			}
+		}
+		// else
 		return true;
 	}
 
@@ -834,10 +1296,45 @@ public abstract class AbstractReasonerState implements TracingProof {
 	protected boolean querySatisfiability(
 			final ElkClassExpression classExpression)
 			throws ElkInconsistentOntologyException, ElkException {
+		return getSatisfiability(classExpression,
+				computeQuery(classExpression, false));
+	}
+
+	/**
+	 * Decides whether the supplied (possibly complex) class expressions are
+	 * satisfiable. The queries are computed together, which is faster than
+	 * computing them one by one. The query state is updated accordingly.
+	 * 
+	 * @param classExpressions
+	 *            The queried class expressions.
+	 * @return the map from each queried class expression to whether it is
+	 *         satisfiable.
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	protected Map<ElkClassExpression, Boolean> querySatisfiability(
+			final Collection<? extends ElkClassExpression> classExpressions)
+			throws ElkInconsistentOntologyException, ElkException {
+		computeQueries(classExpressions, false);
+		final Map<ElkClassExpression, Boolean> result = new ArrayHashMap<ElkClassExpression, Boolean>(
+				classExpressions.size());
+		for (final ElkClassExpression classExpression : classExpressions) {
+			result.put(classExpression,
+					getSatisfiability(classExpression,
+							classExpressionQueryState_
+									.isIndexed(classExpression)));
+		}
+		return result;
+	}
+
+	private boolean getSatisfiability(final ElkClassExpression classExpression,
+			final boolean isIndexed) throws ElkException {
 
 		final boolean result;
 
-		if (computeQuery(classExpression, false)) {
+		if (isIndexed) {
 			result = classExpressionQueryState_.isSatisfiable(classExpression);
 		} else {
 			// classExpression couldn't be indexed; pretend it is a fresh class
@@ -870,10 +1367,47 @@ public abstract class AbstractReasonerState implements TracingProof {
 	protected Node<ElkClass> queryEquivalentClasses(
 			final ElkClassExpression classExpression)
 			throws ElkInconsistentOntologyException, ElkException {
+		return getEquivalentClasses(classExpression,
+				computeQuery(classExpression, false));
+	}
+
+	/**
+	 * Computes all atomic classes that are equivalent to each of the supplied
+	 * (possibly complex) class expressions. The queries are computed together,
+	 * which is faster than computing them one by one. The query state is
+	 * updated accordingly.
+	 * 
+	 * @param classExpressions
+	 *            The queried class expressions.
+	 * @return the map from each queried class expression to all atomic classes
+	 *         that are equivalent to it.
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	protected Map<ElkClassExpression, Node<ElkClass>> queryEquivalentClasses(
+			final Collection<? extends ElkClassExpression> classExpressions)
+			throws ElkInconsistentOntologyException, ElkException {
+		computeQueries(classExpressions, false);
+		final Map<ElkClassExpression, Node<ElkClass>> result = new ArrayHashMap<ElkClassExpression, Node<ElkClass>>(
+				classExpressions.size());
+		for (final ElkClassExpression classExpression : classExpressions) {
+			result.put(classExpression,
+					getEquivalentClasses(classExpression,
+							classExpressionQueryState_
+									.isIndexed(classExpression)));
+		}
+		return result;
+	}
+
+	private Node<ElkClass> getEquivalentClasses(
+			final ElkClassExpression classExpression, final boolean isIndexed)
+			throws ElkException {
 
 		final Node<ElkClass> result;
 
-		if (computeQuery(classExpression, false)) {
+		if (isIndexed) {
 
 			final Node<ElkClass> r = classExpressionQueryState_
 					.getEquivalentClasses(classExpression);
@@ -911,10 +1445,47 @@ public abstract class AbstractReasonerState implements TracingProof {
 	protected Set<? extends Node<ElkClass>> queryDirectSuperClasses(
 			final ElkClassExpression classExpression)
 			throws ElkInconsistentOntologyException, ElkException {
+		return getDirectSuperClasses(classExpression,
+				computeQuery(classExpression, false));
+	}
+
+	/**
+	 * Computes all atomic direct super-classes of each of the supplied
+	 * (possibly complex) class expressions. The queries are computed together,
+	 * which is faster than computing them one by one. The query state is
+	 * updated accordingly.
+	 * 
+	 * @param classExpressions
+	 *            The queried class expressions.
+	 * @return the map from each queried class expression to all its atomic
+	 *         direct super-classes.
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	protected Map<ElkClassExpression, Set<? extends Node<ElkClass>>> queryDirectSuperClasses(
+			final Collection<? extends ElkClassExpression> classExpressions)
+			throws ElkInconsistentOntologyException, ElkException {
+		computeQueries(classExpressions, false);
+		final Map<ElkClassExpression, Set<? extends Node<ElkClass>>> result = new ArrayHashMap<ElkClassExpression, Set<? extends Node<ElkClass>>>(
+				classExpressions.size());
+		for (final ElkClassExpression classExpression : classExpressions) {
+			result.put(classExpression,
+					getDirectSuperClasses(classExpression,
+							classExpressionQueryState_
+									.isIndexed(classExpression)));
+		}
+		return result;
+	}
+
+	private Set<? extends Node<ElkClass>> getDirectSuperClasses(
+			final ElkClassExpression classExpression, final boolean isIndexed)
+			throws ElkException {
 
 		final Set<? extends Node<ElkClass>> result;
 
-		if (computeQuery(classExpression, false)) {
+		if (isIndexed) {
 
 			final Set<? extends Node<ElkClass>> r = classExpressionQueryState_
 					.getDirectSuperClasses(classExpression);
@@ -939,6 +1510,118 @@ public abstract class AbstractReasonerState implements TracingProof {
 		return result;
 	}
 
+	/**
+	 * @return {@code true} if queries about named classes should be answered
+	 *         by {@link #queryClassNodes(Collection)} instead of computing the
+	 *         class taxonomy
+	 * 
+	 * @see ReasonerConfiguration#GOAL_DIRECTED_CLASS_QUERIES
+	 */
+	protected synchronized boolean isClassQueryGoalDirected() {
+		return goalDirectedClassQueries_ && !doneTaxonomy();
+	}
+
+	/**
+	 * Computes the equivalent classes and the direct super-classes of the
+	 * supplied named classes without computing the class taxonomy. The
+	 * classes are queried using {@link ClassExpressionQueryStage}, so only
+	 * their contexts and the contexts needed for the transitive reduction are
+	 * saturated. The query state keeps the results until the ontology
+	 * changes.
+	 * 
+	 * @param classes
+	 *            The queried classes.
+	 * @return the map from each supplied class that occurs in the ontology
+	 *         and is satisfiable to the {@link QueryNode} of the classes
+	 *         equivalent to it, whose direct super-nodes contain its direct
+	 *         super-classes; other classes are not in the map, their results
+	 *         should be taken from the class taxonomy
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	protected synchronized Map<ElkClass, QueryNode<ElkClass>> queryClassNodes(
+			final Collection<? extends ElkClass> classes)
+			throws ElkInconsistentOntologyException, ElkException {
+		ensureLoading();
+		final List<ElkClass> occurring = new ArrayList<ElkClass>(
+				classes.size());
+		for (final ElkClass cls : classes) {
+			final IndexedClassExpression indexed = expressionConverter_
+					.visit(cls);
+			if (indexed != null && indexed.occurs()) {
+				occurring.add(cls);
+			}
+		}
+		classExpressionQueryState_.registerQueries(occurring);
+		// the contexts must be cleaned, but the taxonomy is not needed
+		ruleAndConclusionStats.reset();
+		restoreConsistencyCheck();
+		if (consistencyCheckingState.isInconsistent()) {
+			throw new ElkInconsistentOntologyException();
+		}
+		completeQueries(occurring);
+		final Map<ElkClass, QueryNode<ElkClass>> result = new ArrayHashMap<ElkClass, QueryNode<ElkClass>>(
+				occurring.size());
+		for (final ElkClass cls : occurring) {
+			if (!classExpressionQueryState_.isIndexed(cls)) {
+				continue;
+			}
+			// else
+			final QueryNode<ElkClass> node = classExpressionQueryState_
+					.getEquivalentClasses(cls);
+			if (node != null) {
+				result.put(cls, node);
+			}
+		}
+		incompleteness_.log(
+				incompleteness_.getIncompletenessMonitorForClassification());
+		return result;
+	}
+
+	/**
+	 * @return {@code true} if the types of individuals should be computed by
+	 *         {@link #queryDirectTypes(ElkNamedIndividual)} instead of
+	 *         computing the instance taxonomy
+	 * 
+	 * @see ReasonerConfiguration#LAZY_REALIZATION
+	 */
+	protected synchronized boolean isRealizationLazy() {
+		return lazyRealization_ && !doneInstanceTaxonomy();
+	}
+
+	/**
+	 * Computes all atomic direct types of the supplied individual without
+	 * computing the instance taxonomy. The individual is queried as a nominal,
+	 * so only its context and the contexts needed for it are saturated, and
+	 * the types are read off the class taxonomy. The query state keeps the
+	 * result until the ontology changes.
+	 * 
+	 * @param individual
+	 *            The queried individual.
+	 * @return all atomic direct strict super-classes of the nominal of the
+	 *         supplied individual, which are its direct types, or
+	 *         {@code null} if it does not occur in the ontology
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	protected synchronized Set<? extends Node<ElkClass>> queryDirectTypes(
+			final ElkNamedIndividual individual)
+			throws ElkInconsistentOntologyException, ElkException {
+		ensureLoading();
+		final IndexedIndividual indexed = expressionConverter_
+				.visit(individual);
+		if (indexed == null || !indexed.occurs()) {
+			return null;
+		}
+		// else
+		// like in realization, these are the direct strict subsumers
+		return queryDirectSuperClasses(elkFactory_.getObjectOneOf(individual));
+	}
+
 	/**
 	 * Computes all atomic direct sub-classes of the supplied (possibly complex)
 	 * class expression. The query state is updated accordingly.
@@ -1172,9 +1855,13 @@ public abstract class AbstractReasonerState implements TracingProof {
 		try {
 			// Ensure that classes are saturated.
 			getTaxonomyQuietlyUninterruptibly();
-			if (!traceState_.requestInferences((Conclusion) conclusion)) {
-				stageManager.inferenceTracingStage.invalidateRecursive();
-				completeUninterruptibly(stageManager.inferenceTracingStage);
+			while (!traceState_.requestInferences((Conclusion) conclusion)) {
+				trace();
+				if (traceState_.isRequestComplete()) {
+					break;
+				}
+				// else the conclusion was traced by another thread concurrently
+				// with the request
 			}
 		} catch (final ElkException e) {
 			throw new ElkRuntimeException(e);
@@ -1182,6 +1869,44 @@ public abstract class AbstractReasonerState implements TracingProof {
 		return traceState_.getInferences(conclusion);
 	}
 
+	/**
+	 * Traces the context roots queued in the {@link TraceState}. The roots
+	 * requested by other threads in the meantime are traced together
+	 * in parallel, so if they have already been traced, nothing is done.
+	 * 
+	 * @throws ElkException
+	 */
+	private synchronized void trace() throws ElkException {
+		if (!traceState_.hasToTrace()) {
+			return;
+		}
+		// else
+		stageManager.inferenceTracingStage.invalidateRecursive();
+		completeUninterruptibly(stageManager.inferenceTracingStage);
+	}
+
+	/**
+	 * Registers a {@link DynamicProof.ChangeListener} that is notified when the
+	 * inferences returned by {@link #getInferences(Object)} may have changed
+	 * 
+	 * @param listener
+	 */
+	public void addProofChangeListener(
+			final DynamicProof.ChangeListener listener) {
+		traceState_.addChangeListener(listener);
+	}
+
+	/**
+	 * Removes a {@link DynamicProof.ChangeListener} registered by
+	 * {@link #addProofChangeListener(DynamicProof.ChangeListener)}
+	 * 
+	 * @param listener
+	 */
+	public void removeProofChangeListener(
+			final DynamicProof.ChangeListener listener) {
+		traceState_.removeChangeListener(listener);
+	}
+
 	@NestedStats(name = "traceState")
 	public Object getStatsNestedInTraceSate() {
 		return traceState_.getStats();
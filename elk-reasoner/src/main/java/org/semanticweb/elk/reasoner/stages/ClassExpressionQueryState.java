@@ -62,6 +62,7 @@ import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateDummyChangeListener;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassInconsistency;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextWeigher;
 import org.semanticweb.elk.reasoner.taxonomy.ElkClassKeyProvider;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
@@ -72,6 +73,8 @@ import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
 import org.semanticweb.elk.util.collections.ArrayHashMap;
 import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.collections.Evictor;
+import org.semanticweb.elk.util.collections.Evictors;
+import org.semanticweb.elk.util.collections.Weigher;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
 import org.slf4j.Logger;
@@ -116,7 +119,9 @@ public class ClassExpressionQueryState implements ClassQueryLoader.Factory {
 	private final Evictor<ElkClassExpression> queriedEvictor_;
 
 	/**
-	 * The class expressions that were registered by the last call.
+	 * The class expressions that were registered by the last call of
+	 * {@link #registerQuery(ElkClassExpression)} or
+	 * {@link #registerQueries(Iterable)}.
 	 */
 	private final Set<ElkClassExpression> lastQueries_ = new ArrayHashSet<ElkClassExpression>();
 
@@ -232,6 +237,17 @@ public class ClassExpressionQueryState implements ClassQueryLoader.Factory {
 		LOGGER_.info("{} = {}",
 				ReasonerConfiguration.CLASS_EXPRESSION_QUERY_EVICTOR, builder);
 		this.queriedEvictor_ = ((Evictor.Builder) builder).build();
+		Evictors.setWeigher(queriedEvictor_, new Weigher<ElkClassExpression>() {
+
+			@Override
+			public int weigh(final ElkClassExpression classExpression) {
+				final QueryState state = queried_.get(classExpression);
+				return ContextWeigher.INSTANCE.weigh(
+						state == null || state.indexed == null ? null
+								: saturationState_.getContext(state.indexed));
+			}
+
+		});
 	}
 
 	/**
@@ -289,10 +305,30 @@ public class ClassExpressionQueryState implements ClassQueryLoader.Factory {
 	 *         expression has already been registered.
 	 */
 	boolean registerQuery(final ElkClassExpression classExpression) {
+		lastQueries_.clear();
+		return register(classExpression);
+	}
+
+	/**
+	 * Registers the supplied class expressions for querying, like
+	 * {@link #registerQuery(ElkClassExpression)}, so that the results for all
+	 * of them can be computed together and none of them is evicted before the
+	 * results are retrieved.
+	 * 
+	 * @param classExpressions
+	 */
+	void registerQueries(
+			final Iterable<? extends ElkClassExpression> classExpressions) {
+		lastQueries_.clear();
+		for (final ElkClassExpression classExpression : classExpressions) {
+			register(classExpression);
+		}
+	}
+
+	private boolean register(final ElkClassExpression classExpression) {
 
 		LOGGER_.trace("class expression query registered {}", classExpression);
 
-		lastQueries_.clear();
 		queriedEvictor_.add(classExpression);
 		lastQueries_.add(classExpression);
 
@@ -698,7 +734,7 @@ public class ClassExpressionQueryState implements ClassQueryLoader.Factory {
 	 * @throws ElkQueryException
 	 *             if the result is not ready
 	 */
-	Node<ElkClass> getEquivalentClasses(
+	QueryNode<ElkClass> getEquivalentClasses(
 			final ElkClassExpression classExpression) throws ElkQueryException {
 		final QueryState state = checkComputed(classExpression);
 		return state.node;
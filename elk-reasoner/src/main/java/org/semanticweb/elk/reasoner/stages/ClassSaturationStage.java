@@ -24,6 +24,7 @@ package org.semanticweb.elk.reasoner.stages;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
 import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturation;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextStatistics;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
@@ -86,6 +87,15 @@ public class ClassSaturationStage extends AbstractReasonerStage {
 			return false;		
 		reasoner.ruleAndConclusionStats.add(computation_
 				.getRuleAndConclusionStatistics());
+		if (reasoner.compactSubsumerSets && LOGGER_.isDebugEnabled()) {
+			// the memory is only reported with debug logging; otherwise
+			// visiting all contexts is not worth it
+			ContextStatistics contextStatistics = reasoner.ruleAndConclusionStats
+					.getContextStatistics();
+			for (Context context : reasoner.saturationState.getContexts()) {
+				contextStatistics.countSubsumerMemory(context);
+			}
+		}
 		this.computation_ = null;
 		return true;
 	}
@@ -25,6 +25,9 @@ import java.util.Collection;
 
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturation;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
 import org.semanticweb.elk.reasoner.taxonomy.ClassTaxonomyComputation;
 import org.semanticweb.elk.util.collections.Operations;
 
@@ -42,6 +45,14 @@ public class ClassTaxonomyComputationStage extends AbstractReasonerStage {
 
 	protected ClassTaxonomyComputation computation_ = null;
 
+	/**
+	 * saturates the classes before the taxonomy is computed if
+	 * {@link AbstractReasonerState#saturatedTransitiveReduction} is set, so
+	 * that their direct super-classes can be computed from the saturated
+	 * contexts; {@code null} if not needed or already done
+	 */
+	private ClassExpressionSaturation<IndexedClass> saturation_ = null;
+
 	public ClassTaxonomyComputationStage(AbstractReasonerState reasoner,
 			AbstractReasonerStage... preStages) {
 		super(reasoner, preStages);
@@ -60,17 +71,34 @@ public class ClassTaxonomyComputationStage extends AbstractReasonerStage {
 		final Collection<IndexedClass> toAdd = reasoner.classTaxonomyState
 				.getToAdd();
 
+		if (reasoner.saturatedTransitiveReduction) {
+			this.saturation_ = new ClassExpressionSaturation<IndexedClass>(
+					toAdd, reasoner.getProcessExecutor(), workerNo,
+					reasoner.getProgressMonitor(),
+					new RuleApplicationAdditionFactory<RuleApplicationInput>(
+							reasoner.getInterrupter(),
+							reasoner.saturationState));
+		}
+
 		this.computation_ = new ClassTaxonomyComputation(
 				Operations.split(toAdd, 64), reasoner.getInterrupter(),
 				reasoner.getProcessExecutor(), workerNo,
 				reasoner.getProgressMonitor(), reasoner.saturationState,
-				reasoner.classTaxonomyState.getTaxonomy());
+				reasoner.classTaxonomyState.getTaxonomy(),
+				reasoner.saturatedTransitiveReduction);
 
 		return true;
 	}
 
 	@Override
 	public void executeStage() throws ElkInterruptedException {
+		if (saturation_ != null) {
+			saturation_.process();
+			checkInterrupt();
+			reasoner.ruleAndConclusionStats
+					.add(saturation_.getRuleAndConclusionStatistics());
+			saturation_ = null;
+		}
 		computation_.process();
 	}
 
@@ -91,11 +119,14 @@ public class ClassTaxonomyComputationStage extends AbstractReasonerStage {
 		reasoner.ruleAndConclusionStats
 				.add(computation_.getRuleAndConclusionStatistics());
 		this.computation_ = null;
+		this.saturation_ = null;
 		return true;
 	}
 
 	@Override
 	public void printInfo() {
+		if (saturation_ != null)
+			saturation_.printStatistics();
 		if (computation_ != null)
 			computation_.printStatistics();
 	}
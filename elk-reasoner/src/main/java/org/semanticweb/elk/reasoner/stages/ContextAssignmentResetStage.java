@@ -69,6 +69,8 @@ class ContextAssignmentResetStage extends AbstractReasonerStage {
 		SaturationStateWriter<?> writer = reasoner.saturationState
 				.getContextModifyingWriter();
 		writer.resetContexts();
+		// no context refers to the removed roots anymore
+		reasoner.ontologyIndex.releaseRemovedContextRoots();
 	}
 
 	@Override
@@ -58,10 +58,13 @@ import org.semanticweb.elk.reasoner.query.UnsupportedQueryTypeEntailmentQueryRes
 import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.SaturationConclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.ContextWeigher;
 import org.semanticweb.elk.util.collections.ArrayHashMap;
 import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.collections.Condition;
 import org.semanticweb.elk.util.collections.Evictor;
+import org.semanticweb.elk.util.collections.Evictors;
+import org.semanticweb.elk.util.collections.Weigher;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
 import org.slf4j.Logger;
@@ -238,6 +241,24 @@ public class EntailmentQueryState implements EntailmentQueryLoader.Factory {
 		LOGGER_.info("{} = {}", ReasonerConfiguration.ENTAILMENT_QUERY_EVICTOR,
 				builder);
 		this.queriedEvictor_ = ((Evictor.Builder) builder).build();
+		Evictors.setWeigher(queriedEvictor_, new Weigher<QueryState>() {
+
+			@Override
+			public int weigh(final QueryState state) {
+				if (state.indexed == null) {
+					return ContextWeigher.CONTEXT_OVERHEAD;
+				}
+				// else
+				long weight = 0;
+				for (final IndexedContextRoot root : state.indexed
+						.getPositivelyIndexed()) {
+					weight += ContextWeigher.INSTANCE
+							.weigh(saturationState_.getContext(root));
+				}
+				return (int) Math.min(weight, Integer.MAX_VALUE);
+			}
+
+		});
 	}
 
 	/**
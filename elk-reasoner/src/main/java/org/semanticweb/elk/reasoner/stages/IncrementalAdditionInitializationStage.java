@@ -149,6 +149,8 @@ public class IncrementalAdditionInitializationStage
 		changedRulesByCE = diffIndex.getAddedContextRulesByClassExpressions();
 		changedDefinitions = diffIndex.getAddedDefinitions();
 		changedDefinitionReasons = diffIndex.getAddedDefinitionReasons();
+		// summarized individuals with changed rules should be regrouped
+		reasoner.instanceTaxonomyState.rulesChanged(changedRulesByCE.keySet());
 
 		if (changedInitRules != null || !changedRulesByCE.isEmpty()
 				|| !changedDefinitions.isEmpty()) {
@@ -75,6 +75,8 @@ public class IncrementalAdditionStage extends AbstractReasonerStage {
 				.getRuleAndConclusionStatistics());
 		// at this point we're done with unsaturated contexts
 		markAllContextsAsSaturated();
+		// no context to be processed refers to the removed roots anymore
+		reasoner.ontologyIndex.releaseRemovedContextRoots();
 		this.saturation_ = null;
 		return true;
 	}
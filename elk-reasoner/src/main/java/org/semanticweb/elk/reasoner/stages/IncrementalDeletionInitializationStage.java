@@ -74,6 +74,8 @@ public class IncrementalDeletionInitializationStage
 		changedRulesByCE = diffIndex.getRemovedContextRulesByClassExpressions();
 		changedDefinitions = diffIndex.getRemovedDefinitions();
 		changedDefinitionReasons = diffIndex.getRemovedDefinitionReasons();
+		// summarized individuals with changed rules should be regrouped
+		reasoner.instanceTaxonomyState.rulesChanged(changedRulesByCE.keySet());
 
 		if (changedInitRules != null || !changedRulesByCE.isEmpty()
 				|| !changedDefinitions.isEmpty()) {
@@ -0,0 +1,318 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.stages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.elk.ReferenceImpl;
+import org.semanticweb.elk.reasoner.incremental.AffectedPropertyChains;
+import org.semanticweb.elk.reasoner.incremental.IncrementalChangesInitialization;
+import org.semanticweb.elk.reasoner.incremental.IncrementalStages;
+import org.semanticweb.elk.reasoner.indexing.classes.DifferentialIndex;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturationNoInput;
+import org.semanticweb.elk.reasoner.saturation.ContextExistenceCheckingWriter;
+import org.semanticweb.elk.reasoner.saturation.ContextModificationListener;
+import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionDeletionVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionOccurrenceCheckingVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionTracingContextUnsaturationVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RuleApplicationClassConclusionVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.SaturationConclusionBaseFactory;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.BackwardLink;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassConclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.ForwardLink;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubContextInitialization;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.SubContextPremises;
+import org.semanticweb.elk.reasoner.saturation.properties.SaturatedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.rules.RuleVisitor;
+import org.semanticweb.elk.reasoner.saturation.rules.backwardlinks.BackwardLinkChainFromBackwardLinkRule;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationDeletionFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
+import org.semanticweb.elk.util.collections.Multimap;
+import org.semanticweb.elk.util.collections.Operations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reverts inferences that use the {@link SaturatedPropertyChain}s of
+ * {@link IndexedPropertyChain}s affected by added or removed told property
+ * inclusions. The {@link BackwardLink}s, {@link ForwardLink}s, and
+ * {@link SubContextInitialization}s over such {@link IndexedPropertyChain}s
+ * are deleted together with all conclusions derived from them, using the
+ * {@link SaturatedPropertyChain}s computed before the changes. The
+ * {@link Context}s in which the deleted conclusions were produced are marked
+ * as not saturated, so that the conclusions that still hold are re-derived by
+ * {@link IncrementalOverdeletionPruningStage} with the recomputed
+ * {@link SaturatedPropertyChain}s. This stage should be executed before
+ * {@link PropertyInitializationStage}; it does nothing if the reasoner is not
+ * in the incremental mode or no property inclusions have changed.
+ * <p>
+ * Since the removed class axioms are already removed from the main index, the
+ * conclusions produced using them would not be deleted together with the
+ * links. Therefore, before deleting the links, the stage completes the
+ * saturation that may have been interrupted before the changes, and applies
+ * the removed rules in the same way as
+ * {@link IncrementalDeletionInitializationStage}, which later applies them
+ * once again without effect.
+ * 
+ * @see AffectedPropertyChains
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+class IncrementalPropertyHierarchyDeletionStage extends AbstractReasonerStage {
+
+	// logger for this class
+	private static final Logger LOGGER_ = LoggerFactory
+			.getLogger(IncrementalPropertyHierarchyDeletionStage.class);
+
+	/**
+	 * completes the saturation that is not finished before the changes
+	 */
+	private ClassExpressionSaturationNoInput completion_ = null;
+
+	/**
+	 * applies the removed rules to the {@link Context}s
+	 */
+	private IncrementalChangesInitialization initialization_ = null;
+
+	/**
+	 * the {@link IndexedPropertyChain}s whose links should be deleted
+	 */
+	private AffectedPropertyChains affectedChains_ = null;
+
+	/**
+	 * the {@link Context}s for which the links are not yet deleted
+	 */
+	private Iterator<? extends Context> todo_ = null;
+
+	/**
+	 * the statistics of the rules applied to the deleted links
+	 */
+	private SaturationStatistics seedStatistics_ = null;
+
+	/**
+	 * deletes the conclusions derived from the deleted links
+	 */
+	private ClassExpressionSaturationNoInput desaturation_ = null;
+
+	public IncrementalPropertyHierarchyDeletionStage(
+			AbstractReasonerState reasoner,
+			AbstractReasonerStage... preStages) {
+		super(reasoner, preStages);
+	}
+
+	@Override
+	public String getName() {
+		return IncrementalStages.PROPERTY_DELETION.toString();
+	}
+
+	@Override
+	public boolean preExecute() {
+		if (!super.preExecute())
+			return false;
+		DifferentialIndex index = reasoner.ontologyIndex;
+		if (!index.isIncrementalMode() || !index.hasPropertyHierarchyChanges())
+			return true;
+		// else
+		affectedChains_ = new AffectedPropertyChains(index);
+		LOGGER_.trace("{}: affected property chains",
+				affectedChains_.getChains());
+		completion_ = new ClassExpressionSaturationNoInput(
+				reasoner.getProcessExecutor(), workerNo,
+				new RuleApplicationAdditionFactory<RuleApplicationInput>(
+						reasoner.getInterrupter(), reasoner.saturationState),
+				ContextModificationListener.DUMMY);
+		seedStatistics_ = new SaturationStatistics();
+		Collection<ArrayList<Context>> inputs = Collections.emptyList();
+		if (index.getRemovedContextInitRules() != null
+				|| !index.getRemovedContextRulesByClassExpressions().isEmpty()
+				|| !index.getRemovedDefinitions().isEmpty()) {
+			inputs = Operations.split(reasoner.saturationState.getContexts(),
+					8 * workerNo);
+		}
+		initialization_ = new IncrementalChangesInitialization(inputs,
+				reasoner.getInterrupter(), index.getRemovedContextInitRules(),
+				index.getRemovedContextRulesByClassExpressions(),
+				index.getRemovedDefinitions(),
+				index.getRemovedDefinitionReasons(), reasoner.saturationState,
+				reasoner.getProcessExecutor(), seedStatistics_, workerNo,
+				reasoner.getProgressMonitor());
+		todo_ = reasoner.saturationState.getContexts().iterator();
+		desaturation_ = new ClassExpressionSaturationNoInput(
+				reasoner.getProcessExecutor(), workerNo,
+				new RuleApplicationDeletionFactory(reasoner.getInterrupter(),
+						reasoner.saturationState),
+				ContextModificationListener.DUMMY);
+		return true;
+	}
+
+	@Override
+	public void executeStage() throws ElkInterruptedException {
+		if (desaturation_ == null)
+			return;
+		// else
+		if (completion_ != null) {
+			completion_.process();
+			checkInterrupt();
+			reasoner.ruleAndConclusionStats
+					.add(completion_.getRuleAndConclusionStatistics());
+			completion_ = null;
+		}
+		if (initialization_ != null) {
+			initialization_.process();
+			checkInterrupt();
+			initialization_ = null;
+		}
+		SaturationStateWriter<Context> writer = new ContextExistenceCheckingWriter<Context>(
+				reasoner.saturationState.getContextModifyingWriter(),
+				reasoner.saturationState);
+		RuleVisitor<?> ruleVisitor = SaturationUtils
+				.getStatsAwareRuleVisitor(seedStatistics_.getRuleStatistics());
+		ReferenceImpl<Context> contextRef = new ReferenceImpl<Context>();
+		ClassConclusion.Visitor<Boolean> deletionVisitor = getDeletionVisitor(
+				contextRef, ruleVisitor, writer);
+		List<ClassConclusion> links = new ArrayList<ClassConclusion>();
+		while (todo_.hasNext()) {
+			checkInterrupt();
+			Context context = todo_.next();
+			collectAffectedLinks(context, links);
+			if (links.isEmpty())
+				continue;
+			// else
+			contextRef.set(context);
+			for (ClassConclusion link : links) {
+				LOGGER_.trace("{}: deleting {}", context, link);
+				link.accept(deletionVisitor);
+			}
+			links.clear();
+		}
+		desaturation_.process();
+	}
+
+	@Override
+	public boolean postExecute() {
+		if (!super.postExecute())
+			return false;
+		if (desaturation_ != null) {
+			reasoner.ruleAndConclusionStats.add(seedStatistics_);
+			reasoner.ruleAndConclusionStats
+					.add(desaturation_.getRuleAndConclusionStatistics());
+			if (LOGGER_.isTraceEnabled()) {
+				LOGGER_.trace("Number of modified contexts " + reasoner.saturationState
+						.getNotSaturatedContexts().size());
+			}
+		}
+		reasoner.ontologyIndex.initPropertyHierarchyChanges();
+		this.completion_ = null;
+		this.initialization_ = null;
+		this.affectedChains_ = null;
+		this.todo_ = null;
+		this.seedStatistics_ = null;
+		this.desaturation_ = null;
+		return true;
+	}
+
+	@Override
+	public void printInfo() {
+		if (desaturation_ != null)
+			desaturation_.printStatistics();
+	}
+
+	/**
+	 * @return the {@link ClassConclusion.Visitor} that deletes the visited
+	 *         {@link ClassConclusion}s from the referenced {@link Context} in
+	 *         the same way as {@link RuleApplicationDeletionFactory}
+	 */
+	@SuppressWarnings("unchecked")
+	private ClassConclusion.Visitor<Boolean> getDeletionVisitor(
+			ReferenceImpl<Context> contextRef, RuleVisitor<?> ruleVisitor,
+			SaturationStateWriter<Context> writer) {
+		return SaturationUtils.compose(
+				// check if conclusion occurs in the context and proceed
+				new ClassConclusionOccurrenceCheckingVisitor(contextRef),
+				// apply rules
+				new RuleApplicationClassConclusionVisitor(contextRef,
+						reasoner.ontologyIndex.getContextInitRuleHead(),
+						ruleVisitor, writer),
+				// after processing, delete the conclusion
+				new ClassConclusionDeletionVisitor(contextRef),
+				// and mark the source context as non-saturated
+				new ClassConclusionTracingContextUnsaturationVisitor(writer));
+	}
+
+	/**
+	 * Adds to the given {@link List} the links over the affected
+	 * {@link IndexedPropertyChain}s stored in the given {@link Context}
+	 * 
+	 * @param context
+	 * @param links
+	 */
+	private void collectAffectedLinks(Context context,
+			List<ClassConclusion> links) {
+		SaturationConclusionBaseFactory factory = new SaturationConclusionBaseFactory();
+		IndexedContextRoot root = context.getRoot();
+		for (Map.Entry<IndexedObjectProperty, ? extends SubContextPremises> entry : context
+				.getSubContextPremisesByObjectProperty().entrySet()) {
+			IndexedObjectProperty relation = entry.getKey();
+			if (!affectedChains_.contains(relation))
+				continue;
+			// else
+			SubContextPremises subPremises = entry.getValue();
+			for (IndexedContextRoot source : subPremises.getLinkedRoots()) {
+				links.add(factory.getBackwardLink(root, relation, source));
+			}
+			if (subPremises.isInitialized()) {
+				links.add(factory.getSubContextInitialization(root, relation));
+			}
+		}
+		for (IndexedObjectProperty relation : context
+				.getLocalReflexiveObjectProperties()) {
+			if (affectedChains_.contains(relation)) {
+				links.add(factory.getBackwardLink(root, relation, root));
+			}
+		}
+		Multimap<IndexedPropertyChain, IndexedContextRoot> forwardLinks = BackwardLinkChainFromBackwardLinkRule
+				.getForwardLinksFor(context);
+		for (IndexedPropertyChain chain : forwardLinks.keySet()) {
+			if (!affectedChains_.contains(chain))
+				continue;
+			// else
+			for (IndexedContextRoot target : forwardLinks.get(chain)) {
+				links.add(factory.getForwardLink(root, chain, target));
+			}
+		}
+	}
+
+}
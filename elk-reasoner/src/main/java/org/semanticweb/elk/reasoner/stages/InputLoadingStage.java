@@ -34,9 +34,11 @@ import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
 import org.semanticweb.elk.owl.visitors.ElkAxiomVisitor;
 import org.semanticweb.elk.owl.visitors.ElkClassExpressionProcessor;
 import org.semanticweb.elk.reasoner.entailments.model.Entailment;
+import org.semanticweb.elk.reasoner.incremental.AffectedPropertyChains;
 import org.semanticweb.elk.reasoner.incremental.AxiomLoadingListener;
 import org.semanticweb.elk.reasoner.indexing.classes.ChangeIndexingProcessor;
 import org.semanticweb.elk.reasoner.indexing.classes.ClassQueryIndexingProcessor;
+import org.semanticweb.elk.reasoner.indexing.classes.ConcurrentChangeIndexer;
 import org.semanticweb.elk.reasoner.indexing.classes.NonIncrementalElkAxiomVisitor;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
@@ -88,6 +90,13 @@ public class InputLoadingStage extends AbstractReasonerStage {
 	 */
 	private ElkAxiomProcessor axiomInsertionProcessor_, axiomDeletionProcessor_;
 
+	/**
+	 * converts the loaded axioms using several workers if
+	 * {@link AbstractReasonerState#concurrentIndexing} is set, otherwise
+	 * {@code null}
+	 */
+	private ConcurrentChangeIndexer changeIndexer_;
+
 	/**
 	 * the {@link ElkClassExpressionProcessor}s using which the class queries
 	 * are inserted and deleted
@@ -133,10 +142,20 @@ public class InputLoadingStage extends AbstractReasonerStage {
 
 		if (loader_ != null && !loader_.isLoadingFinished()) {
 
-			ElkAxiomConverter axiomInserter = new ElkAxiomConverterImpl(
-					elkFactory, ontologyIndex_, 1);
-			ElkAxiomConverter axiomDeleter = new ElkAxiomConverterImpl(
-					elkFactory, ontologyIndex_, -1);
+			ElkAxiomConverter axiomInserter, axiomDeleter;
+			if (reasoner.concurrentIndexing) {
+				changeIndexer_ = new ConcurrentChangeIndexer(elkFactory,
+						ontologyIndex_, reasoner.getProcessExecutor(),
+						reasoner.getNumberOfWorkers());
+				axiomInserter = changeIndexer_.getConverter();
+				axiomDeleter = changeIndexer_.getConverter();
+			} else {
+				changeIndexer_ = null;
+				axiomInserter = new ElkAxiomConverterImpl(elkFactory,
+						ontologyIndex_, 1);
+				axiomDeleter = new ElkAxiomConverterImpl(elkFactory,
+						ontologyIndex_, -1);
+			}
 
 			/*
 			 * wrapping both the inserter and the deleter to receive
@@ -184,6 +203,22 @@ public class InputLoadingStage extends AbstractReasonerStage {
 					reasoner.occurrencesInStatedAxiomsStore
 							.getPostDeletionVisitor());
 
+			if (changeIndexer_ != null) {
+				// the changes are applied when the batch is flushed
+				this.axiomInsertionProcessor_ = changeIndexer_
+						.getInsertionProcessor(axiomInsertionProcessor_);
+				this.axiomDeletionProcessor_ = changeIndexer_
+						.getDeletionProcessor(axiomDeletionProcessor_);
+			}
+
+			if (reasoner.ontologyFingerprint != null) {
+				// keeping track of the loaded axioms for snapshots
+				this.axiomInsertionProcessor_ = reasoner.ontologyFingerprint
+						.getInsertionProcessor(axiomInsertionProcessor_);
+				this.axiomDeletionProcessor_ = reasoner.ontologyFingerprint
+						.getDeletionProcessor(axiomDeletionProcessor_);
+			}
+
 		}
 
 		if (classQueryLoader_ != null
@@ -222,7 +257,14 @@ public class InputLoadingStage extends AbstractReasonerStage {
 					.addOccurrenceIndexingListener(
 							reasoner.occurrencesInStatedAxiomsStore);
 			try {
-				loader_.load(axiomInsertionProcessor_, axiomDeletionProcessor_);
+				try {
+					loader_.load(axiomInsertionProcessor_,
+							axiomDeletionProcessor_);
+				} finally {
+					if (changeIndexer_ != null) {
+						changeIndexer_.flush();
+					}
+				}
 			} finally {
 				if (registered) {
 					ontologyIndex_.removeOccurrenceIndexingListener(
@@ -282,6 +324,23 @@ public class InputLoadingStage extends AbstractReasonerStage {
 			throw new ElkRuntimeException(
 					"Entailment query loading not finished!");
 		}
+		if (reasoner.ontologyIndex.hasPropertyHierarchyChanges()) {
+			if (!reasoner.isIncrementalMode()) {
+				reasoner.stageManager.propertyInitializationStage
+						.invalidateRecursive();
+				reasoner.ontologyIndex.initPropertyHierarchyChanges();
+			} else if (new AffectedPropertyChains(reasoner.ontologyIndex)
+					.hasRanges()) {
+				LOGGER_.debug(
+						"changes of property inclusions affect ranges, not supported in incremental mode");
+				reasoner.stageManager.propertyInitializationStage
+						.invalidateRecursive();
+				reasoner.setNonIncrementalMode();
+			} else {
+				reasoner.stageManager.incrementalPropertyHierarchyDeletionStage
+						.invalidateRecursive();
+			}
+		}
 		this.firstLoad_ = false;
 		this.loader_ = null;
 		this.classQueryLoader_ = null;
@@ -60,14 +60,19 @@ public class InstanceTaxonomyComputationStage extends AbstractReasonerStage {
 		if (!super.preExecute())
 			return false;
 
-		final Collection<IndexedIndividual> toAdd = reasoner.instanceTaxonomyState
+		Collection<IndexedIndividual> toAdd = reasoner.instanceTaxonomyState
 				.getToAdd();
+		if (reasoner.realizationSummarization) {
+			// realize only the representatives
+			toAdd = reasoner.instanceTaxonomyState.summarize(toAdd);
+		}
 
 		this.computation_ = new InstanceTaxonomyComputation(toAdd,
 				reasoner.getInterrupter(), reasoner.getProcessExecutor(),
 				workerNo, reasoner.getProgressMonitor(),
 				reasoner.saturationState,
-				reasoner.instanceTaxonomyState.getTaxonomy());
+				reasoner.instanceTaxonomyState.getTaxonomy(),
+				reasoner.instanceTaxonomyState.getSummary());
 
 		return true;
 	}
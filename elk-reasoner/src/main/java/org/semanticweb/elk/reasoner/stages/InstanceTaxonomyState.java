@@ -34,6 +34,7 @@ import org.semanticweb.elk.reasoner.indexing.classes.DifferentialIndex;
 import org.semanticweb.elk.reasoner.indexing.classes.OntologyIndexDummyChangeListener;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverter;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedIndividual;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpression;
@@ -45,6 +46,7 @@ import org.semanticweb.elk.reasoner.taxonomy.ConcurrentInstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.DummyInstanceTaxonomyListener;
 import org.semanticweb.elk.reasoner.taxonomy.DummyNodeStoreListener;
 import org.semanticweb.elk.reasoner.taxonomy.ElkIndividualKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.IndividualSummary;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
@@ -84,6 +86,12 @@ public class InstanceTaxonomyState {
 	 */
 	private final Queue<IndexedIndividual> toRemove_ = new ConcurrentLinkedQueue<IndexedIndividual>();
 
+	/**
+	 * The groups of individuals in taxonomy whose types were computed from
+	 * the types of their representatives; it is modified only by the stages
+	 */
+	private final IndividualSummary summary_ = new IndividualSummary();
+
 	private final OntologyIndex ontologyIndex_;
 
 	private final SaturationState<?> saturationState_;
@@ -110,6 +118,7 @@ public class InstanceTaxonomyState {
 			@Override
 			public void individualRemoval(final IndexedIndividual ind) {
 				toRemove_.add(ind);
+				toRemove_.addAll(summary_.remove(ind));
 			}
 
 		});
@@ -123,6 +132,8 @@ public class InstanceTaxonomyState {
 						if (root instanceof IndexedIndividual) {
 							final IndexedIndividual ind = (IndexedIndividual) root;
 							toRemove_.add(ind);
+							// the types of the members may change too
+							toRemove_.addAll(summary_.getMembers(ind));
 						}
 					}
 
@@ -190,7 +201,8 @@ public class InstanceTaxonomyState {
 				continue;
 			}
 			// else
-			final Context context = saturationState_.getContext(ind);
+			final Context context = saturationState_
+					.getContext(summary_.getRepresentative(ind));
 			if (context == null || !context.isInitialized()
 					|| !context.isSaturated()) {
 				// it is not saturated.
@@ -294,6 +306,59 @@ public class InstanceTaxonomyState {
 		return Operations.getCollection(toRemove_, size);
 	}
 
+	/**
+	 * Groups the given individuals that should be added to the taxonomy so
+	 * that it is sufficient to compute the types of one representative per
+	 * group.
+	 * 
+	 * @param toAdd
+	 *            the individuals returned by {@link #getToAdd()}
+	 * @return the representatives of the groups
+	 * 
+	 * @see IndividualSummary#summarize(Iterable)
+	 */
+	Collection<IndexedIndividual> summarize(
+			final Collection<IndexedIndividual> toAdd) {
+		return summary_.summarize(toAdd);
+	}
+
+	/**
+	 * @return the groups of individuals whose types are computed from the
+	 *         types of their representatives
+	 */
+	IndividualSummary getSummary() {
+		return summary_;
+	}
+
+	/**
+	 * Notifies this {@link InstanceTaxonomyState} that the rules for the
+	 * given {@link IndexedClassExpression}s have changed. Individuals among
+	 * them may no longer share their types with the other individuals in their
+	 * groups, so the groups, including their representatives, are dissolved
+	 * and scheduled for removal from the taxonomy to be grouped and added
+	 * again. This is necessary also for the members that are not
+	 * representatives since they do not have saturated contexts whose changes
+	 * would trigger their removal.
+	 * 
+	 * @param changed
+	 */
+	void rulesChanged(
+			final Iterable<? extends IndexedClassExpression> changed) {
+		for (final IndexedClassExpression ice : changed) {
+			if (!(ice instanceof IndexedIndividual)) {
+				continue;
+			}
+			// else
+			final IndexedIndividual ind = (IndexedIndividual) ice;
+			// must be read before the group is dissolved
+			final IndexedIndividual representative = summary_
+					.getRepresentative(ind);
+			// the group of ind, which includes ind, is no longer summarized
+			toRemove_.add(representative);
+			toRemove_.addAll(summary_.remove(representative));
+		}
+	}
+
 	private void resetTaxonomy(
 			final UpdateableTaxonomy<ElkClass> classTaxonomy) {
 		LOGGER_.trace("Reset instance taxonomy");
@@ -308,6 +373,7 @@ public class InstanceTaxonomyState {
 		taxonomy_.addInstanceListener(taxonomyListener_);
 
 		// All individuals need to be added to the taxonomy
+		summary_.clear();
 		toRemove_.clear();
 		toAdd_.clear();
 		toAdd_.addAll(ontologyIndex_.getIndividuals());
@@ -0,0 +1,66 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.stages;
+
+import org.semanticweb.elk.exceptions.ElkException;
+
+/**
+ * A {@link ReasonerStageExecutor} that executes the stages using a given
+ * {@link AbstractStageExecutor} and notifies the given
+ * {@link ReasonerStageListener} about every executed stage. Reasoners created
+ * without this executor do not pay any cost for the notifications.
+ * 
+ * @see org.semanticweb.elk.reasoner.ReasonerFactory#createReasoner(org.semanticweb.elk.loading.AxiomLoader.Factory,
+ *      ReasonerStageListener,
+ *      org.semanticweb.elk.reasoner.config.ReasonerConfiguration)
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ */
+public class ListeningStageExecutor extends AbstractStageExecutor {
+
+	private final AbstractStageExecutor executor_;
+
+	private final ReasonerStageListener listener_;
+
+	public ListeningStageExecutor(final AbstractStageExecutor executor,
+			final ReasonerStageListener listener) {
+		this.executor_ = executor;
+		this.listener_ = listener;
+	}
+
+	@Override
+	public void execute(ReasonerStage stage) throws ElkException {
+		listener_.stageStarted(stage);
+		boolean completed = false;
+		final long start = System.nanoTime();
+		try {
+			executor_.execute(stage);
+			completed = stage.isCompleted();
+		} finally {
+			listener_.stageFinished(stage, System.nanoTime() - start,
+					completed);
+		}
+	}
+
+}
@@ -23,6 +23,8 @@
 package org.semanticweb.elk.reasoner.stages;
 
 import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
 import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
 
 /**
@@ -88,4 +90,13 @@ public interface ReasonerStage extends InterruptMonitor {
 	 */
 	public void printInfo();
 
+	/**
+	 * @return the statistics about rule applications, produced conclusions,
+	 *         and processed contexts accumulated by the reasoner over the
+	 *         executed stages, including this stage once it is executed;
+	 *         counts of rules and conclusions are collected only if enabled
+	 *         in {@link SaturationUtils}
+	 */
+	public SaturationStatistics getRuleAndConclusionStatistics();
+
 }
@@ -0,0 +1,65 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.stages;
+
+/**
+ * Instances of this interface are notified by the
+ * {@link ListeningStageExecutor} about the execution of {@link ReasonerStage}s.
+ * This can be used for exporting the timings and the statistics of the stages
+ * to a metrics registry without enabling debug logging. The methods are called
+ * by the thread that executes the stages, before and after every stage
+ * execution; they should return quickly.
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ */
+public interface ReasonerStageListener {
+
+	/**
+	 * Called before the given {@link ReasonerStage} is executed; the stages
+	 * on which this stage depends are already completed
+	 * 
+	 * @param stage
+	 *            the {@link ReasonerStage} to be executed
+	 */
+	void stageStarted(ReasonerStage stage);
+
+	/**
+	 * Called after the given {@link ReasonerStage} is executed or its
+	 * execution has failed
+	 * 
+	 * @param stage
+	 *            the executed {@link ReasonerStage}; the statistics of this
+	 *            stage can be obtained using
+	 *            {@link ReasonerStage#getRuleAndConclusionStatistics()}
+	 * @param elapsedNanos
+	 *            the time in nanoseconds spent on the execution of the stage,
+	 *            including its initialization and clean-up
+	 * @param completed
+	 *            {@code true} if the stage has been completed and
+	 *            {@code false} if it was interrupted or failed
+	 */
+	void stageFinished(ReasonerStage stage, long elapsedNanos,
+			boolean completed);
+
+}
@@ -30,7 +30,9 @@ package org.semanticweb.elk.reasoner.stages;
  */
 public class ReasonerStageManager {
 
-	final AbstractReasonerStage inputLoadingStage, propertyInitializationStage,
+	final AbstractReasonerStage inputLoadingStage,
+			incrementalPropertyHierarchyDeletionStage,
+			propertyInitializationStage,
 			propertyHierarchyCompositionComputationStage,
 			objectPropertyTaxonomyComputationStage, contextInitializationStage,
 			consistencyCheckingStage, classSaturationStage,
@@ -52,9 +54,12 @@ public class ReasonerStageManager {
 
 		/* Property stages */
 
-		this.propertyInitializationStage = new PropertyInitializationStage(
+		this.incrementalPropertyHierarchyDeletionStage = new IncrementalPropertyHierarchyDeletionStage(
 				reasoner);
 
+		this.propertyInitializationStage = new PropertyInitializationStage(
+				reasoner, incrementalPropertyHierarchyDeletionStage);
+
 		this.propertyHierarchyCompositionComputationStage = new PropertyHierarchyCompositionComputationStage(
 				reasoner, propertyInitializationStage);
 
@@ -56,6 +56,7 @@ public class TracingStage extends AbstractReasonerStage {
 		if (!super.preExecute()) {
 			return false;
 		}
+		reasoner.getTraceState().resumeTracing();
 		computation_ = new TracingComputation(reasoner.getTraceState(),
 				reasoner.getInterrupter(), reasoner.getProcessExecutor(),
 				reasoner.getNumberOfWorkers(), reasoner.saturationState);
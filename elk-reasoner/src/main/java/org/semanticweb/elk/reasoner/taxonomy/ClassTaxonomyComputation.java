@@ -52,12 +52,24 @@ public class ClassTaxonomyComputation
 			final InterruptMonitor interrupter,
 			ConcurrentExecutor executor, int maxWorkers,
 			ProgressMonitor progressMonitor, SaturationState<?> saturationState,
-			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
+			UpdateableTaxonomy<ElkClass> partialTaxonomy,
+			boolean reduceSaturated) {
 		super(inputs, new ClassTaxonomyComputationFactory(
-				interrupter, saturationState, maxWorkers, partialTaxonomy),
+				interrupter, saturationState, maxWorkers, partialTaxonomy,
+				reduceSaturated),
 				executor, maxWorkers, progressMonitor);
 	}
 
+	public ClassTaxonomyComputation(
+			Collection<? extends Collection<IndexedClass>> inputs,
+			final InterruptMonitor interrupter,
+			ConcurrentExecutor executor, int maxWorkers,
+			ProgressMonitor progressMonitor, SaturationState<?> saturationState,
+			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
+		this(inputs, interrupter, executor, maxWorkers, progressMonitor,
+				saturationState, partialTaxonomy, false);
+	}
+
 	/**
 	 * @return the taxonomy computed by this computation; the method
 	 *         {@link #process()} should be called first to compute the taxonomy
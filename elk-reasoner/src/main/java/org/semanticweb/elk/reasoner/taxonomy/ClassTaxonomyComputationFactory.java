@@ -27,6 +27,7 @@ import java.util.Collection;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.predefined.PredefinedElkClassFactory;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.reduction.SaturatedTransitiveReductionFactory;
 import org.semanticweb.elk.reasoner.reduction.TransitiveReductionFactory;
 import org.semanticweb.elk.reasoner.reduction.TransitiveReductionJob;
 import org.semanticweb.elk.reasoner.reduction.TransitiveReductionListener;
@@ -72,6 +73,13 @@ public class ClassTaxonomyComputationFactory
 	 * construction
 	 */
 	private final TransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>> transitiveReductionShared_;
+	/**
+	 * The factory of transitive reduction engines used in the taxonomy
+	 * construction; either {@link #transitiveReductionShared_} or a
+	 * {@link SaturatedTransitiveReductionFactory} that uses it for classes
+	 * with not yet saturated contexts
+	 */
+	private final InputProcessorFactory<TransitiveReductionJob<IndexedClass>, ? extends InputProcessor<TransitiveReductionJob<IndexedClass>>> transitiveReductionFactory_;
 	/**
 	 * The objects creating or update the nodes from the result of the
 	 * transitive reduction
@@ -93,17 +101,47 @@ public class ClassTaxonomyComputationFactory
 	 * @param partialTaxonomy
 	 *            the (partially pre-computed) class taxonomy object to store
 	 *            results in
+	 * @param reduceSaturated
+	 *            if {@code true}, the direct super-classes of classes are
+	 *            computed using {@link SaturatedTransitiveReductionFactory}
+	 *            when their contexts are already saturated
 	 */
 	public ClassTaxonomyComputationFactory(final InterruptMonitor interrupter,
 			SaturationState<?> saturationState, int maxWorkers,
-			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
+			UpdateableTaxonomy<ElkClass> partialTaxonomy,
+			boolean reduceSaturated) {
 		this.taxonomy_ = partialTaxonomy;
+		final ThisTransitiveReductionListener listener = new ThisTransitiveReductionListener();
 		this.transitiveReductionShared_ = new TransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>>(
-				interrupter, saturationState, maxWorkers,
-				new ThisTransitiveReductionListener());
+				interrupter, saturationState, maxWorkers, listener);
+		this.transitiveReductionFactory_ = reduceSaturated
+				? new SaturatedTransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>>(
+						transitiveReductionShared_, saturationState, listener)
+				: transitiveReductionShared_;
 		this.outputProcessor_ = new TransitiveReductionOutputProcessor();
 	}
 
+	/**
+	 * Create a shared engine for the input ontology index and a partially
+	 * pre-computed taxonomy object, which computes the direct super-classes
+	 * using {@link TransitiveReductionFactory}.
+	 * 
+	 * @param interrupter
+	 *            the {@link InterruptMonitor} that is checked for interruptions
+	 * @param saturationState
+	 *            the saturation state of the reasoner
+	 * @param maxWorkers
+	 *            the maximum number of workers that can use this factory
+	 * @param partialTaxonomy
+	 *            the (partially pre-computed) class taxonomy object to store
+	 *            results in
+	 */
+	public ClassTaxonomyComputationFactory(final InterruptMonitor interrupter,
+			SaturationState<?> saturationState, int maxWorkers,
+			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
+		this(interrupter, saturationState, maxWorkers, partialTaxonomy, false);
+	}
+
 	/**
 	 * Create a new class taxonomy engine for the input ontology index.
 	 * 
@@ -204,12 +242,12 @@ public class ClassTaxonomyComputationFactory
 
 	@Override
 	public void finish() {
-		transitiveReductionShared_.finish();
+		transitiveReductionFactory_.finish();
 	}
 
 	@Override
 	public boolean isInterrupted() {
-		return transitiveReductionShared_.isInterrupted();
+		return transitiveReductionFactory_.isInterrupted();
 	}
 
 	/**
@@ -231,7 +269,7 @@ public class ClassTaxonomyComputationFactory
 		/**
 		 * The transitive reduction engine used in the taxonomy construction
 		 */
-		protected final TransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>>.Engine transitiveReductionEngine = transitiveReductionShared_
+		protected final InputProcessor<TransitiveReductionJob<IndexedClass>> transitiveReductionEngine = transitiveReductionFactory_
 				.getEngine();
 
 		// don't allow creating of engines directly; only through the factory
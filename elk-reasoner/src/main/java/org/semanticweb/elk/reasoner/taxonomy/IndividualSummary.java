@@ -0,0 +1,200 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedIndividual;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.LinkedSubsumerRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.SuperClassFromSubClassRule;
+
+/**
+ * Groups {@link IndexedIndividual}s that have the same types because they
+ * occur in the same way in the ontology. This is the case when the only rule
+ * assigned to the {@link IndexedIndividual} is the
+ * {@link SuperClassFromSubClassRule} and the sets of the told subsumers of this
+ * rule coincide, e.g., when all axioms about these individuals are
+ * {@code ClassAssertion}s and {@code ObjectPropertyAssertion}s with the same
+ * classes and the same property-object pairs. Only one representative of each
+ * group needs to be saturated to compute the types of all members of the
+ * group. {@link IndexedIndividual}s to which other rules are assigned, e.g.,
+ * because they occur in {@code DifferentIndividuals} or in the filler of a
+ * negative {@code ObjectHasValue}, always form their own groups.
+ * <p>
+ * The groups can be modified only by one thread; they can be read
+ * concurrently when they are not modified.
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+public class IndividualSummary {
+
+	/**
+	 * the representative for each summarized individual that is not a
+	 * representative
+	 */
+	private final Map<IndexedIndividual, IndexedIndividual> representatives_ = new HashMap<IndexedIndividual, IndexedIndividual>();
+
+	/**
+	 * the summarized individuals, other than the representative, for each
+	 * representative
+	 */
+	private final Map<IndexedIndividual, Set<IndexedIndividual>> members_ = new HashMap<IndexedIndividual, Set<IndexedIndividual>>();
+
+	/**
+	 * Groups the given {@link IndexedIndividual}s and chooses a representative
+	 * for each group. The individuals that were previously summarized by some
+	 * of the given {@link IndexedIndividual}s are grouped again as well.
+	 * 
+	 * @param individuals
+	 *            the {@link IndexedIndividual}s to be grouped
+	 * @return the representatives of the groups; every other grouped
+	 *         {@link IndexedIndividual} can be obtained using
+	 *         {@link #getMembers(IndexedIndividual)}
+	 */
+	public Collection<IndexedIndividual> summarize(
+			Iterable<? extends IndexedIndividual> individuals) {
+		Set<IndexedIndividual> todo = new HashSet<IndexedIndividual>();
+		for (IndexedIndividual ind : individuals) {
+			todo.add(ind);
+			// the old members must be regrouped too
+			todo.addAll(getMembers(ind));
+		}
+		for (IndexedIndividual ind : todo) {
+			remove(ind);
+		}
+		List<IndexedIndividual> result = new ArrayList<IndexedIndividual>();
+		Map<Set<IndexedClassExpression>, IndexedIndividual> groups = new HashMap<Set<IndexedClassExpression>, IndexedIndividual>();
+		for (IndexedIndividual ind : todo) {
+			Set<IndexedClassExpression> signature = getSignature(ind);
+			if (signature == null) {
+				result.add(ind);
+				continue;
+			}
+			// else
+			IndexedIndividual representative = groups.get(signature);
+			if (representative == null) {
+				groups.put(signature, ind);
+				result.add(ind);
+				continue;
+			}
+			// else
+			representatives_.put(ind, representative);
+			Set<IndexedIndividual> members = members_.get(representative);
+			if (members == null) {
+				members = new HashSet<IndexedIndividual>();
+				members_.put(representative, members);
+			}
+			members.add(ind);
+		}
+		return result;
+	}
+
+	/**
+	 * @param representative
+	 * @return the summarized {@link IndexedIndividual}s other than the given
+	 *         representative whose types are the types of the representative
+	 */
+	public Collection<IndexedIndividual> getMembers(
+			IndexedIndividual representative) {
+		Set<IndexedIndividual> result = members_.get(representative);
+		return result == null ? Collections.<IndexedIndividual> emptySet()
+				: result;
+	}
+
+	/**
+	 * @param ind
+	 * @return the {@link IndexedIndividual} whose context determines the types
+	 *         of the given {@link IndexedIndividual}, that is, its
+	 *         representative if it is summarized and the given
+	 *         {@link IndexedIndividual} otherwise
+	 */
+	public IndexedIndividual getRepresentative(IndexedIndividual ind) {
+		IndexedIndividual result = representatives_.get(ind);
+		return result == null ? ind : result;
+	}
+
+	/**
+	 * Removes the given {@link IndexedIndividual} from its group; if it is a
+	 * representative, the group is dissolved
+	 * 
+	 * @param ind
+	 * @return the {@link IndexedIndividual}s, other than the given one, that
+	 *         are no longer summarized as a result
+	 */
+	public Collection<IndexedIndividual> remove(IndexedIndividual ind) {
+		IndexedIndividual representative = representatives_.remove(ind);
+		if (representative != null) {
+			Set<IndexedIndividual> members = members_.get(representative);
+			members.remove(ind);
+			if (members.isEmpty()) {
+				members_.remove(representative);
+			}
+			return Collections.emptySet();
+		}
+		// else
+		Set<IndexedIndividual> members = members_.remove(ind);
+		if (members == null) {
+			return Collections.emptySet();
+		}
+		// else
+		for (IndexedIndividual member : members) {
+			representatives_.remove(member);
+		}
+		return members;
+	}
+
+	public void clear() {
+		representatives_.clear();
+		members_.clear();
+	}
+
+	/**
+	 * @param ind
+	 * @return the told subsumers of the given {@link IndexedIndividual} if
+	 *         they determine its types, or {@code null} if other rules are
+	 *         assigned to this {@link IndexedIndividual}
+	 */
+	@SuppressWarnings("deprecation")
+	static Set<IndexedClassExpression> getSignature(IndexedIndividual ind) {
+		LinkedSubsumerRule rule = ind.getCompositionRuleHead();
+		if (rule == null) {
+			return Collections.emptySet();
+		}
+		// else
+		if (!(rule instanceof SuperClassFromSubClassRule)
+				|| rule.next() != null) {
+			return null;
+		}
+		// else
+		return new HashSet<IndexedClassExpression>(
+				((SuperClassFromSubClassRule) rule).getToldSubsumers());
+	}
+
+}
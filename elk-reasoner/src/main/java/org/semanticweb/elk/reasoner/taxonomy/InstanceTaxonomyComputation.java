@@ -55,9 +55,11 @@ public class InstanceTaxonomyComputation
 			int maxWorkers,
 			ProgressMonitor progressMonitor,
 			SaturationState<?> saturationState,
-			UpdateableInstanceTaxonomy<ElkClass, ElkNamedIndividual> partialTaxonomy) {
+			UpdateableInstanceTaxonomy<ElkClass, ElkNamedIndividual> partialTaxonomy,
+			IndividualSummary summary) {
 		super(inputs, new InstanceTaxonomyComputationFactory(
-				interrupter, saturationState, maxWorkers, partialTaxonomy),
+				interrupter, saturationState, maxWorkers, partialTaxonomy,
+				summary),
 				executor, maxWorkers, progressMonitor);
 	}
 
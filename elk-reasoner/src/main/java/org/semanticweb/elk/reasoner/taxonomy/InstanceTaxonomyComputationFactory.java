@@ -75,6 +75,11 @@ public class InstanceTaxonomyComputationFactory
 	 * transitive reduction
 	 */
 	private final TransitiveReductionOutputProcessor outputProcessor_;
+	/**
+	 * The groups of individuals whose types are computed from the
+	 * representatives
+	 */
+	private final IndividualSummary summary_;
 
 	/**
 	 * Create a shared engine for the input ontology index and a partially
@@ -89,12 +94,17 @@ public class InstanceTaxonomyComputationFactory
 	 * @param partialTaxonomy
 	 *            the (partially pre-computed) class taxonomy object to store
 	 *            results in
+	 * @param summary
+	 *            the {@link IndividualSummary} whose members obtain the types
+	 *            computed for their representatives
 	 */
 	public InstanceTaxonomyComputationFactory(
 			final InterruptMonitor interrupter,
 			SaturationState<?> saturationState, int maxWorkers,
-			UpdateableInstanceTaxonomy<ElkClass, ElkNamedIndividual> partialTaxonomy) {
+			UpdateableInstanceTaxonomy<ElkClass, ElkNamedIndividual> partialTaxonomy,
+			IndividualSummary summary) {
 		this.taxonomy_ = partialTaxonomy;
+		this.summary_ = summary;
 		this.transitiveReductionShared_ = new TransitiveReductionFactory<IndexedIndividual, TransitiveReductionJob<IndexedIndividual>>(
 				interrupter, saturationState, maxWorkers,
 				new ThisTransitiveReductionListener());
@@ -134,10 +144,21 @@ public class InstanceTaxonomyComputationFactory
 		public void visit(
 				TransitiveReductionOutputEquivalentDirect<IndexedIndividual> output) {
 
+			setDirectTypes(output.getRoot(), output);
+			for (IndexedIndividual member : summary_
+					.getMembers(output.getRoot())) {
+				setDirectTypes(member, output);
+			}
+
+		}
+
+		private void setDirectTypes(IndexedIndividual individual,
+				TransitiveReductionOutputEquivalentDirect<IndexedIndividual> output) {
+
 			// only supports singleton individuals
 			final InstanceNode<ElkClass, ElkNamedIndividual> node = taxonomy_
 					.getCreateInstanceNode(Collections
-							.singleton(output.getRoot().getElkEntity()));
+							.singleton(individual.getElkEntity()));
 
 			taxonomy_.setCreateDirectTypes(node, output.getDirectSubsumers());
 
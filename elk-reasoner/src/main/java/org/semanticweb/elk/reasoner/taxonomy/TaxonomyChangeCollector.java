@@ -0,0 +1,256 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.NodeStore;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+
+/**
+ * Collects the {@link TaxonomyChanges} of an {@link InstanceTaxonomy} using
+ * the {@link NodeStore.Listener}, {@link Taxonomy.Listener}, and
+ * {@link InstanceTaxonomy.Listener} registered with this taxonomy. The
+ * changes can be reported by concurrent workers modifying the taxonomy; the
+ * collected changes are retrieved by {@link #poll()} when the taxonomy is not
+ * modified.
+ *
+ * @author "Yevgeny Kazakov"
+ *
+ * @param <T>
+ *            the type of members of the type nodes of the taxonomy
+ * @param <I>
+ *            the type of members of the instance nodes of the taxonomy
+ */
+public class TaxonomyChangeCollector<T extends ElkEntity, I extends ElkEntity> {
+
+	/**
+	 * the taxonomy with which the listeners are registered or {@code null}
+	 */
+	private InstanceTaxonomy<T, I> taxonomy_ = null;
+
+	/**
+	 * if {@code true}, the taxonomy was replaced since the last {@link #poll()}
+	 * and the changes are not collected
+	 */
+	private volatile boolean reset_ = false;
+
+	private Set<T> changedEquivalents_, changedDirectSuperNodes_,
+			changedDirectSubNodes_, changedDirectInstances_;
+
+	private Set<I> changedSameInstances_, changedDirectTypes_;
+
+	public TaxonomyChangeCollector() {
+		clear();
+	}
+
+	private void clear() {
+		changedEquivalents_ = newConcurrentSet();
+		changedDirectSuperNodes_ = newConcurrentSet();
+		changedDirectSubNodes_ = newConcurrentSet();
+		changedDirectInstances_ = newConcurrentSet();
+		changedSameInstances_ = newConcurrentSet();
+		changedDirectTypes_ = newConcurrentSet();
+	}
+
+	private static <E> Set<E> newConcurrentSet() {
+		return Collections.newSetFromMap(new ConcurrentHashMap<E, Boolean>());
+	}
+
+	/**
+	 * Starts collecting the changes of the given taxonomy instead of the
+	 * taxonomy for which the changes were collected before. The changes
+	 * collected for the previous taxonomy are discarded and the next
+	 * {@link #poll()} reports that the taxonomy was reset.
+	 *
+	 * @param taxonomy
+	 *            the taxonomy whose changes should be collected or
+	 *            {@code null} to stop collecting changes
+	 */
+	public void setTaxonomy(final InstanceTaxonomy<T, I> taxonomy) {
+		if (taxonomy_ == taxonomy) {
+			return;
+		}
+		// else
+		if (taxonomy_ != null) {
+			taxonomy_.removeListener(nodeStoreListener_);
+			taxonomy_.removeListener(taxonomyListener_);
+			taxonomy_.removeInstanceListener(instanceNodeStoreListener_);
+			taxonomy_.removeInstanceListener(instanceTaxonomyListener_);
+		}
+		taxonomy_ = taxonomy;
+		if (taxonomy_ != null) {
+			taxonomy_.addListener(nodeStoreListener_);
+			taxonomy_.addListener(taxonomyListener_);
+			taxonomy_.addInstanceListener(instanceNodeStoreListener_);
+			taxonomy_.addInstanceListener(instanceTaxonomyListener_);
+		}
+		reset();
+	}
+
+	/**
+	 * Marks all information about the taxonomy as outdated, so that the next
+	 * {@link #poll()} reports that the taxonomy was reset
+	 */
+	public void reset() {
+		reset_ = true;
+		clear();
+	}
+
+	/**
+	 * @return the changes collected since the previous call of this method;
+	 *         the collected changes are cleared
+	 */
+	public TaxonomyChanges<T, I> poll() {
+		final TaxonomyChanges<T, I> result = new TaxonomyChanges<T, I>(reset_,
+				changedEquivalents_, changedDirectSuperNodes_,
+				changedDirectSubNodes_, changedDirectInstances_,
+				changedSameInstances_, changedDirectTypes_);
+		reset_ = false;
+		clear();
+		return result;
+	}
+
+	private static <E> void addMembers(final Set<E> set,
+			final Node<E> node) {
+		for (final E member : node) {
+			set.add(member);
+		}
+	}
+
+	private final NodeStore.Listener<T> nodeStoreListener_ = new NodeStore.Listener<T>() {
+
+		@Override
+		public void memberForNodeAppeared(final T member, final Node<T> node) {
+			if (!reset_) {
+				changedEquivalents_.add(member);
+			}
+		}
+
+		@Override
+		public void memberForNodeDisappeared(final T member,
+				final Node<T> node) {
+			if (!reset_) {
+				changedEquivalents_.add(member);
+			}
+		}
+
+	};
+
+	private final Taxonomy.Listener<T> taxonomyListener_ = new Taxonomy.Listener<T>() {
+
+		@Override
+		public void directSuperNodesAppeared(final TaxonomyNode<T> subNode) {
+			if (!reset_) {
+				addMembers(changedDirectSuperNodes_, subNode);
+			}
+		}
+
+		@Override
+		public void directSuperNodesDisappeared(
+				final TaxonomyNode<T> subNode) {
+			if (!reset_) {
+				addMembers(changedDirectSuperNodes_, subNode);
+			}
+		}
+
+		@Override
+		public void directSubNodesAppeared(final TaxonomyNode<T> superNode) {
+			if (!reset_) {
+				addMembers(changedDirectSubNodes_, superNode);
+			}
+		}
+
+		@Override
+		public void directSubNodesDisappeared(
+				final TaxonomyNode<T> superNode) {
+			if (!reset_) {
+				addMembers(changedDirectSubNodes_, superNode);
+			}
+		}
+
+	};
+
+	private final NodeStore.Listener<I> instanceNodeStoreListener_ = new NodeStore.Listener<I>() {
+
+		@Override
+		public void memberForNodeAppeared(final I member, final Node<I> node) {
+			if (!reset_) {
+				changedSameInstances_.add(member);
+			}
+		}
+
+		@Override
+		public void memberForNodeDisappeared(final I member,
+				final Node<I> node) {
+			if (!reset_) {
+				changedSameInstances_.add(member);
+			}
+		}
+
+	};
+
+	private final InstanceTaxonomy.Listener<T, I> instanceTaxonomyListener_ = new InstanceTaxonomy.Listener<T, I>() {
+
+		@Override
+		public void directTypeNodesAppeared(
+				final InstanceNode<T, I> instanceNode) {
+			if (!reset_) {
+				addMembers(changedDirectTypes_, instanceNode);
+			}
+		}
+
+		@Override
+		public void directTypeNodesDisappeared(
+				final InstanceNode<T, I> instanceNode) {
+			if (!reset_) {
+				addMembers(changedDirectTypes_, instanceNode);
+			}
+		}
+
+		@Override
+		public void directInstanceNodesAppeared(
+				final TypeNode<T, I> typeNode) {
+			if (!reset_) {
+				addMembers(changedDirectInstances_, typeNode);
+			}
+		}
+
+		@Override
+		public void directInstanceNodesDisappeared(
+				final TypeNode<T, I> typeNode) {
+			if (!reset_) {
+				addMembers(changedDirectInstances_, typeNode);
+			}
+		}
+
+	};
+
+}
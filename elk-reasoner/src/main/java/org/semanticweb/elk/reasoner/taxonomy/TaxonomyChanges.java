@@ -0,0 +1,193 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * The members of the nodes of an {@link InstanceTaxonomy} that were affected
+ * by the modifications of the taxonomy since the previous
+ * {@link TaxonomyChanges} were reported. A member is reported if its node
+ * appeared or disappeared, or the direct super-nodes, the direct sub-nodes,
+ * the direct type nodes, or the direct instance nodes of its node changed.
+ * The information about members that are not reported, that was obtained from
+ * the taxonomy before the modifications, remains valid; the information about
+ * the reported members needs to be obtained from the taxonomy again.
+ * <p>
+ * If the taxonomy was replaced by a new one, e.g., because it had to be
+ * computed from scratch, {@link #isReset()} returns {@code true} and no
+ * members are reported since all information should be considered outdated.
+ *
+ * @author "Yevgeny Kazakov"
+ *
+ * @param <T>
+ *            the type of members of the type nodes of the taxonomy
+ * @param <I>
+ *            the type of members of the instance nodes of the taxonomy
+ *
+ * @see TaxonomyChangeCollector
+ */
+public class TaxonomyChanges<T extends ElkEntity, I extends ElkEntity> {
+
+	private final boolean reset_;
+
+	private final Set<T> changedEquivalents_, changedDirectSuperNodes_,
+			changedDirectSubNodes_, changedDirectInstances_;
+
+	private final Set<I> changedSameInstances_, changedDirectTypes_;
+
+	TaxonomyChanges(final boolean reset, final Set<T> changedEquivalents,
+			final Set<T> changedDirectSuperNodes,
+			final Set<T> changedDirectSubNodes,
+			final Set<T> changedDirectInstances,
+			final Set<I> changedSameInstances,
+			final Set<I> changedDirectTypes) {
+		this.reset_ = reset;
+		this.changedEquivalents_ = Collections
+				.unmodifiableSet(changedEquivalents);
+		this.changedDirectSuperNodes_ = Collections
+				.unmodifiableSet(changedDirectSuperNodes);
+		this.changedDirectSubNodes_ = Collections
+				.unmodifiableSet(changedDirectSubNodes);
+		this.changedDirectInstances_ = Collections
+				.unmodifiableSet(changedDirectInstances);
+		this.changedSameInstances_ = Collections
+				.unmodifiableSet(changedSameInstances);
+		this.changedDirectTypes_ = Collections
+				.unmodifiableSet(changedDirectTypes);
+	}
+
+	/**
+	 * @return {@code true} if the taxonomy was replaced by a new one, in which
+	 *         case all previously obtained information about the taxonomy is
+	 *         outdated
+	 */
+	public boolean isReset() {
+		return reset_;
+	}
+
+	/**
+	 * @return {@code true} if nothing has changed in the taxonomy
+	 */
+	public boolean isEmpty() {
+		return !reset_ && changedEquivalents_.isEmpty()
+				&& changedDirectSuperNodes_.isEmpty()
+				&& changedDirectSubNodes_.isEmpty()
+				&& changedDirectInstances_.isEmpty()
+				&& changedSameInstances_.isEmpty()
+				&& changedDirectTypes_.isEmpty();
+	}
+
+	/**
+	 * @return the members whose type nodes appeared or disappeared, i.e., the
+	 *         members for which the result of
+	 *         {@link Taxonomy#getNode(ElkEntity)} might have changed
+	 */
+	public Set<T> getChangedEquivalents() {
+		return changedEquivalents_;
+	}
+
+	/**
+	 * @return the members whose type nodes got new or lost some direct
+	 *         super-nodes
+	 */
+	public Set<T> getChangedDirectSuperNodes() {
+		return changedDirectSuperNodes_;
+	}
+
+	/**
+	 * @return the members whose type nodes got new or lost some direct
+	 *         sub-nodes
+	 */
+	public Set<T> getChangedDirectSubNodes() {
+		return changedDirectSubNodes_;
+	}
+
+	/**
+	 * @return the members whose type nodes got new or lost some direct
+	 *         instance nodes
+	 */
+	public Set<T> getChangedDirectInstances() {
+		return changedDirectInstances_;
+	}
+
+	/**
+	 * @return the members whose instance nodes appeared or disappeared, i.e.,
+	 *         the members for which the result of
+	 *         {@link InstanceTaxonomy#getInstanceNode(ElkEntity)} might have
+	 *         changed
+	 */
+	public Set<I> getChangedSameInstances() {
+		return changedSameInstances_;
+	}
+
+	/**
+	 * @return the members whose instance nodes got new or lost some direct
+	 *         type nodes
+	 */
+	public Set<I> getChangedDirectTypes() {
+		return changedDirectTypes_;
+	}
+
+	@Override
+	public String toString() {
+		if (reset_) {
+			return "reset";
+		}
+		// else
+		return "equivalents: " + changedEquivalents_ + "; super-nodes: "
+				+ changedDirectSuperNodes_ + "; sub-nodes: "
+				+ changedDirectSubNodes_ + "; instances: "
+				+ changedDirectInstances_ + "; same instances: "
+				+ changedSameInstances_ + "; types: " + changedDirectTypes_;
+	}
+
+	/**
+	 * Instances of this interface are notified about the changes of taxonomies
+	 * after every reasoning task that modified them.
+	 *
+	 * @author "Yevgeny Kazakov"
+	 *
+	 * @param <T>
+	 *            the type of members of the type nodes of the taxonomy
+	 * @param <I>
+	 *            the type of members of the instance nodes of the taxonomy
+	 */
+	public interface Listener<T extends ElkEntity, I extends ElkEntity> {
+
+		/**
+		 * Called after the taxonomy has changed
+		 *
+		 * @param changes
+		 *            the changes of the taxonomy since the previous call of
+		 *            this method
+		 */
+		void taxonomyChanged(TaxonomyChanges<T, I> changes);
+
+	}
+
+}
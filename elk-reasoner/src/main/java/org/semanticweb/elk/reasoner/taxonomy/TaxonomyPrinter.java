@@ -39,6 +39,7 @@ import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
 import org.semanticweb.elk.owl.interfaces.ElkObject;
 import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
 import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.owl.predefined.PredefinedElkPrefix;
 import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
 import org.semanticweb.elk.owl.visitors.AbstractElkEntityVisitor;
 import org.semanticweb.elk.owl.visitors.ElkEntityVisitor;
@@ -54,6 +55,8 @@ import org.semanticweb.elk.util.collections.Operations;
 /**
  * Class of static helper functions for printing and hashing a taxonomy. It is
  * primarily intended to be used for controlling the output of classification.
+ * For writing large taxonomies, see {@link TaxonomyStreamWriter}, which
+ * produces the same output with less memory.
  * 
  * @author Markus Kroetzsch
  * @author Peter Skocovsky
@@ -203,12 +206,7 @@ public class TaxonomyPrinter {
 
 		for (final TaxonomyNode<T> node : taxonomy.getNodes()) {
 			for (final T member : node) {
-				// TODO: this should check whether IRIs are predefined!
-				if (!member.getIri()
-						.equals(taxonomy.getTopNode().getCanonicalMember()
-								.getIri())
-						&& !member.getIri().equals(taxonomy.getBottomNode()
-								.getCanonicalMember().getIri())) {
+				if (!isPredefined(member)) {
 					members.add(member);
 				}
 			}
@@ -248,6 +246,23 @@ public class TaxonomyPrinter {
 		}
 	}
 
+	/**
+	 * @param entity
+	 * @return {@code true} if the IRI of the given entity belongs to the
+	 *         reserved vocabulary of OWL 2, e.g., {@code owl:Thing}; such
+	 *         entities are not declared
+	 */
+	protected static boolean isPredefined(final ElkEntity entity) {
+		final String iri = entity.getIri().getFullIriAsString();
+		for (final PredefinedElkPrefix prefix : PredefinedElkPrefix.values()) {
+			if (iri.startsWith(prefix.getIri().getFullIriAsString())) {
+				return true;
+			}
+		}
+		// else
+		return false;
+	}
+
 	protected static <T extends ElkEntity> void printDeclarations(
 			final Iterable<T> members, final ElkObject.Factory factory,
 			final Appendable writer) throws IOException {
@@ -0,0 +1,731 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import org.semanticweb.elk.owl.implementation.ElkObjectBaseFactory;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+
+/**
+ * Writes taxonomies to {@link OutputStream}s node by node without creating
+ * the axioms for the whole taxonomy in memory. Apart from the output buffers,
+ * only one array with the members of the taxonomy sorted by the comparators of
+ * the taxonomy is kept in memory.
+ * <p>
+ * The taxonomy can be written in the OWL 2 functional-style syntax, in which
+ * case the output is the same as of {@link TaxonomyPrinter}, or in a compact
+ * binary {@link Format#EDGE_LIST} format. The output can be compressed using
+ * gzip. If several threads are used, the consecutive ranges of members are
+ * formatted concurrently and written in the order of the ranges, so the
+ * output does not depend on the number of threads. The number of ranges
+ * formatted but not yet written is limited by twice the number of threads.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class TaxonomyStreamWriter {
+
+	/**
+	 * The formats in which taxonomies can be written.
+	 */
+	public enum Format {
+		/**
+		 * The axioms describing the taxonomy in the OWL 2 functional-style
+		 * syntax, the same as written by {@link TaxonomyPrinter}
+		 */
+		FUNCTIONAL,
+		/**
+		 * A binary format in which the members are stored by their full IRIs
+		 * and the relations between them are stored as edges between the
+		 * positions of the members. The stream starts with the integer
+		 * {@link TaxonomyStreamWriter#EDGE_LIST_MAGIC} and the version
+		 * {@link TaxonomyStreamWriter#EDGE_LIST_VERSION}, followed by the
+		 * number of members of the type nodes and their IRIs, each as the
+		 * number of bytes and the UTF-8 bytes, in the order of the comparator
+		 * of the taxonomy, followed by the same for the members of the
+		 * instance nodes (the number is 0 for taxonomies without instances),
+		 * followed by the edges. Every edge is written as a byte
+		 * {@link TaxonomyStreamWriter#EQUIVALENT},
+		 * {@link TaxonomyStreamWriter#DIRECT_SUPER},
+		 * {@link TaxonomyStreamWriter#SAME_INSTANCE}, or
+		 * {@link TaxonomyStreamWriter#DIRECT_TYPE} and two integer positions
+		 * of members. The edges are followed by the byte
+		 * {@link TaxonomyStreamWriter#END} and the integer
+		 * {@link TaxonomyStreamWriter#EDGE_LIST_MAGIC}. All integers are
+		 * written in the big-endian order.
+		 */
+		EDGE_LIST,
+	}
+
+	public static final int EDGE_LIST_MAGIC = 0x454c4b45; // "ELKE"
+
+	public static final int EDGE_LIST_VERSION = 1;
+
+	/**
+	 * the edge from a member of a type node to the canonical member of this
+	 * node, which is written for all other members of the node
+	 */
+	public static final byte EQUIVALENT = 0;
+
+	/**
+	 * the edge from the canonical member of a type node to the canonical
+	 * member of its direct super-node; the edges from the bottom node are not
+	 * written
+	 */
+	public static final byte DIRECT_SUPER = 1;
+
+	/**
+	 * the edge from a member of an instance node to the canonical member of
+	 * this node, which is written for all other members of the node
+	 */
+	public static final byte SAME_INSTANCE = 2;
+
+	/**
+	 * the edge from the canonical member of an instance node to the canonical
+	 * member of its direct type node
+	 */
+	public static final byte DIRECT_TYPE = 3;
+
+	/**
+	 * the byte written after the last edge
+	 */
+	public static final byte END = -1;
+
+	/**
+	 * the default number of members formatted in one range
+	 */
+	public static final int DEFAULT_RANGE_SIZE = 4096;
+
+	private static final Charset UTF8_ = Charset.forName("UTF-8");
+
+	private final Format format_;
+
+	private final boolean gzip_;
+
+	private final int threads_;
+
+	private final int rangeSize_;
+
+	/**
+	 * @param format
+	 *            the {@link Format} in which the taxonomies are written
+	 * @param gzip
+	 *            if {@code true}, the output is compressed using gzip
+	 * @param threads
+	 *            the number of threads formatting the output concurrently
+	 * @param rangeSize
+	 *            the number of members formatted by one thread at once
+	 */
+	public TaxonomyStreamWriter(final Format format, final boolean gzip,
+			final int threads, final int rangeSize) {
+		if (threads < 1 || rangeSize < 1) {
+			throw new IllegalArgumentException(
+					"The number of threads and the range size must be positive");
+		}
+		this.format_ = format;
+		this.gzip_ = gzip;
+		this.threads_ = threads;
+		this.rangeSize_ = rangeSize;
+	}
+
+	public TaxonomyStreamWriter(final Format format, final boolean gzip,
+			final int threads) {
+		this(format, gzip, threads, DEFAULT_RANGE_SIZE);
+	}
+
+	/**
+	 * Creates a {@link TaxonomyStreamWriter} that writes uncompressed
+	 * {@link Format#FUNCTIONAL} output in the calling thread
+	 */
+	public TaxonomyStreamWriter() {
+		this(Format.FUNCTIONAL, false, 1);
+	}
+
+	/**
+	 * Writes the given {@link Taxonomy} to the given file, which is
+	 * overwritten if it exists.
+	 *
+	 * @see #writeTaxonomy(Taxonomy, OutputStream, boolean)
+	 */
+	public void writeTaxonomyToFile(
+			final Taxonomy<? extends ElkEntity> taxonomy, final File file,
+			final boolean addHash) throws IOException {
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			writeTaxonomy(taxonomy, out, addHash);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes the given {@link InstanceTaxonomy} to the given file, which is
+	 * overwritten if it exists.
+	 *
+	 * @see #writeInstanceTaxonomy(InstanceTaxonomy, OutputStream, boolean)
+	 */
+	public void writeInstanceTaxonomyToFile(
+			final InstanceTaxonomy<? extends ElkEntity, ? extends ElkEntity> taxonomy,
+			final File file, final boolean addHash) throws IOException {
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			writeInstanceTaxonomy(taxonomy, out, addHash);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes the given {@link Taxonomy} to the given {@link OutputStream},
+	 * which is flushed but not closed.
+	 *
+	 * @param taxonomy
+	 * @param out
+	 * @param addHash
+	 *            if {@code true} and the output is in the
+	 *            {@link Format#FUNCTIONAL} format, the hash string of the
+	 *            taxonomy is added at the end of the output as a comment
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void writeTaxonomy(final Taxonomy<? extends ElkEntity> taxonomy,
+			final OutputStream out, final boolean addHash) throws IOException {
+		write(new TaxonomyOutput<ElkEntity, ElkEntity>(taxonomy, null), out,
+				addHash ? TaxonomyPrinter.getHashString(taxonomy) : null);
+	}
+
+	/**
+	 * Writes the given {@link InstanceTaxonomy} to the given
+	 * {@link OutputStream}, which is flushed but not closed.
+	 *
+	 * @param taxonomy
+	 * @param out
+	 * @param addHash
+	 *            if {@code true} and the output is in the
+	 *            {@link Format#FUNCTIONAL} format, the hash string of the
+	 *            taxonomy is added at the end of the output as a comment
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void writeInstanceTaxonomy(
+			final InstanceTaxonomy<? extends ElkEntity, ? extends ElkEntity> taxonomy,
+			final OutputStream out, final boolean addHash) throws IOException {
+		write(new TaxonomyOutput<ElkEntity, ElkEntity>(taxonomy, taxonomy),
+				out, addHash ? TaxonomyPrinter.getInstanceHashString(taxonomy)
+						: null);
+	}
+
+	private <T extends ElkEntity, I extends ElkEntity> void write(
+			final TaxonomyOutput<T, I> output, final OutputStream out,
+			final String hash) throws IOException {
+		final GZIPOutputStream gzip = gzip_ ? new GZIPOutputStream(out) : null;
+		final OutputStream buffered = new BufferedOutputStream(
+				gzip == null ? out : gzip);
+		final ExecutorService executor = threads_ > 1
+				? Executors.newFixedThreadPool(threads_) : null;
+		try {
+			final RangeWriter writer = new RangeWriter(executor, buffered);
+			switch (format_) {
+			case FUNCTIONAL:
+				writer.write(text("Ontology(\n"));
+				if (output.instances != null) {
+					writer.writeRanges(output.instances.length,
+							output.instanceDeclarations());
+				}
+				writer.writeRanges(output.types.length,
+						output.typeDeclarations());
+				writer.writeRanges(output.types.length,
+						output.typeAxioms());
+				if (output.instances != null) {
+					writer.writeRanges(output.instances.length,
+							output.instanceAxioms());
+				}
+				writer.write(text(")\n"));
+				if (hash != null) {
+					writer.write(text("\n# Hash code: " + hash + "\n"));
+				}
+				break;
+			case EDGE_LIST:
+				final ByteArrayOutputStream header = new ByteArrayOutputStream();
+				final DataOutputStream data = new DataOutputStream(header);
+				data.writeInt(EDGE_LIST_MAGIC);
+				data.writeInt(EDGE_LIST_VERSION);
+				data.writeInt(output.types.length);
+				writer.write(header.toByteArray());
+				writer.writeRanges(output.types.length,
+						iris(output.types));
+				header.reset();
+				data.writeInt(output.instances == null ? 0
+						: output.instances.length);
+				writer.write(header.toByteArray());
+				if (output.instances != null) {
+					writer.writeRanges(output.instances.length,
+							iris(output.instances));
+				}
+				writer.writeRanges(output.types.length, output.typeEdges());
+				if (output.instances != null) {
+					writer.writeRanges(output.instances.length,
+							output.instanceEdges());
+				}
+				header.reset();
+				data.writeByte(END);
+				data.writeInt(EDGE_LIST_MAGIC);
+				writer.write(header.toByteArray());
+				break;
+			}
+			writer.finish();
+			buffered.flush();
+			if (gzip != null) {
+				gzip.finish();
+			}
+			out.flush();
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private static byte[] text(final String text) {
+		return text.getBytes(UTF8_);
+	}
+
+	/**
+	 * Writes the outputs of the ranges of members in the order of the ranges,
+	 * formatting them using the executor if it is not {@code null}.
+	 */
+	private class RangeWriter {
+
+		private final ExecutorService executor_;
+
+		private final OutputStream out_;
+
+		/**
+		 * the ranges formatted by the executor but not written yet
+		 */
+		private final Queue<Future<byte[]>> pending_ = new ArrayDeque<Future<byte[]>>();
+
+		RangeWriter(final ExecutorService executor, final OutputStream out) {
+			this.executor_ = executor;
+			this.out_ = out;
+		}
+
+		void write(final byte[] bytes) throws IOException {
+			finish();
+			out_.write(bytes);
+		}
+
+		void writeRanges(final int size, final RangeFormatter formatter)
+				throws IOException {
+			for (int from = 0; from < size; from += rangeSize_) {
+				final int to = Math.min(size, from + rangeSize_);
+				if (executor_ == null) {
+					out_.write(formatter.format(from, to));
+					continue;
+				}
+				// else
+				if (pending_.size() >= 2 * threads_) {
+					writeNext();
+				}
+				final int start = from;
+				pending_.add(executor_.submit(new Callable<byte[]>() {
+					@Override
+					public byte[] call() throws Exception {
+						return formatter.format(start, to);
+					}
+				}));
+			}
+		}
+
+		private void writeNext() throws IOException {
+			try {
+				out_.write(pending_.poll().get());
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while writing a taxonomy",
+						e);
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IOException(cause);
+			}
+		}
+
+		/**
+		 * Writes all pending ranges
+		 */
+		void finish() throws IOException {
+			while (!pending_.isEmpty()) {
+				writeNext();
+			}
+		}
+
+	}
+
+	/**
+	 * Formats the members of the taxonomy between two positions of the sorted
+	 * members
+	 */
+	private interface RangeFormatter {
+
+		byte[] format(int from, int to) throws IOException;
+
+	}
+
+	private static RangeFormatter iris(final ElkEntity[] members) {
+		return new RangeFormatter() {
+
+			@Override
+			public byte[] format(final int from, final int to)
+					throws IOException {
+				final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				final DataOutputStream out = new DataOutputStream(bytes);
+				for (int i = from; i < to; i++) {
+					final byte[] iri = members[i].getIri()
+							.getFullIriAsString().getBytes(UTF8_);
+					out.writeInt(iri.length);
+					out.write(iri);
+				}
+				return bytes.toByteArray();
+			}
+
+		};
+	}
+
+	/**
+	 * Formats the parts of a taxonomy using the arrays of its sorted members.
+	 * The members are stored in arrays of {@link ElkEntity} but are of the
+	 * types of the members of the taxonomy.
+	 *
+	 * @param <T>
+	 *            the type of members of the type nodes
+	 * @param <I>
+	 *            the type of members of the instance nodes
+	 */
+	private static class TaxonomyOutput<T extends ElkEntity, I extends ElkEntity> {
+
+		final Taxonomy<T> taxonomy;
+
+		final InstanceTaxonomy<T, I> instanceTaxonomy;
+
+		final T[] types;
+
+		final I[] instances;
+
+		final Comparator<? super T> typeComparator;
+
+		final Comparator<? super I> instanceComparator;
+
+		final T bottom;
+
+		final ElkObject.Factory factory = new ElkObjectBaseFactory();
+
+		@SuppressWarnings("unchecked")
+		TaxonomyOutput(final Taxonomy<? extends ElkEntity> taxonomy,
+				final InstanceTaxonomy<? extends ElkEntity, ? extends ElkEntity> instanceTaxonomy) {
+			/*
+			 * the types of members are not known but the taxonomies are used
+			 * only with their own members
+			 */
+			this.taxonomy = (Taxonomy<T>) taxonomy;
+			this.instanceTaxonomy = (InstanceTaxonomy<T, I>) instanceTaxonomy;
+			this.typeComparator = this.taxonomy.getKeyProvider()
+					.getComparator();
+			this.types = (T[]) sortedMembers(this.taxonomy.getNodes(),
+					typeComparator);
+			this.bottom = this.taxonomy.getBottomNode().getCanonicalMember();
+			if (instanceTaxonomy == null) {
+				this.instanceComparator = null;
+				this.instances = null;
+			} else {
+				this.instanceComparator = this.instanceTaxonomy
+						.getInstanceKeyProvider().getComparator();
+				this.instances = (I[]) sortedMembers(
+						this.instanceTaxonomy.getInstanceNodes(),
+						instanceComparator);
+			}
+		}
+
+		private static <E extends ElkEntity> ElkEntity[] sortedMembers(
+				final Collection<? extends Node<E>> nodes,
+				final Comparator<? super E> comparator) {
+			int size = 0;
+			for (final Node<E> node : nodes) {
+				size += node.size();
+			}
+			@SuppressWarnings("unchecked")
+			final E[] result = (E[]) new ElkEntity[size];
+			int i = 0;
+			for (final Node<E> node : nodes) {
+				for (final E member : node) {
+					result[i++] = member;
+				}
+			}
+			Arrays.sort(result, comparator);
+			return result;
+		}
+
+		private static <E extends ElkEntity> ArrayList<E> sortedMembers(
+				final Node<E> node, final Comparator<? super E> comparator) {
+			final ArrayList<E> result = new ArrayList<E>(node.size());
+			for (final E member : node) {
+				result.add(member);
+			}
+			Collections.sort(result, comparator);
+			return result;
+		}
+
+		RangeFormatter typeDeclarations() {
+			return new TextFormatter() {
+
+				@Override
+				void append(final int from, final int to,
+						final StringBuilder out) throws IOException {
+					for (int i = from; i < to; i++) {
+						if (!TaxonomyPrinter.isPredefined(types[i])) {
+							TaxonomyPrinter.printDeclarations(
+									Collections.singleton(types[i]), factory,
+									out);
+						}
+					}
+				}
+
+			};
+		}
+
+		RangeFormatter instanceDeclarations() {
+			return new TextFormatter() {
+
+				@Override
+				void append(final int from, final int to,
+						final StringBuilder out) throws IOException {
+					TaxonomyPrinter.printDeclarations(
+							Arrays.asList(instances).subList(from, to),
+							factory, out);
+				}
+
+			};
+		}
+
+		RangeFormatter typeAxioms() {
+			return new TextFormatter() {
+
+				@Override
+				void append(final int from, final int to,
+						final StringBuilder out) throws IOException {
+					for (int i = from; i < to; i++) {
+						final TaxonomyNode<T> node = taxonomy.getNode(types[i]);
+						if (!types[i].equals(node.getCanonicalMember())) {
+							continue;
+						}
+						// else
+						final TreeSet<T> superMembers = new TreeSet<T>(
+								typeComparator);
+						for (final TaxonomyNode<T> superNode : node
+								.getDirectSuperNodes()) {
+							superMembers.add(superNode.getCanonicalMember());
+						}
+						TaxonomyPrinter.printMemberAxioms(types[i],
+								sortedMembers(node, typeComparator),
+								superMembers, taxonomy, factory, out);
+					}
+				}
+
+			};
+		}
+
+		RangeFormatter instanceAxioms() {
+			return new TextFormatter() {
+
+				@Override
+				void append(final int from, final int to,
+						final StringBuilder out) throws IOException {
+					for (int i = from; i < to; i++) {
+						final InstanceNode<T, I> node = instanceTaxonomy
+								.getInstanceNode(instances[i]);
+						if (!instances[i].equals(node.getCanonicalMember())) {
+							continue;
+						}
+						// else
+						final TreeSet<T> directTypes = new TreeSet<T>(
+								typeComparator);
+						for (final TypeNode<T, I> typeNode : node
+								.getDirectTypeNodes()) {
+							directTypes.add(typeNode.getCanonicalMember());
+						}
+						TaxonomyPrinter.printMemberAxioms(instances[i],
+								sortedMembers(node, instanceComparator),
+								directTypes, taxonomy, factory, out);
+					}
+				}
+
+			};
+		}
+
+		RangeFormatter typeEdges() {
+			return new EdgeFormatter() {
+
+				@Override
+				void append(final int from, final int to,
+						final DataOutputStream out) throws IOException {
+					for (int i = from; i < to; i++) {
+						final TaxonomyNode<T> node = taxonomy.getNode(types[i]);
+						final T canonical = node.getCanonicalMember();
+						final int canonicalPosition = typePosition(canonical);
+						if (i != canonicalPosition) {
+							writeEdge(out, EQUIVALENT, i, canonicalPosition);
+							continue;
+						}
+						// else
+						if (canonical.equals(bottom)) {
+							continue;
+						}
+						// else
+						final int[] superPositions = new int[node
+								.getDirectSuperNodes().size()];
+						int j = 0;
+						for (final TaxonomyNode<T> superNode : node
+								.getDirectSuperNodes()) {
+							superPositions[j++] = typePosition(
+									superNode.getCanonicalMember());
+						}
+						Arrays.sort(superPositions);
+						for (final int superPosition : superPositions) {
+							writeEdge(out, DIRECT_SUPER, i, superPosition);
+						}
+					}
+				}
+
+			};
+		}
+
+		RangeFormatter instanceEdges() {
+			return new EdgeFormatter() {
+
+				@Override
+				void append(final int from, final int to,
+						final DataOutputStream out) throws IOException {
+					for (int i = from; i < to; i++) {
+						final InstanceNode<T, I> node = instanceTaxonomy
+								.getInstanceNode(instances[i]);
+						final int canonicalPosition = Arrays.binarySearch(
+								instances, node.getCanonicalMember(),
+								instanceComparator);
+						if (i != canonicalPosition) {
+							writeEdge(out, SAME_INSTANCE, i,
+									canonicalPosition);
+							continue;
+						}
+						// else
+						final int[] typePositions = new int[node
+								.getDirectTypeNodes().size()];
+						int j = 0;
+						for (final TypeNode<T, I> typeNode : node
+								.getDirectTypeNodes()) {
+							typePositions[j++] = typePosition(
+									typeNode.getCanonicalMember());
+						}
+						Arrays.sort(typePositions);
+						for (final int typePosition : typePositions) {
+							writeEdge(out, DIRECT_TYPE, i, typePosition);
+						}
+					}
+				}
+
+			};
+		}
+
+		int typePosition(final T member) {
+			return Arrays.binarySearch(types, member, typeComparator);
+		}
+
+		static void writeEdge(final DataOutputStream out, final byte type,
+				final int from, final int to) throws IOException {
+			out.writeByte(type);
+			out.writeInt(from);
+			out.writeInt(to);
+		}
+
+	}
+
+	private static abstract class TextFormatter implements RangeFormatter {
+
+		@Override
+		public byte[] format(final int from, final int to) throws IOException {
+			final StringBuilder out = new StringBuilder();
+			append(from, to, out);
+			return text(out.toString());
+		}
+
+		abstract void append(int from, int to, StringBuilder out)
+				throws IOException;
+
+	}
+
+	private static abstract class EdgeFormatter implements RangeFormatter {
+
+		@Override
+		public byte[] format(final int from, final int to) throws IOException {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			append(from, to, new DataOutputStream(bytes));
+			return bytes.toByteArray();
+		}
+
+		abstract void append(int from, int to, DataOutputStream out)
+				throws IOException;
+
+	}
+
+}
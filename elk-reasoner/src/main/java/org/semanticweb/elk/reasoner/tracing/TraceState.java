@@ -23,12 +23,17 @@ package org.semanticweb.elk.reasoner.tracing;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.liveontologies.puli.DynamicProof;
 import org.liveontologies.puli.Producer;
 import org.liveontologies.puli.statistics.HasStats;
 import org.liveontologies.puli.statistics.NestedStats;
@@ -59,6 +64,8 @@ import org.semanticweb.elk.reasoner.saturation.properties.inferences.SubProperty
 import org.semanticweb.elk.reasoner.stages.PropertyHierarchyCompositionState;
 import org.semanticweb.elk.reasoner.tracing.factories.TracingJobListener;
 import org.semanticweb.elk.util.collections.Evictor;
+import org.semanticweb.elk.util.collections.Evictors;
+import org.semanticweb.elk.util.collections.Weigher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,6 +73,11 @@ import org.slf4j.LoggerFactory;
  * A collections of objects for tracing contexts and keeping the relevant
  * information about the state of tracing.
  * 
+ * Inferences can be requested from several threads at the same time: the
+ * cached inferences are returned without blocking, and the
+ * {@link IndexedContextRoot}s of the missing ones are queued up so that they
+ * can be traced in parallel by {@link #pollToTrace()}.
+ * 
  * TODO: filter out cyclic inferences
  * 
  * @author Pavel Klinov
@@ -82,22 +94,67 @@ public class TraceState
 	private static final Logger LOGGER_ = LoggerFactory
 			.getLogger(TraceState.class);
 
-	private IndexedContextRoot toTrace_ = null;
+	/**
+	 * The estimated sizes in bytes of an entry in
+	 * {@link #classInferencesCache_} and of a cached {@link ClassInference},
+	 * used when the evictor is weight-based
+	 */
+	private static final int CACHE_ENTRY_SIZE_ = 64, INFERENCE_SIZE_ = 48;
+
+	/**
+	 * The {@link IndexedContextRoot}s that should be traced
+	 */
+	private final Queue<IndexedContextRoot> toTrace_ = new ConcurrentLinkedQueue<IndexedContextRoot>();
+
+	/**
+	 * The {@link IndexedContextRoot}s that are queued in {@link #toTrace_} or
+	 * are being traced; they should not be queued again
+	 */
+	private final Set<IndexedContextRoot> scheduledRoots_ = Collections
+			.newSetFromMap(
+					new ConcurrentHashMap<IndexedContextRoot, Boolean>());
+
+	/**
+	 * The {@link IndexedContextRoot}s polled from {@link #toTrace_} whose
+	 * tracing is not finished yet
+	 */
+	private final Set<IndexedContextRoot> polledRoots_ = Collections
+			.newSetFromMap(
+					new ConcurrentHashMap<IndexedContextRoot, Boolean>());
 
 	/**
 	 * Cache of {@link ClassInference}s.
 	 */
-	private final Map<Conclusion, Collection<? extends ClassInference>> classInferencesCache_ = new HashMap<Conclusion, Collection<? extends ClassInference>>();
+	private final ConcurrentMap<Conclusion, Collection<? extends ClassInference>> classInferencesCache_ = new ConcurrentHashMap<Conclusion, Collection<? extends ClassInference>>();
 
 	/**
 	 * Manages eviction from {@link #classInferencesCache_}. Each key added to
 	 * {@link #classInferencesCache_} must be added to this evictor, otherwise
-	 * it may never be evicted.
+	 * it may never be evicted. The evictor is not thread safe, so it is
+	 * accessed only when synchronized on it.
 	 */
 	private final Evictor<Conclusion> classInferenceEvictor_;
 
+	/**
+	 * The requests for inferences of {@link ClassConclusion}s that were not
+	 * cached, by the {@link IndexedContextRoot}s that should be traced; the
+	 * requests are completed when the tracing of the root is finished
+	 */
+	private final ConcurrentMap<IndexedContextRoot, Queue<InferenceRequest>> pendingRequests_ = new ConcurrentHashMap<IndexedContextRoot, Queue<InferenceRequest>>();
+
+	/**
+	 * The last request for inferences made by the current thread
+	 */
+	private final ThreadLocal<InferenceRequest> lastRequest_ = new ThreadLocal<InferenceRequest>();
+
 	private final Set<ElkAxiom> indexedAxioms_ = new HashSet<ElkAxiom>();
 
+	/**
+	 * Notified when the inferences returned by {@link #getInferences(Object)}
+	 * may have changed
+	 */
+	private final List<DynamicProof.ChangeListener> changeListeners_ = new CopyOnWriteArrayList<DynamicProof.ChangeListener>();
+
 	private final ModifiableTracingProof<ObjectPropertyInference> objectPropertyInferences_ = new SynchronizedModifiableTracingProof<ObjectPropertyInference>();
 
 	private final ModifiableTracingProof<IndexedAxiomInference> indexedAxiomInferences_ = new SynchronizedModifiableTracingProof<IndexedAxiomInference>();
@@ -151,6 +208,7 @@ public class TraceState
 					public void contextsClear() {
 						clearClassInferences();
 						clearIndexedAxiomInferences();
+						notifyInferencesChanged();
 					}
 
 					@Override
@@ -158,6 +216,7 @@ public class TraceState
 						// TODO: remove only affected inferences
 						clearClassInferences();
 						clearIndexedAxiomInferences();
+						notifyInferencesChanged();
 					}
 
 				});
@@ -175,6 +234,7 @@ public class TraceState
 							IndexedPropertyChain chain) {
 						clearObjectPropertyInferences();
 						clearIndexedAxiomInferences();
+						notifyInferencesChanged();
 					}
 				});
 
@@ -182,6 +242,17 @@ public class TraceState
 				.getParameter(ReasonerConfiguration.TRACING_EVICTOR);
 		LOGGER_.info("{}={}", ReasonerConfiguration.TRACING_EVICTOR, builder);
 		this.classInferenceEvictor_ = ((Evictor.Builder) builder).build();
+		Evictors.setWeigher(classInferenceEvictor_, new Weigher<Conclusion>() {
+
+			@Override
+			public int weigh(final Conclusion conclusion) {
+				final Collection<? extends ClassInference> infs = classInferencesCache_
+						.get(conclusion);
+				return CACHE_ENTRY_SIZE_ + (infs == null ? 0
+						: INFERENCE_SIZE_ * infs.size());
+			}
+
+		});
 
 	}
 
@@ -192,9 +263,11 @@ public class TraceState
 	 * @return {@code true} if they are ready and can be retrieved by
 	 *         {@link #getInferences(Conclusion)}, returns {@code false} if the
 	 *         tracing stage needs to be run before the inferences can be
-	 *         retrieved by {@link #getInferences(Conclusion)}.
+	 *         retrieved by {@link #getInferences(Conclusion)}. The
+	 *         inferences should be retrieved by the thread that requested
+	 *         them.
 	 */
-	public synchronized boolean requestInferences(final Conclusion conclusion) {
+	public boolean requestInferences(final Conclusion conclusion) {
 		LOGGER_.trace("{}: request inferences", conclusion);
 		return conclusion.accept(requestedConclusionVisitor_);
 	}
@@ -208,64 +281,184 @@ public class TraceState
 
 		@Override
 		protected Boolean defaultVisit(final ClassConclusion conclusion) {
-			tracingListener_.lastRequestedConclusion_ = conclusion;
-			classInferenceEvictor_.add(conclusion);
+			final InferenceRequest request = new InferenceRequest(conclusion);
+			lastRequest_.set(request);
+			synchronized (classInferenceEvictor_) {
+				classInferenceEvictor_.add(conclusion);
+			}
 			// Check cache.
-			final Collection<? extends ClassInference> infs = classInferencesCache_
-					.get(conclusion);
-			if (infs != null) {
-				stats_.nCacheHits++;
-				tracingListener_.inferencesOfLastRequestedConclusion_ = infs;
+			if (request.complete(classInferencesCache_.get(conclusion))) {
+				hit();
+				return true;
+			}
+			/*
+			 * else register the request and check the cache again in case the
+			 * inferences were traced in the meantime
+			 */
+			final IndexedContextRoot root = conclusion.getTraceRoot();
+			final Queue<InferenceRequest> requests = getPendingRequests(root);
+			requests.add(request);
+			if (request.complete(classInferencesCache_.get(conclusion))) {
+				requests.remove(request);
+				hit();
 				return true;
 			}
 			// else
-			stats_.nCacheMisses++;
-			toTrace_ = conclusion.getTraceRoot();
+			miss();
+			/*
+			 * if the root is already scheduled, the request is usually
+			 * completed when its tracing is finished; otherwise it should be
+			 * repeated, see isRequestComplete()
+			 */
+			if (scheduledRoots_.add(root)) {
+				toTrace_.add(root);
+			}
 			return false;
 		}
 
 	};
 
-	public synchronized IndexedContextRoot pollToTrace() {
-		final IndexedContextRoot result = toTrace_;
-		toTrace_ = null;
+	private Queue<InferenceRequest> getPendingRequests(
+			final IndexedContextRoot root) {
+		Queue<InferenceRequest> result = pendingRequests_.get(root);
+		if (result == null) {
+			result = new ConcurrentLinkedQueue<InferenceRequest>();
+			final Queue<InferenceRequest> previous = pendingRequests_
+					.putIfAbsent(root, result);
+			if (previous != null) {
+				result = previous;
+			}
+		}
 		return result;
 	}
 
-	private class ThisTracingJobListener implements TracingJobListener {
+	private void hit() {
+		synchronized (stats_) {
+			stats_.nCacheHits++;
+		}
+	}
+
+	private void miss() {
+		synchronized (stats_) {
+			stats_.nCacheMisses++;
+		}
+	}
+
+	/**
+	 * @return {@code true} if the inferences requested by the last call of
+	 *         {@link #requestInferences(Conclusion)} in the current thread can
+	 *         be retrieved by {@link #getInferences(Object)}; if not, the
+	 *         inferences should be requested again
+	 */
+	public boolean isRequestComplete() {
+		final InferenceRequest request = lastRequest_.get();
+		return request == null || request.inferences_ != null;
+	}
+
+	/**
+	 * @return an {@link IndexedContextRoot} that should be traced to complete
+	 *         the requests for inferences or {@code null} if there are no such
+	 *         roots; this method can be called from several threads
+	 */
+	public IndexedContextRoot pollToTrace() {
+		final IndexedContextRoot result = toTrace_.poll();
+		if (result != null) {
+			polledRoots_.add(result);
+		}
+		return result;
+	}
+
+	/**
+	 * @return {@code true} if there are {@link IndexedContextRoot}s that should
+	 *         be traced to complete the requests for inferences
+	 */
+	public boolean hasToTrace() {
+		return !toTrace_.isEmpty();
+	}
+
+	/**
+	 * Queues again the {@link IndexedContextRoot}s that were polled but whose
+	 * tracing was not finished, e.g., because it was interrupted. Should be
+	 * called before tracing starts.
+	 */
+	public void resumeTracing() {
+		final Iterator<IndexedContextRoot> iter = polledRoots_.iterator();
+		while (iter.hasNext()) {
+			toTrace_.add(iter.next());
+			iter.remove();
+		}
+	}
+
+	/**
+	 * A request for inferences of a {@link ClassConclusion}
+	 * 
+	 * @author Yevgeny Kazakov
+	 */
+	private static class InferenceRequest {
+
+		private final ClassConclusion conclusion_;
+
+		private volatile Collection<? extends ClassInference> inferences_ = null;
+
+		InferenceRequest(final ClassConclusion conclusion) {
+			this.conclusion_ = conclusion;
+		}
 
 		/**
-		 * The {@link ClassConclusion} that was passed to
-		 * {@link #requestInferences(ClassConclusion)} as the last one.
-		 */
-		private ClassConclusion lastRequestedConclusion_ = null;
-		/**
-		 * Inferences of the {@link ClassConclusion} that was passed to
-		 * {@link #requestInferences(ClassConclusion)} as the last one, if they
-		 * have been cached or computed.
+		 * Sets the inferences of this request
+		 * 
+		 * @param inferences
+		 * @return {@code true} if the request is complete, i.e., the given
+		 *         inferences are not {@code null}
 		 */
-		private Collection<? extends ClassInference> inferencesOfLastRequestedConclusion_ = null;
+		boolean complete(
+				final Collection<? extends ClassInference> inferences) {
+			if (inferences == null) {
+				return false;
+			}
+			// else
+			inferences_ = inferences;
+			return true;
+		}
+
+	}
+
+	private class ThisTracingJobListener implements TracingJobListener {
 
 		@Override
-		public synchronized void notifyJobFinished(
-				final IndexedContextRoot root,
+		public void notifyJobFinished(final IndexedContextRoot root,
 				final ModifiableTracingProof<ClassInference> proof) {
 			for (final Conclusion concl : proof.getAllConclusions()) {
 				final Collection<? extends ClassInference> tracedInfs = proof
 						.getInferences(concl);
-				if (concl.equals(lastRequestedConclusion_)) {
-					inferencesOfLastRequestedConclusion_ = tracedInfs;
-				}
-				if (!tracedInfs.isEmpty()
-						&& !classInferencesCache_.containsKey(concl)) {
-					classInferencesCache_.put(concl, tracedInfs);
-					final Iterator<Conclusion> evictedConclusions = classInferenceEvictor_
-							.addAndEvict(concl);
-					while (evictedConclusions.hasNext()) {
-						classInferencesCache_.remove(evictedConclusions.next());
+				if (!tracedInfs.isEmpty() && classInferencesCache_
+						.putIfAbsent(concl, tracedInfs) == null) {
+					synchronized (classInferenceEvictor_) {
+						final Iterator<Conclusion> evictedConclusions = classInferenceEvictor_
+								.addAndEvict(concl);
+						while (evictedConclusions.hasNext()) {
+							classInferencesCache_
+									.remove(evictedConclusions.next());
+						}
 					}
 				}
 			}
+			/*
+			 * the root can be scheduled again; the requests registered after
+			 * this point either find the inferences in the cache or schedule
+			 * the root again, the ones registered before are completed now
+			 */
+			polledRoots_.remove(root);
+			scheduledRoots_.remove(root);
+			final Queue<InferenceRequest> requests = pendingRequests_
+					.remove(root);
+			if (requests == null) {
+				return;
+			}
+			// else
+			for (final InferenceRequest request : requests) {
+				request.complete(proof.getInferences(request.conclusion_));
+			}
 		}
 
 	}
@@ -276,9 +469,37 @@ public class TraceState
 		return tracingListener_;
 	}
 
+	/**
+	 * Registers a {@link DynamicProof.ChangeListener} that is notified when the
+	 * inferences returned by {@link #getInferences(Object)} may have changed,
+	 * e.g., after changes in the ontology
+	 * 
+	 * @param listener
+	 */
+	public void addChangeListener(
+			final DynamicProof.ChangeListener listener) {
+		changeListeners_.add(listener);
+	}
+
+	/**
+	 * Removes a {@link DynamicProof.ChangeListener} registered by
+	 * {@link #addChangeListener(DynamicProof.ChangeListener)}
+	 * 
+	 * @param listener
+	 */
+	public void removeChangeListener(
+			final DynamicProof.ChangeListener listener) {
+		changeListeners_.remove(listener);
+	}
+
+	private void notifyInferencesChanged() {
+		for (final DynamicProof.ChangeListener listener : changeListeners_) {
+			listener.inferencesChanged();
+		}
+	}
+
 	private void clearClassInferences() {
 		classInferencesCache_.clear();
-		tracingListener_.inferencesOfLastRequestedConclusion_ = null;
 	}
 
 	private void clearObjectPropertyInferences() {
@@ -325,13 +546,19 @@ public class TraceState
 		@Override
 		protected Collection<? extends ClassInference> defaultVisit(
 				final ClassConclusion conclusion) {
-			if (!conclusion.equals(tracingListener_.lastRequestedConclusion_)
-					|| tracingListener_.inferencesOfLastRequestedConclusion_ == null) {
+			final InferenceRequest request = lastRequest_.get();
+			if (request == null || !conclusion.equals(request.conclusion_)) {
+				throw new ElkRuntimeException(
+						"Conclusion not traced: " + conclusion);
+			}
+			// else
+			final Collection<? extends ClassInference> result = request.inferences_;
+			if (result == null) {
 				throw new ElkRuntimeException(
 						"Conclusion not traced: " + conclusion);
 			}
 			// else
-			return tracingListener_.inferencesOfLastRequestedConclusion_;
+			return result;
 		}
 
 		@Override
@@ -73,6 +73,13 @@ public class SingleContextTracingFactory
 	 */
 	private final ConcurrentMap<IndexedContextRoot, Queue<ClassInference>> tracedInferences_;
 
+	/**
+	 * The proofs of the finished contexts; the contexts cannot be saturated
+	 * again by {@link #saturationFactory_}, so if they are requested again,
+	 * these proofs are reported
+	 */
+	private final ConcurrentMap<IndexedContextRoot, ModifiableTracingProof<ClassInference>> finishedProofs_;
+
 	/**
 	 * The factory for context saturation with the tracing-enabled rule
 	 * application factory.
@@ -90,6 +97,7 @@ public class SingleContextTracingFactory
 						saturationState, new ThisClassInferenceProducer()),
 				maxWorkers, new ThisClassExpressionSaturationListener());
 		this.tracedInferences_ = new ConcurrentHashMap<IndexedContextRoot, Queue<ClassInference>>();
+		this.finishedProofs_ = new ConcurrentHashMap<IndexedContextRoot, ModifiableTracingProof<ClassInference>>();
 	}
 
 	@Override
@@ -132,6 +140,14 @@ public class SingleContextTracingFactory
 					break;
 				}
 				// else
+				final ModifiableTracingProof<ClassInference> proof = finishedProofs_
+						.get(root);
+				if (proof != null) {
+					tracingState_.getTracingListener().notifyJobFinished(root,
+							proof);
+					continue;
+				}
+				// else
 				saturationEngine_
 						.submit(new SaturationJob<IndexedContextRoot>(root));
 			}
@@ -176,9 +192,11 @@ public class SingleContextTracingFactory
 			final ModifiableTracingProof<ClassInference> proof = new ModifiableTracingProofImpl<ClassInference>();
 			final ClassInferenceBlockingFilter filter = new ClassInferenceBlockingFilter(
 					proof);
-			for (final ClassInference inference : tracedInferences_.get(root)) {
+			for (final ClassInference inference : tracedInferences_
+					.remove(root)) {
 				filter.produce(inference);
 			}
+			finishedProofs_.put(root, proof);
 			tracingState_.getTracingListener().notifyJobFinished(job.getInput(),
 					proof);
 		}
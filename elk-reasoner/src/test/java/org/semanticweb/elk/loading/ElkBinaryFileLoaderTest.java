@@ -0,0 +1,181 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.loading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.semanticweb.elk.owl.binary.ElkBinaryWriter;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.util.concurrent.computation.DummyInterruptMonitor;
+import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
+
+/**
+ * Tests for {@link ElkBinaryFileLoader}
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class ElkBinaryFileLoaderTest {
+
+	private static final String ONTOLOGY_ = "Prefix(:=<http://www.test.com/schema#>)\n"
+			+ "Prefix(xsd:=<http://www.w3.org/2001/XMLSchema#>)\n"
+			+ "Prefix(rdfs:=<http://www.w3.org/2000/01/rdf-schema#>)\n"
+			+ "Ontology(<http://www.test.com/schema>\n"
+			+ "Declaration(Class(:A))\n"
+			+ "SubClassOf(:A :B)\n"
+			+ "SubClassOf(:A ObjectSomeValuesFrom(:R ObjectIntersectionOf(:C :D)))\n"
+			+ "EquivalentClasses(:E ObjectUnionOf(:A ObjectComplementOf(:B)) ObjectAllValuesFrom(ObjectInverseOf(:S) :C))\n"
+			+ "SubClassOf(:F ObjectMinCardinality(300 :R :A))\n"
+			+ "SubClassOf(:F DataSomeValuesFrom(:p DatatypeRestriction(xsd:integer xsd:minInclusive \"5\"^^xsd:integer)))\n"
+			+ "DisjointClasses(:A :C :E)\n"
+			+ "ClassAssertion(:A :a)\n"
+			+ "ObjectPropertyAssertion(:R :a _:b)\n"
+			+ "DataPropertyAssertion(:p :a \"\u00fcnicode\"@de)\n"
+			+ "SubObjectPropertyOf(ObjectPropertyChain(:R :S) :R)\n"
+			+ "TransitiveObjectProperty(:S)\n"
+			+ "AnnotationAssertion(rdfs:label :A \"label\")\n"
+			+ ")\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static List<String> print(Iterable<? extends ElkAxiom> axioms) {
+		List<String> result = new ArrayList<String>();
+		for (ElkAxiom axiom : axioms) {
+			result.add(OwlFunctionalStylePrinter.toString(axiom, true));
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private File write(Iterable<? extends ElkAxiom> axioms) throws Exception {
+		File file = folder.newFile();
+		ElkBinaryWriter writer = new ElkBinaryWriter(
+				new FileOutputStream(file));
+		try {
+			writer.writeAll(axioms);
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	private static List<String> load(File file, InterruptMonitor interrupter)
+			throws Exception {
+		final List<ElkAxiom> axioms = new ArrayList<ElkAxiom>();
+		ElkAxiomProcessor inserter = new ElkAxiomProcessor() {
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				axioms.add(elkAxiom);
+			}
+		};
+		ElkBinaryFileLoader loader = new ElkBinaryFileLoader.Factory(
+				new ElkObjectEntityRecyclingFactory(), file)
+						.getAxiomLoader(interrupter);
+		try {
+			while (!loader.isLoadingFinished()) {
+				loader.load(inserter, inserter);
+			}
+		} finally {
+			loader.dispose();
+		}
+		return print(axioms);
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		List<? extends ElkAxiom> axioms = new ArrayList<ElkAxiom>(
+				TestReasonerUtils.loadAxioms(new StringReader(ONTOLOGY_)));
+		File file = write(axioms);
+		assertEquals(print(axioms),
+				load(file, DummyInterruptMonitor.INSTANCE));
+		// IRIs are stored once, so the binary file is smaller
+		assertTrue(file.length() < ONTOLOGY_.length());
+	}
+
+	@Test
+	public void testResumeAfterInterrupt() throws Exception {
+		List<? extends ElkAxiom> axioms = new ArrayList<ElkAxiom>(
+				TestReasonerUtils.loadAxioms(new StringReader(ONTOLOGY_)));
+		File file = write(axioms);
+		// interrupts every other check
+		InterruptMonitor interrupter = new InterruptMonitor() {
+			boolean interrupted_ = false;
+
+			@Override
+			public boolean isInterrupted() {
+				interrupted_ = !interrupted_;
+				return interrupted_;
+			}
+		};
+		assertEquals(print(axioms), load(file, interrupter));
+	}
+
+	@Test
+	public void testEmpty() throws Exception {
+		File file = write(Collections.<ElkAxiom> emptyList());
+		assertEquals(Collections.emptyList(),
+				load(file, DummyInterruptMonitor.INSTANCE));
+	}
+
+	@Test(expected = ElkLoadingException.class)
+	public void expectedLoadingExceptionOnTruncatedFile() throws Exception {
+		File file = write(
+				TestReasonerUtils.loadAxioms(new StringReader(ONTOLOGY_)));
+		RandomAccessFile output = new RandomAccessFile(file, "rw");
+		try {
+			output.setLength(file.length() - 1);
+		} finally {
+			output.close();
+		}
+		load(file, DummyInterruptMonitor.INSTANCE);
+	}
+
+	@Test(expected = ElkLoadingException.class)
+	public void expectedLoadingExceptionOnWrongFormat() throws Exception {
+		File file = folder.newFile();
+		FileOutputStream output = new FileOutputStream(file);
+		try {
+			output.write(ONTOLOGY_.getBytes("UTF-8"));
+		} finally {
+			output.close();
+		}
+		assertFalse(load(file, DummyInterruptMonitor.INSTANCE).isEmpty());
+	}
+
+}
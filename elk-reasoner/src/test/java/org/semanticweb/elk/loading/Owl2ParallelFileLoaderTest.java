@@ -0,0 +1,179 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.loading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.parsing.javacc.Owl2FunctionalStyleParserFactory;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.util.concurrent.computation.DummyInterruptMonitor;
+
+/**
+ * Tests for {@link Owl2ParallelFileLoader} and
+ * {@link Owl2FunctionalStyleChunkReader}
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class Owl2ParallelFileLoaderTest {
+
+	private static final String PRELUDE_ = "Prefix(:=<http://www.test.com/schema#>)\n"
+			+ "Prefix(rdfs:=<http://www.w3.org/2000/01/rdf-schema#>)\n";
+
+	private static final String ONTOLOGY_ = PRELUDE_
+			+ "Ontology(<http://www.test.com/schema> # a comment with (\n"
+			+ "Annotation(rdfs:comment \"an (ontology\")\n"
+			+ "SubClassOf(:A :B)\n"
+			+ "SubClassOf(:A ObjectSomeValuesFrom(:R :C)) # more )) parens\n"
+			+ "AnnotationAssertion(rdfs:label :A \"with \\\"quoted)\\\" text\")\n"
+			+ "EquivalentClasses(<http://www.test.com/schema#D(> :E)\n"
+			+ "ClassAssertion(:A :a)\n"
+			+ "ObjectPropertyAssertion(:R :a :b)\n"
+			+ "SubObjectPropertyOf(ObjectPropertyChain(:R :S) :R)\n"
+			+ ")\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File write(File file, String text) throws Exception {
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file),
+				"UTF-8");
+		try {
+			writer.write(text);
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	private static List<String> print(Iterable<? extends ElkAxiom> axioms) {
+		List<String> result = new ArrayList<String>();
+		for (ElkAxiom axiom : axioms) {
+			result.add(OwlFunctionalStylePrinter.toString(axiom));
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private static List<String> parse(String ontology) throws Exception {
+		return print(TestReasonerUtils.loadAxioms(new StringReader(ontology)));
+	}
+
+	private static List<String> load(File file, int parserCount,
+			int chunkLength) throws Exception {
+		final List<ElkAxiom> axioms = new ArrayList<ElkAxiom>();
+		ElkAxiomProcessor inserter = new ElkAxiomProcessor() {
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				axioms.add(elkAxiom);
+			}
+		};
+		Owl2ParallelFileLoader loader = new Owl2ParallelFileLoader(
+				DummyInterruptMonitor.INSTANCE,
+				new Owl2FunctionalStyleParserFactory(),
+				Owl2ParallelFileLoader.getOntologyFiles(file), parserCount,
+				chunkLength, 2);
+		try {
+			loader.load(inserter, inserter);
+			assertTrue(loader.isLoadingFinished());
+		} finally {
+			loader.dispose();
+		}
+		return print(axioms);
+	}
+
+	@Test
+	public void testChunks() throws Exception {
+		Owl2FunctionalStyleChunkReader reader = new Owl2FunctionalStyleChunkReader(
+				new StringReader(ONTOLOGY_), 1);
+		List<String> chunks = new ArrayList<String>();
+		String chunk;
+		while ((chunk = reader.nextChunk()) != null) {
+			assertTrue(chunk.startsWith(PRELUDE_ + "Ontology("));
+			chunks.add(chunk);
+		}
+		// one chunk per axiom and ontology annotation, and the last one with
+		// the closing parenthesis
+		assertEquals(9, chunks.size());
+		List<String> axioms = new ArrayList<String>();
+		for (String next : chunks) {
+			axioms.addAll(parse(next));
+		}
+		Collections.sort(axioms);
+		assertEquals(parse(ONTOLOGY_), axioms);
+	}
+
+	@Test
+	public void testSingleChunk() throws Exception {
+		Owl2FunctionalStyleChunkReader reader = new Owl2FunctionalStyleChunkReader(
+				new StringReader(ONTOLOGY_), Integer.MAX_VALUE);
+		assertEquals(ONTOLOGY_, reader.nextChunk());
+		assertNull(reader.nextChunk());
+	}
+
+	@Test
+	public void testParallelLoading() throws Exception {
+		File file = write(folder.newFile(), ONTOLOGY_);
+		List<String> expected = parse(ONTOLOGY_);
+		assertEquals(expected, load(file, 1, 1));
+		assertEquals(expected, load(file, 4, 1));
+		assertEquals(expected, load(file, 4, 100));
+		assertEquals(expected, load(file, 4, Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testDirectoryLoading() throws Exception {
+		File dir = folder.newFolder();
+		String other = PRELUDE_ + "Ontology(SubClassOf(:F :G) "
+				+ "DisjointClasses(:F :H))";
+		write(new File(dir, "1.owl"), ONTOLOGY_);
+		write(new File(dir, "2.owl"), other);
+		List<String> expected = parse(ONTOLOGY_);
+		expected.addAll(parse(other));
+		Collections.sort(expected);
+		assertEquals(expected, load(dir, 3, 1));
+	}
+
+	@Test(expected = ElkLoadingException.class)
+	public void expectedLoadingExceptionOnSyntaxError() throws Exception {
+		File file = write(folder.newFile(), PRELUDE_
+				+ "Ontology(SubClassOf(:A :B) SubClassOf(:A) SubClassOf(:C :D))");
+		load(file, 2, 1);
+	}
+
+}
@@ -25,6 +25,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Test;
@@ -174,4 +177,58 @@ public class ComplexClassQueryTest {
 		}
 	}
 
+	@Test
+	public void testBatchQueries() throws ElkException {
+		TestLoader loader = new TestLoader();
+		Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader);
+
+		ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+		ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+		ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+		loader.add(objectFactory.getSubClassOfAxiom(A, B))
+				.add(objectFactory.getSubClassOfAxiom(B, C));
+
+		ElkClassExpression unsatisfiable = objectFactory
+				.getObjectIntersectionOf(A,
+						objectFactory.getObjectComplementOf(B));
+		ElkClassExpression equivalentToB = objectFactory
+				.getObjectIntersectionOf(B, C);
+		ElkClassExpression fresh = objectFactory.getObjectIntersectionOf(C,
+				objectFactory.getClass(new ElkFullIri(":D")));
+		List<ElkClassExpression> queries = Arrays.asList(unsatisfiable,
+				equivalentToB, fresh, A);
+
+		Map<ElkClassExpression, Boolean> satisfiable = reasoner
+				.isSatisfiable(queries);
+		assertEquals(4, satisfiable.size());
+		assertFalse(satisfiable.get(unsatisfiable));
+		assertTrue(satisfiable.get(equivalentToB));
+		assertTrue(satisfiable.get(fresh));
+		assertTrue(satisfiable.get(A));
+
+		Map<ElkClassExpression, Node<ElkClass>> equivalent = reasoner
+				.getEquivalentClasses(queries);
+		assertEquals(4, equivalent.size());
+		assertTrue(equivalent.get(equivalentToB).contains(B));
+		assertTrue(equivalent.get(A).contains(A));
+		assertEquals(0, equivalent.get(fresh).size());
+
+		Map<ElkClassExpression, Set<? extends Node<ElkClass>>> superClasses = reasoner
+				.getSuperClasses(queries, false);
+		assertEquals(4, superClasses.size());
+		for (ElkClassExpression query : queries) {
+			assertEquals(reasoner.getSuperClasses(query, false),
+					superClasses.get(query));
+		}
+		Set<? extends Node<ElkClass>> directSuperClasses = reasoner
+				.getSuperClasses(queries, true).get(fresh);
+		assertEquals(reasoner.getSuperClasses(fresh, true),
+				directSuperClasses);
+		boolean foundC = false;
+		for (Node<ElkClass> node : directSuperClasses) {
+			foundC |= node.contains(C);
+		}
+		assertTrue(foundC);
+	}
+
 }
@@ -0,0 +1,146 @@
+/*
+ * #%L
+ * ELK Reasoner
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+
+/**
+ * Tests that queries over the published taxonomies can be answered by several
+ * threads at the same time and are up to date after changes.
+ *
+ * @author Yevgeny Kazakov
+ */
+public class ConcurrentTaxonomyQueryTest {
+
+	private static final int NUMBER_OF_CLASSES_ = 50;
+
+	private static final int NUMBER_OF_THREADS_ = 8;
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private ElkClass getTestClass(final int i) {
+		return objectFactory.getClass(new ElkFullIri(":C" + i));
+	}
+
+	@Test
+	public void testConcurrentQueries() throws Exception {
+		// a chain C0 <- C1 <- ... <- Cn with an instance of Cn
+		final Set<ElkAxiom> ontology = new HashSet<ElkAxiom>();
+		for (int i = 1; i < NUMBER_OF_CLASSES_; i++) {
+			ontology.add(
+					objectFactory.getSubClassOfAxiom(getTestClass(i), getTestClass(i - 1)));
+		}
+		final ElkNamedIndividual ind = objectFactory
+				.getNamedIndividual(new ElkFullIri(":i"));
+		ontology.add(objectFactory
+				.getClassAssertionAxiom(getTestClass(NUMBER_OF_CLASSES_ - 1), ind));
+		final Reasoner reasoner = TestReasonerUtils.loadAndClassify(ontology);
+		reasoner.getInstanceTaxonomy();
+
+		final ExecutorService executor = Executors
+				.newFixedThreadPool(NUMBER_OF_THREADS_);
+		try {
+			final List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < NUMBER_OF_THREADS_; t++) {
+				results.add(executor.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						for (int i = 1; i < NUMBER_OF_CLASSES_; i++) {
+							final Set<? extends Node<ElkClass>> superNodes = reasoner
+									.getSuperClasses(getTestClass(i), true);
+							if (superNodes.size() != 1 || !superNodes.iterator()
+									.next().contains(getTestClass(i - 1))) {
+								return false;
+							}
+							if (reasoner.getSubClasses(getTestClass(i - 1), false)
+									.size() != NUMBER_OF_CLASSES_ - i + 1) {
+								// including owl:Nothing
+								return false;
+							}
+							if (!reasoner.isSatisfiable(getTestClass(i))) {
+								return false;
+							}
+							if (reasoner.getInstances(getTestClass(i), false)
+									.size() != 1) {
+								return false;
+							}
+						}
+						return reasoner.getTypes(ind, false)
+								.size() == NUMBER_OF_CLASSES_ + 1;
+					}
+				}));
+			}
+			for (final Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testQueriesAfterChanges() throws Exception {
+		final ElkClass a = getTestClass(0);
+		final ElkClass b = getTestClass(1);
+		final Set<ElkAxiom> ontology = new HashSet<ElkAxiom>();
+		ontology.add(objectFactory.getSubClassOfAxiom(a, b));
+		final Reasoner reasoner = TestReasonerUtils.loadAndClassify(ontology);
+		reasoner.setAllowIncrementalMode(true);
+
+		assertTrue(reasoner.isSatisfiable(a));
+		assertEquals(1, reasoner.getSuperClasses(a, true).size());
+
+		final TestChangesLoader loader = new TestChangesLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(a,
+				objectFactory.getOwlNothing()));
+		reasoner.registerAxiomLoader(new TestAxiomLoaderFactory(loader));
+
+		// the change must be visible to the queries
+		assertFalse(reasoner.isSatisfiable(a));
+		assertTrue(reasoner.getEquivalentClasses(a)
+				.contains(objectFactory.getOwlNothing()));
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import java.util.Collections;
+
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Runs classification tests with
+ * {@link ReasonerConfiguration#SATURATED_TRANSITIVE_REDUCTION} enabled
+ * 
+ * @author Yevgeny Kazakov
+ */
+public class ElkSaturatedReductionClassificationCorrectnessTest
+		extends ElkConfiguredClassificationCorrectnessTest {
+
+	public ElkSaturatedReductionClassificationCorrectnessTest(
+			final ReasoningTestManifest<TaxonomyTestOutput<?>> testManifest) {
+		super(testManifest, Collections.singletonMap(
+				ReasonerConfiguration.SATURATED_TRANSITIVE_REDUCTION, "true"));
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * #%L
+ * ELK Reasoner
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+
+/**
+ * Tests that with {@link ReasonerConfiguration#GOAL_DIRECTED_CLASS_QUERIES}
+ * the equivalent classes and superclasses of named classes are the same as
+ * in the class taxonomy, but the class taxonomy is not computed.
+ * 
+ * @author Yevgeny Kazakov
+ */
+public class GoalDirectedClassQueryTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass a_ = getClass("A"), b_ = getClass("B"),
+			c_ = getClass("C"), d_ = getClass("D"), e_ = getClass("E");
+
+	private final ElkObjectProperty r_ = objectFactory
+			.getObjectProperty(new ElkFullIri(":R"));
+
+	private final List<ElkClass> queried_ = Arrays.asList(a_, b_, c_, d_,
+			e_);
+
+	private ElkClass getClass(final String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	private Set<ElkAxiom> getOntology() {
+		final Set<ElkAxiom> ontology = new HashSet<ElkAxiom>();
+		// B <= A, C <= ObjectSomeValuesFrom(R, B)
+		ontology.add(objectFactory.getSubClassOfAxiom(b_, a_));
+		ontology.add(objectFactory.getSubClassOfAxiom(c_,
+				objectFactory.getObjectSomeValuesFrom(r_, b_)));
+		// ObjectSomeValuesFrom(R, A) = D, E <= C
+		ontology.add(objectFactory.getEquivalentClassesAxiom(d_,
+				objectFactory.getObjectSomeValuesFrom(r_, a_)));
+		ontology.add(objectFactory.getSubClassOfAxiom(e_, c_));
+		return ontology;
+	}
+
+	private static Set<ElkClass> getMembers(final Node<ElkClass> node) {
+		final Set<ElkClass> result = new HashSet<ElkClass>();
+		for (final ElkClass member : node) {
+			result.add(member);
+		}
+		return result;
+	}
+
+	private static Set<Set<ElkClass>> getMembers(
+			final Set<? extends Node<ElkClass>> nodes) {
+		final Set<Set<ElkClass>> result = new HashSet<Set<ElkClass>>();
+		for (final Node<ElkClass> node : nodes) {
+			result.add(getMembers(node));
+		}
+		return result;
+	}
+
+	private static Reasoner createReasoner(final TestChangesLoader loader,
+			final boolean goalDirected) {
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.GOAL_DIRECTED_CLASS_QUERIES,
+				String.valueOf(goalDirected));
+		return TestReasonerUtils.createTestReasoner(loader, config);
+	}
+
+	private void assertSameResults(final Reasoner expected,
+			final Reasoner actual) throws Exception {
+		for (final ElkClass cls : queried_) {
+			assertEquals(getMembers(expected.getEquivalentClasses(cls)),
+					getMembers(actual.getEquivalentClasses(cls)));
+			assertEquals(getMembers(expected.getSuperClasses(cls, true)),
+					getMembers(actual.getSuperClasses(cls, true)));
+			assertEquals(getMembers(expected.getSuperClasses(cls, false)),
+					getMembers(actual.getSuperClasses(cls, false)));
+		}
+	}
+
+	@Test
+	public void testQueries() throws Exception {
+		final TestChangesLoader expectedLoader = new TestChangesLoader();
+		final TestChangesLoader actualLoader = new TestChangesLoader();
+		for (final ElkAxiom axiom : getOntology()) {
+			expectedLoader.add(axiom);
+			actualLoader.add(axiom);
+		}
+		final Reasoner expected = createReasoner(expectedLoader, false);
+		final Reasoner actual = createReasoner(actualLoader, true);
+
+		assertSameResults(expected, actual);
+		assertEquals(getMembers(expected.getSuperClasses(queried_, false)
+				.get(e_)),
+				getMembers(actual.getSuperClasses(queried_, false).get(e_)));
+		assertFalse(actual.doneTaxonomy());
+	}
+
+	@Test
+	public void testQueriesAfterChanges() throws Exception {
+		final TestChangesLoader expectedLoader = new TestChangesLoader();
+		final TestChangesLoader actualLoader = new TestChangesLoader();
+		for (final ElkAxiom axiom : getOntology()) {
+			expectedLoader.add(axiom);
+			actualLoader.add(axiom);
+		}
+		final Reasoner expected = createReasoner(expectedLoader, false);
+		final Reasoner actual = createReasoner(actualLoader, true);
+		actual.setAllowIncrementalMode(true);
+		assertSameResults(expected, actual);
+
+		// the cached results must be updated
+		final ElkAxiom added = objectFactory.getSubClassOfAxiom(a_, b_);
+		final ElkAxiom removed = objectFactory.getSubClassOfAxiom(e_, c_);
+		expectedLoader.add(added).remove(removed);
+		expected.registerAxiomLoader(
+				new TestAxiomLoaderFactory(expectedLoader));
+		actualLoader.add(added).remove(removed);
+		actual.registerAxiomLoader(new TestAxiomLoaderFactory(actualLoader));
+
+		assertSameResults(expected, actual);
+		assertFalse(actual.doneTaxonomy());
+	}
+
+	@Test
+	public void testUnsatisfiableClass() throws Exception {
+		final TestChangesLoader loader = new TestChangesLoader();
+		for (final ElkAxiom axiom : getOntology()) {
+			loader.add(axiom);
+		}
+		loader.add(objectFactory.getSubClassOfAxiom(e_,
+				objectFactory.getOwlNothing()));
+		final Reasoner reasoner = createReasoner(loader, true);
+
+		// the results for unsatisfiable classes are taken from the taxonomy
+		assertTrue(reasoner.getEquivalentClasses(e_)
+				.contains(objectFactory.getOwlNothing()));
+		assertTrue(reasoner.doneTaxonomy());
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * #%L
+ * ELK Reasoner
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+
+/**
+ * Tests that with {@link ReasonerConfiguration#LAZY_REALIZATION} the types of
+ * individuals are the same as computed by realization, but the instance
+ * taxonomy is not computed.
+ * 
+ * @author Yevgeny Kazakov
+ */
+public class LazyRealizationTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass a_ = getClass("A"), b_ = getClass("B"),
+			c_ = getClass("C"), d_ = getClass("D"), e_ = getClass("E");
+
+	private final ElkObjectProperty r_ = objectFactory
+			.getObjectProperty(new ElkFullIri(":R"));
+
+	private final ElkNamedIndividual i_ = getIndividual("i"),
+			j_ = getIndividual("j"), k_ = getIndividual("k");
+
+	private ElkClass getClass(final String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	private ElkNamedIndividual getIndividual(final String name) {
+		return objectFactory.getNamedIndividual(new ElkFullIri(":" + name));
+	}
+
+	private Set<ElkAxiom> getOntology() {
+		final Set<ElkAxiom> ontology = new HashSet<ElkAxiom>();
+		// B <= A, C <= A, ObjectSomeValuesFrom(R, C) <= D
+		ontology.add(objectFactory.getSubClassOfAxiom(b_, a_));
+		ontology.add(objectFactory.getSubClassOfAxiom(c_, a_));
+		ontology.add(objectFactory.getSubClassOfAxiom(
+				objectFactory.getObjectSomeValuesFrom(r_, c_), d_));
+		// E = ObjectOneOf(k)
+		ontology.add(objectFactory.getEquivalentClassesAxiom(e_,
+				objectFactory.getObjectOneOf(k_)));
+		// i: B, j: C, R(i, j)
+		ontology.add(objectFactory.getClassAssertionAxiom(b_, i_));
+		ontology.add(objectFactory.getClassAssertionAxiom(c_, j_));
+		ontology.add(objectFactory.getObjectPropertyAssertionAxiom(r_, i_, j_));
+		ontology.add(objectFactory.getClassAssertionAxiom(b_, k_));
+		return ontology;
+	}
+
+	private static Set<Set<ElkClass>> getMembers(
+			final Set<? extends Node<ElkClass>> nodes) {
+		final Set<Set<ElkClass>> result = new HashSet<Set<ElkClass>>();
+		for (final Node<ElkClass> node : nodes) {
+			final Set<ElkClass> members = new HashSet<ElkClass>();
+			for (final ElkClass member : node) {
+				members.add(member);
+			}
+			result.add(members);
+		}
+		return result;
+	}
+
+	private static Reasoner createReasoner(final TestChangesLoader loader,
+			final boolean lazy) {
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.LAZY_REALIZATION,
+				String.valueOf(lazy));
+		return TestReasonerUtils.createTestReasoner(loader, config);
+	}
+
+	private void assertSameTypes(final Reasoner expected,
+			final Reasoner actual) throws Exception {
+		for (final ElkNamedIndividual ind : new ElkNamedIndividual[] { i_,
+				j_, k_ }) {
+			assertEquals(getMembers(expected.getTypes(ind, true)),
+					getMembers(actual.getTypes(ind, true)));
+			assertEquals(getMembers(expected.getTypes(ind, false)),
+					getMembers(actual.getTypes(ind, false)));
+		}
+	}
+
+	@Test
+	public void testTypes() throws Exception {
+		final TestChangesLoader expectedLoader = new TestChangesLoader();
+		final TestChangesLoader actualLoader = new TestChangesLoader();
+		for (final ElkAxiom axiom : getOntology()) {
+			expectedLoader.add(axiom);
+			actualLoader.add(axiom);
+		}
+		final Reasoner expected = createReasoner(expectedLoader, false);
+		final Reasoner actual = createReasoner(actualLoader, true);
+
+		assertSameTypes(expected, actual);
+		assertFalse(actual.doneInstanceTaxonomy());
+	}
+
+	@Test
+	public void testTypesAfterChanges() throws Exception {
+		final TestChangesLoader expectedLoader = new TestChangesLoader();
+		final TestChangesLoader actualLoader = new TestChangesLoader();
+		for (final ElkAxiom axiom : getOntology()) {
+			expectedLoader.add(axiom);
+			actualLoader.add(axiom);
+		}
+		final Reasoner expected = createReasoner(expectedLoader, false);
+		final Reasoner actual = createReasoner(actualLoader, true);
+		actual.setAllowIncrementalMode(true);
+		assertSameTypes(expected, actual);
+
+		// the cached types must be updated
+		final ElkAxiom added = objectFactory.getClassAssertionAxiom(c_, i_);
+		final ElkAxiom removed = objectFactory.getClassAssertionAxiom(c_,
+				j_);
+		expectedLoader.add(added).remove(removed);
+		expected.registerAxiomLoader(
+				new TestAxiomLoaderFactory(expectedLoader));
+		actualLoader.add(added).remove(removed);
+		actual.registerAxiomLoader(new TestAxiomLoaderFactory(actualLoader));
+
+		assertSameTypes(expected, actual);
+		assertFalse(actual.doneInstanceTaxonomy());
+	}
+
+	@Test
+	public void testFreshIndividual() throws Exception {
+		final TestChangesLoader loader = new TestChangesLoader();
+		for (final ElkAxiom axiom : getOntology()) {
+			loader.add(axiom);
+		}
+		final Reasoner reasoner = createReasoner(loader, true);
+		final ElkNamedIndividual fresh = getIndividual("fresh");
+
+		final Set<Set<ElkClass>> top = new HashSet<Set<ElkClass>>();
+		top.add(Collections
+				.singleton(objectFactory.getOwlThing()));
+		assertEquals(top, getMembers(reasoner.getTypes(fresh, true)));
+
+		reasoner.setAllowFreshEntities(false);
+		try {
+			reasoner.getTypes(fresh, true);
+			fail();
+		} catch (final ElkFreshEntitiesException e) {
+			// expected
+		}
+	}
+
+}
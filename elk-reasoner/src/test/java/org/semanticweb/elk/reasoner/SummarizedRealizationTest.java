@@ -0,0 +1,168 @@
+/*
+ * #%L
+ * ELK Reasoner
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+
+/**
+ * Tests that with {@link ReasonerConfiguration#REALIZATION_SUMMARIZATION} the
+ * types of individuals are updated when the axioms about a summarized
+ * individual change.
+ *
+ * @author Yevgeny Kazakov
+ */
+public class SummarizedRealizationTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass a_ = getClass("A"), b_ = getClass("B");
+
+	private final ElkNamedIndividual i_ = getIndividual("i"),
+			j_ = getIndividual("j");
+
+	private ElkClass getClass(final String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	private ElkNamedIndividual getIndividual(final String name) {
+		return objectFactory.getNamedIndividual(new ElkFullIri(":" + name));
+	}
+
+	private Set<ElkAxiom> getOntology() {
+		final Set<ElkAxiom> ontology = new HashSet<ElkAxiom>();
+		// i: A, j: A, so i and j are summarized
+		ontology.add(objectFactory.getClassAssertionAxiom(a_, i_));
+		ontology.add(objectFactory.getClassAssertionAxiom(a_, j_));
+		// B <= owl:Thing, so B is in the signature
+		ontology.add(objectFactory.getSubClassOfAxiom(b_,
+				objectFactory.getOwlThing()));
+		return ontology;
+	}
+
+	private static Set<Set<ElkClass>> getMembers(
+			final Set<? extends Node<ElkClass>> nodes) {
+		final Set<Set<ElkClass>> result = new HashSet<Set<ElkClass>>();
+		for (final Node<ElkClass> node : nodes) {
+			final Set<ElkClass> members = new HashSet<ElkClass>();
+			for (final ElkClass member : node) {
+				members.add(member);
+			}
+			result.add(members);
+		}
+		return result;
+	}
+
+	private static Reasoner createReasoner(final TestChangesLoader loader,
+			final boolean summarization) {
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.REALIZATION_SUMMARIZATION,
+				String.valueOf(summarization));
+		final Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				config);
+		reasoner.setAllowIncrementalMode(true);
+		return reasoner;
+	}
+
+	private void assertSameTypes(final Reasoner expected,
+			final Reasoner actual, final ElkNamedIndividual... individuals)
+			throws Exception {
+		for (final ElkNamedIndividual ind : individuals) {
+			assertEquals(getMembers(expected.getTypes(ind, true)),
+					getMembers(actual.getTypes(ind, true)));
+			assertEquals(getMembers(expected.getTypes(ind, false)),
+					getMembers(actual.getTypes(ind, false)));
+		}
+	}
+
+	/**
+	 * Adds the given axiom to both reasoners and checks that the types are
+	 * the same, several times in a row; the individuals are queried in the
+	 * given order since the first query after changes updates the taxonomy
+	 */
+	private void testAddition(final ElkAxiom added,
+			final ElkNamedIndividual... individuals) throws Exception {
+		final TestChangesLoader expectedLoader = new TestChangesLoader();
+		final TestChangesLoader actualLoader = new TestChangesLoader();
+		for (final ElkAxiom axiom : getOntology()) {
+			expectedLoader.add(axiom);
+			actualLoader.add(axiom);
+		}
+		final Reasoner expected = createReasoner(expectedLoader, false);
+		final Reasoner actual = createReasoner(actualLoader, true);
+		assertSameTypes(expected, actual, individuals);
+
+		expectedLoader.add(added);
+		expected.registerAxiomLoader(
+				new TestAxiomLoaderFactory(expectedLoader));
+		actualLoader.add(added);
+		actual.registerAxiomLoader(new TestAxiomLoaderFactory(actualLoader));
+		for (int n = 0; n < 2; n++) {
+			assertSameTypes(expected, actual, individuals);
+		}
+
+		// and back
+		expectedLoader.remove(added);
+		expected.registerAxiomLoader(
+				new TestAxiomLoaderFactory(expectedLoader));
+		actualLoader.remove(added);
+		actual.registerAxiomLoader(new TestAxiomLoaderFactory(actualLoader));
+		for (int n = 0; n < 2; n++) {
+			assertSameTypes(expected, actual, individuals);
+		}
+	}
+
+	/*
+	 * i and j are summarized in one group with either of them as the
+	 * representative, so both of them are changed to test the representative
+	 * and the other member
+	 */
+
+	@Test
+	public void testChangedQueriedFirst() throws Exception {
+		testAddition(objectFactory.getClassAssertionAxiom(b_, i_), i_, j_);
+		testAddition(objectFactory.getClassAssertionAxiom(b_, j_), j_, i_);
+	}
+
+	@Test
+	public void testChangedQueriedLast() throws Exception {
+		testAddition(objectFactory.getClassAssertionAxiom(b_, i_), j_, i_);
+		testAddition(objectFactory.getClassAssertionAxiom(b_, j_), i_, j_);
+	}
+
+}
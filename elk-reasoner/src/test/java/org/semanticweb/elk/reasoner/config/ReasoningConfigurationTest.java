@@ -26,6 +26,7 @@
 package org.semanticweb.elk.reasoner.config;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -72,6 +73,22 @@ public class ReasoningConfigurationTest {
 		assertTrue(value instanceof Evictor.Builder);
 		value = config.getParameter(ReasonerConfiguration.ENTAILMENT_QUERY_EVICTOR);
 		assertTrue(value instanceof Evictor.Builder);
+		assertEquals(SubsumerSetRepresentation.HASH, config.getParameter(
+				ReasonerConfiguration.SUBSUMER_SET_REPRESENTATION));
+		assertFalse(config.getParameterAsBoolean(
+				ReasonerConfiguration.SATURATION_WORK_STEALING));
+		assertEquals(0, config.getParameterAsInt(
+				ReasonerConfiguration.SATURATION_PARTITIONS));
+		assertFalse(config.getParameterAsBoolean(
+				ReasonerConfiguration.CONCURRENT_INDEXING));
+		assertFalse(config.getParameterAsBoolean(
+				ReasonerConfiguration.REALIZATION_SUMMARIZATION));
+		assertFalse(config.getParameterAsBoolean(
+				ReasonerConfiguration.LAZY_REALIZATION));
+		assertFalse(config.getParameterAsBoolean(
+				ReasonerConfiguration.GOAL_DIRECTED_CLASS_QUERIES));
+		assertFalse(config.getParameterAsBoolean(
+				ReasonerConfiguration.SNAPSHOTS_ENABLED));
 	}
 
 	@SuppressWarnings("static-method")
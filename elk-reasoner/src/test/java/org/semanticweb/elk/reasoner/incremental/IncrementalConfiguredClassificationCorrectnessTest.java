@@ -0,0 +1,86 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import java.util.Map;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.TaxonomyTestOutput;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.testing.TestManifest;
+import org.semanticweb.elk.testing.UrlTestInput;
+
+/**
+ * Runs incremental classification tests with the given parameters of
+ * {@link org.semanticweb.elk.reasoner.config.ReasonerConfiguration
+ * ReasonerConfiguration} set, both for the incremental and for the
+ * interrupted reasoner
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+public abstract class IncrementalConfiguredClassificationCorrectnessTest
+		extends BaseIncrementalClassificationCorrectnessTest<ElkAxiom> {
+
+	public IncrementalConfiguredClassificationCorrectnessTest(
+			final TestManifest<UrlTestInput> testManifest,
+			final Map<String, String> config) {
+		super(testManifest,
+				new ElkIncrementalReasoningTestDelegate<TaxonomyTestOutput<?>>(
+						testManifest) {
+
+					@Override
+					public TaxonomyTestOutput<?> getExpectedOutput()
+							throws Exception {
+						LOGGER_.trace(
+								"======= Computing Expected Taxonomy =======");
+						final Taxonomy<ElkClass> taxonomy = getStandardReasoner()
+								.getTaxonomyQuietly();
+						return new TaxonomyTestOutput<Taxonomy<ElkClass>>(
+								taxonomy);
+					}
+
+					@Override
+					public TaxonomyTestOutput<?> getActualOutput()
+							throws Exception {
+						LOGGER_.trace(
+								"======= Computing Incremental Taxonomy =======");
+						final Taxonomy<ElkClass> taxonomy = getIncrementalReasoner()
+								.getTaxonomyQuietly();
+						return new TaxonomyTestOutput<Taxonomy<ElkClass>>(
+								taxonomy);
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigIncremental() {
+						return config;
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigWithInterrupts() {
+						return config;
+					}
+
+				});
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import java.util.Map;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.reasoner.InstanceTaxonomyTestOutput;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.testing.TestManifest;
+import org.semanticweb.elk.testing.UrlTestInput;
+
+/**
+ * Runs incremental realization tests with the given parameters of
+ * {@link org.semanticweb.elk.reasoner.config.ReasonerConfiguration
+ * ReasonerConfiguration} set, both for the incremental and for the
+ * interrupted reasoner
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+public abstract class IncrementalConfiguredRealizationCorrectnessTest
+		extends BaseIncrementalRealizationCorrectnessTest<ElkAxiom> {
+
+	public IncrementalConfiguredRealizationCorrectnessTest(
+			final TestManifest<UrlTestInput> testManifest,
+			final Map<String, String> config) {
+		super(testManifest,
+				new ElkIncrementalReasoningTestDelegate<InstanceTaxonomyTestOutput<?>>(
+						testManifest) {
+
+					@Override
+					public InstanceTaxonomyTestOutput<?> getExpectedOutput()
+							throws Exception {
+						LOGGER_.trace(
+								"======= Computing Expected Taxonomy =======");
+						final InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = getStandardReasoner()
+								.getInstanceTaxonomyQuietly();
+						return new InstanceTaxonomyTestOutput<InstanceTaxonomy<ElkClass, ElkNamedIndividual>>(
+								taxonomy);
+					}
+
+					@Override
+					public InstanceTaxonomyTestOutput<?> getActualOutput()
+							throws Exception {
+						LOGGER_.trace(
+								"======= Computing Incremental Taxonomy =======");
+						final InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = getIncrementalReasoner()
+								.getInstanceTaxonomyQuietly();
+						return new InstanceTaxonomyTestOutput<InstanceTaxonomy<ElkClass, ElkNamedIndividual>>(
+								taxonomy);
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigIncremental() {
+						return config;
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigWithInterrupts() {
+						return config;
+					}
+
+				});
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkAbbreviatedIri;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.iris.ElkPrefixImpl;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Tests for changes of property inclusions, transitivity and property chains
+ * processed in the incremental mode.
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+public class IncrementalPropertyHierarchyTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	final ElkPrefixImpl p = new ElkPrefixImpl(":", new ElkFullIri(
+			IncrementalPropertyHierarchyTest.class.getName()));
+
+	ElkClass A, B, C, D;
+
+	ElkObjectProperty R, S, T;
+
+	TestChangesLoader loader;
+
+	Reasoner reasoner;
+
+	ElkClass createElkClass(String name) {
+		return objectFactory.getClass(new ElkAbbreviatedIri(p, name));
+	}
+
+	ElkObjectProperty createElkObjectProperty(String name) {
+		return objectFactory.getObjectProperty(new ElkAbbreviatedIri(p, name));
+	}
+
+	@Before
+	public void init() {
+		A = createElkClass("A");
+		B = createElkClass("B");
+		C = createElkClass("C");
+		D = createElkClass("D");
+		R = createElkObjectProperty("R");
+		S = createElkObjectProperty("S");
+		T = createElkObjectProperty("T");
+		loader = new TestChangesLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		reasoner.setAllowIncrementalMode(false);
+	}
+
+	TestChangesLoader startChanges() {
+		reasoner.setAllowIncrementalMode(true);
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(new TestAxiomLoaderFactory(changeLoader));
+		return changeLoader;
+	}
+
+	boolean subsumes(ElkClass sub, ElkClass sup) throws ElkException {
+		Taxonomy<ElkClass> taxonomy = reasoner.getTaxonomy();
+		return taxonomy.getNode(sub).getAllSuperNodes()
+				.contains(taxonomy.getNode(sup));
+	}
+
+	@Test
+	public void testSubPropertyDeletionAndAddition() throws ElkException {
+		ElkAxiom axRSubS = objectFactory.getSubObjectPropertyOfAxiom(R, S);
+		loader.add(objectFactory.getSubClassOfAxiom(A,
+				objectFactory.getObjectSomeValuesFrom(R, B)))
+				.add(objectFactory.getSubClassOfAxiom(
+						objectFactory.getObjectSomeValuesFrom(S, B), C))
+				.add(axRSubS);
+
+		assertTrue(subsumes(A, C));
+
+		TestChangesLoader changeLoader = startChanges();
+		changeLoader.remove(axRSubS);
+		assertFalse(subsumes(A, C));
+		assertTrue(reasoner.isIncrementalMode());
+
+		changeLoader = startChanges();
+		changeLoader.add(axRSubS);
+		assertTrue(subsumes(A, C));
+		assertTrue(reasoner.isIncrementalMode());
+	}
+
+	@Test
+	public void testTransitivityDeletionAndAddition() throws ElkException {
+		ElkAxiom axTransR = objectFactory.getTransitiveObjectPropertyAxiom(R);
+		loader.add(objectFactory.getSubClassOfAxiom(A,
+				objectFactory.getObjectSomeValuesFrom(R, B)))
+				.add(objectFactory.getSubClassOfAxiom(B,
+						objectFactory.getObjectSomeValuesFrom(R, C)))
+				.add(objectFactory.getSubClassOfAxiom(
+						objectFactory.getObjectSomeValuesFrom(R, C), D))
+				.add(axTransR);
+
+		assertTrue(subsumes(A, D));
+
+		TestChangesLoader changeLoader = startChanges();
+		changeLoader.remove(axTransR);
+		assertFalse(subsumes(A, D));
+		assertTrue(subsumes(B, D));
+		assertTrue(reasoner.isIncrementalMode());
+
+		changeLoader = startChanges();
+		changeLoader.add(axTransR);
+		assertTrue(subsumes(A, D));
+		assertTrue(reasoner.isIncrementalMode());
+	}
+
+	@Test
+	public void testPropertyChainDeletionAndAddition() throws ElkException {
+		ElkAxiom axRSSubT = objectFactory.getSubObjectPropertyOfAxiom(
+				objectFactory.getObjectPropertyChain(Arrays.asList(R, S)), T);
+		loader.add(objectFactory.getSubClassOfAxiom(A,
+				objectFactory.getObjectSomeValuesFrom(R, B)))
+				.add(objectFactory.getSubClassOfAxiom(B,
+						objectFactory.getObjectSomeValuesFrom(S, C)))
+				.add(objectFactory.getSubClassOfAxiom(
+						objectFactory.getObjectSomeValuesFrom(T, C), D));
+
+		assertFalse(subsumes(A, D));
+
+		TestChangesLoader changeLoader = startChanges();
+		changeLoader.add(axRSSubT);
+		assertTrue(subsumes(A, D));
+		assertTrue(reasoner.isIncrementalMode());
+
+		changeLoader = startChanges();
+		changeLoader.remove(axRSSubT);
+		assertFalse(subsumes(A, D));
+		assertTrue(reasoner.isIncrementalMode());
+	}
+
+	@Test
+	public void testRangeAffectedSwitchesMode() throws ElkException {
+		ElkAxiom axRSubS = objectFactory.getSubObjectPropertyOfAxiom(R, S);
+		loader.add(objectFactory.getSubClassOfAxiom(A,
+				objectFactory.getObjectSomeValuesFrom(R, B)))
+				.add(objectFactory.getObjectPropertyRangeAxiom(S, C))
+				.add(objectFactory.getSubClassOfAxiom(
+						objectFactory.getObjectSomeValuesFrom(R,
+								objectFactory.getObjectIntersectionOf(
+										Arrays.asList(B, C))),
+						D));
+
+		assertFalse(subsumes(A, D));
+
+		TestChangesLoader changeLoader = startChanges();
+		changeLoader.add(axRSubS);
+		assertTrue(subsumes(A, D));
+
+		changeLoader = startChanges();
+		changeLoader.remove(axRSubS);
+		assertFalse(subsumes(A, D));
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import java.util.Collections;
+
+import org.junit.runner.RunWith;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.testing.PolySuite;
+import org.semanticweb.elk.testing.TestManifest;
+import org.semanticweb.elk.testing.UrlTestInput;
+
+/**
+ * Runs incremental realization tests with
+ * {@link ReasonerConfiguration#REALIZATION_SUMMARIZATION} enabled
+ * 
+ * @author "Yevgeny Kazakov"
+ */
+@RunWith(PolySuite.class)
+public class IncrementalSummarizedRealizationCorrectnessTest
+		extends IncrementalConfiguredRealizationCorrectnessTest {
+
+	public IncrementalSummarizedRealizationCorrectnessTest(
+			final TestManifest<UrlTestInput> testManifest) {
+		super(testManifest, Collections.singletonMap(
+				ReasonerConfiguration.REALIZATION_SUMMARIZATION, "true"));
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyChanges;
+
+/**
+ * Tests that the {@link TaxonomyChanges} reported after incremental changes
+ * contain the affected members and not the unaffected ones.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class TaxonomyChangesTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	final List<TaxonomyChanges<ElkClass, ElkNamedIndividual>> reported = new ArrayList<TaxonomyChanges<ElkClass, ElkNamedIndividual>>();
+
+	final TaxonomyChanges.Listener<ElkClass, ElkNamedIndividual> listener = new TaxonomyChanges.Listener<ElkClass, ElkNamedIndividual>() {
+
+		@Override
+		public void taxonomyChanged(
+				final TaxonomyChanges<ElkClass, ElkNamedIndividual> changes) {
+			reported.add(changes);
+		}
+
+	};
+
+	ElkClass A, B, C, D;
+
+	ElkNamedIndividual ind;
+
+	ElkAxiom axASubB, axCSubB;
+
+	TestChangesLoader changeLoader;
+
+	Reasoner reasoner;
+
+	@Before
+	public void setUp() throws ElkException {
+		A = objectFactory.getClass(new ElkFullIri(":A"));
+		B = objectFactory.getClass(new ElkFullIri(":B"));
+		C = objectFactory.getClass(new ElkFullIri(":C"));
+		D = objectFactory.getClass(new ElkFullIri(":D"));
+		ind = objectFactory.getNamedIndividual(new ElkFullIri(":in"));
+		axASubB = objectFactory.getSubClassOfAxiom(A, B);
+		axCSubB = objectFactory.getSubClassOfAxiom(C, B);
+
+		TestChangesLoader loader = new TestChangesLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		loader.add(axASubB).add(axCSubB)
+				.add(objectFactory.getDeclarationAxiom(D))
+				.add(objectFactory.getClassAssertionAxiom(A, ind));
+		reasoner.addTaxonomyChangeListener(listener);
+		reasoner.getInstanceTaxonomyQuietly();
+		reported.clear();
+
+		changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(new TestAxiomLoaderFactory(changeLoader));
+	}
+
+	@Test
+	public void testNoChanges() throws ElkException {
+		reasoner.getTaxonomyQuietly();
+		reasoner.getInstanceTaxonomyQuietly();
+		assertTrue(reported.isEmpty());
+	}
+
+	@Test
+	public void testAddSubsumption() throws ElkException {
+		changeLoader.add(objectFactory.getSubClassOfAxiom(D, C));
+		reasoner.getTaxonomyQuietly();
+
+		assertEquals(1, reported.size());
+		TaxonomyChanges<ElkClass, ElkNamedIndividual> changes = reported
+				.get(0);
+		assertFalse(changes.isReset());
+		assertTrue(changes.getChangedDirectSuperNodes().contains(D));
+		assertTrue(changes.getChangedDirectSubNodes().contains(C));
+		assertFalse(changes.getChangedDirectSubNodes().contains(B));
+		assertNotAffected(changes, A);
+	}
+
+	@Test
+	public void testRemoveSubsumption() throws ElkException {
+		changeLoader.remove(axCSubB);
+		reasoner.getTaxonomyQuietly();
+
+		assertEquals(1, reported.size());
+		TaxonomyChanges<ElkClass, ElkNamedIndividual> changes = reported
+				.get(0);
+		assertFalse(changes.isReset());
+		assertTrue(changes.getChangedDirectSuperNodes().contains(C));
+		assertTrue(changes.getChangedDirectSubNodes().contains(B));
+		assertNotAffected(changes, A);
+		assertNotAffected(changes, D);
+	}
+
+	@Test
+	public void testAddEquivalence() throws ElkException {
+		changeLoader.add(objectFactory.getEquivalentClassesAxiom(C, D));
+		reasoner.getTaxonomyQuietly();
+
+		assertEquals(1, reported.size());
+		TaxonomyChanges<ElkClass, ElkNamedIndividual> changes = reported
+				.get(0);
+		assertTrue(changes.getChangedEquivalents().contains(C));
+		assertTrue(changes.getChangedEquivalents().contains(D));
+		assertNotAffected(changes, A);
+	}
+
+	@Test
+	public void testAddAssertion() throws ElkException {
+		changeLoader.add(objectFactory.getClassAssertionAxiom(C, ind));
+		reasoner.getInstanceTaxonomyQuietly();
+
+		assertEquals(1, reported.size());
+		TaxonomyChanges<ElkClass, ElkNamedIndividual> changes = reported
+				.get(0);
+		assertTrue(changes.getChangedDirectTypes().contains(ind));
+		assertTrue(changes.getChangedDirectInstances().contains(C));
+		assertFalse(changes.getChangedDirectInstances().contains(D));
+	}
+
+	@Test
+	public void testRemoveListener() throws ElkException {
+		reasoner.removeTaxonomyChangeListener(listener);
+		changeLoader.add(objectFactory.getSubClassOfAxiom(D, C));
+		reasoner.getTaxonomyQuietly();
+
+		assertTrue(reported.isEmpty());
+	}
+
+	@Test
+	public void testInconsistency() throws ElkException {
+		ElkAxiom axInconsistent = objectFactory.getClassAssertionAxiom(
+				objectFactory.getOwlNothing(), ind);
+		changeLoader.add(axInconsistent);
+		reasoner.getTaxonomyQuietly();
+		changeLoader.remove(axInconsistent);
+		reasoner.getTaxonomyQuietly();
+
+		assertFalse(reported.isEmpty());
+		assertTrue(reported.get(reported.size() - 1).isReset());
+	}
+
+	private static void assertNotAffected(
+			final TaxonomyChanges<ElkClass, ElkNamedIndividual> changes,
+			final ElkClass cls) {
+		assertFalse(changes.getChangedEquivalents().contains(cls));
+		assertFalse(changes.getChangedDirectSuperNodes().contains(cls));
+		assertFalse(changes.getChangedDirectSubNodes().contains(cls));
+		assertFalse(changes.getChangedDirectInstances().contains(cls));
+	}
+
+}
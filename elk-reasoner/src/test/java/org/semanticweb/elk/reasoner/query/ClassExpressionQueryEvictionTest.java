@@ -0,0 +1,131 @@
+/*
+ * #%L
+ * ELK Reasoner
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.query;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
+import org.semanticweb.elk.reasoner.stages.ReasonerStateAccessor;
+
+/**
+ * Tests that the index does not keep the class expressions of the queries
+ * that are evicted.
+ *
+ * @author Yevgeny Kazakov
+ */
+public class ClassExpressionQueryEvictionTest {
+
+	private static final int N_QUERIES_ = 200;
+
+	/**
+	 * the released context roots are garbage collected after this number of
+	 * queries
+	 */
+	private static final int GC_INTERVAL_ = 10;
+
+	/**
+	 * how many more context roots can be kept or numbered than before the
+	 * queries; every query adds a few roots
+	 */
+	private static final int MAX_EXTRA_ROOTS_ = 10 * GC_INTERVAL_;
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private ElkClass getClass(final String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	private ElkObjectProperty getObjectProperty(final String name) {
+		return objectFactory.getObjectProperty(new ElkFullIri(":" + name));
+	}
+
+	private static Reasoner createReasoner(final TestChangesLoader loader) {
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		// evict all queries that are not used
+		config.setParameter(
+				ReasonerConfiguration.CLASS_EXPRESSION_QUERY_EVICTOR,
+				"TinyLfuEvictor(0,0.75,0.01)");
+		final Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				config);
+		reasoner.setAllowIncrementalMode(true);
+		return reasoner;
+	}
+
+	private static int countContextRoots(final IndexedObjectCache index) {
+		int result = 0;
+		for (int id = 0; id < index.getContextRootIdBound(); id++) {
+			if (index.getContextRoot(id) != null) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	@Test
+	public void testEvictedRootsReleased() throws Exception {
+		final ElkClass a = getClass("A"), b = getClass("B");
+		final ElkObjectProperty r = getObjectProperty("R");
+		final TestChangesLoader loader = new TestChangesLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(a,
+				objectFactory.getObjectSomeValuesFrom(r, b)));
+		final Reasoner reasoner = createReasoner(loader);
+		reasoner.getTaxonomy();
+		final IndexedObjectCache index = ReasonerStateAccessor
+				.getOntologyIndex(reasoner);
+		final int initialCount = countContextRoots(index);
+		final int initialIdBound = index.getContextRootIdBound();
+
+		for (int i = 0; i < N_QUERIES_; i++) {
+			// every query introduces new class expressions
+			final ElkClassExpression query = objectFactory
+					.getObjectIntersectionOf(a, objectFactory
+							.getObjectSomeValuesFrom(r, getClass("C" + i)));
+			assertTrue(reasoner.isSatisfiable(query));
+			if (i % GC_INTERVAL_ == 0) {
+				System.gc();
+			}
+		}
+		System.gc();
+
+		final int finalCount = countContextRoots(index);
+		assertTrue("Context roots retained: " + finalCount,
+				finalCount <= initialCount + MAX_EXTRA_ROOTS_);
+		// the numbers of the released roots are reused
+		final int finalIdBound = index.getContextRootIdBound();
+		assertTrue("Context root numbers used: " + finalIdBound,
+				finalIdBound <= initialIdBound + MAX_EXTRA_ROOTS_);
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * #%L
+ * elk-reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.indexing.classes.ChangeIndexingProcessor;
+import org.semanticweb.elk.reasoner.indexing.classes.DirectIndex;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverter;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableOntologyIndex;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutors;
+import org.semanticweb.elk.util.concurrent.computation.DummyInterruptMonitor;
+
+/**
+ * Tests for {@link ArraySaturationState} starting from a small array so that
+ * it has to grow while several workers are adding contexts.
+ * 
+ * @author Yevgeny Kazakov
+ * 
+ */
+public class ArraySaturationStateTest {
+
+	private static final int CHAIN_LENGTH_ = 200;
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private ElkClass getTestClass(final int i) {
+		return objectFactory.getClass(new ElkFullIri(":C" + i));
+	}
+
+	@Test
+	public void testDistinctIds() {
+		ModifiableOntologyIndex index = new DirectIndex(objectFactory);
+		Set<Integer> ids = new HashSet<Integer>();
+		for (IndexedClassExpression ice : index.getClassExpressions()) {
+			assertTrue(ice + ": no id", ice.getId() >= 0);
+			assertTrue(ice + ": duplicate id", ids.add(ice.getId()));
+		}
+	}
+
+	@Test
+	public void testChain() throws InterruptedException, ExecutionException {
+		ModifiableOntologyIndex index = new DirectIndex(objectFactory);
+		ConcurrentExecutor executor = ConcurrentExecutors.create("test", 1,
+				TimeUnit.NANOSECONDS);
+		final ElkAxiomProcessor inserter = new ChangeIndexingProcessor(
+				new ElkAxiomConverterImpl(objectFactory, index, 1),
+				ChangeIndexingProcessor.ADDITION, index);
+		for (int i = 1; i < CHAIN_LENGTH_; i++) {
+			// existentials create a context for every class of the chain
+			inserter.visit(objectFactory.getSubClassOfAxiom(getTestClass(i - 1),
+					objectFactory.getObjectSomeValuesFrom(
+							objectFactory.getObjectProperty(
+									new ElkFullIri(":R")),
+							getTestClass(i))));
+		}
+		ElkPolarityExpressionConverter converter = new ElkPolarityExpressionConverterImpl(
+				objectFactory, index);
+		IndexedClassExpression first = getTestClass(0).accept(converter);
+		IndexedClassExpression last = getTestClass(CHAIN_LENGTH_ - 1)
+				.accept(converter);
+
+		ArraySaturationState<ExtendedContext> saturationState = new ArraySaturationState<ExtendedContext>(
+				index, new MainContextFactory(), 1);
+		assertNull(saturationState.getContext(last));
+
+		final TestClassExpressionSaturation<SaturationJob<IndexedClassExpression>> classExpressionSaturation = new TestClassExpressionSaturation<SaturationJob<IndexedClassExpression>>(
+				DummyInterruptMonitor.INSTANCE, executor, 16, saturationState);
+		classExpressionSaturation.start();
+		classExpressionSaturation
+				.submit(new SaturationJob<IndexedClassExpression>(first));
+		classExpressionSaturation.finish();
+
+		assertEquals(CHAIN_LENGTH_, saturationState.getContexts().size());
+		int count = 0;
+		for (ExtendedContext context : saturationState.getContexts()) {
+			assertSame(context, saturationState.getContext(context.getRoot()));
+			assertTrue(context.isSaturated());
+			count++;
+		}
+		assertEquals(CHAIN_LENGTH_, count);
+		assertNotSame(saturationState.getContext(first),
+				saturationState.getContext(last));
+		assertTrue(saturationState.getContext(last).getComposedSubsumers()
+				.contains(last));
+	}
+
+}
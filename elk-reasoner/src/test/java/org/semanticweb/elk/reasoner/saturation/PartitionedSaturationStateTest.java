@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * elk-reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.indexing.classes.ChangeIndexingProcessor;
+import org.semanticweb.elk.reasoner.indexing.classes.DirectIndex;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverter;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableOntologyIndex;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutors;
+import org.semanticweb.elk.util.concurrent.computation.DummyInterruptMonitor;
+
+/**
+ * Tests for {@link AbstractSaturationState} with partitioned contexts when
+ * there are fewer workers than partitions.
+ * 
+ * @author Yevgeny Kazakov
+ * 
+ */
+public class PartitionedSaturationStateTest {
+
+	private static final int CHAIN_LENGTH_ = 200;
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private ElkClass getTestClass(final int i) {
+		return objectFactory.getClass(new ElkFullIri(":C" + i));
+	}
+
+	@Test
+	public void testPartitionCount() {
+		ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.NUM_OF_WORKING_THREADS,
+				"2");
+		config.setParameter(ReasonerConfiguration.SATURATION_PARTITIONS, "8");
+		AbstractSaturationState<?> saturationState = (AbstractSaturationState<?>) SaturationStateFactory
+				.createSaturationState(new DirectIndex(objectFactory), config);
+		// every partition must have a worker
+		assertEquals(2, saturationState.getPartitionCount());
+	}
+
+	@Test
+	public void testUnownedPartitions()
+			throws InterruptedException, ExecutionException {
+		ModifiableOntologyIndex index = new DirectIndex(objectFactory);
+		ConcurrentExecutor executor = ConcurrentExecutors.create("test", 1,
+				TimeUnit.NANOSECONDS);
+		final ElkAxiomProcessor inserter = new ChangeIndexingProcessor(
+				new ElkAxiomConverterImpl(objectFactory, index, 1),
+				ChangeIndexingProcessor.ADDITION, index);
+		for (int i = 1; i < CHAIN_LENGTH_; i++) {
+			// existentials create a context for every class of the chain
+			inserter.visit(objectFactory.getSubClassOfAxiom(getTestClass(i - 1),
+					objectFactory.getObjectSomeValuesFrom(
+							objectFactory.getObjectProperty(
+									new ElkFullIri(":R")),
+							getTestClass(i))));
+		}
+		ElkPolarityExpressionConverter converter = new ElkPolarityExpressionConverterImpl(
+				objectFactory, index);
+		IndexedClassExpression first = getTestClass(0).accept(converter);
+
+		ReferenceSaturationState saturationState = new ReferenceSaturationState(
+				index, new MainContextFactory(), 4, true);
+		// one worker, so the contexts of the other partitions must be stolen
+		final TestClassExpressionSaturation<SaturationJob<IndexedClassExpression>> classExpressionSaturation = new TestClassExpressionSaturation<SaturationJob<IndexedClassExpression>>(
+				DummyInterruptMonitor.INSTANCE, executor, 1, saturationState);
+		classExpressionSaturation.start();
+		classExpressionSaturation
+				.submit(new SaturationJob<IndexedClassExpression>(first));
+		classExpressionSaturation.finish();
+
+		assertEquals(CHAIN_LENGTH_, saturationState.getContexts().size());
+		for (ExtendedContext context : saturationState.getContexts()) {
+			assertTrue(context.isSaturated());
+		}
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation.conclusions.classes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.Test;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.indexing.classes.DirectIndex;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableOntologyIndex;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SaturationConclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusionComposed;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusionDecomposed;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
+import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationDeletionFactory;
+
+/**
+ * Tests that the conclusions returned by {@link RecyclingClassConclusionFactory}
+ * are reused and behave like the ones created by
+ * {@link SaturationConclusionBaseFactory}, and that they are not retained by
+ * the reasoner after they are processed.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class RecyclingClassConclusionFactoryTest {
+
+	final ModifiableOntologyIndex index = new DirectIndex(
+			new ElkObjectEntityRecyclingFactory());
+
+	final IndexedClass top = index.getOwlThing(),
+			bottom = index.getOwlNothing();
+
+	final SaturationConclusion.Factory baseFactory = new SaturationConclusionBaseFactory();
+
+	final SaturationConclusion.Factory recyclingFactory = new RecyclingClassConclusionFactory();
+
+	@Test
+	public void testComposed() {
+		SubClassInclusionComposed first = recyclingFactory
+				.getSubClassInclusionComposed(top, bottom);
+		SubClassInclusionComposed expected = baseFactory
+				.getSubClassInclusionComposed(top, bottom);
+		assertEquals(expected, first);
+		assertEquals(expected.hashCode(), first.hashCode());
+		assertEquals(expected.toString(), first.toString());
+
+		SubClassInclusionComposed second = recyclingFactory
+				.getSubClassInclusionComposed(bottom, top);
+		assertSame(first, second);
+		assertNotEquals(expected, second);
+		expected = baseFactory.getSubClassInclusionComposed(bottom, top);
+		assertEquals(expected, second);
+		assertEquals(expected.hashCode(), second.hashCode());
+	}
+
+	@Test
+	public void testDecomposed() {
+		SubClassInclusionDecomposed first = recyclingFactory
+				.getSubClassInclusionDecomposed(top, bottom);
+		SubClassInclusionDecomposed expected = baseFactory
+				.getSubClassInclusionDecomposed(top, bottom);
+		assertEquals(expected, first);
+		assertEquals(expected.hashCode(), first.hashCode());
+		// composed and decomposed conclusions are different
+		assertNotEquals(
+				baseFactory.getSubClassInclusionComposed(top, bottom), first);
+
+		SubClassInclusionDecomposed second = recyclingFactory
+				.getSubClassInclusionDecomposed(top, top);
+		assertSame(first, second);
+		assertEquals(baseFactory.getSubClassInclusionDecomposed(top, top),
+				second);
+	}
+
+	/**
+	 * Saturates an ontology using {@link RuleApplicationAdditionFactory}, and
+	 * then removes an axiom so that {@link RuleApplicationDeletionFactory} is
+	 * used too; after each step, none of the recycled conclusions can be
+	 * reachable from the reasoner other than through the factories that
+	 * recycle them
+	 */
+	@Test
+	public void testNotRetained() throws Exception {
+		final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+		final ElkClass a = objectFactory.getClass(new ElkFullIri(":A")),
+				b = objectFactory.getClass(new ElkFullIri(":B")),
+				c = objectFactory.getClass(new ElkFullIri(":C")),
+				d = objectFactory.getClass(new ElkFullIri(":D")),
+				e = objectFactory.getClass(new ElkFullIri(":E"));
+		final ElkObjectProperty r = objectFactory
+				.getObjectProperty(new ElkFullIri(":R"));
+		final TestChangesLoader loader = new TestChangesLoader();
+		// A <= B and C, B and C <= D
+		loader.add(objectFactory.getSubClassOfAxiom(a,
+				objectFactory.getObjectIntersectionOf(b, c)));
+		loader.add(objectFactory.getSubClassOfAxiom(
+				objectFactory.getObjectIntersectionOf(b, c), d));
+		// D <= R some A, R some D <= E
+		loader.add(objectFactory.getSubClassOfAxiom(d,
+				objectFactory.getObjectSomeValuesFrom(r, a)));
+		final ElkAxiom removed = objectFactory.getSubClassOfAxiom(
+				objectFactory.getObjectSomeValuesFrom(r, d), e);
+		loader.add(removed);
+		final Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader);
+		reasoner.setAllowIncrementalMode(true);
+		try {
+			reasoner.getTaxonomy();
+			assertNotRetained(reasoner);
+
+			loader.remove(removed);
+			reasoner.registerAxiomLoader(new TestAxiomLoaderFactory(loader));
+			reasoner.getTaxonomy();
+			assertNotRetained(reasoner);
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
+	/**
+	 * Fails if some {@link RecyclingClassConclusionFactory.RecycledSubClassInclusion}
+	 * is reachable from the given object other than through a
+	 * {@link RecyclingClassConclusionFactory}; only the fields declared in ELK
+	 * classes, and the elements of arrays, collections, maps, and atomic
+	 * references are followed
+	 */
+	static void assertNotRetained(Object root) throws IllegalAccessException {
+		final Set<Object> visited = Collections
+				.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		// may contain null values
+		final Deque<Object> todo = new LinkedList<Object>();
+		todo.push(root);
+		while (!todo.isEmpty()) {
+			final Object next = todo.pop();
+			if (next == null || next instanceof RecyclingClassConclusionFactory
+					|| !visited.add(next)) {
+				continue;
+			}
+			// else
+			if (next instanceof RecyclingClassConclusionFactory.RecycledSubClassInclusion) {
+				fail("Recycled conclusion retained: " + next);
+			}
+			final Class<?> type = next.getClass();
+			if (type.isArray()) {
+				if (!type.getComponentType().isPrimitive()) {
+					for (int i = 0; i < Array.getLength(next); i++) {
+						todo.push(Array.get(next, i));
+					}
+				}
+				continue;
+			}
+			// else
+			if (next instanceof Collection<?>) {
+				todo.addAll((Collection<?>) next);
+			} else if (next instanceof Map<?, ?>) {
+				todo.addAll(((Map<?, ?>) next).keySet());
+				todo.addAll(((Map<?, ?>) next).values());
+			} else if (next instanceof AtomicReferenceArray<?>) {
+				final AtomicReferenceArray<?> array = (AtomicReferenceArray<?>) next;
+				for (int i = 0; i < array.length(); i++) {
+					todo.push(array.get(i));
+				}
+			} else if (next instanceof AtomicReference<?>) {
+				todo.push(((AtomicReference<?>) next).get());
+			}
+			for (Class<?> c = type; c != null
+					&& c.getName().startsWith("org.semanticweb.elk."); c = c
+							.getSuperclass()) {
+				for (final Field field : c.getDeclaredFields()) {
+					if (field.getType().isPrimitive()
+							|| Modifier.isStatic(field.getModifiers())) {
+						continue;
+					}
+					field.setAccessible(true);
+					todo.push(field.get(next));
+				}
+			}
+		}
+	}
+
+}
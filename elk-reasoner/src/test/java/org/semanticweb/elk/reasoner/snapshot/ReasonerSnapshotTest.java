@@ -0,0 +1,167 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.snapshot;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.incremental.IncrementalChangeType;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.InstanceTaxonomyEqualator;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyEqualator;
+
+public class ReasonerSnapshotTest {
+
+	private static final String ONTOLOGY_ = "Prefix(:=<http://www.test.com/schema#>) Ontology(\n"
+			+ "SubClassOf(:A :B) "
+			+ "EquivalentClasses(:B :C) "
+			+ "SubClassOf(ObjectSomeValuesFrom(:R :B) :D) "
+			+ "SubObjectPropertyOf(:R :S) "
+			+ "EquivalentObjectProperties(:S :T) "
+			+ "ClassAssertion(:A :a) "
+			+ "ObjectPropertyAssertion(:R :b :a) "
+			+ "ClassAssertion(:E :c) "
+			+ ")";
+
+	private static final String CHANGE_ = "Prefix(:=<http://www.test.com/schema#>) Ontology(\n"
+			+ "SubClassOf(:E :A) "
+			+ ")";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Set<ElkAxiom> load(String ontology) throws Exception {
+		return TestReasonerUtils.loadAxioms(new StringReader(ontology));
+	}
+
+	private static Reasoner createReasoner(Set<ElkAxiom> axioms,
+			boolean snapshotsEnabled) {
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		config.setParameter(ReasonerConfiguration.SNAPSHOTS_ENABLED,
+				String.valueOf(snapshotsEnabled));
+		return TestReasonerUtils.createTestReasoner(
+				new TestChangesLoader(axioms, IncrementalChangeType.ADD),
+				config);
+	}
+
+	private static void assertSameResults(Reasoner expected, Reasoner actual)
+			throws Exception {
+		assertTrue(TaxonomyEqualator.equals(expected.getTaxonomy(),
+				actual.getTaxonomy()));
+		assertTrue(InstanceTaxonomyEqualator.equals(
+				expected.getInstanceTaxonomy(), actual.getInstanceTaxonomy()));
+		assertTrue(TaxonomyEqualator.equals(
+				expected.getObjectPropertyTaxonomy(),
+				actual.getObjectPropertyTaxonomy()));
+	}
+
+	@Test
+	public void testSaveRestore() throws Exception {
+		File file = folder.newFile();
+		Set<ElkAxiom> axioms = load(ONTOLOGY_);
+		Reasoner original = createReasoner(axioms, true);
+		Reasoner restored = createReasoner(axioms, true);
+		try {
+			original.saveSnapshot(file);
+			assertTrue(restored.restoreSnapshot(file));
+			assertFalse(restored.isInconsistent());
+			assertSameResults(original, restored);
+			// nothing was computed
+			assertFalse(restored.doneTaxonomy());
+			assertFalse(restored.doneInstanceTaxonomy());
+			assertFalse(restored.doneObjectPropertyTaxonomy());
+		} finally {
+			original.shutdown();
+			restored.shutdown();
+		}
+	}
+
+	@Test
+	public void testOutdatedSnapshot() throws Exception {
+		File file = folder.newFile();
+		Set<ElkAxiom> axioms = load(ONTOLOGY_);
+		Reasoner original = createReasoner(axioms, true);
+		axioms.addAll(load(CHANGE_));
+		Reasoner changed = createReasoner(axioms, true);
+		try {
+			original.saveSnapshot(file);
+			assertFalse(changed.restoreSnapshot(file));
+		} finally {
+			original.shutdown();
+			changed.shutdown();
+		}
+	}
+
+	@Test
+	public void testChangesAfterRestore() throws Exception {
+		File file = folder.newFile();
+		Set<ElkAxiom> axioms = load(ONTOLOGY_);
+		Set<ElkAxiom> changes = load(CHANGE_);
+		Reasoner original = createReasoner(axioms, true);
+		Reasoner restored = createReasoner(axioms, true);
+		try {
+			original.saveSnapshot(file);
+			assertTrue(restored.restoreSnapshot(file));
+			original.registerAxiomLoader(new TestAxiomLoaderFactory(
+					new TestChangesLoader(changes, IncrementalChangeType.ADD)));
+			restored.registerAxiomLoader(new TestAxiomLoaderFactory(
+					new TestChangesLoader(changes, IncrementalChangeType.ADD)));
+			assertSameResults(original, restored);
+			// the changes are taken into account in snapshots
+			original.saveSnapshot(file);
+			axioms.addAll(changes);
+			Reasoner fresh = createReasoner(axioms, true);
+			try {
+				assertTrue(fresh.restoreSnapshot(file));
+				assertSameResults(original, fresh);
+			} finally {
+				fresh.shutdown();
+			}
+		} finally {
+			original.shutdown();
+			restored.shutdown();
+		}
+	}
+
+	@Test(expected = ElkSnapshotException.class)
+	public void testSnapshotsDisabled() throws Exception {
+		Reasoner reasoner = createReasoner(load(ONTOLOGY_), false);
+		try {
+			reasoner.saveSnapshot(folder.newFile());
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.stages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.ReasonerFactory;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Tests that {@link ListeningStageExecutor} reports every executed
+ * {@link ReasonerStage} to the {@link ReasonerStageListener}.
+ * 
+ * @author "Yevgeny Kazakov"
+ * 
+ */
+public class ListeningStageExecutorTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	final List<String> started = new ArrayList<String>();
+
+	final List<String> finished = new ArrayList<String>();
+
+	final ReasonerStageListener listener = new ReasonerStageListener() {
+
+		ReasonerStage current_ = null;
+
+		@Override
+		public void stageStarted(ReasonerStage stage) {
+			// stages are not nested
+			assertSame(null, current_);
+			current_ = stage;
+			started.add(stage.getName());
+		}
+
+		@Override
+		public void stageFinished(ReasonerStage stage, long elapsedNanos,
+				boolean completed) {
+			assertSame(current_, stage);
+			assertTrue(completed);
+			assertTrue(elapsedNanos >= 0);
+			assertNotNull(stage.getRuleAndConclusionStatistics());
+			current_ = null;
+			finished.add(stage.getName());
+		}
+
+	};
+
+	@Test
+	public void testStagesReported()
+			throws ElkException, InterruptedException {
+		ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+		ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+		ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+		TestChangesLoader loader = new TestChangesLoader();
+		loader.add(objectFactory.getSubClassOfAxiom(A, B))
+				.add(objectFactory.getSubClassOfAxiom(B, C));
+
+		Reasoner reasoner = new ReasonerFactory().createReasoner(
+				new TestAxiomLoaderFactory(loader), listener,
+				ReasonerConfiguration.getConfiguration());
+		try {
+			reasoner.getTaxonomyQuietly();
+			assertEquals(started, finished);
+			assertTrue(finished.contains("Input Loading"));
+			assertTrue(finished.contains("Taxonomy Construction"));
+
+			// nothing needs to be executed again
+			started.clear();
+			finished.clear();
+			reasoner.getTaxonomyQuietly();
+			assertTrue(started.isEmpty());
+			assertTrue(finished.isEmpty());
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
+}
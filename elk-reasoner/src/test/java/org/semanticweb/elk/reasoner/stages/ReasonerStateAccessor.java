@@ -24,12 +24,14 @@ package org.semanticweb.elk.reasoner.stages;
  * #L%
  */
 
+import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
 import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
 import org.semanticweb.elk.owl.interfaces.ElkSubObjectPropertyExpression;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 
 /**
@@ -60,5 +62,24 @@ public class ReasonerStateAccessor {
 	public static Context getContext(AbstractReasonerState reasoner, IndexedClassExpression ice) {
 		return reasoner.saturationState.getContext(ice);
 	}
+
+	public static OntologyIndex getOntologyIndex(AbstractReasonerState reasoner) {
+		return reasoner.ontologyIndex;
+	}
+
+	/**
+	 * Loads the ontology and computes the saturation of its object
+	 * properties, after which the ontology index can be used for saturation
+	 * of class expressions
+	 * 
+	 * @param reasoner
+	 * @throws ElkException
+	 */
+	public static void completePropertySaturation(
+			AbstractReasonerState reasoner) throws ElkException {
+		reasoner.ensureLoading();
+		reasoner.complete(
+				reasoner.stageManager.propertyHierarchyCompositionComputationStage);
+	}
 	
 }
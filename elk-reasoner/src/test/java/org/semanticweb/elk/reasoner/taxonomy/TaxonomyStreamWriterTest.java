@@ -0,0 +1,173 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyStreamWriter.Format;
+import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Tests that {@link TaxonomyStreamWriter} writes the same output as
+ * {@link TaxonomyPrinter} independently of the number of threads and the
+ * range size.
+ *
+ * @author "Yevgeny Kazakov"
+ */
+public class TaxonomyStreamWriterTest {
+
+	@Test
+	public void classTaxonomySameAsPrinter() throws Exception {
+		Taxonomy<ElkClass> taxonomy = load("io/taxonomy.owl").getTaxonomy();
+		StringWriter expected = new StringWriter();
+		TaxonomyPrinter.dumpTaxomomy(taxonomy, expected, true);
+
+		for (int threads = 1; threads <= 4; threads++) {
+			for (int rangeSize = 1; rangeSize <= 5; rangeSize += 2) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				new TaxonomyStreamWriter(Format.FUNCTIONAL, false, threads,
+						rangeSize).writeTaxonomy(taxonomy, out, true);
+				assertEquals(expected.toString(), out.toString("UTF-8"));
+			}
+		}
+	}
+
+	@Test
+	public void instanceTaxonomySameAsPrinter() throws Exception {
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = load(
+				"io/instance_taxonomy.owl").getInstanceTaxonomy();
+		StringWriter expected = new StringWriter();
+		TaxonomyPrinter.dumpInstanceTaxomomy(taxonomy, expected, false);
+
+		for (int threads = 1; threads <= 4; threads++) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new TaxonomyStreamWriter(Format.FUNCTIONAL, false, threads, 2)
+					.writeInstanceTaxonomy(taxonomy, out, false);
+			assertEquals(expected.toString(), out.toString("UTF-8"));
+		}
+	}
+
+	@Test
+	public void gzip() throws Exception {
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = load(
+				"io/instance_taxonomy.owl").getInstanceTaxonomy();
+		StringWriter expected = new StringWriter();
+		TaxonomyPrinter.dumpInstanceTaxomomy(taxonomy, expected, false);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new TaxonomyStreamWriter(Format.FUNCTIONAL, true, 2, 3)
+				.writeInstanceTaxonomy(taxonomy, out, false);
+		InputStream in = new GZIPInputStream(
+				new ByteArrayInputStream(out.toByteArray()));
+		ByteArrayOutputStream unzipped = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			unzipped.write(buffer, 0, read);
+		}
+		assertEquals(expected.toString(), unzipped.toString("UTF-8"));
+	}
+
+	@Test
+	public void edgeList() throws Exception {
+		InstanceTaxonomy<ElkClass, ElkNamedIndividual> taxonomy = load(
+				"io/instance_taxonomy.owl").getInstanceTaxonomy();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new TaxonomyStreamWriter(Format.EDGE_LIST, false, 1)
+				.writeInstanceTaxonomy(taxonomy, out, false);
+		byte[] expected = out.toByteArray();
+
+		DataInputStream in = new DataInputStream(
+				new ByteArrayInputStream(expected));
+		assertEquals(TaxonomyStreamWriter.EDGE_LIST_MAGIC, in.readInt());
+		assertEquals(TaxonomyStreamWriter.EDGE_LIST_VERSION, in.readInt());
+		String[] classes = readIris(in);
+		String[] individuals = readIris(in);
+		assertTrue(classes.length >= 2);
+		assertTrue(individuals.length > 0);
+		int edges = 0;
+		byte type;
+		while ((type = in.readByte()) != TaxonomyStreamWriter.END) {
+			int from = in.readInt();
+			int to = in.readInt();
+			switch (type) {
+			case TaxonomyStreamWriter.EQUIVALENT:
+			case TaxonomyStreamWriter.DIRECT_SUPER:
+				assertTrue(from < classes.length && to < classes.length);
+				break;
+			case TaxonomyStreamWriter.SAME_INSTANCE:
+				assertTrue(from < individuals.length && to < individuals.length);
+				break;
+			case TaxonomyStreamWriter.DIRECT_TYPE:
+				assertTrue(from < individuals.length && to < classes.length);
+				break;
+			default:
+				throw new AssertionError("Unexpected edge type: " + type);
+			}
+			edges++;
+		}
+		assertTrue(edges > 0);
+		assertEquals(TaxonomyStreamWriter.EDGE_LIST_MAGIC, in.readInt());
+		assertEquals(-1, in.read());
+
+		for (int threads = 2; threads <= 4; threads++) {
+			out = new ByteArrayOutputStream();
+			new TaxonomyStreamWriter(Format.EDGE_LIST, false, threads, 1)
+					.writeInstanceTaxonomy(taxonomy, out, false);
+			assertArrayEquals(expected, out.toByteArray());
+		}
+	}
+
+	private static String[] readIris(DataInputStream in) throws IOException {
+		String[] result = new String[in.readInt()];
+		for (int i = 0; i < result.length; i++) {
+			byte[] iri = new byte[in.readInt()];
+			in.readFully(iri);
+			result[i] = new String(iri, "UTF-8");
+		}
+		return result;
+	}
+
+	private Reasoner load(String resource) throws ElkException {
+		return TestReasonerUtils.createTestReasoner(
+				getClass().getClassLoader().getResourceAsStream(resource), 1);
+	}
+
+}
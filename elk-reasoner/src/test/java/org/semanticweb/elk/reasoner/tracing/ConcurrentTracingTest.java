@@ -0,0 +1,174 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.tracing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.semanticweb.elk.ElkTestUtils;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.SimpleManifestCreator;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.testing.ConfigurationUtils;
+import org.semanticweb.elk.testing.PolySuite;
+import org.semanticweb.elk.testing.PolySuite.Config;
+import org.semanticweb.elk.testing.PolySuite.Configuration;
+import org.semanticweb.elk.testing.TestManifest;
+import org.semanticweb.elk.testing.UrlTestInput;
+
+/**
+ * Tests that the proofs of subsumptions obtained when inferences are requested
+ * from several threads at the same time are the same as when they are
+ * requested from one thread. A small inference cache is used for the
+ * concurrent requests, so that the inferences are also traced again after
+ * eviction.
+ * 
+ * @author Yevgeny Kazakov
+ */
+@RunWith(PolySuite.class)
+public class ConcurrentTracingTest {
+
+	private static final int N_THREADS_ = 4;
+
+	protected final TestManifest<UrlTestInput> manifest;
+
+	public ConcurrentTracingTest(final TestManifest<UrlTestInput> testManifest) {
+		manifest = testManifest;
+	}
+
+	/**
+	 * @param reasoner
+	 * @return the {@link Conclusion}s derived for the subsumptions tested in
+	 *         {@link ComprehensiveSubsumptionTracingTests}
+	 * @throws Exception
+	 */
+	private static List<Conclusion> getConclusions(final Reasoner reasoner)
+			throws Exception {
+		final List<Conclusion> result = new ArrayList<Conclusion>();
+		new ComprehensiveSubsumptionTracingTests(reasoner)
+				.accept(new TracingTestVisitor() {
+
+					@Override
+					public void testSubsumption(final ElkClass subsumee,
+							final ElkClass subsumer) throws Exception {
+						result.addAll(TracingTestUtils
+								.getDerivedConclusionsForSubsumption(subsumee,
+										subsumer, reasoner));
+					}
+
+					@Override
+					public void testEquivalence(
+							final List<? extends ElkClass> equivalent)
+							throws Exception {
+						for (final ElkClass first : equivalent) {
+							for (final ElkClass second : equivalent) {
+								testSubsumption(first, second);
+							}
+						}
+					}
+
+				});
+		return result;
+	}
+
+	@Test
+	public void concurrentTracingTest() throws Exception {
+		// proofs obtained from one thread by the string of their conclusions
+		final Map<String, TracingProofMetrics> expected = new HashMap<String, TracingProofMetrics>();
+		final Reasoner sequential = TestReasonerUtils
+				.createTestReasoner(manifest.getInput().getUrl().openStream());
+		try {
+			for (final Conclusion conclusion : getConclusions(sequential)) {
+				expected.put(conclusion.toString(), TracingProofMetrics
+						.getStatistics(sequential.getProof(), conclusion));
+			}
+		} finally {
+			assertTrue(sequential.shutdown());
+		}
+
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.TRACING_EVICTOR,
+				"NQEvictor(16, 0.75)");
+		final Reasoner concurrent = TestReasonerUtils.createTestReasoner(
+				manifest.getInput().getUrl().openStream(), config);
+		try {
+			final List<Conclusion> conclusions = getConclusions(concurrent);
+			final Queue<Throwable> failures = new ConcurrentLinkedQueue<Throwable>();
+			final List<Thread> threads = new ArrayList<Thread>(N_THREADS_);
+			for (int i = 0; i < N_THREADS_; i++) {
+				// each thread starts from a different conclusion
+				final int offset = i * conclusions.size() / N_THREADS_;
+				final Thread thread = new Thread() {
+					@Override
+					public void run() {
+						try {
+							for (int j = 0; j < conclusions.size(); j++) {
+								final Conclusion conclusion = conclusions.get(
+										(offset + j) % conclusions.size());
+								assertEquals(conclusion.toString(),
+										expected.get(conclusion.toString()),
+										TracingProofMetrics.getStatistics(
+												concurrent.getProof(),
+												conclusion));
+							}
+						} catch (final Throwable e) {
+							failures.add(e);
+						}
+					}
+				};
+				threads.add(thread);
+				thread.start();
+			}
+			for (final Thread thread : threads) {
+				thread.join();
+			}
+			if (!failures.isEmpty()) {
+				throw new AssertionError(failures.peek());
+			}
+		} finally {
+			assertTrue(concurrent.shutdown());
+		}
+	}
+
+	@Config
+	public static Configuration getConfig()
+			throws URISyntaxException, IOException {
+		return ConfigurationUtils.loadFileBasedTestConfiguration(
+				ElkTestUtils.TEST_INPUT_LOCATION, TracingTest.class,
+				SimpleManifestCreator.INSTANCE, "owl");
+	}
+
+}
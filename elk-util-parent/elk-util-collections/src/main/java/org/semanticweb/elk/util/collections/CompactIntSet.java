@@ -0,0 +1,455 @@
+/*
+ * #%L
+ * ELK Utilities Collections
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of non-negative integers in a compressed representation similar to
+ * roaring bitmaps [1]. The values are partitioned into chunks by their upper
+ * 16 bits. The lower 16 bits of the values in each chunk are stored either in
+ * a sorted {@code char} array if the chunk is sparse, or in a bitmap of
+ * 1024 {@code long}s if the chunk becomes dense. Values
+ * that are close to each other therefore take about two bytes each.
+ *
+ * [1] Samy Chambi, Daniel Lemire, Owen Kaser, Robert Godin, Better bitmap
+ * performance with Roaring bitmaps, Software: Practice and Experience 46(5),
+ * 2016
+ *
+ * @author Yevgeny Kazakov
+ *
+ */
+public class CompactIntSet {
+
+	/**
+	 * the maximal number of values in a chunk stored in a sorted array; a
+	 * chunk with more values is converted to a bitmap, which then takes less
+	 * space
+	 */
+	private static final int ARRAY_LIMIT_ = 4096;
+
+	/**
+	 * the number of {@code long}s in a bitmap chunk
+	 */
+	private static final int BITMAP_LENGTH_ = 1 << 10;
+
+	/**
+	 * the initial length of the arrays with chunk values
+	 */
+	private static final int INITIAL_ARRAY_LENGTH_ = 4;
+
+	/**
+	 * estimated sizes in bytes of object headers and references
+	 */
+	private static final int OBJECT_HEADER_ = 12, ARRAY_HEADER_ = 16,
+			REFERENCE_ = 4;
+
+	/**
+	 * the upper 16 bits of the values in the chunks, in increasing order
+	 */
+	private char[] keys_;
+
+	/**
+	 * the chunks; each chunk is either a sorted {@code char[]} or a
+	 * {@code long[]} bitmap
+	 */
+	private Object[] chunks_;
+
+	/**
+	 * the numbers of values in the chunks
+	 */
+	private int[] chunkSizes_;
+
+	/**
+	 * the number of chunks
+	 */
+	private int chunkCount_ = 0;
+
+	/**
+	 * the number of values in this set
+	 */
+	private int size_ = 0;
+
+	/**
+	 * the number of structural modifications, used to detect concurrent
+	 * modifications during iteration
+	 */
+	private int modCount_ = 0;
+
+	public CompactIntSet() {
+		this.keys_ = new char[1];
+		this.chunks_ = new Object[1];
+		this.chunkSizes_ = new int[1];
+	}
+
+	public int size() {
+		return size_;
+	}
+
+	public boolean isEmpty() {
+		return size_ == 0;
+	}
+
+	/**
+	 * @param value
+	 * @return {@code true} if this set contains the given value
+	 */
+	public boolean contains(int value) {
+		if (value < 0) {
+			return false;
+		}
+		// else
+		int pos = Arrays.binarySearch(keys_, 0, chunkCount_, high(value));
+		if (pos < 0) {
+			return false;
+		}
+		// else
+		Object chunk = chunks_[pos];
+		char low = low(value);
+		if (chunk instanceof char[]) {
+			return Arrays.binarySearch((char[]) chunk, 0, chunkSizes_[pos],
+					low) >= 0;
+		}
+		// else bitmap
+		return (((long[]) chunk)[low >>> 6] & (1L << low)) != 0;
+	}
+
+	/**
+	 * Adds the given value to this set
+	 *
+	 * @param value
+	 *            a non-negative integer
+	 * @return {@code true} if this set did not contain the value
+	 */
+	public boolean add(int value) {
+		if (value < 0) {
+			throw new IllegalArgumentException(
+					"Negative values are not supported: " + value);
+		}
+		// else
+		char high = high(value);
+		char low = low(value);
+		int pos = Arrays.binarySearch(keys_, 0, chunkCount_, high);
+		if (pos < 0) {
+			pos = -pos - 1;
+			insertChunk(pos, high);
+		}
+		Object chunk = chunks_[pos];
+		if (chunk instanceof char[]) {
+			char[] values = (char[]) chunk;
+			int chunkSize = chunkSizes_[pos];
+			int valuePos = Arrays.binarySearch(values, 0, chunkSize, low);
+			if (valuePos >= 0) {
+				return false;
+			}
+			// else
+			if (chunkSize == ARRAY_LIMIT_) {
+				long[] bitmap = toBitmap(values, chunkSize);
+				bitmap[low >>> 6] |= 1L << low;
+				chunks_[pos] = bitmap;
+			} else {
+				valuePos = -valuePos - 1;
+				if (chunkSize == values.length) {
+					values = Arrays.copyOf(values,
+							Math.min(chunkSize << 1, ARRAY_LIMIT_));
+					chunks_[pos] = values;
+				}
+				System.arraycopy(values, valuePos, values, valuePos + 1,
+						chunkSize - valuePos);
+				values[valuePos] = low;
+			}
+		} else {
+			long[] bitmap = (long[]) chunk;
+			long mask = 1L << low;
+			if ((bitmap[low >>> 6] & mask) != 0) {
+				return false;
+			}
+			// else
+			bitmap[low >>> 6] |= mask;
+		}
+		chunkSizes_[pos]++;
+		size_++;
+		modCount_++;
+		return true;
+	}
+
+	/**
+	 * Removes the given value from this set; the bitmap chunks are not
+	 * converted back to arrays
+	 *
+	 * @param value
+	 * @return {@code true} if this set contained the value
+	 */
+	public boolean remove(int value) {
+		if (value < 0) {
+			return false;
+		}
+		// else
+		int pos = Arrays.binarySearch(keys_, 0, chunkCount_, high(value));
+		if (pos < 0) {
+			return false;
+		}
+		// else
+		Object chunk = chunks_[pos];
+		char low = low(value);
+		int chunkSize = chunkSizes_[pos];
+		if (chunk instanceof char[]) {
+			char[] values = (char[]) chunk;
+			int valuePos = Arrays.binarySearch(values, 0, chunkSize, low);
+			if (valuePos < 0) {
+				return false;
+			}
+			// else
+			System.arraycopy(values, valuePos + 1, values, valuePos,
+					chunkSize - valuePos - 1);
+		} else {
+			long[] bitmap = (long[]) chunk;
+			long mask = 1L << low;
+			if ((bitmap[low >>> 6] & mask) == 0) {
+				return false;
+			}
+			// else
+			bitmap[low >>> 6] &= ~mask;
+		}
+		if (--chunkSizes_[pos] == 0) {
+			removeChunk(pos);
+		}
+		size_--;
+		modCount_++;
+		return true;
+	}
+
+	/**
+	 * Removes all values from this set
+	 */
+	public void clear() {
+		Arrays.fill(chunks_, 0, chunkCount_, null);
+		chunkCount_ = 0;
+		size_ = 0;
+		modCount_++;
+	}
+
+	/**
+	 * @return an estimate of the number of bytes occupied by this
+	 *         {@link CompactIntSet} in memory
+	 */
+	public long getEstimatedMemory() {
+		long result = align(OBJECT_HEADER_ + 3 * REFERENCE_ + 12)
+				+ align(ARRAY_HEADER_ + 2 * keys_.length)
+				+ align(ARRAY_HEADER_ + REFERENCE_ * chunks_.length)
+				+ align(ARRAY_HEADER_ + 4 * chunkSizes_.length);
+		for (int i = 0; i < chunkCount_; i++) {
+			Object chunk = chunks_[i];
+			if (chunk instanceof char[]) {
+				result += align(ARRAY_HEADER_ + 2 * ((char[]) chunk).length);
+			} else {
+				result += align(ARRAY_HEADER_ + 8 * BITMAP_LENGTH_);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return an {@link IntIterator} over the values of this set in increasing
+	 *         order
+	 */
+	public IntIterator iterator() {
+		return new IntIterator();
+	}
+
+	private static char high(int value) {
+		return (char) (value >>> 16);
+	}
+
+	private static char low(int value) {
+		return (char) value;
+	}
+
+	private static long align(long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+
+	private void insertChunk(int pos, char key) {
+		if (chunkCount_ == keys_.length) {
+			int newLength = chunkCount_ << 1;
+			keys_ = Arrays.copyOf(keys_, newLength);
+			chunks_ = Arrays.copyOf(chunks_, newLength);
+			chunkSizes_ = Arrays.copyOf(chunkSizes_, newLength);
+		}
+		int moved = chunkCount_ - pos;
+		System.arraycopy(keys_, pos, keys_, pos + 1, moved);
+		System.arraycopy(chunks_, pos, chunks_, pos + 1, moved);
+		System.arraycopy(chunkSizes_, pos, chunkSizes_, pos + 1, moved);
+		keys_[pos] = key;
+		chunks_[pos] = new char[INITIAL_ARRAY_LENGTH_];
+		chunkSizes_[pos] = 0;
+		chunkCount_++;
+	}
+
+	private void removeChunk(int pos) {
+		int moved = chunkCount_ - pos - 1;
+		System.arraycopy(keys_, pos + 1, keys_, pos, moved);
+		System.arraycopy(chunks_, pos + 1, chunks_, pos, moved);
+		System.arraycopy(chunkSizes_, pos + 1, chunkSizes_, pos, moved);
+		chunks_[--chunkCount_] = null;
+	}
+
+	private static long[] toBitmap(char[] values, int size) {
+		long[] result = new long[BITMAP_LENGTH_];
+		for (int i = 0; i < size; i++) {
+			char low = values[i];
+			result[low >>> 6] |= 1L << low;
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the position of the first set bit in the bitmap starting from the
+	 * given position
+	 *
+	 * @return the found position or {@code -1} if there is no such bit
+	 */
+	private static int nextSetBit(long[] bitmap, int from) {
+		int word = from >>> 6;
+		if (word >= BITMAP_LENGTH_) {
+			return -1;
+		}
+		long bits = bitmap[word] & (-1L << from);
+		for (;;) {
+			if (bits != 0) {
+				return (word << 6) + Long.numberOfTrailingZeros(bits);
+			}
+			if (++word == BITMAP_LENGTH_) {
+				return -1;
+			}
+			bits = bitmap[word];
+		}
+	}
+
+	/**
+	 * Iterates over the values of {@link CompactIntSet} without boxing them
+	 *
+	 * @author Yevgeny Kazakov
+	 *
+	 */
+	public class IntIterator {
+
+		/**
+		 * the position of the current chunk
+		 */
+		private int chunkPos_ = 0;
+
+		/**
+		 * the position of the next value in the current chunk: the index in
+		 * the array or the bit in the bitmap
+		 */
+		private int valuePos_ = 0;
+
+		/**
+		 * the value returned by {@link #next()} the last time or {@code -1} if
+		 * it cannot be removed
+		 */
+		private int last_ = -1;
+
+		/**
+		 * the values of {@link #chunkPos_} and {@link #valuePos_} for
+		 * {@link #last_}; they are used by {@link #remove()} since
+		 * {@link #hasNext()} may move the current position forward
+		 */
+		private int lastChunkPos_, lastValuePos_;
+
+		private int expectedModCount_ = modCount_;
+
+		public boolean hasNext() {
+			while (chunkPos_ < chunkCount_) {
+				Object chunk = chunks_[chunkPos_];
+				if (chunk instanceof char[]) {
+					if (valuePos_ < chunkSizes_[chunkPos_]) {
+						return true;
+					}
+				} else {
+					int nextBit = nextSetBit((long[]) chunk, valuePos_);
+					if (nextBit >= 0) {
+						valuePos_ = nextBit;
+						return true;
+					}
+				}
+				chunkPos_++;
+				valuePos_ = 0;
+			}
+			return false;
+		}
+
+		public int next() {
+			if (modCount_ != expectedModCount_) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			// else
+			Object chunk = chunks_[chunkPos_];
+			int low = chunk instanceof char[]
+					? ((char[]) chunk)[valuePos_]
+					: valuePos_;
+			lastChunkPos_ = chunkPos_;
+			lastValuePos_ = valuePos_;
+			valuePos_++;
+			last_ = (keys_[chunkPos_] << 16) | low;
+			return last_;
+		}
+
+		/**
+		 * Removes from the set the value returned by the last call of
+		 * {@link #next()}
+		 */
+		public void remove() {
+			if (last_ < 0) {
+				throw new IllegalStateException();
+			}
+			if (modCount_ != expectedModCount_) {
+				throw new ConcurrentModificationException();
+			}
+			// else
+			int chunkCount = chunkCount_;
+			CompactIntSet.this.remove(last_);
+			last_ = -1;
+			expectedModCount_ = modCount_;
+			// continue after the removed value
+			chunkPos_ = lastChunkPos_;
+			if (chunkCount_ < chunkCount) {
+				// its chunk is removed, the next one takes its place
+				valuePos_ = 0;
+			} else if (chunks_[chunkPos_] instanceof char[]) {
+				// the next values are shifted to its position
+				valuePos_ = lastValuePos_;
+			} else {
+				valuePos_ = lastValuePos_ + 1;
+			}
+		}
+
+	}
+
+}
@@ -27,6 +27,25 @@ public class Evictors {
 		// Forbid instantiation of an utility class.
 	}
 
+	/**
+	 * Sets the {@link Weigher} of the provided {@link Evictor} if it evicts
+	 * elements based on their weight, such as {@link TinyLfuEvictor}.
+	 * 
+	 * @param evictor
+	 * @param weigher
+	 * @return {@code true} if the evictor uses the weigher and {@code false}
+	 *         if it ignores weights of the elements.
+	 */
+	public static <E> boolean setWeigher(final Evictor<E> evictor,
+			final Weigher<? super E> weigher) {
+		if (evictor instanceof TinyLfuEvictor) {
+			((TinyLfuEvictor<E>) evictor).setWeigher(weigher);
+			return true;
+		}
+		// else
+		return false;
+	}
+
 	static String[] parseArgs(final String value, final Class<?> clazz,
 			final Integer argCount) throws IllegalArgumentException {
 		final String trimmed = value.trim();
@@ -0,0 +1,640 @@
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.liveontologies.puli.statistics.ResetStats;
+import org.liveontologies.puli.statistics.Stat;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
+
+/**
+ * Evicts elements when their total weight exceeds the <em>capacity</em>, using
+ * the W-TinyLFU policy. The weight of elements is computed by a
+ * {@link Weigher}; by default each element weighs 1, so the capacity is the
+ * number of elements. The weight of an element is recomputed when it is added
+ * again and when it leaves the window, and the weights of all elements are
+ * recomputed before an eviction once the number of additions since the last
+ * such update reaches the number of elements. This way, the weights can
+ * reflect changes in the data associated with the elements, e.g., the size of
+ * the cached results, while the cost of weighing stays constant per addition
+ * on average.
+ * <p>
+ * New elements are first added to a small <em>window</em> segment, which is
+ * ordered by recency. When the window exceeds its share of the capacity, the
+ * least recent elements from the window become candidates for the main
+ * segment. The main segment is split into a <em>probation</em> and a
+ * <em>protected</em> part; elements in probation that are added again are
+ * promoted to the protected part. When the capacity is exceeded, a candidate
+ * is compared to the least recent element in probation, and the one that was
+ * added less frequently, according to a compact frequency sketch, is evicted.
+ * This way, elements that are added often are not evicted by a large number of
+ * elements that are added only once, which is the weakness of
+ * {@link RecencyEvictor}.
+ * <p>
+ * Eviction is trying to reduce the total weight of elements in this evictor to
+ * capacity times <em>load factor</em>. However, it still does not evict the
+ * elements that should be retained.
+ * 
+ * @author "Yevgeny Kazakov"
+ *
+ * @param <E>
+ *            The type of the elements.
+ */
+public class TinyLfuEvictor<E> extends AbstractEvictor<E> {
+
+	/**
+	 * The portion of the main segment reserved for the protected elements.
+	 */
+	private static final double PROTECTED_RATIO_ = 0.8;
+
+	private static final byte WINDOW_ = 0, PROBATION_ = 1, PROTECTED_ = 2;
+
+	private final Map<E, Record> records_ = new ArrayHashMap<E, Record>();
+
+	private final LinkedHashSet<E> window_ = new LinkedHashSet<E>(),
+			probation_ = new LinkedHashSet<E>(),
+			protected_ = new LinkedHashSet<E>();
+
+	private final FrequencySketch<E> sketch_ = new FrequencySketch<E>();
+
+	private final double loadFactor_;
+
+	private final double windowRatio_;
+
+	private long capacity_;
+
+	private long windowWeight_ = 0, protectedWeight_ = 0, totalWeight_ = 0;
+
+	/**
+	 * The number of additions since the weights of all elements were
+	 * recomputed.
+	 */
+	private int nAdditionsSinceUpdate_ = 0;
+
+	private Weigher<? super E> weigher_ = null;
+
+	TinyLfuEvictor(final long capacity, final double loadFactor,
+			final double windowRatio) {
+		this.capacity_ = capacity;
+		this.loadFactor_ = loadFactor;
+		this.windowRatio_ = windowRatio;
+
+		this.stats = new Stats();
+	}
+
+	/**
+	 * Sets the {@link Weigher} used to compute the weight of the elements. If
+	 * it is not set or set to {@code null}, each element weighs 1.
+	 * 
+	 * @param weigher
+	 */
+	public void setWeigher(final Weigher<? super E> weigher) {
+		this.weigher_ = weigher;
+		// Recompute all weights before the next eviction.
+		nAdditionsSinceUpdate_ = records_.size();
+	}
+
+	@Override
+	public void add(final E element) {
+		sketch_.increment(element);
+		nAdditionsSinceUpdate_++;
+		Record record = records_.get(element);
+		if (record == null) {
+			((Stats) stats).nMisses++;
+			record = new Record(weigh(element));
+			records_.put(element, record);
+			sketch_.ensureCapacity(records_.size());
+			window_.add(element);
+			windowWeight_ += record.weight;
+			totalWeight_ += record.weight;
+			return;
+		}
+		// else
+		((Stats) stats).nHits++;
+		updateWeight(element, record);
+		switch (record.segment) {
+		case WINDOW_:
+			window_.remove(element);
+			window_.add(element);
+			break;
+		case PROBATION_:
+			probation_.remove(element);
+			protected_.add(element);
+			record.segment = PROTECTED_;
+			protectedWeight_ += record.weight;
+			demoteProtected();
+			break;
+		default:
+			protected_.remove(element);
+			protected_.add(element);
+			demoteProtected();
+		}
+	}
+
+	@Override
+	public Iterator<E> evict(final Predicate<E> retain) {
+		Preconditions.checkNotNull(retain);
+
+		if (nAdditionsSinceUpdate_ >= records_.size()) {
+			updateWeights();
+		}
+
+		// Least recent elements exceeding the window become candidates.
+		final List<E> candidates = new ArrayList<E>();
+		final long windowCapacity = getWindowCapacity();
+		final Iterator<E> windowIterator = window_.iterator();
+		while (windowWeight_ > windowCapacity && windowIterator.hasNext()) {
+			final E element = windowIterator.next();
+			final Record record = records_.get(element);
+			updateWeight(element, record);
+			windowIterator.remove();
+			windowWeight_ -= record.weight;
+			probation_.add(element);
+			record.segment = PROBATION_;
+			candidates.add(element);
+		}
+
+		if (totalWeight_ <= capacity_) {
+			// Evict nothing.
+			return Collections.<E> emptyList().iterator();
+		}
+		// else
+
+		final long goalWeight = (long) (capacity_ * loadFactor_);
+		final List<E> evicted = new ArrayList<E>();
+		final Iterator<E> candidateIterator = candidates.iterator();
+		while (totalWeight_ > goalWeight) {
+			final E candidate = nextCandidate(candidateIterator, retain);
+			final E victim = firstEvictable(probation_, retain, candidate);
+			final E toEvict;
+			if (candidate == null) {
+				if (victim != null) {
+					toEvict = victim;
+				} else {
+					final E fromProtected = firstEvictable(protected_, retain,
+							null);
+					toEvict = fromProtected != null ? fromProtected
+							: firstEvictable(window_, retain, null);
+				}
+			} else if (victim == null) {
+				toEvict = candidate;
+			} else {
+				// Admit the candidate only if it is more frequent.
+				toEvict = sketch_.frequency(candidate) > sketch_
+						.frequency(victim) ? victim : candidate;
+			}
+			if (toEvict == null) {
+				// Everything is retained.
+				break;
+			}
+			// else
+			remove(toEvict);
+			evicted.add(toEvict);
+		}
+
+		return evicted.iterator();
+	}
+
+	private E nextCandidate(final Iterator<E> candidateIterator,
+			final Predicate<E> retain) {
+		while (candidateIterator.hasNext()) {
+			final E candidate = candidateIterator.next();
+			final Record record = records_.get(candidate);
+			if (record != null && record.segment == PROBATION_
+					&& !retain.apply(candidate)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private static <E> E firstEvictable(final Iterable<E> segment,
+			final Predicate<E> retain, final E except) {
+		for (final E element : segment) {
+			if (element != except && !retain.apply(element)) {
+				return element;
+			}
+		}
+		return null;
+	}
+
+	private void remove(final E element) {
+		final Record record = records_.remove(element);
+		switch (record.segment) {
+		case WINDOW_:
+			window_.remove(element);
+			windowWeight_ -= record.weight;
+			break;
+		case PROBATION_:
+			probation_.remove(element);
+			break;
+		default:
+			protected_.remove(element);
+			protectedWeight_ -= record.weight;
+		}
+		totalWeight_ -= record.weight;
+		((Stats) stats).nEvictions++;
+		((Stats) stats).evictedWeight += record.weight;
+	}
+
+	/**
+	 * Moves the least recent protected elements to probation while the
+	 * protected segment exceeds its share of the capacity.
+	 */
+	private void demoteProtected() {
+		final long protectedCapacity = (long) ((capacity_
+				- getWindowCapacity()) * PROTECTED_RATIO_);
+		final Iterator<E> iterator = protected_.iterator();
+		while (protectedWeight_ > protectedCapacity && iterator.hasNext()) {
+			final E element = iterator.next();
+			final Record record = records_.get(element);
+			iterator.remove();
+			protectedWeight_ -= record.weight;
+			probation_.add(element);
+			record.segment = PROBATION_;
+		}
+	}
+
+	/**
+	 * Recomputes the weight of the given element and updates the weights of
+	 * the segments accordingly.
+	 * 
+	 * @param element
+	 * @param record
+	 *            the {@link Record} of the element
+	 */
+	private void updateWeight(final E element, final Record record) {
+		if (weigher_ == null) {
+			// All weights are 1.
+			return;
+		}
+		// else
+		final int weight = weigh(element);
+		final int delta = weight - record.weight;
+		record.weight = weight;
+		switch (record.segment) {
+		case WINDOW_:
+			windowWeight_ += delta;
+			break;
+		case PROTECTED_:
+			protectedWeight_ += delta;
+			break;
+		default:
+			break;
+		}
+		totalWeight_ += delta;
+	}
+
+	private void updateWeights() {
+		nAdditionsSinceUpdate_ = 0;
+		if (weigher_ == null) {
+			// All weights are 1.
+			return;
+		}
+		// else
+		windowWeight_ = 0;
+		protectedWeight_ = 0;
+		totalWeight_ = 0;
+		for (final Map.Entry<E, Record> entry : records_.entrySet()) {
+			final Record record = entry.getValue();
+			record.weight = weigh(entry.getKey());
+			switch (record.segment) {
+			case WINDOW_:
+				windowWeight_ += record.weight;
+				break;
+			case PROTECTED_:
+				protectedWeight_ += record.weight;
+				break;
+			default:
+				break;
+			}
+			totalWeight_ += record.weight;
+		}
+		demoteProtected();
+	}
+
+	private int weigh(final E element) {
+		if (weigher_ == null) {
+			return 1;
+		}
+		// else
+		final int weight = weigher_.weigh(element);
+		if (weight < 0) {
+			throw new IllegalStateException(
+					"Weight cannot be negative! element: " + element);
+		}
+		return weight;
+	}
+
+	private long getWindowCapacity() {
+		return (long) (capacity_ * windowRatio_);
+	}
+
+	public long getCapacity() {
+		return capacity_;
+	}
+
+	public void setCapacity(final long capacity) {
+		if (0 > capacity) {
+			throw new IllegalArgumentException("Capacity cannot be negative!");
+		}
+		this.capacity_ = capacity;
+	}
+
+	public int size() {
+		return records_.size();
+	}
+
+	/**
+	 * @return The total weight of the elements in this evictor, as computed
+	 *         during the last eviction or addition.
+	 */
+	public long getWeight() {
+		return totalWeight_;
+	}
+
+	private static class Record {
+
+		int weight;
+
+		byte segment = WINDOW_;
+
+		Record(final int weight) {
+			this.weight = weight;
+		}
+
+	}
+
+	/**
+	 * Estimates how many times elements were added using a count-min sketch
+	 * with 4 rows of counters that saturate at 15. To prefer recent
+	 * frequencies, all counters are halved after the number of increments
+	 * reaches 10 times the number of counters in a row.
+	 * 
+	 * @author "Yevgeny Kazakov"
+	 *
+	 * @param <E>
+	 *            The type of the elements.
+	 */
+	static class FrequencySketch<E> {
+
+		private static final int MIN_LENGTH_ = 64;
+
+		private static final int MAX_COUNT_ = 15;
+
+		private static final int[] SEEDS_ = { 0x97CB3127, 0xB492B66F,
+				0x9AE16A3B, 0x8EBC6AF1 };
+
+		private byte[][] counters_ = new byte[SEEDS_.length][MIN_LENGTH_];
+
+		private int nIncrements_ = 0;
+
+		/**
+		 * Grows the sketch so that it can distinguish the given number of
+		 * elements; the previous counts are lost when this happens.
+		 * 
+		 * @param nElements
+		 */
+		void ensureCapacity(final int nElements) {
+			final int length = counters_[0].length;
+			if (nElements <= length / 2 || length >= (1 << 30)) {
+				return;
+			}
+			// else
+			counters_ = new byte[SEEDS_.length][length << 1];
+			nIncrements_ = 0;
+		}
+
+		void increment(final E element) {
+			final int hash = spread(element.hashCode());
+			boolean incremented = false;
+			for (int i = 0; i < SEEDS_.length; i++) {
+				final int index = indexOf(hash, i);
+				if (counters_[i][index] < MAX_COUNT_) {
+					counters_[i][index]++;
+					incremented = true;
+				}
+			}
+			if (incremented && ++nIncrements_ >= 10 * counters_[0].length) {
+				age();
+			}
+		}
+
+		int frequency(final E element) {
+			final int hash = spread(element.hashCode());
+			int result = MAX_COUNT_;
+			for (int i = 0; i < SEEDS_.length; i++) {
+				result = Math.min(result, counters_[i][indexOf(hash, i)]);
+			}
+			return result;
+		}
+
+		private void age() {
+			for (final byte[] row : counters_) {
+				for (int j = 0; j < row.length; j++) {
+					row[j] >>= 1;
+				}
+			}
+			nIncrements_ /= 2;
+		}
+
+		private int indexOf(final int hash, final int row) {
+			int h = (hash + SEEDS_[row]) * SEEDS_[row];
+			h ^= h >>> 16;
+			return h & (counters_[row].length - 1);
+		}
+
+		private static int spread(int hash) {
+			hash *= 0x9E3779B9;
+			return hash ^ (hash >>> 16);
+		}
+
+	}
+
+	protected static abstract class ProtectedBuilder<B extends ProtectedBuilder<B>> {
+
+		public static final long DEFAULT_CAPACITY = 128;
+		public static final double DEFAULT_LOAD_FACTOR = 0.75;
+		public static final double DEFAULT_WINDOW_RATIO = 0.01;
+
+		protected long capacity_ = DEFAULT_CAPACITY;
+		protected double loadFactor_ = DEFAULT_LOAD_FACTOR;
+		protected double windowRatio_ = DEFAULT_WINDOW_RATIO;
+
+		/**
+		 * When the total weight of the elements exceeds the provided capacity,
+		 * elements will be evicted. Capacity not must be negative!
+		 * <p>
+		 * If not called, capacity defaults to {@link #DEFAULT_CAPACITY}.
+		 * 
+		 * @param capacity
+		 *            The capacity of the evictor.
+		 * @return This builder.
+		 * @throws IllegalArgumentException
+		 *             When the argument is negative.
+		 */
+		public B capacity(final long capacity)
+				throws IllegalArgumentException {
+			if (0 > capacity) {
+				throw new IllegalArgumentException(
+						"Capacity cannot be negative!");
+			}
+			this.capacity_ = capacity;
+			return convertThis();
+		}
+
+		/**
+		 * Load factor is the proportion of the capacity that should be achieved
+		 * when evicting. Eviction is trying to reduce the total weight of the
+		 * elements in this evictor to capacity times load factor. Load factor
+		 * must be between 0 and 1 inclusive!
+		 * <p>
+		 * If not called, load factor defaults to {@link #DEFAULT_LOAD_FACTOR}.
+		 * 
+		 * @param loadFactor
+		 *            The load factor of this evictor.
+		 * @return This builder.
+		 * @throws IllegalArgumentException
+		 *             When the argument is not between 0 and 1 inclusive.
+		 */
+		public B loadFactor(final double loadFactor)
+				throws IllegalArgumentException {
+			if (0 > loadFactor || loadFactor > 1) {
+				throw new IllegalArgumentException(
+						"Load factor must be between 0 and 1 inclusive!");
+			}
+			this.loadFactor_ = loadFactor;
+			return convertThis();
+		}
+
+		/**
+		 * Window ratio is the proportion of the capacity used by the window
+		 * segment, in which the new elements are kept before they are compared
+		 * with the elements in the main segment. Window ratio must be between 0
+		 * and 1 inclusive!
+		 * <p>
+		 * If not called, window ratio defaults to
+		 * {@link #DEFAULT_WINDOW_RATIO}.
+		 * 
+		 * @param windowRatio
+		 *            The window ratio of this evictor.
+		 * @return This builder.
+		 * @throws IllegalArgumentException
+		 *             When the argument is not between 0 and 1 inclusive.
+		 */
+		public B windowRatio(final double windowRatio)
+				throws IllegalArgumentException {
+			if (0 > windowRatio || windowRatio > 1) {
+				throw new IllegalArgumentException(
+						"Window ratio must be between 0 and 1 inclusive!");
+			}
+			this.windowRatio_ = windowRatio;
+			return convertThis();
+		}
+
+		public <E> Evictor<E> build() {
+			return new TinyLfuEvictor<E>(capacity_, loadFactor_, windowRatio_);
+		}
+
+		protected abstract B convertThis();
+
+	}
+
+	public static class Builder extends ProtectedBuilder<Builder>
+			implements Evictor.Builder {
+
+		@Override
+		protected Builder convertThis() {
+			return this;
+		}
+
+		public static Builder valueOf(final String value) {
+			final String[] args = Evictors.parseArgs(value,
+					TinyLfuEvictor.class, 3);
+			final String capacityArg = args[0].trim();
+			final String loadFactorArg = args[1].trim();
+			final String windowRatioArg = args[2].trim();
+			final long capacity = capacityArg.isEmpty() ? DEFAULT_CAPACITY
+					: Long.valueOf(capacityArg);
+			final double loadFactor = loadFactorArg.isEmpty()
+					? DEFAULT_LOAD_FACTOR : Double.valueOf(loadFactorArg);
+			final double windowRatio = windowRatioArg.isEmpty()
+					? DEFAULT_WINDOW_RATIO : Double.valueOf(windowRatioArg);
+			return new Builder()
+					.capacity(capacity < 0 ? Long.MAX_VALUE : capacity)
+					.loadFactor(loadFactor).windowRatio(windowRatio);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s(%d,%f,%f)", TinyLfuEvictor.class.getName(),
+					capacity_, loadFactor_, windowRatio_);
+		}
+
+	}
+
+	// Stats.
+	protected class Stats {
+
+		@Stat
+		public int nHits = 0;
+		@Stat
+		public int nMisses = 0;
+		@Stat
+		public int nEvictions = 0;
+		@Stat
+		public long evictedWeight = 0;
+
+		@Stat
+		public long capacity() {
+			return getCapacity();
+		}
+
+		@Stat
+		public int size() {
+			return TinyLfuEvictor.this.size();
+		}
+
+		@Stat
+		public long weight() {
+			return getWeight();
+		}
+
+		@ResetStats
+		public void resetStats() {
+			nHits = 0;
+			nMisses = 0;
+			nEvictions = 0;
+			evictedWeight = 0;
+		}
+
+	}
+
+}
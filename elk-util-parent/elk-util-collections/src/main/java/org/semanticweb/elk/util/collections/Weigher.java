@@ -0,0 +1,44 @@
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+/**
+ * Estimates the weight of elements, e.g., the amount of memory occupied by the
+ * data associated with them. Used by evictors that evict elements when their
+ * total weight exceeds the capacity.
+ * 
+ * @author "Yevgeny Kazakov"
+ *
+ * @param <E>
+ *            The type of the elements.
+ * 
+ * @see TinyLfuEvictor
+ */
+public interface Weigher<E> {
+
+	/**
+	 * @param element
+	 * @return The weight of the provided element; must not be negative.
+	 */
+	int weigh(E element);
+
+}
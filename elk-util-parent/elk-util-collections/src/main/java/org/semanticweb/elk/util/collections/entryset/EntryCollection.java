@@ -319,6 +319,8 @@ public class EntryCollection<E extends Entry<?, E>>
 					buckets[i] = next;
 				else
 					prev.setNext(next);
+				// the removed entry can be added again
+				r.setNext(null);
 				if (size-- <= undersize && buckets.length >= 2 * minsize)
 					resize(buckets.length / 2);
 				return result;
@@ -0,0 +1,157 @@
+/*
+ * #%L
+ * ELK Utilities Collections
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+/**
+ * @author Yevgeny Kazakov
+ *
+ */
+public class CompactIntSetTest {
+
+	private static void testSetEquality(Set<Integer> referenceSet,
+			CompactIntSet testSet) {
+		assertEquals(referenceSet.size(), testSet.size());
+		CompactIntSet.IntIterator iterator = testSet.iterator();
+		// the values must be iterated in increasing order
+		for (int expected : referenceSet) {
+			assertTrue(iterator.hasNext());
+			assertEquals(expected, iterator.next());
+			assertTrue(testSet.contains(expected));
+		}
+		assertFalse(iterator.hasNext());
+	}
+
+	private static void testRandom(int maxValue, int operations, long seed) {
+		Random rnd = new Random(seed);
+		Set<Integer> referenceSet = new TreeSet<Integer>();
+		CompactIntSet testSet = new CompactIntSet();
+		for (int i = 0; i < operations; i++) {
+			int value = rnd.nextInt(maxValue);
+			if (rnd.nextInt(3) == 0) {
+				assertEquals(referenceSet.remove(value),
+						testSet.remove(value));
+			} else {
+				assertEquals(referenceSet.add(value), testSet.add(value));
+			}
+			assertEquals(referenceSet.contains(value + 1),
+					testSet.contains(value + 1));
+		}
+		testSetEquality(referenceSet, testSet);
+		// remove every second value using the iterator
+		CompactIntSet.IntIterator iterator = testSet.iterator();
+		boolean remove = false;
+		while (iterator.hasNext()) {
+			int value = iterator.next();
+			if (remove) {
+				iterator.remove();
+				referenceSet.remove(value);
+			}
+			remove = !remove;
+		}
+		testSetEquality(referenceSet, testSet);
+	}
+
+	@Test
+	public void testSparse() {
+		testRandom(Integer.MAX_VALUE, 10000, 1);
+	}
+
+	@Test
+	public void testDense() {
+		// values in few chunks which are converted to bitmaps
+		testRandom(3 << 16, 100000, 2);
+	}
+
+	@Test
+	public void testRemoveAll() {
+		CompactIntSet testSet = new CompactIntSet();
+		for (int i = 0; i < 10000; i += 3) {
+			testSet.add(i << 4);
+		}
+		CompactIntSet.IntIterator iterator = testSet.iterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+		assertTrue(testSet.isEmpty());
+		assertFalse(testSet.iterator().hasNext());
+		assertFalse(testSet.contains(0));
+	}
+
+	@Test
+	public void testRemoveAfterHasNext() {
+		Set<Integer> referenceSet = new TreeSet<Integer>();
+		CompactIntSet testSet = new CompactIntSet();
+		// chunks with one value, a sorted array, and a bitmap
+		for (int i = 0; i < 8; i++) {
+			referenceSet.add(i << 16);
+		}
+		for (int i = 0; i < 100; i++) {
+			referenceSet.add((9 << 16) + 7 * i);
+		}
+		for (int i = 0; i < 10000; i++) {
+			referenceSet.add((10 << 16) + 3 * i);
+		}
+		referenceSet.add(11 << 16);
+		for (int value : referenceSet) {
+			testSet.add(value);
+		}
+		// remove every second value, looking ahead before removing
+		CompactIntSet.IntIterator iterator = testSet.iterator();
+		boolean remove = false;
+		while (iterator.hasNext()) {
+			int value = iterator.next();
+			if (remove) {
+				iterator.hasNext();
+				iterator.remove();
+				referenceSet.remove(value);
+			}
+			remove = !remove;
+		}
+		testSetEquality(referenceSet, testSet);
+		// remove the remaining values
+		iterator = testSet.iterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+			iterator.hasNext();
+			iterator.remove();
+		}
+		assertTrue(testSet.isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegative() {
+		new CompactIntSet().add(-1);
+	}
+
+}
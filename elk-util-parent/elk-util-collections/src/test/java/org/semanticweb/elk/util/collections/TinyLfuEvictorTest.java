@@ -0,0 +1,187 @@
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class TinyLfuEvictorTest {
+
+	private static TinyLfuEvictor<Integer> newEvictor(final long capacity,
+			final double loadFactor) {
+		final TinyLfuEvictor.Builder b = new TinyLfuEvictor.Builder();
+		return (TinyLfuEvictor<Integer>) b.capacity(capacity)
+				.loadFactor(loadFactor).windowRatio(0).<Integer> build();
+	}
+
+	@Test
+	public void testRetainment() {
+
+		EvictorTestUtils.testRecencyRetainment(
+				new EvictorTestUtils.TestEvictorFactory<Integer>() {
+					@Override
+					public Evictor<Integer> newEvictor(final int capacity,
+							final double loadFactor) {
+						return TinyLfuEvictorTest.newEvictor(capacity,
+								loadFactor);
+					}
+				});
+
+	}
+
+	@Test
+	public void testScanResistance() {
+
+		final Evictor<Integer> evictor = newEvictor(10,
+				EvictorTestUtils.RETAIN_FOUR_FIFTHS_LOAD_FACTOR);
+
+		// Elements 0 to 4 are added twice.
+		for (int i = 0; i < 2; i++) {
+			for (int element = 0; element < 5; element++) {
+				EvictorTestUtils.checkNothingEvicted(
+						evictor.addAndEvict(element));
+			}
+		}
+
+		// A long scan of elements added once does not evict them.
+		for (int element = 100; element < 200; element++) {
+			final Iterator<Integer> evicted = evictor.addAndEvict(element);
+			while (evicted.hasNext()) {
+				assertFalse(evicted.next() < 5);
+			}
+		}
+
+	}
+
+	@Test
+	public void testAdmission() {
+
+		final Evictor<Integer> evictor = newEvictor(4,
+				EvictorTestUtils.RETAIN_FULL_CAPACITY_LOAD_FACTOR);
+
+		for (int element = 0; element < 4; element++) {
+			EvictorTestUtils.checkNothingEvicted(evictor.addAndEvict(element));
+		}
+
+		// A new element is not more frequent than the least recent one.
+		EvictorTestUtils.checkEvicted(Arrays.asList(4),
+				evictor.addAndEvict(4));
+
+		// When it is added again, it is admitted.
+		EvictorTestUtils.checkEvicted(Arrays.asList(0),
+				evictor.addAndEvict(4));
+
+	}
+
+	@Test
+	public void testWeights() {
+
+		final TinyLfuEvictor<Integer> evictor = newEvictor(10,
+				EvictorTestUtils.RETAIN_FULL_CAPACITY_LOAD_FACTOR);
+		final Map<Integer, Integer> weights = new HashMap<Integer, Integer>();
+		evictor.setWeigher(new Weigher<Integer>() {
+			@Override
+			public int weigh(final Integer element) {
+				return weights.get(element);
+			}
+		});
+
+		for (int element = 0; element < 3; element++) {
+			weights.put(element, 3);
+			EvictorTestUtils.checkNothingEvicted(evictor.addAndEvict(element));
+		}
+		assertEquals(9, evictor.getWeight());
+
+		// The weight is updated when the element is added again.
+		weights.put(1, 5);
+		evictor.add(1);
+		assertEquals(11, evictor.getWeight());
+		EvictorTestUtils.checkEvicted(Arrays.asList(0), evictor.evict());
+		assertEquals(8, evictor.getWeight());
+		assertEquals(2, evictor.size());
+
+		final TinyLfuEvictor<Integer>.Stats stats = (TinyLfuEvictor<Integer>.Stats) evictor
+				.getStats();
+		assertEquals(1, stats.nHits);
+		assertEquals(3, stats.nMisses);
+		assertEquals(1, stats.nEvictions);
+		assertEquals(3, stats.evictedWeight);
+
+		// The weights of all elements are updated after enough additions.
+		weights.put(2, 1);
+		for (int n = 0; n < evictor.size(); n++) {
+			evictor.add(1);
+		}
+		assertEquals(8, evictor.getWeight());
+		EvictorTestUtils.checkNothingEvicted(evictor.evict());
+		assertEquals(6, evictor.getWeight());
+		assertEquals(3, stats.nHits);
+
+	}
+
+	@Test
+	public void testWeighingCost() {
+
+		final TinyLfuEvictor<Integer> evictor = newEvictor(Long.MAX_VALUE,
+				EvictorTestUtils.RETAIN_FULL_CAPACITY_LOAD_FACTOR);
+		final int[] nWeighings = { 0 };
+		evictor.setWeigher(new Weigher<Integer>() {
+			@Override
+			public int weigh(final Integer element) {
+				nWeighings[0]++;
+				return 1;
+			}
+		});
+
+		final int nElements = 10000;
+		for (int element = 0; element < nElements; element++) {
+			EvictorTestUtils.checkNothingEvicted(evictor.addAndEvict(element));
+		}
+
+		// The elements are not weighed again on each eviction.
+		assertTrue(nWeighings[0] <= 5 * nElements);
+		assertEquals(nElements, evictor.getWeight());
+
+	}
+
+	@Test
+	public void testValueOf() {
+
+		final TinyLfuEvictor.Builder builder = TinyLfuEvictor.Builder
+				.valueOf("TinyLfuEvictor(1024, 0.5, 0.1)");
+		final TinyLfuEvictor<Integer> evictor = (TinyLfuEvictor<Integer>) builder
+				.<Integer> build();
+		assertEquals(1024, evictor.getCapacity());
+		assertEquals(builder.toString(), TinyLfuEvictor.Builder
+				.valueOf(builder.toString()).toString());
+
+	}
+
+}
@@ -146,6 +146,23 @@ public class EntryCollectionTest extends TestCase {
 
 	}
 
+	@Test
+	public void testReAddRemoved() {
+		EntryCollection<Int> testSet = new EntryCollection<Int>(1);
+		Int[] entries = new Int[16];
+		for (int n = 0; n < entries.length; n++) {
+			entries[n] = new Int(n);
+			testSet.addStructural(entries[n]);
+		}
+		// the removed entries are no longer linked and can be added again
+		for (int n = 0; n < entries.length; n++) {
+			testSet.removeStructural(entries[n]);
+			testSet.addStructural(entries[n]);
+			assertSame(entries[n], testSet.findStructural(new Int(n)));
+		}
+		assertEquals(entries.length, testSet.size());
+	}
+
 	static class Int implements Entry<Int, Int> {
 
 		private final int value_;
@@ -0,0 +1,358 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * An {@link ActivationStack} for many producers and one consumer in which the
+ * producers never wait for each other or for the consumer. Elements can be
+ * inserted using {@link #push(Object)} by any number of
+ * threads at the same time, but {@link #pop()} and {@link #peek()} should be
+ * called by at most one thread at a time. This is the case when the stack is
+ * processed only by the thread that has activated it, i.e., for which
+ * {@link #push(Object)} returned {@code true}, until {@link #pop()} returns
+ * {@code null}.
+ * <p>
+ * Unlike {@link ConcurrentLinkedActivationStack}, elements are not stored in
+ * separate nodes but in arrays of a fixed size (chunks) linked to each other.
+ * The producers reserve positions within the last chunk using an atomic
+ * counter and a new chunk is appended when the last one is full. No chunk is
+ * kept while the stack is empty: when the consumer has taken all elements
+ * written in the last chunk and no new positions in it are reserved, the
+ * chunk is sealed and released, and the next producer creates a new chunk,
+ * which is passed to the consumer through a separate field. Therefore, many
+ * stacks that are empty most of the time, like those of contexts after the
+ * saturation, take little memory. Elements are taken in the order in which
+ * their positions are reserved, which is not relevant for activation.
+ * <p>
+ * The activation is tracked by a counter of inserted elements from which the
+ * consumer subtracts the number of taken elements when there are no more
+ * elements to take. The stack becomes cleared when the result is not
+ * positive; it can be negative if some elements were taken before their
+ * producers have counted them. The producer whose element changes the counter
+ * from {@code 0} activates the stack. If the result is positive, some counted
+ * element is not taken yet. This happens when a producer has reserved the next
+ * position but has not written its element yet, while later positions are
+ * already written and counted. Since the elements are taken in the order of
+ * the positions, {@link #pop()} then blocks until this producer writes its
+ * element, giving up the processor in the meantime. A producer writes the
+ * element right after reserving the position, so such waits are short unless
+ * the producer thread is descheduled in between. The same applies to a new
+ * chunk that is not yet passed to the consumer. The consumer always updates
+ * the counter before it returns {@code null}, so its changes are visible to
+ * the consumer that takes over after the next activation. This stack does not
+ * allow storing {@code null} values.
+ *
+ * @author "Yevgeny Kazakov"
+ *
+ * @param <E>
+ *            the type of elements in the stack
+ */
+public class ChunkedActivationQueue<E> implements ActivationStack<E> {
+
+	/**
+	 * the number of elements in chunks if not specified
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 8;
+
+	// field updaters are used since one object of this class can be created
+	// for every context, which should take as little memory as possible
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<ChunkedActivationQueue, Chunk> TAIL_UPDATER_ = AtomicReferenceFieldUpdater
+			.newUpdater(ChunkedActivationQueue.class, Chunk.class, "tail_");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicIntegerFieldUpdater<ChunkedActivationQueue> COUNT_UPDATER_ = AtomicIntegerFieldUpdater
+			.newUpdater(ChunkedActivationQueue.class, "count_");
+
+	/**
+	 * the number of elements in every chunk
+	 */
+	private final int chunkSize_;
+
+	/**
+	 * the last chunk, to which the elements are written, or {@code null} if
+	 * there is none
+	 */
+	private volatile Chunk<E> tail_ = null;
+
+	/**
+	 * the chunk created by a producer when there was none, which is not yet
+	 * taken by the consumer
+	 */
+	private volatile Chunk<E> first_ = null;
+
+	/**
+	 * the number of inserted elements minus the number of taken elements
+	 * subtracted by the consumer when the stack becomes empty
+	 */
+	private volatile int count_ = 0;
+
+	/**
+	 * the chunk from which the consumer takes elements or {@code null} if it
+	 * should be taken from {@link #first_}; accessed only by the consumer
+	 */
+	private Chunk<E> head_ = null;
+
+	/**
+	 * the position in {@link #head_} of the next element to be taken;
+	 * accessed only by the consumer
+	 */
+	private int headPos_ = 0;
+
+	/**
+	 * the number of elements taken by the consumer that are not yet
+	 * subtracted from {@link #count_}; accessed only by the consumer
+	 */
+	private int taken_ = 0;
+
+	/**
+	 * Creates a new {@link ChunkedActivationQueue} that stores elements in
+	 * chunks of the given size
+	 *
+	 * @param chunkSize
+	 *            the number of elements in every chunk
+	 */
+	public ChunkedActivationQueue(int chunkSize) {
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException(
+					"The size of chunks must be positive: " + chunkSize);
+		this.chunkSize_ = chunkSize;
+	}
+
+	public ChunkedActivationQueue() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	@Override
+	public boolean push(E element) {
+		if (element == null)
+			throw new IllegalArgumentException(
+					"Elements in the stack cannot be null");
+		for (;;) {
+			Chunk<E> tail = tail_;
+			if (tail == null) {
+				// create the first chunk and pass it to the consumer
+				Chunk<E> first = new Chunk<E>(chunkSize_);
+				if (TAIL_UPDATER_.compareAndSet(this, null, first))
+					first_ = first;
+				continue;
+			}
+			// else
+			int pos = tail.reservePosition();
+			if (pos < chunkSize_) {
+				// the element will be counted below, which is ordered after
+				tail.lazySet(pos, element);
+				break;
+			}
+			// else the chunk is full, make sure the next one is appended
+			Chunk<E> next = tail.next_;
+			if (next == null) {
+				tail.casNext(null, new Chunk<E>(chunkSize_));
+				next = tail.next_;
+			}
+			TAIL_UPDATER_.compareAndSet(this, tail, next);
+		}
+		return COUNT_UPDATER_.getAndIncrement(this) == 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This method may wait for a producer that has reserved the next position
+	 * but has not written its element yet, see
+	 * {@link ChunkedActivationQueue}.
+	 */
+	@Override
+	public E pop() {
+		for (;;) {
+			E result = poll();
+			if (result != null) {
+				taken_++;
+				return result;
+			}
+			// else
+			release();
+			int taken = taken_;
+			taken_ = 0;
+			// the update publishes all changes of the consumer, so it must be
+			// the last one: after that another consumer may take over
+			int count = COUNT_UPDATER_.addAndGet(this, -taken);
+			if (count <= 0)
+				// cleared; now another consumer may take over
+				return null;
+			// else the producer of the next position has not written it yet
+			Thread.yield();
+		}
+	}
+
+	@Override
+	public E peek() {
+		Chunk<E> head = head_;
+		int pos = headPos_;
+		if (head == null) {
+			head = first_;
+			if (head == null)
+				return null;
+			pos = 0;
+		}
+		if (pos == chunkSize_) {
+			head = head.next_;
+			if (head == null)
+				return null;
+			pos = 0;
+		}
+		return head.get(pos);
+	}
+
+	/**
+	 * Takes and removes the next element written in this
+	 * {@link ChunkedActivationQueue}; should only be called by the consumer
+	 *
+	 * @return the next element or {@code null} if the element at the next
+	 *         position is not written
+	 */
+	private E poll() {
+		Chunk<E> head = head_;
+		int pos = headPos_;
+		if (head == null) {
+			head = first_;
+			if (head == null)
+				// not yet passed by the producer
+				return null;
+			// else
+			first_ = null;
+			head_ = head;
+			headPos_ = pos = 0;
+		}
+		if (pos == chunkSize_) {
+			Chunk<E> next = head.next_;
+			if (next == null)
+				return null;
+			// else the chunk is discarded
+			head_ = head = next;
+			headPos_ = pos = 0;
+		}
+		E result = head.get(pos);
+		if (result == null)
+			return null;
+		// else
+		head.lazySet(pos, null);
+		headPos_ = pos + 1;
+		return result;
+	}
+
+	/**
+	 * Releases the last chunk if all elements written in it are taken and no
+	 * new positions in it are reserved; should only be called by the consumer
+	 */
+	private void release() {
+		Chunk<E> head = head_;
+		if (head == null || head.next_ != null)
+			return;
+		// else head is the last chunk
+		if (!head.seal(headPos_, chunkSize_))
+			return;
+		// else the producers append a new chunk if they see the sealed one
+		if (TAIL_UPDATER_.compareAndSet(this, head, null)) {
+			head_ = null;
+			headPos_ = 0;
+		} else
+			// a new chunk is appended, elements are taken from there
+			headPos_ = chunkSize_;
+	}
+
+	/**
+	 * @return {@code true} if this {@link ChunkedActivationQueue} keeps no
+	 *         chunks
+	 */
+	boolean isReleased() {
+		return tail_ == null && first_ == null;
+	}
+
+	/**
+	 * A segment of elements of {@link ChunkedActivationQueue}
+	 *
+	 * @author "Yevgeny Kazakov"
+	 *
+	 * @param <E>
+	 *            the type of elements
+	 */
+	@SuppressWarnings("serial")
+	private static class Chunk<E> extends AtomicReferenceArray<E> {
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicIntegerFieldUpdater<Chunk> RESERVED_UPDATER_ = AtomicIntegerFieldUpdater
+				.newUpdater(Chunk.class, "reserved_");
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Chunk, Chunk> NEXT_UPDATER_ = AtomicReferenceFieldUpdater
+				.newUpdater(Chunk.class, Chunk.class, "next_");
+
+		/**
+		 * the number of positions reserved by producers; can exceed the size
+		 * of the chunk if it is full
+		 */
+		private volatile int reserved_ = 0;
+
+		/**
+		 * the chunk appended after this one when it is full
+		 */
+		volatile Chunk<E> next_ = null;
+
+		Chunk(int size) {
+			super(size);
+		}
+
+		/**
+		 * @return the reserved position, which is not valid if it is not
+		 *         smaller than the size of the chunk
+		 */
+		int reservePosition() {
+			return RESERVED_UPDATER_.getAndIncrement(this);
+		}
+
+		/**
+		 * Makes this chunk full for producers provided exactly the given
+		 * number of positions were reserved
+		 *
+		 * @param reserved
+		 * @param size
+		 *            the size of this chunk
+		 * @return {@code true} if the chunk was sealed
+		 */
+		boolean seal(int reserved, int size) {
+			return RESERVED_UPDATER_.compareAndSet(this, reserved, size);
+		}
+
+		boolean casNext(Chunk<E> expect, Chunk<E> update) {
+			return NEXT_UPDATER_.compareAndSet(this, expect, update);
+		}
+
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2017 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.concurrent.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class ChunkedActivationQueueTest {
+
+	@Test
+	public void testActivation() {
+		ChunkedActivationQueue<Integer> queue = new ChunkedActivationQueue<Integer>(
+				3);
+		assertNull(queue.pop());
+		assertTrue(queue.push(0));
+		for (int round = 0; round < 5; round++) {
+			// crossing the boundaries of chunks
+			for (int i = 1; i < 7; i++) {
+				assertFalse(queue.push(i));
+			}
+			assertEquals(Integer.valueOf(0), queue.peek());
+			for (int i = 0; i < 7; i++) {
+				assertEquals(Integer.valueOf(i), queue.pop());
+			}
+			assertFalse(queue.push(0));
+			assertEquals(Integer.valueOf(0), queue.pop());
+			assertNull(queue.peek());
+			assertNull(queue.pop());
+			// cleared
+			assertTrue(queue.push(0));
+		}
+	}
+
+	@Test
+	public void testRelease() {
+		ChunkedActivationQueue<Integer> queue = new ChunkedActivationQueue<Integer>(
+				3);
+		// no chunks are created until needed
+		assertTrue(queue.isReleased());
+		assertNull(queue.peek());
+		assertNull(queue.pop());
+		assertTrue(queue.isReleased());
+		for (int count = 1; count < 8; count++) {
+			assertTrue(queue.push(0));
+			for (int i = 1; i < count; i++) {
+				assertFalse(queue.push(i));
+			}
+			assertFalse(queue.isReleased());
+			for (int i = 0; i < count; i++) {
+				assertEquals(Integer.valueOf(i), queue.pop());
+			}
+			assertNull(queue.pop());
+			// cleared
+			assertTrue(queue.isReleased());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullElement() {
+		new ChunkedActivationQueue<Integer>().push(null);
+	}
+
+	/**
+	 * the number of queues used in the concurrent test
+	 */
+	private static final int QUEUES_COUNT_ = 100;
+	/**
+	 * the number of worker threads used in the concurrent test
+	 */
+	private static final int WORKER_COUNT_ = 8;
+	/**
+	 * how many times every element is moved to a random queue
+	 */
+	private static final int MOVES_ = 100;
+	/**
+	 * the number of elements in the concurrent test
+	 */
+	private static final int ELEMENTS_COUNT_ = 10000;
+
+	/**
+	 * Every worker takes an activated queue, and moves its elements into
+	 * randomly chosen queues, decrementing their values, until they become
+	 * {@code 0}. Every queue should be processed by at most one worker at a
+	 * time, a queue that is being processed cannot be activated, and all
+	 * elements should be moved the given number of times.
+	 */
+	@Test
+	public void testConcurrentActivation() throws InterruptedException {
+		@SuppressWarnings("unchecked")
+		final ChunkedActivationQueue<Integer>[] queues = new ChunkedActivationQueue[QUEUES_COUNT_];
+		final AtomicBoolean[] processed = new AtomicBoolean[QUEUES_COUNT_];
+		for (int i = 0; i < QUEUES_COUNT_; i++) {
+			queues[i] = new ChunkedActivationQueue<Integer>(4);
+			processed[i] = new AtomicBoolean(false);
+		}
+		final ConcurrentLinkedQueue<Integer> activeQueues = new ConcurrentLinkedQueue<Integer>();
+		final AtomicInteger remaining = new AtomicInteger(ELEMENTS_COUNT_);
+		final AtomicLong moves = new AtomicLong(0);
+		final AtomicBoolean failed = new AtomicBoolean(false);
+		Random random = new Random(123);
+		for (int i = 0; i < ELEMENTS_COUNT_; i++) {
+			int q = random.nextInt(QUEUES_COUNT_);
+			if (queues[q].push(MOVES_))
+				activeQueues.add(q);
+		}
+		List<Thread> workers = new ArrayList<Thread>(WORKER_COUNT_);
+		for (int w = 0; w < WORKER_COUNT_; w++) {
+			final Random workerRandom = new Random(w);
+			workers.add(new Thread() {
+				@Override
+				public void run() {
+					while (remaining.get() > 0) {
+						Integer q = activeQueues.poll();
+						if (q == null)
+							continue;
+						for (;;) {
+							Integer element = queues[q].pop();
+							if (element == null)
+								break;
+							// the queue cannot be cleared until the next pop
+							if (!processed[q].compareAndSet(false, true))
+								failed.set(true);
+							moves.incrementAndGet();
+							if (element == 0) {
+								remaining.decrementAndGet();
+							} else {
+								int next = workerRandom.nextInt(QUEUES_COUNT_);
+								if (queues[next].push(element - 1)) {
+									// the queue must have been cleared
+									if (processed[next].get())
+										failed.set(true);
+									activeQueues.add(next);
+								}
+							}
+							processed[q].set(false);
+						}
+					}
+				}
+			});
+		}
+		for (Thread worker : workers) {
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join(60000);
+			if (worker.isAlive())
+				fail("Not all elements are processed");
+		}
+		assertFalse(failed.get());
+		assertEquals((long) ELEMENTS_COUNT_ * (MOVES_ + 1), moves.get());
+		for (int i = 0; i < QUEUES_COUNT_; i++) {
+			assertNull(queues[i].pop());
+		}
+	}
+
+}